@@ -0,0 +1,12 @@
+#!/bin/sh
+# Hot standby of the dev database: cloned from the primary on first start, then streaming
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -h postgres -U admin -D "$PGDATA" -R -X stream; do
+    echo "Waiting for the primary..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres
@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.analytics;
+
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+    Orders (or items) placed in [from, to) matching every filter given, grouped by the
+    dimensions in order. An empty statuses set means every status. Order dates are kept to
+    the minute, so an end within a minute takes in the whole minute.
+ */
+public record AnalyticsQuery(
+        AnalyticsFact fact,
+        LocalDateTime from,
+        LocalDateTime to,
+        Set<OrderStatus> statuses,
+        UUID restaurantId,
+        UUID consumerId,
+        UUID productId,
+        List<AnalyticsDimension> groupBy
+) {
+}
@@ -0,0 +1,13 @@
+package com.deliverytech.delivery_api.analytics;
+
+import java.util.List;
+
+/*
+    Groups ordered by the group-by dimensions, with the rows and segments scanned to build
+    them. Keys follow the dimensions: UUIDs, OrderStatus, LocalDateTime hours, LocalDate days.
+ */
+public record AnalyticsResult(List<Group> groups, long scannedRows, int scannedSegments) {
+
+    public record Group(List<Object> keys, long count, long cents, long quantity) {
+    }
+}
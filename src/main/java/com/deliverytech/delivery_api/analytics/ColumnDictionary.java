@@ -0,0 +1,47 @@
+package com.deliverytech.delivery_api.analytics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    Dense int codes for the ids of a column, in the order they are first seen. Codes are
+    added by the single writer of the store and read concurrently by queries: a reader
+    reads size before values, and the writer stores the value before publishing the size.
+ */
+final class ColumnDictionary {
+
+    static final int NONE = -1;
+
+    private final Map<UUID, Integer> codes = new ConcurrentHashMap<>();
+    private volatile UUID[] values = new UUID[1024];
+    private volatile int size;
+
+    int encode(UUID id) {
+        if (id == null) return NONE;
+
+        Integer code = codes.get(id);
+        if (code != null) return code;
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = id;
+        codes.put(id, size);
+        return size++;
+    }
+
+    /* The code of an id already seen, or NONE */
+    int find(UUID id) {
+        return id == null ? NONE : codes.getOrDefault(id, NONE);
+    }
+
+    UUID decode(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,108 @@
+package com.deliverytech.delivery_api.analytics;
+
+import java.util.Arrays;
+
+/*
+    Count, cents and quantity per packed group key, in an open-addressing table of
+    primitive arrays. Keys are never negative, so -1 marks a free slot. One instance per
+    segment scan; the partial results are merged pairwise.
+ */
+final class GroupAggregates {
+
+    private static final long FREE = -1;
+
+    private long[] keys;
+    private long[] counts;
+    private long[] cents;
+    private long[] quantities;
+    private int size;
+
+    GroupAggregates() {
+        allocate(64);
+    }
+
+    void add(long key, long count, long amountCents, long quantity) {
+        int slot = slot(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                grow();
+                slot = slot(key);
+            }
+        }
+        counts[slot] += count;
+        cents[slot] += amountCents;
+        quantities[slot] += quantity;
+    }
+
+    GroupAggregates merge(GroupAggregates other) {
+        GroupAggregates target = size >= other.size ? this : other;
+        GroupAggregates source = target == this ? other : this;
+        for (int slot = 0; slot < source.keys.length; slot++) {
+            if (source.keys[slot] != FREE) {
+                target.add(source.keys[slot], source.counts[slot], source.cents[slot], source.quantities[slot]);
+            }
+        }
+        return target;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /* Visits the groups in key order */
+    void forEachSorted(GroupVisitor visitor) {
+        long[] sorted = new long[size];
+        int[] slots = new int[size];
+        int i = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) sorted[i++] = keys[slot];
+        }
+        Arrays.sort(sorted);
+        for (i = 0; i < sorted.length; i++) {
+            slots[i] = slot(sorted[i]);
+        }
+        for (i = 0; i < sorted.length; i++) {
+            int slot = slots[i];
+            visitor.visit(keys[slot], counts[slot], cents[slot], quantities[slot]);
+        }
+    }
+
+    /* The slot holding the key, or the free slot where it goes */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        long[] oldCents = cents;
+        long[] oldQuantities = quantities;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] == FREE) continue;
+            int target = slot(oldKeys[slot]);
+            keys[target] = oldKeys[slot];
+            counts[target] = oldCounts[slot];
+            cents[target] = oldCents[slot];
+            quantities[target] = oldQuantities[slot];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        counts = new long[capacity];
+        cents = new long[capacity];
+        quantities = new long[capacity];
+    }
+
+    interface GroupVisitor {
+        void visit(long key, long count, long cents, long quantity);
+    }
+}
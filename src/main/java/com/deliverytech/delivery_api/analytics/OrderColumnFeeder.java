@@ -0,0 +1,179 @@
+package com.deliverytech.delivery_api.analytics;
+
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
+import com.deliverytech.delivery_api.events.order.OrderCancelEvent;
+import com.deliverytech.delivery_api.events.order.OrderCreatedEvent;
+import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+    Keeps the OrderColumnStore in step with the orders: loads the window from the database
+    on start, then follows the broadcast order events, so every node keeps its own copy.
+    A failure here is logged and never fails the relay; the store is a read model and the
+    next restart reloads it.
+ */
+@Component
+public class OrderColumnFeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderColumnFeeder.class);
+
+    private static final String WINDOW_QUERY =
+            "SELECT o.id, o.restaurant_id, o.consumer_id, o.order_date, o.status, o.total, " +
+                    "i.product_id, i.quantity, i.subtotal " +
+                    "FROM tb_orders o LEFT JOIN tb_order_items i ON i.order_id = o.id AND i.order_date >= ? " +
+                    "WHERE o.order_date >= ? ORDER BY o.id";
+
+    private final OrderColumnStore store;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    public OrderColumnFeeder(
+            OrderColumnStore store,
+            OrderRepository orderRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.orders.enabled:true}") boolean enabled
+    ) {
+        this.store = store;
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(5000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) return;
+
+        store.beginLoad();
+        try {
+            Timestamp since = Timestamp.valueOf(LocalDateTime.now().minus(store.window()));
+            Loader loader = new Loader();
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(WINDOW_QUERY, (RowCallbackHandler) loader::accept, since, since));
+            loader.flush();
+            log.info("Armazenamento analítico carregado com {} pedido(s) em {} segmento(s)",
+                    store.size(), store.segmentCount());
+        } catch (DataAccessException e) {
+            log.error("Não foi possível carregar os pedidos recentes no armazenamento analítico", e);
+        } finally {
+            store.endLoad();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.orders.evict-interval:PT10M}")
+    public void evictExpired() {
+        if (!enabled) return;
+        int evicted = store.evictExpired();
+        if (evicted > 0) {
+            log.debug("{} pedido(s) fora da janela removidos do armazenamento analítico", evicted);
+        }
+    }
+
+    /* The snapshot in the event has no associations, the order and its items are read again */
+    @EventListener(condition = "#event.broadcast")
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (!enabled) return;
+        try {
+            for (Order order : orderRepository.findDetailByIdIn(List.of(event.getOrder().getId()))) {
+                store.add(new OrderColumnStore.OrderRow(order.getId(),
+                                order.getRestaurant() == null ? null : order.getRestaurant().getId(),
+                                order.getConsumer() == null ? null : order.getConsumer().getId(),
+                                order.getOrderDate(), order.getStatus(), order.getTotal()),
+                        order.getItems() == null ? List.of() : order.getItems().stream()
+                                .map(item -> new OrderColumnStore.ItemRow(
+                                        item.getProduct() == null ? null : item.getProduct().getId(),
+                                        item.getQuantity() == null ? 0 : item.getQuantity(), item.getSubtotal()))
+                                .toList());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pedido {} não adicionado ao armazenamento analítico", event.getOrder().getId(), e);
+        }
+    }
+
+    @EventListener(condition = "#event.broadcast")
+    public void onOrderStatusUpdate(OrderStatusUpdateEvent event) {
+        updateStatus(event.getOrder());
+    }
+
+    @EventListener(condition = "#event.broadcast")
+    public void onOrderCancel(OrderCancelEvent event) {
+        updateStatus(event.getOrder());
+    }
+
+    @EventListener(condition = "#event.broadcast")
+    public void onOrderBulkStatusUpdate(OrderBulkStatusUpdateEvent event) {
+        if (!enabled) return;
+        for (UUID orderId : event.getBatch().orderIds()) {
+            store.updateStatus(orderId, event.getBatch().status());
+        }
+    }
+
+    private void updateStatus(Order order) {
+        if (enabled && order.getStatus() != null) {
+            store.updateStatus(order.getId(), order.getStatus());
+        }
+    }
+
+    /* Rows come ordered by order id; the items of one order are collected until the id changes */
+    private final class Loader {
+
+        private OrderColumnStore.OrderRow order;
+        private final List<OrderColumnStore.ItemRow> items = new ArrayList<>();
+
+        void accept(ResultSet rs) throws SQLException {
+            UUID id = rs.getObject("id", UUID.class);
+            if (order == null || !order.id().equals(id)) {
+                flush();
+                String status = rs.getString("status");
+                order = new OrderColumnStore.OrderRow(id,
+                        rs.getObject("restaurant_id", UUID.class),
+                        rs.getObject("consumer_id", UUID.class),
+                        rs.getTimestamp("order_date").toLocalDateTime(),
+                        status == null ? null : OrderStatus.valueOf(status),
+                        rs.getBigDecimal("total"));
+            }
+
+            UUID productId = rs.getObject("product_id", UUID.class);
+            BigDecimal subtotal = rs.getBigDecimal("subtotal");
+            if (productId != null || subtotal != null) {
+                items.add(new OrderColumnStore.ItemRow(productId, rs.getInt("quantity"), subtotal));
+            }
+        }
+
+        void flush() {
+            if (order != null) {
+                store.add(order, List.copyOf(items));
+            }
+            order = null;
+            items.clear();
+        }
+    }
+}
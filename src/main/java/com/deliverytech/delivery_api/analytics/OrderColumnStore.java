@@ -0,0 +1,402 @@
+package com.deliverytech.delivery_api.analytics;
+
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    In-memory column store of the orders of the last window, with their items, for ad-hoc
+    group-by queries that would otherwise be new JPQL queries scanning tb_orders. Ids are
+    dictionary-encoded, order dates are minutes of local time, statuses are ordinals and
+    amounts are cents, in segments of primitive columns. One writer at a time appends and
+    updates statuses; queries run concurrently, scanning the segments in parallel on a
+    ForkJoinPool and merging the partial groups. Segments older than the window are dropped
+    whole, so a segment can outlive the window by as long as it took to fill.
+ */
+public class OrderColumnStore implements AutoCloseable {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Duration window;
+    private final int segmentSize;
+    private final Clock clock;
+    private final ForkJoinPool pool;
+    private final Timer queries;
+
+    private final ColumnDictionary restaurants = new ColumnDictionary();
+    private final ColumnDictionary consumers = new ColumnDictionary();
+    private final ColumnDictionary products = new ColumnDictionary();
+
+    private volatile List<OrderSegment> segments = List.of();
+    private Map<UUID, OrderStatus> lateStatuses;
+
+    public OrderColumnStore(Duration window, int segmentSize, int parallelism, Clock clock, MeterRegistry meterRegistry) {
+        this.window = window;
+        this.segmentSize = segmentSize;
+        this.clock = clock;
+        this.pool = new ForkJoinPool(parallelism);
+        this.queries = Timer.builder("delivery_api.analytics.query")
+                .description("Consultas ao armazenamento colunar de pedidos")
+                .register(meterRegistry);
+        Gauge.builder("delivery_api.analytics.orders", this, OrderColumnStore::size)
+                .description("Pedidos no armazenamento colunar")
+                .register(meterRegistry);
+    }
+
+    public record OrderRow(UUID id, UUID restaurantId, UUID consumerId, LocalDateTime orderDate,
+                           OrderStatus status, BigDecimal total) {
+    }
+
+    public record ItemRow(UUID productId, int quantity, BigDecimal subtotal) {
+    }
+
+    public Duration window() {
+        return window;
+    }
+
+    /*
+        Appends the order with its items. Orders already stored, or placed before the
+        window, are skipped; returns whether the order was added.
+     */
+    public synchronized boolean add(OrderRow order, List<ItemRow> items) {
+        if (order.orderDate() == null || order.status() == null) return false;
+
+        int orderMinute = minuteOf(order.orderDate());
+        if (orderMinute < cutoff() || locate(order.id()) != null) return false;
+
+        OrderStatus status = order.status();
+        if (lateStatuses != null) {
+            status = lateStatuses.getOrDefault(order.id(), status);
+        }
+
+        OrderSegment segment = segments.isEmpty() ? null : segments.getLast();
+        if (segment == null || segment.isFull()) {
+            segment = new OrderSegment(segmentSize);
+            List<OrderSegment> grown = new ArrayList<>(segments);
+            grown.add(segment);
+            segments = List.copyOf(grown);
+        }
+
+        int row = segment.addOrder(order.id().getMostSignificantBits(), order.id().getLeastSignificantBits(),
+                restaurants.encode(order.restaurantId()), consumers.encode(order.consumerId()),
+                orderMinute, status.ordinal(), cents(order.total()));
+        for (ItemRow item : items) {
+            segment.addItem(row, products.encode(item.productId()),
+                    item.quantity(), cents(item.subtotal()));
+        }
+        return true;
+    }
+
+    /* Returns false when the order is not in the store */
+    public synchronized boolean updateStatus(UUID orderId, OrderStatus status) {
+        Location location = locate(orderId);
+        if (location == null) {
+            if (lateStatuses != null) {
+                lateStatuses.put(orderId, status);
+            }
+            return false;
+        }
+        location.segment().status[location.row()] = (byte) status.ordinal();
+        return true;
+    }
+
+    /*
+        While the store is being loaded from the database, status changes of orders not
+        loaded yet are kept and applied when they arrive, so a row read before the change
+        is not stored with the old status.
+     */
+    public synchronized void beginLoad() {
+        lateStatuses = new HashMap<>();
+    }
+
+    public synchronized void endLoad() {
+        lateStatuses = null;
+    }
+
+    /* Drops the segments entirely before the window and returns how many orders they held */
+    public synchronized int evictExpired() {
+        int cutoff = cutoff();
+        List<OrderSegment> kept = new ArrayList<>();
+        int evicted = 0;
+        for (OrderSegment segment : segments) {
+            if (segment.size > 0 && segment.maxMinute < cutoff) {
+                evicted += segment.size;
+            } else {
+                kept.add(segment);
+            }
+        }
+        segments = List.copyOf(kept);
+        return evicted;
+    }
+
+    public synchronized void clear() {
+        segments = List.of();
+    }
+
+    public int size() {
+        int size = 0;
+        for (OrderSegment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public AnalyticsResult query(AnalyticsQuery query) {
+        return queries.record(() -> {
+            Plan plan = new Plan(query);
+            List<OrderSegment> snapshot = segments;
+            GroupAggregates groups = plan.matchesNothing || snapshot.isEmpty()
+                    ? new GroupAggregates()
+                    : pool.invoke(new Scan(plan, snapshot, 0, snapshot.size()));
+
+            List<AnalyticsResult.Group> result = new ArrayList<>(groups.size());
+            groups.forEachSorted((key, count, amountCents, quantity) ->
+                    result.add(new AnalyticsResult.Group(plan.decode(key), count, amountCents, quantity)));
+            return new AnalyticsResult(result, plan.scannedRows.sum(), plan.scannedSegments.intValue());
+        });
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private Location locate(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        List<OrderSegment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            int row = current.get(i).find(high, low);
+            if (row >= 0) return new Location(current.get(i), row);
+        }
+        return null;
+    }
+
+    private int cutoff() {
+        return minuteOf(LocalDateTime.now(clock).minus(window));
+    }
+
+    /* Clamped, so dates far outside the window still compare correctly */
+    static int minuteOf(LocalDateTime dateTime) {
+        long minute = Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        return Math.clamp(minute, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /* Orders are stored by minute, so an end within a minute includes the whole minute */
+    static int endMinuteOf(LocalDateTime dateTime) {
+        LocalDateTime minute = dateTime.truncatedTo(ChronoUnit.MINUTES);
+        int end = minuteOf(minute);
+        return minute.equals(dateTime) || end == Integer.MAX_VALUE ? end : end + 1;
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Location(OrderSegment segment, int row) {
+    }
+
+    /* The query resolved against the dictionaries, and the layout of its packed group keys */
+    private final class Plan {
+
+        private final boolean items;
+        private final int fromMinute;
+        private final int toMinute;
+        private final int statusMask;
+        private final int restaurantCode;
+        private final int consumerCode;
+        private final int productCode;
+        private final boolean matchesNothing;
+
+        private final AnalyticsDimension[] dimensions;
+        private final int[] bits;
+        private final int[] cardinalities;
+        private final int fromHour;
+        private final int fromDay;
+
+        private final LongAdder scannedRows = new LongAdder();
+        private final LongAdder scannedSegments = new LongAdder();
+
+        Plan(AnalyticsQuery query) {
+            items = query.fact() == AnalyticsFact.ITEMS;
+            fromMinute = minuteOf(query.from());
+            toMinute = endMinuteOf(query.to());
+            statusMask = mask(query.statuses());
+            restaurantCode = restaurants.find(query.restaurantId());
+            consumerCode = consumers.find(query.consumerId());
+            productCode = products.find(query.productId());
+            matchesNothing = fromMinute >= toMinute
+                    || (query.restaurantId() != null && restaurantCode == ColumnDictionary.NONE)
+                    || (query.consumerId() != null && consumerCode == ColumnDictionary.NONE)
+                    || (query.productId() != null && productCode == ColumnDictionary.NONE);
+
+            dimensions = query.groupBy().toArray(AnalyticsDimension[]::new);
+            bits = new int[dimensions.length];
+            cardinalities = new int[dimensions.length];
+            fromHour = Math.floorDiv(fromMinute, 60);
+            fromDay = Math.floorDiv(fromMinute, 1440);
+
+            int totalBits = 0;
+            for (int i = 0; i < dimensions.length; i++) {
+                if (dimensions[i] == AnalyticsDimension.PRODUCT && !items) {
+                    throw new IllegalArgumentException("O agrupamento por produto exige o fato ITEMS");
+                }
+                cardinalities[i] = switch (dimensions[i]) {
+                    case RESTAURANT -> restaurants.size() + 1;
+                    case CONSUMER -> consumers.size() + 1;
+                    case PRODUCT -> products.size() + 1;
+                    case STATUS -> STATUSES.length;
+                    case HOUR -> Math.max(1, Math.floorDiv(toMinute - 1, 60) - fromHour + 1);
+                    case DAY -> Math.max(1, Math.floorDiv(toMinute - 1, 1440) - fromDay + 1);
+                };
+                bits[i] = 64 - Long.numberOfLeadingZeros(cardinalities[i] - 1L);
+                totalBits += bits[i];
+            }
+            if (totalBits > 62) {
+                throw new IllegalArgumentException("Combinação de agrupamentos com grupos demais; reduza o período ou as dimensões");
+            }
+        }
+
+        GroupAggregates scan(OrderSegment segment) {
+            GroupAggregates groups = new GroupAggregates();
+            if (!segment.overlaps(fromMinute, toMinute)) return groups;
+            scannedSegments.increment();
+            return items ? scanItems(segment, groups) : scanOrders(segment, groups);
+        }
+
+        private GroupAggregates scanOrders(OrderSegment segment, GroupAggregates groups) {
+            int size = segment.size;
+            long[] amounts = segment.cents;
+            for (int row = 0; row < size; row++) {
+                if (!matches(segment, row)) continue;
+                long key = key(segment, row, -1);
+                if (key >= 0) groups.add(key, 1, amounts[row], 0);
+            }
+            scannedRows.add(size);
+            return groups;
+        }
+
+        private GroupAggregates scanItems(OrderSegment segment, GroupAggregates groups) {
+            int size = segment.itemSize;
+            int[] orders = segment.itemOrder;
+            int[] itemProducts = segment.itemProduct;
+            int[] quantities = segment.itemQuantity;
+            long[] amounts = segment.itemCents;
+            for (int item = 0; item < size; item++) {
+                if (productCode >= 0 && itemProducts[item] != productCode) continue;
+                int row = orders[item];
+                if (!matches(segment, row)) continue;
+                long key = key(segment, row, itemProducts[item]);
+                if (key >= 0) groups.add(key, 1, amounts[item], quantities[item]);
+            }
+            scannedRows.add(size);
+            return groups;
+        }
+
+        private boolean matches(OrderSegment segment, int row) {
+            int minute = segment.minute[row];
+            return minute >= fromMinute && minute < toMinute
+                    && (statusMask & (1 << segment.status[row])) != 0
+                    && (restaurantCode < 0 || segment.restaurant[row] == restaurantCode)
+                    && (consumerCode < 0 || segment.consumer[row] == consumerCode);
+        }
+
+        /* -1 when a code was added to a dictionary after the plan was made */
+        private long key(OrderSegment segment, int row, int product) {
+            long key = 0;
+            for (int i = 0; i < dimensions.length; i++) {
+                int code = switch (dimensions[i]) {
+                    case RESTAURANT -> segment.restaurant[row] + 1;
+                    case CONSUMER -> segment.consumer[row] + 1;
+                    case PRODUCT -> product + 1;
+                    case STATUS -> segment.status[row];
+                    case HOUR -> Math.floorDiv(segment.minute[row], 60) - fromHour;
+                    case DAY -> Math.floorDiv(segment.minute[row], 1440) - fromDay;
+                };
+                if (code >= cardinalities[i]) return -1;
+                key = (key << bits[i]) | code;
+            }
+            return key;
+        }
+
+        List<Object> decode(long key) {
+            Object[] values = new Object[dimensions.length];
+            for (int i = dimensions.length - 1; i >= 0; i--) {
+                int code = (int) (key & ((1L << bits[i]) - 1));
+                key >>>= bits[i];
+                values[i] = switch (dimensions[i]) {
+                    case RESTAURANT -> restaurants.decode(code - 1);
+                    case CONSUMER -> consumers.decode(code - 1);
+                    case PRODUCT -> products.decode(code - 1);
+                    case STATUS -> STATUSES[code];
+                    case HOUR -> LocalDateTime.ofEpochSecond((fromHour + code) * 3600L, 0, ZoneOffset.UTC);
+                    case DAY -> LocalDate.ofEpochDay(fromDay + code);
+                };
+            }
+            return Arrays.asList(values);
+        }
+
+        private static int mask(Set<OrderStatus> statuses) {
+            if (statuses == null || statuses.isEmpty()) return -1;
+            int mask = 0;
+            for (OrderStatus status : statuses) {
+                mask |= 1 << status.ordinal();
+            }
+            return mask;
+        }
+    }
+
+    /* Splits the segments in halves down to one segment per task */
+    private static final class Scan extends RecursiveTask<GroupAggregates> {
+
+        private final Plan plan;
+        private final List<OrderSegment> segments;
+        private final int from;
+        private final int to;
+
+        Scan(Plan plan, List<OrderSegment> segments, int from, int to) {
+            this.plan = plan;
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupAggregates compute() {
+            if (to - from == 1) {
+                return plan.scan(segments.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            Scan left = new Scan(plan, segments, from, middle);
+            left.fork();
+            GroupAggregates right = new Scan(plan, segments, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.deliverytech.delivery_api.analytics;
+
+import java.util.Arrays;
+
+/*
+    A fixed number of orders and their items as primitive columns. Items point to their
+    order by row. The single writer fills a row before publishing the new size, so a query
+    that reads size first sees complete rows; item columns are replaced when they grow,
+    always before itemSize moves. Orders are also indexed by id in an open-addressing table
+    of rows, probed with the id columns themselves.
+ */
+final class OrderSegment {
+
+    final int capacity;
+
+    final long[] idHigh;
+    final long[] idLow;
+    final int[] restaurant;
+    final int[] consumer;
+    final int[] minute;
+    final byte[] status;
+    final long[] cents;
+
+    int[] itemOrder;
+    int[] itemProduct;
+    int[] itemQuantity;
+    long[] itemCents;
+
+    private final int[] index;
+    private final int mask;
+
+    volatile int size;
+    volatile int itemSize;
+
+    int minMinute = Integer.MAX_VALUE;
+    int maxMinute = Integer.MIN_VALUE;
+    private long minIdHigh = Long.MAX_VALUE;
+    private long maxIdHigh = Long.MIN_VALUE;
+
+    OrderSegment(int capacity) {
+        this.capacity = capacity;
+        this.idHigh = new long[capacity];
+        this.idLow = new long[capacity];
+        this.restaurant = new int[capacity];
+        this.consumer = new int[capacity];
+        this.minute = new int[capacity];
+        this.status = new byte[capacity];
+        this.cents = new long[capacity];
+
+        int items = Math.max(16, capacity * 2);
+        this.itemOrder = new int[items];
+        this.itemProduct = new int[items];
+        this.itemQuantity = new int[items];
+        this.itemCents = new long[items];
+
+        this.index = new int[Integer.highestOneBit(Math.max(2, capacity) - 1) << 2];
+        this.mask = index.length - 1;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    int addOrder(long high, long low, int restaurantCode, int consumerCode, int orderMinute, int statusOrdinal, long totalCents) {
+        int row = size;
+        idHigh[row] = high;
+        idLow[row] = low;
+        restaurant[row] = restaurantCode;
+        consumer[row] = consumerCode;
+        minute[row] = orderMinute;
+        status[row] = (byte) statusOrdinal;
+        cents[row] = totalCents;
+
+        int slot = slot(high, low);
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row + 1;
+
+        minMinute = Math.min(minMinute, orderMinute);
+        maxMinute = Math.max(maxMinute, orderMinute);
+        minIdHigh = Math.min(minIdHigh, high);
+        maxIdHigh = Math.max(maxIdHigh, high);
+        size = row + 1;
+        return row;
+    }
+
+    void addItem(int row, int productCode, int quantity, long subtotalCents) {
+        int item = itemSize;
+        if (item == itemOrder.length) {
+            int grown = item * 2;
+            itemOrder = Arrays.copyOf(itemOrder, grown);
+            itemProduct = Arrays.copyOf(itemProduct, grown);
+            itemQuantity = Arrays.copyOf(itemQuantity, grown);
+            itemCents = Arrays.copyOf(itemCents, grown);
+        }
+        itemOrder[item] = row;
+        itemProduct[item] = productCode;
+        itemQuantity[item] = quantity;
+        itemCents[item] = subtotalCents;
+        itemSize = item + 1;
+    }
+
+    /* The row of the order, or -1. UUIDv7 ids grow with time, so most segments are skipped by range */
+    int find(long high, long low) {
+        if (size == 0 || high < minIdHigh || high > maxIdHigh) return -1;
+
+        int slot = slot(high, low);
+        int row;
+        while ((row = index[slot]) != 0) {
+            if (idHigh[row - 1] == high && idLow[row - 1] == low) return row - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    boolean overlaps(int fromMinute, int toMinute) {
+        return size > 0 && maxMinute >= fromMinute && minMinute < toMinute;
+    }
+
+    private int slot(long high, long low) {
+        long hash = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
@@ -0,0 +1,162 @@
+package com.deliverytech.delivery_api.aop;
+
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
+import com.deliverytech.delivery_api.idempotency.IdempotencyRecord;
+import com.deliverytech.delivery_api.idempotency.IdempotencyStore;
+import com.deliverytech.delivery_api.service.impl.MetricsServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/*
+    Runs after method security (both at lowest precedence, security advisors registered first),
+    so unauthorized callers never reserve a key.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENCY_REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final MetricsServiceImpl metricsService;
+
+    @Value("${idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${idempotency.lock-ttl:PT30S}")
+    private Duration lockTtl;
+
+    @Value("${idempotency.wait-timeout:PT5S}")
+    private Duration waitTimeout;
+
+    @Value("${idempotency.poll-interval:PT0.05S}")
+    private Duration pollInterval;
+
+    @Around("@annotation(idempotent)")
+    public Object handle(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return joinPoint.proceed();
+        }
+
+        if (idempotencyKey.length() > 255) {
+            throw new IllegalArgumentException("O header Idempotency-Key deve ter no máximo 255 caracteres.");
+        }
+
+        String storeKey = buildStoreKey(request, idempotencyKey);
+        String fingerprint = fingerprint(joinPoint.getArgs());
+
+        Optional<IdempotencyRecord> existing = reserveOrWait(storeKey, fingerprint);
+        if (existing.isPresent()) {
+            metricsService.incrementIdempotencyReplays();
+            return replay(existing.get());
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            idempotencyStore.release(storeKey);
+            throw t;
+        }
+
+        if (result instanceof ResponseEntity<?> response && response.getStatusCode().is2xxSuccessful()) {
+            idempotencyStore.complete(storeKey, IdempotencyRecord.completed(
+                    fingerprint,
+                    response.getStatusCode().value(),
+                    response.getHeaders().getFirst(HttpHeaders.LOCATION),
+                    response.hasBody() ? objectMapper.valueToTree(response.getBody()) : null
+            ), ttl);
+        } else {
+            idempotencyStore.release(storeKey);
+        }
+
+        return result;
+    }
+
+    /*
+        Returns empty when this request owns the key. A concurrent duplicate polls the store
+        until the first request completes (replay), fails (takes over the key) or the wait times out.
+     */
+    private Optional<IdempotencyRecord> reserveOrWait(String storeKey, String fingerprint) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + waitTimeout.toNanos();
+
+        try {
+            while (true) {
+                Optional<IdempotencyRecord> existing = idempotencyStore.reserve(storeKey, fingerprint, lockTtl);
+                if (existing.isEmpty()) {
+                    return existing;
+                }
+
+                IdempotencyRecord stored = existing.get();
+                if (!stored.fingerprint().equals(fingerprint)) {
+                    throw new BusinessException("O Idempotency-Key informado já foi utilizado com uma requisição diferente.");
+                }
+                if (stored.completed()) {
+                    return existing;
+                }
+                if (System.nanoTime() >= deadline) {
+                    throw new ConflictException("Uma requisição com o mesmo Idempotency-Key ainda está em processamento.");
+                }
+
+                Thread.sleep(pollInterval.toMillis());
+            }
+        } finally {
+            metricsService.recordIdempotencyWait(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+    }
+
+    private ResponseEntity<Object> replay(IdempotencyRecord record) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.status())
+                .header(IDEMPOTENCY_REPLAYED_HEADER, "true");
+
+        if (record.location() != null) {
+            builder.header(HttpHeaders.LOCATION, record.location());
+        }
+
+        return record.body() == null ? builder.build() : builder.body(record.body());
+    }
+
+    private String buildStoreKey(HttpServletRequest request, String idempotencyKey) {
+        String user = "ANONYMOUS";
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            user = authentication.getName();
+        }
+
+        return String.join(":", "idempotency", user, request.getMethod(), request.getRequestURI(), idempotencyKey);
+    }
+
+    private String fingerprint(Object[] args) throws JsonProcessingException, NoSuchAlgorithmException {
+        byte[] payload = objectMapper.writeValueAsBytes(args);
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload);
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+    Marks a controller method whose effects must be applied only once per
+    Idempotency-Key header. Requests without the header run normally.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.archive;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/*
+    Sparse index entry of one gzip block of a segment: where the block lives and the
+    id and date bounds of its orders.
+ */
+record ArchiveBlock(
+        long offset,
+        int length,
+        UUID minId,
+        UUID maxId,
+        LocalDateTime minDate,
+        LocalDateTime maxDate
+) {
+
+    boolean mayContain(UUID id) {
+        return minId.compareTo(id) <= 0 && maxId.compareTo(id) >= 0;
+    }
+
+    boolean overlaps(UUID fromId, UUID toId) {
+        return minId.compareTo(toId) <= 0 && maxId.compareTo(fromId) >= 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.archive;
+
+import java.util.Map;
+import java.util.UUID;
+
+/*
+    One line of a segment's .idx file: the block and how many of its orders each consumer has.
+    Only the block stays in memory per segment; the counts feed the per-consumer index.
+ */
+record ArchiveIndexEntry(ArchiveBlock block, Map<UUID, Integer> consumers) {
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.archive;
+
+import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
+import com.deliverytech.delivery_api.model.Order;
+
+import java.util.UUID;
+
+/*
+    Archived form of an order: the response it was served with plus what the
+    ownership checks need once the consumer and restaurant rows are no longer joined.
+ */
+public record ArchivedOrder(
+        UUID id,
+        UUID reference,
+        UUID consumerId,
+        String consumerEmail,
+        UUID restaurantId,
+        OrderResponseDto order
+) {
+
+    public static ArchivedOrder of(Order order, OrderResponseDto dto) {
+        return new ArchivedOrder(
+                order.getId(),
+                order.getReference(),
+                order.getConsumer().getId(),
+                order.getConsumer().getEmail(),
+                order.getRestaurant().getId(),
+                dto);
+    }
+
+    public OrderSummaryResponseDto toSummaryDto() {
+        return new OrderSummaryResponseDto(order.id(), order.restaurantName(), order.status(), order.total());
+    }
+}
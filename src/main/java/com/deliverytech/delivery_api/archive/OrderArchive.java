@@ -0,0 +1,294 @@
+package com.deliverytech.delivery_api.archive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    Append-only store of archived orders on local disk, one segment per month of order date.
+    A segment is a sequence of independent gzip blocks; its sparse index (one line per block
+    in the .idx file next to it) is kept in memory, so a lookup only inflates the blocks whose
+    bounds may hold the order. The same lines give, per consumer, the blocks holding their
+    orders and how many, so the history is counted without reading a block and listed by
+    reading only those. Orders already archived are skipped when appended again, so each is
+    stored once. Whole segments are dropped once past the retention cutoff.
+ */
+@Component
+public class OrderArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchive.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path directory;
+    private final int blockSize;
+    private final ObjectMapper objectMapper;
+    private final NavigableMap<YearMonth, List<ArchiveBlock>> segments = new TreeMap<>();
+    private final Map<UUID, List<ConsumerBlock>> consumers = new HashMap<>();
+
+    private record ConsumerBlock(YearMonth month, ArchiveBlock block, int orders) {
+    }
+
+    public OrderArchive(
+            @Value("${orders.archive.path:data/order-archive}") String directory,
+            @Value("${orders.archive.block-size:64}") int blockSize,
+            ObjectMapper objectMapper
+    ) {
+        this.directory = Path.of(directory);
+        this.blockSize = blockSize;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(this.directory);
+            loadIndexes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo de pedidos: " + directory, e);
+        }
+    }
+
+    public synchronized void append(List<ArchivedOrder> orders) {
+        Set<UUID> archived = archivedIds(orders);
+        Map<YearMonth, List<ArchivedOrder>> bySegment = new TreeMap<>();
+        for (ArchivedOrder order : orders) {
+            if (!archived.add(order.id())) continue;
+            bySegment.computeIfAbsent(YearMonth.from(order.order().orderDate()), month -> new ArrayList<>()).add(order);
+        }
+
+        try {
+            for (Map.Entry<YearMonth, List<ArchivedOrder>> segment : bySegment.entrySet()) {
+                appendToSegment(segment.getKey(), segment.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar no arquivo de pedidos", e);
+        }
+    }
+
+    public synchronized Optional<ArchivedOrder> findById(UUID id) {
+        for (Map.Entry<YearMonth, List<ArchiveBlock>> segment : segments.descendingMap().entrySet()) {
+            for (ArchiveBlock block : segment.getValue()) {
+                if (!block.mayContain(id)) continue;
+
+                Optional<ArchivedOrder> found = readBlock(segment.getKey(), block).stream()
+                        .filter(order -> order.id().equals(id))
+                        .findFirst();
+                if (found.isPresent()) return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized long countByConsumer(UUID consumerId) {
+        return consumers.getOrDefault(consumerId, List.of()).stream()
+                .mapToLong(ConsumerBlock::orders)
+                .sum();
+    }
+
+    /* Archived orders of the consumer, newest first */
+    public synchronized List<ArchivedOrder> findByConsumer(UUID consumerId, long offset, int limit) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (ConsumerBlock consumerBlock : consumers.getOrDefault(consumerId, List.of())) {
+            for (ArchivedOrder order : readBlock(consumerBlock.month(), consumerBlock.block())) {
+                if (order.consumerId().equals(consumerId)) orders.add(order);
+            }
+        }
+
+        return orders.stream()
+                .sorted(Comparator.comparing((ArchivedOrder order) -> order.order().orderDate()).reversed())
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    /*
+        Deletes the segments whose every order is older than the cutoff.
+     */
+    public synchronized List<YearMonth> purgeBefore(LocalDateTime cutoff) {
+        List<YearMonth> purged = new ArrayList<>();
+        Iterator<Map.Entry<YearMonth, List<ArchiveBlock>>> iterator = segments.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<YearMonth, List<ArchiveBlock>> segment = iterator.next();
+            boolean expired = segment.getValue().stream().allMatch(block -> block.maxDate().isBefore(cutoff));
+            if (!expired) continue;
+
+            try {
+                Files.deleteIfExists(indexFile(segment.getKey()));
+                Files.deleteIfExists(segmentFile(segment.getKey()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível remover o segmento " + segment.getKey(), e);
+            }
+            iterator.remove();
+            purged.add(segment.getKey());
+        }
+
+        if (!purged.isEmpty()) {
+            consumers.values().forEach(blocks -> blocks.removeIf(block -> purged.contains(block.month())));
+            consumers.values().removeIf(List::isEmpty);
+        }
+        return purged;
+    }
+
+    /* Ids already stored in the blocks whose bounds overlap the orders, within their months */
+    private Set<UUID> archivedIds(List<ArchivedOrder> orders) {
+        Set<UUID> ids = new HashSet<>();
+        if (orders.isEmpty()) return ids;
+
+        UUID minId = orders.stream().map(ArchivedOrder::id).min(Comparator.naturalOrder()).orElseThrow();
+        UUID maxId = orders.stream().map(ArchivedOrder::id).max(Comparator.naturalOrder()).orElseThrow();
+        Set<YearMonth> months = new HashSet<>();
+        orders.forEach(order -> months.add(YearMonth.from(order.order().orderDate())));
+
+        for (YearMonth month : months) {
+            for (ArchiveBlock block : segments.getOrDefault(month, List.of())) {
+                if (!block.overlaps(minId, maxId)) continue;
+                readBlock(month, block).forEach(order -> ids.add(order.id()));
+            }
+        }
+        return ids;
+    }
+
+    private void appendToSegment(YearMonth month, List<ArchivedOrder> orders) throws IOException {
+        List<ArchiveBlock> blocks = segments.computeIfAbsent(month, key -> new ArrayList<>());
+
+        try (FileChannel data = openForAppend(segmentFile(month));
+             FileChannel index = openForAppend(indexFile(month))) {
+            for (int start = 0; start < orders.size(); start += blockSize) {
+                List<ArchivedOrder> chunk = orders.subList(start, Math.min(start + blockSize, orders.size()));
+
+                long offset = data.size();
+                byte[] compressed = compress(chunk);
+                writeFully(data, compressed);
+                data.force(false);
+
+                ArchiveIndexEntry entry = toIndexEntry(offset, compressed.length, chunk);
+                writeFully(index, (objectMapper.writeValueAsString(entry) + '\n').getBytes(StandardCharsets.UTF_8));
+                index.force(false);
+                blocks.add(entry.block());
+                indexConsumers(month, entry);
+            }
+        }
+    }
+
+    private List<ArchivedOrder> readBlock(YearMonth month, ArchiveBlock block) {
+        try (FileChannel channel = FileChannel.open(segmentFile(month), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(block.length());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, block.offset() + buffer.position()) < 0) {
+                    throw new IOException("Bloco truncado no segmento " + month);
+                }
+            }
+
+            List<ArchivedOrder> orders = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) orders.add(objectMapper.readValue(line, ArchivedOrder.class));
+                }
+            }
+            return orders;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o segmento " + month + " do arquivo de pedidos", e);
+        }
+    }
+
+    private byte[] compress(List<ArchivedOrder> orders) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (ArchivedOrder order : orders) {
+                gzip.write(objectMapper.writeValueAsBytes(order));
+                gzip.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private ArchiveIndexEntry toIndexEntry(long offset, int length, List<ArchivedOrder> orders) {
+        UUID minId = orders.getFirst().id();
+        UUID maxId = minId;
+        LocalDateTime minDate = orders.getFirst().order().orderDate();
+        LocalDateTime maxDate = minDate;
+        Map<UUID, Integer> consumerOrders = new HashMap<>();
+
+        for (ArchivedOrder order : orders) {
+            if (order.id().compareTo(minId) < 0) minId = order.id();
+            if (order.id().compareTo(maxId) > 0) maxId = order.id();
+            if (order.order().orderDate().isBefore(minDate)) minDate = order.order().orderDate();
+            if (order.order().orderDate().isAfter(maxDate)) maxDate = order.order().orderDate();
+            consumerOrders.merge(order.consumerId(), 1, Integer::sum);
+        }
+        return new ArchiveIndexEntry(new ArchiveBlock(offset, length, minId, maxId, minDate, maxDate), consumerOrders);
+    }
+
+    private void indexConsumers(YearMonth month, ArchiveIndexEntry entry) {
+        entry.consumers().forEach((consumerId, orders) -> consumers.computeIfAbsent(consumerId, id -> new ArrayList<>())
+                .add(new ConsumerBlock(month, entry.block(), orders)));
+    }
+
+    /*
+        A torn last index line from a crash is skipped; the block it described stays in the
+        segment as unreferenced bytes and is never read.
+     */
+    private void loadIndexes() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + INDEX_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                YearMonth month = YearMonth.parse(name.substring(0, name.length() - INDEX_SUFFIX.length()));
+
+                List<ArchiveBlock> blocks = new ArrayList<>();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    try {
+                        ArchiveIndexEntry entry = objectMapper.readValue(line, ArchiveIndexEntry.class);
+                        blocks.add(entry.block());
+                        indexConsumers(month, entry);
+                    } catch (JsonProcessingException e) {
+                        log.warn("Ignorando registro corrompido no índice {}", file);
+                    }
+                }
+                segments.put(month, blocks);
+            }
+        }
+    }
+
+    private Path segmentFile(YearMonth month) {
+        return directory.resolve(month + SEGMENT_SUFFIX);
+    }
+
+    private Path indexFile(YearMonth month) {
+        return directory.resolve(month + INDEX_SUFFIX);
+    }
+
+    private static FileChannel openForAppend(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
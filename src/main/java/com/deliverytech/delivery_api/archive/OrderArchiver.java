@@ -0,0 +1,115 @@
+package com.deliverytech.delivery_api.archive;
+
+import com.deliverytech.delivery_api.mapper.OrderMapper;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+    Moves delivered and canceled orders older than the minimum age out of the hot tables
+    into the OrderArchive. Each chunk is archived and deleted in its own short transaction,
+    and a run stops after a bounded number of chunks; the rest is picked up by the next run.
+    The archive is written before the delete commits, so a failed chunk is archived again
+    next time, where the orders it already holds are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    static final Set<OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELED);
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final OrderArchive orderArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orders.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${orders.archive.min-age:P180D}")
+    private Duration minAge;
+
+    @Value("${orders.archive.retention:P1825D}")
+    private Duration retention;
+
+    @Value("${orders.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${orders.archive.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Scheduled(cron = "${orders.archive.cron:0 30 2 * * *}")
+    public void scheduledArchival() {
+        if (!enabled) return;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            archive(now.minus(minAge));
+            purge(now.minus(retention));
+        } catch (RuntimeException e) {
+            log.error("Falha ao arquivar pedidos antigos", e);
+        }
+    }
+
+    /*
+        Archives the orders older than the cutoff and returns how many were moved.
+     */
+    public int archive(LocalDateTime cutoff) {
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0) break;
+
+            archived += moved;
+            meterRegistry.counter("delivery_api.orders.archived.total").increment(moved);
+            if (moved < chunkSize) break;
+        }
+
+        if (archived > 0) {
+            log.info("{} pedido(s) anteriores a {} arquivados", archived, cutoff);
+        }
+        return archived;
+    }
+
+    public List<YearMonth> purge(LocalDateTime cutoff) {
+        List<YearMonth> purged = orderArchive.purgeBefore(cutoff);
+        if (!purged.isEmpty()) {
+            log.info("Segmentos do arquivo de pedidos removidos pela retenção: {}", purged);
+        }
+        return purged;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<UUID> ids = orderRepository.findArchivableIds(ARCHIVABLE_STATUSES, cutoff, Limit.of(chunkSize));
+        if (ids.isEmpty()) return 0;
+
+        List<ArchivedOrder> orders = orderRepository.findDetailByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Order::getOrderDate).thenComparing(Order::getId))
+                .map(order -> ArchivedOrder.of(order, orderMapper.toDto(order)))
+                .toList();
+        orderArchive.append(orders);
+
+        orderRepository.deleteItemsByOrderIdIn(ids);
+        return orderRepository.deleteByIdIn(ids);
+    }
+}
@@ -0,0 +1,37 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.analytics.OrderColumnStore;
+import com.deliverytech.delivery_api.topk.TopSellers;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class AnalyticsConfig {
+
+    /* Order dates are local times, so the window is measured on the JVM's local clock */
+    @Bean(destroyMethod = "close")
+    public OrderColumnStore orderColumnStore(
+            @Value("${analytics.orders.window:P7D}") Duration window,
+            @Value("${analytics.orders.segment-size:65536}") int segmentSize,
+            @Value("${analytics.orders.parallelism:0}") int parallelism,
+            MeterRegistry meterRegistry
+    ) {
+        return new OrderColumnStore(window, segmentSize,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    /* The hour and day windows step on the wall clock, in UTC */
+    @Bean
+    public TopSellers topSellers(
+            @Value("${reports.top.capacity:500}") int capacity,
+            MeterRegistry meterRegistry
+    ) {
+        return new TopSellers(capacity, Clock.systemUTC(), meterRegistry);
+    }
+}
@@ -1,12 +1,27 @@
 package com.deliverytech.delivery_api.config;
 
+import com.deliverytech.delivery_api.nearcache.RedisCacheInvalidationBus;
+import com.deliverytech.delivery_api.nearcache.TwoLevelCacheManager;
+import com.deliverytech.delivery_api.reportcache.ReportDayCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,4 +49,77 @@ public class CacheConfig {
             builder.withInitialCacheConfigurations(configMap);
         };
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /*
+        Replaces the Redis cache manager Boot would create, so a bounded in-process cache can sit in
+        front of it: hits on hot entries skip the round trip and the JSON deserialization. Writes
+        and evictions are broadcast over pub/sub so other nodes drop their copy; a missed message
+        leaves a stale entry for the near cache TTL at most.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public CacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+            RedisMessageListenerContainer cacheInvalidationListenerContainer,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${cache.near.enabled:true}") boolean nearEnabled,
+            @Value("${cache.near.max-entries:10000}") int maxEntries,
+            @Value("${cache.near.ttl:PT30S}") Duration ttl,
+            @Value("${cache.near.channel:delivery-api:cache-invalidation}") String channel
+    ) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+        if (!nearEnabled) {
+            return redisCacheManager;
+        }
+
+        RedisCacheInvalidationBus bus = new RedisCacheInvalidationBus(redisTemplate, objectMapper, channel);
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, bus, maxEntries, ttl,
+                Clock.systemUTC(), meterRegistry);
+        cacheInvalidationListenerContainer.addMessageListener(bus.listener(cacheManager::onInvalidation), new ChannelTopic(channel));
+        return cacheManager;
+    }
+
+    /*
+        Report days are grouped by the JVM's local date, like the order dates. The relay hands each
+        order event to a single node, so with Redis the evictions are broadcast to the others.
+     */
+    @Bean
+    public ReportDayCache reportDayCache(
+            @Value("${reports.cache.enabled:true}") boolean enabled,
+            @Value("${reports.cache.open-day-ttl:PT30S}") Duration openDayTtl,
+            @Value("${reports.cache.closed-day-ttl:PT1H}") Duration closedDayTtl,
+            @Value("${reports.cache.max-days:5000}") int maxDays,
+            @Value("${reports.cache.channel:delivery-api:report-cache-invalidation}") String channel,
+            ObjectProvider<RedisMessageListenerContainer> cacheInvalidationListenerContainer,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        RedisMessageListenerContainer container = cacheInvalidationListenerContainer.getIfAvailable();
+        if (container == null) {
+            return new ReportDayCache(enabled, openDayTtl, closedDayTtl, maxDays, Clock.systemDefaultZone(),
+                    invalidation -> { }, meterRegistry);
+        }
+
+        RedisCacheInvalidationBus bus = new RedisCacheInvalidationBus(redisTemplate.getObject(), objectMapper, channel);
+        ReportDayCache reportDayCache = new ReportDayCache(enabled, openDayTtl, closedDayTtl, maxDays,
+                Clock.systemDefaultZone(), bus, meterRegistry);
+        container.addMessageListener(bus.listener(reportDayCache::onInvalidation), new ChannelTopic(channel));
+        return reportDayCache;
+    }
 }
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.idempotency.IdempotencyStore;
+import com.deliverytech.delivery_api.idempotency.InMemoryIdempotencyStore;
+import com.deliverytech.delivery_api.idempotency.RedisIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            @Value("${idempotency.store:memory}") String store,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectMapper objectMapper
+    ) {
+        if ("redis".equalsIgnoreCase(store)) {
+            return new RedisIdempotencyStore(redisTemplate.getObject(), objectMapper);
+        }
+        return new InMemoryIdempotencyStore(maxEntries, Clock.systemUTC());
+    }
+}
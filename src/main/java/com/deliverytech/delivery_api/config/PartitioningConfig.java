@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.partitioning.OrderPartitionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(name = "orders.partitioning.enabled", havingValue = "true")
+public class PartitioningConfig {
+
+    @Bean
+    public OrderPartitionManager orderPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${orders.partitioning.months-ahead:3}") int monthsAhead
+    ) {
+        return new OrderPartitionManager(jdbcTemplate, Clock.systemUTC(), monthsAhead);
+    }
+}
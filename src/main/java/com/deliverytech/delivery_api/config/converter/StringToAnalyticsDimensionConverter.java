@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.config.converter;
+
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToAnalyticsDimensionConverter implements Converter<String, AnalyticsDimension> {
+    @Override
+    public AnalyticsDimension convert(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return AnalyticsDimension.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Dimensão de análise inválida: " + source, ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.config.converter;
+
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToAnalyticsFactConverter implements Converter<String, AnalyticsFact> {
+    @Override
+    public AnalyticsFact convert(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return AnalyticsFact.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Fato de análise inválido: " + source, ex);
+        }
+    }
+}
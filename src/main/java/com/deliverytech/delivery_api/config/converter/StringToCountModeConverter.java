@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.config.converter;
+
+import com.deliverytech.delivery_api.pagination.CountMode;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToCountModeConverter implements Converter<String, CountMode> {
+    @Override
+    public CountMode convert(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return CountMode.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Modo de contagem inválido: " + source, ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.config.converter;
+
+import com.deliverytech.delivery_api.export.ExportFormat;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToExportFormatConverter implements Converter<String, ExportFormat> {
+    @Override
+    public ExportFormat convert(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return ExportFormat.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + source, ex);
+        }
+    }
+}
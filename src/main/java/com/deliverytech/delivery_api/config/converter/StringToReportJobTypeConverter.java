@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.config.converter;
+
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToReportJobTypeConverter implements Converter<String, ReportJobType> {
+    @Override
+    public ReportJobType convert(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return ReportJobType.valueOf(source.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Tipo de relatório inválido: " + source, ex);
+        }
+    }
+}
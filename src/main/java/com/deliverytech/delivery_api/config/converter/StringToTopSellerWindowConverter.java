@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.config.converter;
+
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToTopSellerWindowConverter implements Converter<String, TopSellerWindow> {
+    @Override
+    public TopSellerWindow convert(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return TopSellerWindow.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Janela de ranking inválida: " + source, ex);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.deliverytech.delivery_api.dto.response.wrappers.PagedResponseWrapper;
 import com.deliverytech.delivery_api.mapper.ConsumerMapper;
 import com.deliverytech.delivery_api.service.ConsumerService;
 import com.deliverytech.delivery_api.service.OrderService;
+import com.deliverytech.delivery_api.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -174,9 +175,21 @@ public class ConsumerController {
             @Parameter(description = "ID do cliente", required = true)
             @PathVariable String consumerId,
 
+            @Parameter(description = "Cursor opaco da paginação por chave. Envie vazio para a primeira página; " +
+                    "quando informado, 'page' e 'sort' são ignorados", required = false)
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Estratégia de contagem do total: exact, estimated (estimativa do banco) " +
+                    "ou none (sem total, apenas indica se há próxima página)", example = "exact", required = false)
+            @RequestParam(defaultValue = "exact") CountMode count,
+
             @ParameterObject Pageable pageable
     ) {
-        var orders = orderService.findByConsumerId(consumerId, pageable);
+        if (cursor != null) {
+            return ResponseEntity.ok(PagedResponseWrapper.of(
+                    orderService.findByConsumerId(consumerId, cursor, pageable.getPageSize())));
+        }
+        var orders = orderService.findByConsumerId(consumerId, pageable, count);
         var response = PagedResponseWrapper.of(orders);
         return ResponseEntity.ok(response);
     }
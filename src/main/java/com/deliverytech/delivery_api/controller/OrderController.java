@@ -1,15 +1,25 @@
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.aop.Idempotent;
+import com.deliverytech.delivery_api.dto.request.OrderBatchRequestDto;
+import com.deliverytech.delivery_api.dto.request.OrderBulkStatusUpdateRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderStatusUpdateRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderBulkStatusUpdateResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderReceiptResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderTotalResponseDto;
 import com.deliverytech.delivery_api.dto.response.errors.ErrorResponse;
 import com.deliverytech.delivery_api.dto.response.wrappers.ApiResponseWrapper;
 import com.deliverytech.delivery_api.dto.response.wrappers.PagedResponseWrapper;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.specification.OrderSearchFilter;
 import com.deliverytech.delivery_api.service.OrderService;
+import com.deliverytech.delivery_api.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,18 +28,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/orders")
@@ -72,6 +86,7 @@ public class OrderController {
             )
     })
     @PostMapping
+    @Idempotent
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<ApiResponseWrapper<OrderResponseDto>> createOrder(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -90,6 +105,76 @@ public class OrderController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @Operation(summary = "Receber pedido para processamento assíncrono", description = "Valida apenas o formato do pedido, registra-o no journal e responde imediatamente com a referência. O pedido é precificado e gravado em segundo plano; até lá, GET /orders/{referência} retorna o status RECEIVED.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Pedido recebido e aguardando processamento"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Erro de validação (ex: formato de UUID inválido ou dados faltando)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/async")
+    @Idempotent
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<ApiResponseWrapper<OrderReceiptResponseDto>> createOrderAsync(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Dados necessários para montar um pedido",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderRequestDto.class)
+                    )
+            )
+            @Valid @RequestBody OrderRequestDto dto
+    ) {
+        OrderReceiptResponseDto receipt = orderService.acceptOrder(dto);
+        var response = ApiResponseWrapper.of(receipt, "Pedido recebido e aguardando processamento");
+        var location = ServletUriComponentsBuilder.fromCurrentContextPath().path("/orders/{id}").buildAndExpand(receipt.reference()).toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @Operation(summary = "Criar pedidos em lote", description = "Cria até 500 pedidos em uma única requisição, retornando o resultado de cada pedido. Pedidos inválidos não impedem a criação dos demais.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote processado, com o resultado individual de cada pedido"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Erro de validação (ex: lote vazio, acima do limite ou dados faltando)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/batch")
+    @Idempotent
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RESTAURANT')")
+    public ResponseEntity<ApiResponseWrapper<OrderBatchResponseDto>> createOrdersBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Pedidos do lote",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderBatchRequestDto.class)
+                    )
+            )
+            @Valid @RequestBody OrderBatchRequestDto dto
+    ) {
+        OrderBatchResponseDto batchResult = orderService.createOrdersBatch(dto);
+        var response = ApiResponseWrapper.of(batchResult, String.format(
+                "Lote processado: %d pedido(s) criado(s), %d com falha", batchResult.created(), batchResult.failed()));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Calcular valor total", description = "Calcula o valor total do pedido sem persistir os dados")
     @ApiResponses(value = {
             @ApiResponse(
@@ -139,7 +224,9 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Listar pedidos", description = "Retorna uma lista de pedidos, podendo filtrar por data e status")
+    @Operation(summary = "Listar pedidos", description = "Retorna uma lista de pedidos, podendo filtrar por data, status, " +
+            "restaurante, cliente, faixa de valor e prefixo do endereço de entrega. Sem filtro por restaurante, cliente " +
+            "ou endereço, a busca cobre os últimos 30 dias e o período informado é limitado a 92 dias")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
@@ -166,13 +253,102 @@ public class OrderController {
             @Parameter(description = "Data final do período de busca", example = "2025-10-02", required = false)
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
 
+            @Parameter(description = "Filtrar pedidos pelo ID do restaurante", required = false)
+            @RequestParam(required = false) UUID restaurantId,
+
+            @Parameter(description = "Filtrar pedidos pelo ID do cliente", required = false)
+            @RequestParam(required = false) UUID consumerId,
+
+            @Parameter(description = "Valor total mínimo do pedido", example = "20.00", required = false)
+            @RequestParam(required = false) BigDecimal minTotal,
+
+            @Parameter(description = "Valor total máximo do pedido", example = "100.00", required = false)
+            @RequestParam(required = false) BigDecimal maxTotal,
+
+            @Parameter(description = "Início do endereço de entrega, sem diferenciar maiúsculas (mínimo de 3 caracteres)",
+                    example = "Rua das Flores", required = false)
+            @RequestParam(required = false) String deliveryAddress,
+
+            @Parameter(description = "Cursor opaco da paginação por chave. Envie vazio para a primeira página; " +
+                    "quando informado, 'page' e 'sort' são ignorados", required = false)
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Estratégia de contagem do total: exact, estimated (estimativa do banco) " +
+                    "ou none (sem total, apenas indica se há próxima página)", example = "exact", required = false)
+            @RequestParam(defaultValue = "exact") CountMode count,
+
             @ParameterObject Pageable pageable
             ) {
-        Page<OrderSummaryResponseDto> ordersPage = orderService.searchOrders(status, startDate, endDate, pageable);
+        var filter = new OrderSearchFilter(status, startDate, endDate, restaurantId, consumerId, minTotal, maxTotal, deliveryAddress);
+        if (cursor != null) {
+            return ResponseEntity.ok(PagedResponseWrapper.of(
+                    orderService.searchOrders(filter, cursor, pageable.getPageSize())));
+        }
+        Slice<OrderSummaryResponseDto> ordersPage = orderService.searchOrders(filter, pageable, count);
         var ordersResponse = PagedResponseWrapper.of(ordersPage);
         return ResponseEntity.ok(ordersResponse);
     }
 
+    @Operation(summary = "Exportar pedidos", description = "Transmite os pedidos do período em CSV ou NDJSON, do mais antigo " +
+            "ao mais recente, à medida que são lidos do banco. Não há limite de período; a resposta é compactada com gzip " +
+            "quando o cliente envia Accept-Encoding: gzip")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exportação transmitida com sucesso",
+                    content = {
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/x-ndjson")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Erro de validação (ex: formato inválido ou dados faltando)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Período inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportOrders(
+            @Parameter(description = "Data inicial do período exportado", example = "2025-07-01", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "Data final do período exportado", example = "2025-09-30", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            @Parameter(description = "Filtrar pedidos pelo status", example = "DELIVERED", required = false)
+            @RequestParam(required = false) OrderStatus status,
+
+            @Parameter(description = "Filtrar pedidos pelo ID do restaurante", required = false)
+            @RequestParam(required = false) UUID restaurantId,
+
+            @Parameter(description = "Filtrar pedidos pelo ID do cliente", required = false)
+            @RequestParam(required = false) UUID consumerId,
+
+            @Parameter(description = "Formato do arquivo: csv ou ndjson", example = "csv", required = false)
+            @RequestParam(defaultValue = "csv") ExportFormat format,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+
+            HttpServletResponse response
+    ) {
+        var filter = new OrderSearchFilter(status, startDate, endDate, restaurantId, consumerId, null, null, null);
+        orderService.exportOrders(filter, format,
+                ExportSink.of(response, "orders-" + startDate + "-" + endDate, format, acceptEncoding));
+    }
+
     @Operation(summary = "Buscar pedido por ID", description = "Retorna os dados de um pedido baseado no UUID")
     @ApiResponses(value = {
             @ApiResponse(
@@ -231,6 +407,14 @@ public class OrderController {
                             schema = @Schema(implementation = ErrorResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "O pedido foi alterado por outra operação",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "422",
                     description = "Entidade não processável",
@@ -241,6 +425,7 @@ public class OrderController {
             )
     })
     @PatchMapping("/{id}")
+    @Idempotent
     @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANT') and @orderServiceImpl.isOwnerRestaurant(#id))")
     public ResponseEntity<ApiResponseWrapper<OrderResponseDto>> updateOrderStatus(
             @Parameter(description = "ID do pedido a ser atualizado", required = true)
@@ -254,13 +439,48 @@ public class OrderController {
                             schema = @Schema(implementation = OrderStatusUpdateRequestDto.class)
                     )
             )
-            @RequestBody OrderStatusUpdateRequestDto dto
+            @Valid @RequestBody OrderStatusUpdateRequestDto dto
     ) {
-        OrderResponseDto updatedOrder = orderService.updateOrderStatus(id, dto.getStatus());
+        OrderResponseDto updatedOrder = orderService.updateOrderStatus(id, dto.getStatus(), dto.getVersion());
         var response = ApiResponseWrapper.of(updatedOrder, "O status do pedido foi atualizado");
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Atualizar status de vários pedidos", description = "Aplica o mesmo status a até 500 pedidos, retornando o resultado de cada pedido. Pedidos de outro restaurante, inexistentes ou com transição inválida não impedem a atualização dos demais.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote processado, com o resultado individual de cada pedido"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Erro de validação (ex: lista vazia, acima do limite ou status faltando)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PatchMapping("/status")
+    @Idempotent
+    @PreAuthorize("hasRole('ADMIN') or hasRole('RESTAURANT')")
+    public ResponseEntity<ApiResponseWrapper<OrderBulkStatusUpdateResponseDto>> updateOrdersStatus(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Novo status e pedidos a atualizar",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderBulkStatusUpdateRequestDto.class)
+                    )
+            )
+            @Valid @RequestBody OrderBulkStatusUpdateRequestDto dto
+    ) {
+        OrderBulkStatusUpdateResponseDto bulkResult = orderService.updateOrdersStatus(dto);
+        var response = ApiResponseWrapper.of(bulkResult, String.format(
+                "Lote processado: %d pedido(s) atualizado(s), %d com falha", bulkResult.updated(), bulkResult.failed()));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Cancelar um pedido", description = "Cancela um pedido com base no UUID")
     @ApiResponses(value = {
             @ApiResponse(
@@ -273,8 +493,15 @@ public class OrderController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "O pedido foi alterado por outra operação",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))
+            ),
     })
     @DeleteMapping("/{id}")
+    @Idempotent
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and @orderServiceImpl.isOwnerConsumer(#orderId))")
     public ResponseEntity<Void> cancelOrder(
             @Parameter(description = "ID do pedido a ser cancelado", required = true)
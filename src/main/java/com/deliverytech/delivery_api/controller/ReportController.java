@@ -2,8 +2,17 @@ package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.dto.response.*;
 import com.deliverytech.delivery_api.dto.response.errors.ErrorResponse;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import com.deliverytech.delivery_api.service.DashboardService;
+import com.deliverytech.delivery_api.service.OrderAnalyticsService;
+import com.deliverytech.delivery_api.service.OrderDistributionService;
 import com.deliverytech.delivery_api.service.ReportService;
+import com.deliverytech.delivery_api.service.TopSellersService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -13,17 +22,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/reports")
@@ -34,6 +49,10 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final DashboardService dashboardService;
+    private final OrderAnalyticsService orderAnalyticsService;
+    private final TopSellersService topSellersService;
+    private final OrderDistributionService orderDistributionService;
 
     @Operation(summary = "Listar valor total em vendas por restaurante", description = "Retorna uma lista com o valor total de vendas por restaurante")
     @ApiResponses(value = {
@@ -132,4 +151,302 @@ public class ReportController {
         return ResponseEntity.ok(orders);
     }
 
+    @Operation(summary = "Painel de relatórios",
+            description = "Retorna, em uma só resposta, as vendas por restaurante, os produtos mais vendidos, os clientes " +
+                    "mais ativos e os pedidos do período, consultados em paralelo. Uma seção que falha ou excede o tempo " +
+                    "limite vem nula e é indicada nos metadados, junto com o tempo de cada seção")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Painel retornado, completo ou parcial",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DashboardResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Erro de validação (ex: formato inválido ou dados faltando)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardResponseDto> getDashboard(
+            @Parameter(description = "Data inicial do relatório de pedidos por período", required = true, example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "Data final do relatório de pedidos por período", required = true, example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            @Parameter(description = "Filtrar os pedidos por período pelo status", example = "DELIVERED")
+            @RequestParam(required = false) OrderStatus status
+    ) {
+        return ResponseEntity.ok(dashboardService.getDashboard(startDate, endDate, status));
+    }
+
+    @Operation(summary = "Consulta analítica dos pedidos recentes",
+            description = "Agrupa, filtra e soma os pedidos (ou os itens, no fato ITEMS) da janela recente mantida em memória, " +
+                    "sem consultar o banco. Sem período, usa a janela inteira; pedidos mais antigos que a janela não são " +
+                    "considerados. Os grupos vêm ordenados pelas dimensões, na ordem informada")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Consulta realizada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AnalyticsResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Erro de validação (ex: fato, dimensão ou data em formato inválido)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Período, limite ou combinação de fato e dimensões inválidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<AnalyticsResponseDto> getAnalytics(
+            @Parameter(description = "Fato consultado: ORDERS (pedidos) ou ITEMS (itens dos pedidos)", example = "ORDERS")
+            @RequestParam(defaultValue = "ORDERS") AnalyticsFact fact,
+
+            @Parameter(description = "Início do período, inclusivo", example = "2025-10-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "Fim do período, exclusivo", example = "2025-10-08T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "Filtrar por um ou mais status", example = "DELIVERED")
+            @RequestParam(required = false) List<OrderStatus> status,
+
+            @Parameter(description = "Filtrar por restaurante")
+            @RequestParam(required = false) UUID restaurantId,
+
+            @Parameter(description = "Filtrar por cliente")
+            @RequestParam(required = false) UUID consumerId,
+
+            @Parameter(description = "Filtrar por produto, apenas no fato ITEMS")
+            @RequestParam(required = false) UUID productId,
+
+            @Parameter(description = "Dimensões do agrupamento: RESTAURANT, CONSUMER, PRODUCT, STATUS, HOUR ou DAY", example = "RESTAURANT,HOUR")
+            @RequestParam(required = false) List<AnalyticsDimension> groupBy,
+
+            @Parameter(description = "Máximo de grupos retornados", example = "1000")
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        return ResponseEntity.ok(orderAnalyticsService.query(fact, from, to, status, restaurantId, consumerId,
+                productId, groupBy, limit));
+    }
+
+    @Operation(summary = "Ranking de produtos mais vendidos em tempo real",
+            description = "Retorna os produtos com mais unidades entregues, por id, no período escolhido, " +
+                    "de memória e sem consultar o banco. " +
+                    "Cada posição traz o limite de erro da contagem e se a posição é garantida")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Ranking retornado com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TopSellersResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Janela em formato inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Limite fora do intervalo permitido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/top-sellers/products")
+    public ResponseEntity<TopSellersResponseDto> getTopProducts(
+            @Parameter(description = "Período do ranking: HOUR (última hora), DAY (último dia) ou ALL (tudo)", example = "DAY")
+            @RequestParam(defaultValue = "ALL") TopSellerWindow window,
+
+            @Parameter(description = "Filtrar pela categoria do produto", example = "PIZZA")
+            @RequestParam(required = false) String category,
+
+            @Parameter(description = "Quantidade de posições do ranking", example = "10")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(topSellersService.getTopProducts(window, category, limit));
+    }
+
+    @Operation(summary = "Ranking de restaurantes que mais venderam em tempo real",
+            description = "Retorna os restaurantes com maior valor em pedidos entregues no período escolhido, " +
+                    "de memória e sem consultar o banco. " +
+                    "Cada posição traz o limite de erro do valor e se a posição é garantida")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Ranking retornado com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TopSellersResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Janela em formato inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Limite fora do intervalo permitido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/top-sellers/restaurants")
+    public ResponseEntity<TopSellersResponseDto> getTopRestaurants(
+            @Parameter(description = "Período do ranking: HOUR (última hora), DAY (último dia) ou ALL (tudo)", example = "DAY")
+            @RequestParam(defaultValue = "ALL") TopSellerWindow window,
+
+            @Parameter(description = "Filtrar pela categoria do restaurante", example = "PIZZA")
+            @RequestParam(required = false) String category,
+
+            @Parameter(description = "Quantidade de posições do ranking", example = "10")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(topSellersService.getTopRestaurants(window, category, limit));
+    }
+
+    @Operation(summary = "Clientes distintos e distribuição do valor dos pedidos entregues",
+            description = "Retorna, no período e nos restaurantes informados, a estimativa de clientes distintos e os " +
+                    "percentis 50, 90 e 99 do valor dos pedidos entregues, no total e por dia. " +
+                    "Os valores são aproximados, combinando sketches diários por restaurante sem percorrer os pedidos")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Distribuição retornada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderDistributionResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Período inválido ou restaurantes demais",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/order-distribution")
+    public ResponseEntity<OrderDistributionResponseDto> getOrderDistribution(
+            @Parameter(description = "Primeiro dia do período", required = true, example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "Último dia do período", required = true, example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            @Parameter(description = "Restaurantes a considerar; todos quando omitido")
+            @RequestParam(required = false) List<UUID> restaurantId
+    ) {
+        return ResponseEntity.ok(orderDistributionService.getOrderDistribution(startDate, endDate, restaurantId));
+    }
+
+    @Operation(summary = "Reconstruir rollups diários de vendas",
+            description = "Recalcula, a partir dos pedidos, no período informado, os totais diários usados pelos relatórios " +
+                    "e os sketches de clientes distintos e valores dos pedidos. " +
+                    "Pedidos de dias já arquivados deixam de ser contabilizados.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Rollups reconstruídos com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RollupRebuildResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Período inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildResponseDto> rebuildRollups(
+            @Parameter(description = "Primeiro dia a reconstruir", required = true, example = "2025-10-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "Último dia a reconstruir", required = true, example = "2025-10-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(reportService.rebuildRollups(startDate, endDate));
+    }
+
+    @Operation(summary = "Exportar vendas diárias por restaurante",
+            description = "Transmite, em CSV ou NDJSON, uma linha por dia, restaurante e status final (DELIVERED ou CANCELED) " +
+                    "com o número de pedidos e o valor vendido. A resposta é compactada com gzip quando o cliente envia " +
+                    "Accept-Encoding: gzip")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exportação transmitida com sucesso",
+                    content = {
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/x-ndjson")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Período inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/daily-sales/export")
+    public void exportDailySales(
+            @Parameter(description = "Primeiro dia exportado", required = true, example = "2025-07-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "Último dia exportado", required = true, example = "2025-09-30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            @Parameter(description = "Formato do arquivo: csv ou ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") ExportFormat format,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+
+            HttpServletResponse response
+    ) {
+        reportService.exportDailySales(startDate, endDate, format,
+                ExportSink.of(response, "daily-sales-" + startDate + "-" + endDate, format, acceptEncoding));
+    }
+
 }
@@ -0,0 +1,194 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.response.ReportJobResponseDto;
+import com.deliverytech.delivery_api.dto.response.errors.ErrorResponse;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import com.deliverytech.delivery_api.reportjob.ReportJobs;
+import com.deliverytech.delivery_api.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reports/jobs")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Relatórios em segundo plano", description = "Geração assíncrona de relatórios para download")
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Operation(summary = "Solicitar relatório em segundo plano",
+            description = "Enfileira a geração do relatório e responde imediatamente com seu identificador. " +
+                    "Uma solicitação idêntica a outra ainda na fila ou em execução retorna o mesmo relatório. " +
+                    "O arquivo fica disponível para download até a expiração informada.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Relatório enfileirado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReportJobResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Parâmetros inválidos ou fila de relatórios cheia",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping
+    public ResponseEntity<ReportJobResponseDto> submit(
+            @Parameter(description = "Tipo do relatório: orders_by_period ou daily_sales", required = true, example = "orders_by_period")
+            @RequestParam ReportJobType type,
+
+            @Parameter(description = "Primeiro dia do relatório", required = true, example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "Último dia do relatório", required = true, example = "2025-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+
+            @Parameter(description = "Status dos pedidos (apenas para orders_by_period)", example = "DELIVERED")
+            @RequestParam(required = false) OrderStatus status,
+
+            @Parameter(description = "Formato do arquivo: csv ou ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") ExportFormat format
+    ) {
+        ReportJobResponseDto job = reportJobService.submit(type, startDate, endDate, status, format);
+        var location = ServletUriComponentsBuilder.fromCurrentContextPath().path("/reports/jobs/{id}").buildAndExpand(job.id()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Operation(summary = "Consultar relatório em segundo plano", description = "Retorna a situação do relatório")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Relatório encontrado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReportJobResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Relatório não encontrado ou expirado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobResponseDto> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    @Operation(summary = "Cancelar relatório em segundo plano",
+            description = "Remove o relatório da fila ou interrompe sua geração")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Relatório cancelado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ReportJobResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Relatório não encontrado ou expirado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "O relatório já terminou",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ReportJobResponseDto> cancel(@PathVariable UUID id) {
+        return ResponseEntity.ok(reportJobService.cancel(id));
+    }
+
+    @Operation(summary = "Baixar relatório em segundo plano",
+            description = "Transmite o arquivo de um relatório concluído. O arquivo é enviado compactado com gzip " +
+                    "quando o cliente envia Accept-Encoding: gzip")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Arquivo transmitido com sucesso",
+                    content = {
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/x-ndjson")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Relatório não encontrado ou expirado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "O relatório ainda não foi concluído com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/{id}/download")
+    public void download(
+            @PathVariable UUID id,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+
+            HttpServletResponse response
+    ) throws IOException {
+        try (ReportJobs.Result result = reportJobService.getResult(id)) {
+            boolean gzip = ExportSink.startDownload(response, result.job().request().fileName(),
+                    result.job().request().format(), acceptEncoding);
+            result.writeTo(response.getOutputStream(), gzip);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.deliverytech.delivery_api.service.ProductService;
 import com.deliverytech.delivery_api.service.RestaurantService;
 import com.deliverytech.delivery_api.validation.annotations.ValidCEP;
 import com.deliverytech.delivery_api.validation.annotations.ValidCategory;
+import com.deliverytech.delivery_api.pagination.CountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -25,8 +26,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -192,9 +193,21 @@ public class RestaurantController {
             @Parameter(description = "ID do restaurante", required = true)
             @PathVariable String restaurantId,
 
+            @Parameter(description = "Cursor opaco da paginação por chave. Envie vazio para a primeira página; " +
+                    "quando informado, 'page' e 'sort' são ignorados", required = false)
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Estratégia de contagem do total: exact, estimated (estimativa do banco) " +
+                    "ou none (sem total, apenas indica se há próxima página)", example = "exact", required = false)
+            @RequestParam(defaultValue = "exact") CountMode count,
+
             @ParameterObject Pageable pageable
     ) {
-        Page<ProductResponseDto> productsPage = productService.findProductsByRestaurantId(restaurantId, pageable);
+        if (cursor != null) {
+            return ResponseEntity.ok(PagedResponseWrapper.of(
+                    productService.findProductsByRestaurantId(restaurantId, cursor, pageable.getPageSize())));
+        }
+        Slice<ProductResponseDto> productsPage = productService.findProductsByRestaurantId(restaurantId, pageable, count);
         var response = PagedResponseWrapper.of(productsPage);
         return ResponseEntity.ok(response);
     }
@@ -229,9 +242,21 @@ public class RestaurantController {
             @Parameter(description = "ID do restaurante", required = true)
             @PathVariable String restaurantId,
 
+            @Parameter(description = "Cursor opaco da paginação por chave. Envie vazio para a primeira página; " +
+                    "quando informado, 'page' e 'sort' são ignorados", required = false)
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Estratégia de contagem do total: exact, estimated (estimativa do banco) " +
+                    "ou none (sem total, apenas indica se há próxima página)", example = "exact", required = false)
+            @RequestParam(defaultValue = "exact") CountMode count,
+
             @ParameterObject Pageable pageable
     ) {
-        Page<OrderSummaryResponseDto> ordersPage = orderService.findByRestaurantId(restaurantId, pageable);
+        if (cursor != null) {
+            return ResponseEntity.ok(PagedResponseWrapper.of(
+                    orderService.findByRestaurantId(restaurantId, cursor, pageable.getPageSize())));
+        }
+        Slice<OrderSummaryResponseDto> ordersPage = orderService.findByRestaurantId(restaurantId, pageable, count);
         var response = PagedResponseWrapper.of(ordersPage);
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,51 @@
+package com.deliverytech.delivery_api.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    Read-your-writes: once a user's read-write transaction commits, their reads stay on the
+    primary for a short window, long enough for the replica to replay the write. Pins are
+    kept in memory, so they only cover the requests this instance serves.
+ */
+public class PrimaryPinning {
+
+    private final Duration window;
+    private final Clock clock;
+    private final Map<String, Long> pinnedUntil;
+
+    public PrimaryPinning(Duration window, int maxEntries, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+        this.pinnedUntil = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return window.isPositive();
+    }
+
+    public synchronized void pin(String user) {
+        if (isEnabled()) {
+            pinnedUntil.put(user, clock.millis() + window.toMillis());
+        }
+    }
+
+    public synchronized boolean isPinned(String user) {
+        Long until = pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (clock.millis() >= until) {
+            pinnedUntil.remove(user);
+            return false;
+        }
+        return true;
+    }
+}
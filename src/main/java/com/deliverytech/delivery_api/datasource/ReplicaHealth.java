@@ -0,0 +1,72 @@
+package com.deliverytech.delivery_api.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+    Whether read-only transactions may go to the replica. The replica is checked on a
+    fixed delay: it must answer and, when a lag query is configured, be no further behind
+    the primary than the allowed lag. A failed connection marks it down until the next check.
+ */
+public class ReplicaHealth {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealth.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean available;
+
+    public ReplicaHealth(DataSource replica, String lagQuery, Duration maxLag) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval:PT5S}")
+    public void check() {
+        try {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                jdbcTemplate.execute("SELECT 1");
+                update(true, null);
+                return;
+            }
+
+            Double lagSeconds = jdbcTemplate.queryForObject(lagQuery, Double.class);
+            Duration lag = Duration.ofMillis(lagSeconds == null ? 0 : Math.round(lagSeconds * 1_000));
+            update(lag.compareTo(maxLag) <= 0, "replica is " + lag.toMillis() + " ms behind the primary");
+        } catch (DataAccessException ex) {
+            update(false, ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    public void markDown(Exception cause) {
+        update(false, cause.getMessage());
+    }
+
+    private void update(boolean healthy, String reason) {
+        if (healthy == available) {
+            return;
+        }
+        available = healthy;
+        if (healthy) {
+            log.info("Réplica de leitura disponível; transações somente leitura voltam a usá-la");
+        } else {
+            log.warn("Réplica de leitura indisponível, leituras direcionadas ao primário: {}", reason);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "DTO para criar pedidos em lote")
+public class OrderBatchRequestDto {
+    @ArraySchema(
+            schema = @Schema(
+                    description = "Pedidos do lote",
+                    implementation = OrderRequestDto.class
+            )
+    )
+    @Valid
+    @NotEmpty(message = "A lista de pedidos não pode ser vazia")
+    @Size(max = 500, message = "O lote pode conter no máximo 500 pedidos")
+    private List<OrderRequestDto> orders;
+}
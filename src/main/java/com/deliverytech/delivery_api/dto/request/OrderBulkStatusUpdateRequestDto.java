@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "DTO de atualização do status de vários pedidos")
+public class OrderBulkStatusUpdateRequestDto {
+    @Schema(description = "Novo status dos pedidos", example = "OUT_FOR_DELIVERY")
+    @NotNull(message = "O status é obrigatório")
+    private OrderStatus status;
+
+    @ArraySchema(schema = @Schema(description = "IDs dos pedidos a atualizar", example = "7f8e9d0c-1b2a-3c4d-5e6f-7a8b9c0d1e2f"))
+    @NotEmpty(message = "A lista de pedidos não pode ser vazia")
+    @Size(max = 500, message = "O lote pode conter no máximo 500 pedidos")
+    private List<@NotNull(message = "O ID do pedido é obrigatório") UUID> orderIds;
+}
@@ -3,6 +3,7 @@ package com.deliverytech.delivery_api.dto.request;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
 @Data
@@ -11,4 +12,8 @@ public class OrderStatusUpdateRequestDto {
     @Schema(description = "Status do pedido", example = "OUT_FOR_DELIVERY")
     @NotNull(message = "O status é obrigatório")
     private OrderStatus status;
+
+    @Schema(description = "Versão do pedido lida pelo cliente; se informada, a atualização só é aplicada se o pedido não tiver mudado desde então", example = "2")
+    @PositiveOrZero(message = "A versão não pode ser negativa")
+    private Long version;
 }
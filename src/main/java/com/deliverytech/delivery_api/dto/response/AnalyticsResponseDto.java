@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "DTO de resposta da consulta analítica sobre os pedidos recentes")
+public record AnalyticsResponseDto(
+        @Schema(description = "Início do período consultado", example = "2025-10-01T00:00:00")
+        LocalDateTime from,
+        @Schema(description = "Fim do período consultado, exclusivo", example = "2025-10-08T00:00:00")
+        LocalDateTime to,
+        List<AnalyticsRowDto> rows,
+        @Schema(description = "Indica se havia mais grupos do que o limite informado")
+        boolean truncated,
+        @Schema(description = "Linhas percorridas pela consulta", example = "120000")
+        long scannedRows,
+        @Schema(description = "Segmentos percorridos pela consulta", example = "2")
+        int scannedSegments,
+        @Schema(description = "Tempo da consulta, em milissegundos", example = "12")
+        long elapsedMillis
+) {
+}
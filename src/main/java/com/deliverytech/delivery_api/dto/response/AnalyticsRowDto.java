@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Schema(description = "Um grupo da consulta analítica")
+public record AnalyticsRowDto(
+        @Schema(description = "Valor de cada dimensão do agrupamento, pelo nome da dimensão",
+                example = "{\"restaurant\": \"0199a1b2-7c3d-7e4f-8a5b-6c7d8e9f0a1b\", \"status\": \"DELIVERED\"}")
+        Map<String, Object> group,
+        @Schema(description = "Quantidade de pedidos (ou de itens, no fato ITEMS) do grupo", example = "42")
+        long count,
+        @Schema(description = "Soma dos totais dos pedidos (ou dos subtotais dos itens) do grupo", example = "1234.50")
+        BigDecimal total,
+        @Schema(description = "Unidades vendidas do grupo, apenas no fato ITEMS", example = "57")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long quantity
+) {
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Schema(description = "Linha da exportação de vendas diárias por restaurante")
+public record DailySalesExportRowDto(
+        LocalDate date,
+        UUID restaurantId,
+        String restaurantName,
+        OrderStatus status,
+        Long totalOrders,
+        BigDecimal totalSales
+) {
+}
@@ -0,0 +1,25 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "DTO de resposta do painel de relatórios. Seções que falharam ou excederam o tempo limite vêm nulas")
+public record DashboardResponseDto(
+        List<SalesByRestaurantReportDto> salesByRestaurant,
+        List<TopSellingProductReportDto> topSellingProducts,
+        List<ActiveConsumerReportDto> activeConsumers,
+        List<OrderByPeriodReportDto> ordersByPeriod,
+        Metadata metadata
+) {
+    @Schema(description = "Tempos do painel e situação de cada seção")
+    public record Metadata(
+            @Schema(description = "Indica se todas as seções foram carregadas")
+            boolean complete,
+            @Schema(description = "Tempo total do painel, em milissegundos")
+            long elapsedMillis,
+            Map<String, DashboardSectionDto> sections
+    ) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.DashboardSectionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Situação e tempo de carregamento de uma seção do painel")
+public record DashboardSectionDto(
+        @Schema(description = "OK, TIMEOUT (excedeu o tempo limite) ou FAILED (falhou)")
+        DashboardSectionStatus status,
+        @Schema(description = "Tempo gasto na seção, em milissegundos")
+        long elapsedMillis,
+        @Schema(description = "Motivo da falha da seção")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String error
+) {
+    public static DashboardSectionDto ok(long elapsedMillis) {
+        return new DashboardSectionDto(DashboardSectionStatus.OK, elapsedMillis, null);
+    }
+
+    public static DashboardSectionDto timeout(long elapsedMillis) {
+        return new DashboardSectionDto(DashboardSectionStatus.TIMEOUT, elapsedMillis, "Tempo limite da seção excedido");
+    }
+
+    public static DashboardSectionDto failed(long elapsedMillis, String error) {
+        return new DashboardSectionDto(DashboardSectionStatus.FAILED, elapsedMillis, error);
+    }
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "DTO de resposta com o resultado de um pedido do lote")
+public record OrderBatchItemResultDto(
+        int index,
+        boolean success,
+        UUID orderId,
+        OrderStatus status,
+        BigDecimal total,
+        String errorCode,
+        String message
+) {
+    public static OrderBatchItemResultDto created(int index, UUID orderId, OrderStatus status, BigDecimal total) {
+        return new OrderBatchItemResultDto(index, true, orderId, status, total, null, null);
+    }
+
+    public static OrderBatchItemResultDto failed(int index, String errorCode, String message) {
+        return new OrderBatchItemResultDto(index, false, null, null, null, errorCode, message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta para a criação de pedidos em lote")
+public record OrderBatchResponseDto(
+        int received,
+        int created,
+        int failed,
+        List<OrderBatchItemResultDto> results
+) {
+}
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta para a atualização de status em lote")
+public record OrderBulkStatusUpdateResponseDto(
+        int received,
+        int updated,
+        int failed,
+        List<OrderStatusUpdateResultDto> results
+) {
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "DTO de um dia da distribuição dos pedidos entregues, somando os restaurantes consultados")
+public record OrderDistributionDayDto(
+        @Schema(description = "Dia do pedido", example = "2025-10-10")
+        LocalDate day,
+        @Schema(description = "Pedidos entregues no dia", example = "120")
+        long orders,
+        @Schema(description = "Estimativa de clientes distintos no dia", example = "87")
+        long distinctConsumers,
+        @Schema(description = "Mediana estimada do valor dos pedidos", example = "42.50")
+        BigDecimal p50,
+        @Schema(description = "Percentil 90 estimado do valor dos pedidos", example = "88.00")
+        BigDecimal p90,
+        @Schema(description = "Percentil 99 estimado do valor dos pedidos", example = "150.00")
+        BigDecimal p99
+) {
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "DTO de resposta da distribuição aproximada dos pedidos entregues, calculada a partir de sketches diários")
+public record OrderDistributionResponseDto(
+        @Schema(description = "Primeiro dia consultado", example = "2025-10-01")
+        LocalDate startDate,
+        @Schema(description = "Último dia consultado", example = "2025-10-31")
+        LocalDate endDate,
+        @Schema(description = "Pedidos entregues no período", example = "3500")
+        long orders,
+        @Schema(description = "Estimativa de clientes distintos no período, sem contar duas vezes quem pediu em mais de um dia",
+                example = "1240")
+        long distinctConsumers,
+        @Schema(description = "Erro padrão relativo da estimativa de clientes distintos", example = "0.01625")
+        double distinctConsumersError,
+        @Schema(description = "Mediana estimada do valor dos pedidos", example = "42.50")
+        BigDecimal p50,
+        @Schema(description = "Percentil 90 estimado do valor dos pedidos", example = "88.00")
+        BigDecimal p90,
+        @Schema(description = "Percentil 99 estimado do valor dos pedidos", example = "150.00")
+        BigDecimal p99,
+        List<OrderDistributionDayDto> days
+) {
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Linha da exportação de pedidos")
+public record OrderExportRowDto(
+        UUID id,
+        LocalDateTime orderDate,
+        OrderStatus status,
+        UUID restaurantId,
+        String restaurantName,
+        UUID consumerId,
+        String deliveryAddress,
+        BigDecimal subtotal,
+        BigDecimal deliveryTax,
+        BigDecimal total
+) {
+}
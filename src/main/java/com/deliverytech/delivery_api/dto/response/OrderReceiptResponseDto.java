@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "DTO de resposta para um pedido recebido para processamento assíncrono")
+public record OrderReceiptResponseDto(
+        UUID reference,
+        OrderStatus status,
+        LocalDateTime receivedAt
+) {
+}
@@ -20,5 +20,6 @@ public record OrderResponseDto(
         List<OrderItemResponseDto> items,
         BigDecimal subtotal,
         BigDecimal deliveryTax,
-        BigDecimal total) {
+        BigDecimal total,
+        Long version) {
 }
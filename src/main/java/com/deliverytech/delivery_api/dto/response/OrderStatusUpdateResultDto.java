@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "DTO de resposta com o resultado da atualização de um pedido do lote")
+public record OrderStatusUpdateResultDto(
+        UUID orderId,
+        boolean success,
+        OrderStatus status,
+        Long version,
+        String errorCode,
+        String message
+) {
+    public static OrderStatusUpdateResultDto updated(UUID orderId, OrderStatus status, Long version) {
+        return new OrderStatusUpdateResultDto(orderId, true, status, version, null, null);
+    }
+
+    public static OrderStatusUpdateResultDto failed(UUID orderId, String errorCode, String message) {
+        return new OrderStatusUpdateResultDto(orderId, false, null, null, errorCode, message);
+    }
+}
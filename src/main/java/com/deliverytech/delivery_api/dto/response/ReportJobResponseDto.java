@@ -0,0 +1,43 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Schema(description = "DTO de resposta de um relatório gerado em segundo plano")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReportJobResponseDto(
+        @Schema(description = "Identificador do relatório", example = "01928c3e-7a10-7c4e-9a55-3f1b2c4d5e6f")
+        UUID id,
+        @Schema(description = "Tipo do relatório", example = "ORDERS_BY_PERIOD")
+        ReportJobType type,
+        @Schema(description = "Situação do relatório", example = "SUCCEEDED")
+        ReportJobStatus status,
+        @Schema(description = "Primeiro dia do relatório", example = "2025-10-01")
+        LocalDate startDate,
+        @Schema(description = "Último dia do relatório", example = "2025-10-31")
+        LocalDate endDate,
+        @Schema(description = "Status dos pedidos filtrados, quando informado", example = "DELIVERED")
+        OrderStatus orderStatus,
+        @Schema(description = "Formato do arquivo", example = "CSV")
+        ExportFormat format,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        @Schema(description = "Momento a partir do qual o relatório e seu arquivo deixam de existir")
+        Instant expiresAt,
+        @Schema(description = "Linhas exportadas", example = "1240")
+        Long rows,
+        @Schema(description = "Tamanho do arquivo compactado, em bytes", example = "18432")
+        Long sizeBytes,
+        @Schema(description = "Motivo da falha ou do cancelamento")
+        String error
+) {
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "DTO de resposta da reconstrução dos rollups diários de vendas")
+public record RollupRebuildResponseDto(
+        @Schema(description = "Primeiro dia reconstruído")
+        LocalDate startDate,
+        @Schema(description = "Último dia reconstruído")
+        LocalDate endDate,
+        @Schema(description = "Pedidos entregues ou cancelados contabilizados no período")
+        long orders
+) {
+}
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "Posição de um ranking de mais vendidos. O valor real fica entre value - error e value")
+public record TopSellerEntryDto(
+        @Schema(description = "ID do produto ou do restaurante")
+        UUID id,
+        @Schema(description = "Nome do produto ou do restaurante", example = "Pizza Margherita")
+        String name,
+        @Schema(description = "Quantidade vendida (produtos) ou valor em vendas (restaurantes), limite superior", example = "120")
+        BigDecimal value,
+        @Schema(description = "Quanto o valor pode estar superestimado", example = "0")
+        BigDecimal error,
+        @Schema(description = "Indica se a posição no ranking é garantida apesar do erro")
+        boolean guaranteed
+) {
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta dos rankings de mais vendidos, mantidos em memória a partir das entregas")
+public record TopSellersResponseDto(
+        @Schema(description = "Período do ranking: HOUR (última hora), DAY (último dia) ou ALL (tudo)", example = "DAY")
+        TopSellerWindow window,
+        @Schema(description = "Categoria do ranking, quando filtrado", example = "PIZZA")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String category,
+        List<TopSellerEntryDto> entries
+) {
+}
@@ -2,8 +2,12 @@ package com.deliverytech.delivery_api.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.UUID;
+
 @Schema(description = "DTO de resposta para o relatório de produtos mais vendidos")
 public record TopSellingProductReportDto(
+        @Schema(description = "ID do produto; produtos de mesmo nome em restaurantes diferentes aparecem separados")
+        UUID productId,
         @Schema(description = "Nome do produto")
         String productName,
         @Schema(description = "Quantidade total vendida")
@@ -1,7 +1,12 @@
 package com.deliverytech.delivery_api.dto.response.wrappers;
 
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.EstimatedSlice;
+import com.deliverytech.delivery_api.pagination.KeysetPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedModel;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -12,8 +17,15 @@ import java.util.List;
 public class PagedResponseWrapper<T> {
 
     private final List<T> content;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private final PagedModel.PageMetadata page;
     private final PageLinks links;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final PageCursors cursors;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final CountMode count;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final SliceMetadata slice;
 
     private PagedResponseWrapper(Page<T> pageData) {
         this.content = pageData.getContent();
@@ -24,12 +36,60 @@ public class PagedResponseWrapper<T> {
                 pageData.getTotalPages()
         );
         this.links = buildLinks(pageData);
+        this.cursors = null;
+        this.count = null;
+        this.slice = null;
+    }
+
+    /*
+        Slices carry no exact total: an estimated slice reports its estimate as page
+        totals, a plain slice only tells whether there is a next page.
+     */
+    private PagedResponseWrapper(Slice<T> sliceData) {
+        this.content = sliceData.getContent();
+        this.cursors = null;
+        if (sliceData instanceof EstimatedSlice<T> estimated) {
+            this.page = new PagedModel.PageMetadata(
+                    estimated.getSize(),
+                    estimated.getNumber(),
+                    estimated.getEstimatedTotal(),
+                    estimated.getEstimatedTotalPages()
+            );
+            this.count = CountMode.ESTIMATED;
+            this.slice = null;
+            this.links = buildSliceLinks(sliceData, estimated.getEstimatedTotalPages());
+        } else {
+            this.page = null;
+            this.count = CountMode.NONE;
+            this.slice = new SliceMetadata(sliceData.getSize(), sliceData.getNumber(), sliceData.hasNext());
+            this.links = buildSliceLinks(sliceData, null);
+        }
+    }
+
+    private PagedResponseWrapper(KeysetPage<T> keysetPage) {
+        this.content = keysetPage.content();
+        this.page = null;
+        this.links = buildCursorLinks(keysetPage);
+        this.cursors = new PageCursors(keysetPage.size(), keysetPage.next(), keysetPage.prev());
+        this.count = null;
+        this.slice = null;
     }
 
     public static <T> PagedResponseWrapper<T> of(Page<T> pageData) {
         return new PagedResponseWrapper<>(pageData);
     }
 
+    public static <T> PagedResponseWrapper<T> of(Slice<T> sliceData) {
+        if (sliceData instanceof Page<T> pageData) {
+            return new PagedResponseWrapper<>(pageData);
+        }
+        return new PagedResponseWrapper<>(sliceData);
+    }
+
+    public static <T> PagedResponseWrapper<T> of(KeysetPage<T> keysetPage) {
+        return new PagedResponseWrapper<>(keysetPage);
+    }
+
     private PageLinks buildLinks(Page<T> pageData) {
         UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequestUri();
         String next = null;
@@ -53,6 +113,51 @@ public class PagedResponseWrapper<T> {
         return new PageLinks(first, last, next, prev);
     }
 
+    /*
+        Keeps the other query parameters so next pages are read with the same count mode;
+        last is only known from an estimate.
+     */
+    private PageLinks buildSliceLinks(Slice<T> sliceData, Integer estimatedTotalPages) {
+        UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest();
+
+        String first = uriBuilder.replaceQueryParam("page", 0).build().toUriString();
+        String last = estimatedTotalPages == null ? null
+                : uriBuilder.replaceQueryParam("page", Math.max(estimatedTotalPages - 1, 0)).build().toUriString();
+        String next = !sliceData.hasNext() ? null
+                : uriBuilder.replaceQueryParam("page", sliceData.getNumber() + 1).build().toUriString();
+        String prev = !sliceData.hasPrevious() ? null
+                : uriBuilder.replaceQueryParam("page", sliceData.getNumber() - 1).build().toUriString();
+
+        return new PageLinks(first, last, next, prev);
+    }
+
+    /*
+        Cursor pages have no total count nor last page; first restarts the scroll.
+     */
+    private PageLinks buildCursorLinks(KeysetPage<T> keysetPage) {
+        UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("page");
+
+        String first = uriBuilder.replaceQueryParam("cursor", "").build().toUriString();
+        String next = keysetPage.next() == null ? null
+                : uriBuilder.replaceQueryParam("cursor", keysetPage.next()).build().toUriString();
+        String prev = keysetPage.prev() == null ? null
+                : uriBuilder.replaceQueryParam("cursor", keysetPage.prev()).build().toUriString();
+
+        return new PageLinks(first, null, next, prev);
+    }
+
+    private record PageCursors(
+            int size,
+            String next,
+            String prev
+    ) {}
+
+    private record SliceMetadata(
+            int size,
+            int number,
+            boolean hasNext
+    ) {}
+
     private record PageLinks(
             String first,
             String last,
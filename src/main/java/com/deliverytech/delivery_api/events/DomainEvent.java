@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/*
+    Base of the events recorded in the outbox. Services publish them inside their
+    transaction (relayed = false), only to be written to the outbox; listeners react to
+    the copy published by the relay after commit (relayed = true), once, on one node.
+    The in-memory read models each node keeps react to the broadcast copy instead
+    (broadcast = true), published on every node.
+ */
+@Getter
+public abstract class DomainEvent extends ApplicationEvent {
+
+    private final String user;
+    private boolean relayed;
+    private boolean broadcast;
+
+    protected DomainEvent(Object source, String user) {
+        super(source);
+        this.user = user;
+    }
+
+    public abstract Object getAggregate();
+
+    public abstract UUID getAggregateId();
+
+    public void markRelayed() {
+        this.relayed = true;
+    }
+
+    public void markBroadcast() {
+        this.broadcast = true;
+    }
+}
@@ -1,18 +1,28 @@
 package com.deliverytech.delivery_api.events.consumer;
 
+import com.deliverytech.delivery_api.events.DomainEvent;
 import com.deliverytech.delivery_api.model.Consumer;
 import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
 
 @Getter
-public class ConsumerUpdateEvent extends ApplicationEvent {
+public class ConsumerUpdateEvent extends DomainEvent {
 
     private final Consumer consumer;
-    private final String user;
 
     public ConsumerUpdateEvent(Object source, Consumer consumer, String user) {
-        super(source);
+        super(source, user);
         this.consumer = consumer;
-        this.user = user;
+    }
+
+    @Override
+    public Consumer getAggregate() {
+        return consumer;
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return consumer.getId();
     }
 }
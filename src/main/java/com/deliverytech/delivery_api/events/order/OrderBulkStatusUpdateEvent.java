@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.events.order;
+
+import com.deliverytech.delivery_api.events.DomainEvent;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+public class OrderBulkStatusUpdateEvent extends DomainEvent {
+
+    private final OrderStatusBatch batch;
+
+    public OrderBulkStatusUpdateEvent(Object source, OrderStatusBatch batch, String user) {
+        super(source, user);
+        this.batch = batch;
+    }
+
+    @Override
+    public OrderStatusBatch getAggregate() {
+        return batch;
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return batch.id();
+    }
+}
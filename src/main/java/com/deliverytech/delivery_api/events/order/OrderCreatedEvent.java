@@ -1,18 +1,28 @@
 package com.deliverytech.delivery_api.events.order;
 
+import com.deliverytech.delivery_api.events.DomainEvent;
 import com.deliverytech.delivery_api.model.Order;
 import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
 
 @Getter
-public class OrderCreatedEvent extends ApplicationEvent {
+public class OrderCreatedEvent extends DomainEvent {
 
     private final Order order;
-    private final String user;
 
     public OrderCreatedEvent(Object source, Order order, String user) {
-        super(source);
+        super(source, user);
         this.order = order;
-        this.user = user;
+    }
+
+    @Override
+    public Order getAggregate() {
+        return order;
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return order.getId();
     }
 }
@@ -0,0 +1,10 @@
+package com.deliverytech.delivery_api.events.order;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/* Orders moved to the same status by one bulk update */
+public record OrderStatusBatch(UUID id, OrderStatus status, List<UUID> orderIds) {
+}
@@ -1,18 +1,28 @@
 package com.deliverytech.delivery_api.events.product;
 
+import com.deliverytech.delivery_api.events.DomainEvent;
 import com.deliverytech.delivery_api.model.Product;
 import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
 
 @Getter
-public class ProductCreateEvent extends ApplicationEvent {
+public class ProductCreateEvent extends DomainEvent {
 
     private final Product product;
-    private final String user;
 
     public ProductCreateEvent(Object source, Product product, String user) {
-        super(source);
+        super(source, user);
         this.product = product;
-        this.user = user;
+    }
+
+    @Override
+    public Product getAggregate() {
+        return product;
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return product.getId();
     }
 }
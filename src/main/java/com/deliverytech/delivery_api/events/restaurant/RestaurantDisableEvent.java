@@ -1,17 +1,27 @@
 package com.deliverytech.delivery_api.events.restaurant;
 
+import com.deliverytech.delivery_api.events.DomainEvent;
 import com.deliverytech.delivery_api.model.Restaurant;
 import lombok.Getter;
-import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
 
 @Getter
-public class RestaurantDisableEvent extends ApplicationEvent {
+public class RestaurantDisableEvent extends DomainEvent {
     private final Restaurant restaurant;
-    private final String user;
 
     public RestaurantDisableEvent(Object source, Restaurant restaurant, String user) {
-        super(source);
+        super(source, user);
         this.restaurant = restaurant;
-        this.user = user;
+    }
+
+    @Override
+    public Restaurant getAggregate() {
+        return restaurant;
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return restaurant.getId();
     }
 }
@@ -0,0 +1,50 @@
+package com.deliverytech.delivery_api.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    Where an export writes. Opened only once the export is validated and its query is running,
+    so a rejected export still gets a regular error response.
+ */
+@FunctionalInterface
+public interface ExportSink {
+
+    OutputStream open() throws IOException;
+
+    static ExportSink of(HttpServletResponse response, String fileName, ExportFormat format, String acceptEncoding) {
+        return () -> startDownload(response, fileName, format, acceptEncoding)
+                ? new GZIPOutputStream(response.getOutputStream())
+                : response.getOutputStream();
+    }
+
+    /* Sets the download headers; returns whether the body is to be sent gzip-encoded */
+    static boolean startDownload(HttpServletResponse response, String fileName, ExportFormat format, String acceptEncoding) {
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName + "." + format.getExtension()).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            return false;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return true;
+    }
+
+    /* "gzip" or "gzip;q=..." with a non-zero quality */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.strip().split(";"))
+                .anyMatch(coding -> coding[0].strip().equalsIgnoreCase("gzip")
+                        && (coding.length == 1 || !coding[1].strip().matches("q=0(\\.0*)?")));
+    }
+}
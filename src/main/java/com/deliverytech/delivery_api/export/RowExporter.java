@@ -0,0 +1,76 @@
+package com.deliverytech.delivery_api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+    Writes rows to the sink as they come off the stream, one CSV line or JSON object per row,
+    so memory does not grow with the row count. The record components are the columns.
+ */
+@Component
+@RequiredArgsConstructor
+public class RowExporter {
+
+    /* Cells a spreadsheet would evaluate as a formula */
+    private static final String FORMULA_PREFIXES = "=+-@";
+
+    private final ObjectMapper objectMapper;
+
+    public <T extends Record> long export(Stream<T> rows, Class<T> type, ExportFormat format, ExportSink sink) {
+        RecordComponent[] columns = type.getRecordComponents();
+        long count = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(sink.open(), StandardCharsets.UTF_8))) {
+            if (format == ExportFormat.CSV) {
+                writer.write(Arrays.stream(columns).map(RecordComponent::getName).collect(Collectors.joining(",")));
+                writer.write("\r\n");
+            }
+            for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writer.write(Arrays.stream(columns).map(column -> csv(value(row, column))).collect(Collectors.joining(",")));
+                    writer.write("\r\n");
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever a exportação", e);
+        }
+        return count;
+    }
+
+    private static Object value(Record row, RecordComponent column) {
+        try {
+            return column.getAccessor().invoke(row);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Coluna ilegível na exportação: " + column.getName(), e);
+        }
+    }
+
+    static String csv(Object value) {
+        if (value == null) return "";
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public record IdempotencyRecord(
+        String fingerprint,
+        boolean completed,
+        int status,
+        String location,
+        JsonNode body
+) {
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, false, 0, null, null);
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, int status, String location, JsonNode body) {
+        return new IdempotencyRecord(fingerprint, true, status, location, body);
+    }
+}
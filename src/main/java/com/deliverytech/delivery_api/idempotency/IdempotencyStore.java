@@ -0,0 +1,17 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /*
+        Atomically reserves the key for the caller. Returns an empty Optional when the
+        reservation succeeded, or the record already stored under the key otherwise.
+     */
+    Optional<IdempotencyRecord> reserve(String key, String fingerprint, Duration lockTtl);
+
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    void release(String key);
+}
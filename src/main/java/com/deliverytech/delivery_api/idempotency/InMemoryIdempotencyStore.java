@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Entry> entries;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int maxEntries, Clock clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyRecord> reserve(String key, String fingerprint, Duration lockTtl) {
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(clock.millis())) {
+            return Optional.of(existing.record());
+        }
+
+        entries.put(key, new Entry(IdempotencyRecord.inProgress(fingerprint), expiresAt(lockTtl)));
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void complete(String key, IdempotencyRecord record, Duration ttl) {
+        entries.put(key, new Entry(record, expiresAt(ttl)));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private long expiresAt(Duration ttl) {
+        return clock.millis() + ttl.toMillis();
+    }
+
+    private record Entry(IdempotencyRecord record, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Optional<IdempotencyRecord> reserve(String key, String fingerprint, Duration lockTtl) {
+        Boolean reserved = redisTemplate.opsForValue()
+                .setIfAbsent(key, write(IdempotencyRecord.inProgress(fingerprint)), lockTtl);
+        if (Boolean.TRUE.equals(reserved)) {
+            return Optional.empty();
+        }
+
+        String stored = redisTemplate.opsForValue().get(key);
+        if (stored == null) {
+            // expired between SETNX and GET, try once more
+            return reserve(key, fingerprint, lockTtl);
+        }
+        return Optional.of(read(stored));
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        redisTemplate.opsForValue().set(key, write(record), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(key);
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar a resposta idempotente", e);
+        }
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível ler a resposta idempotente", e);
+        }
+    }
+}
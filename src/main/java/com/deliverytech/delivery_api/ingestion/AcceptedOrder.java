@@ -0,0 +1,14 @@
+package com.deliverytech.delivery_api.ingestion;
+
+import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AcceptedOrder(
+        UUID reference,
+        OrderRequestDto request,
+        String user,
+        Instant receivedAt
+) {
+}
@@ -0,0 +1,170 @@
+package com.deliverytech.delivery_api.ingestion;
+
+import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+import com.deliverytech.delivery_api.model.id.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Durable hand-off between POST /orders/async and the workers that materialize the orders.
+    Receipts are journaled before being acknowledged and replayed on startup until settled.
+    The journal is compacted down to the pending receipts when the queue drains, or, under a
+    sustained load, once it holds the configured number of entries and twice the pending ones.
+ */
+@Component
+public class AsyncOrderQueue {
+
+    private static final int MAX_REJECTIONS_KEPT = 10_000;
+
+    private final OrderJournal journal;
+    private final int compactEntries;
+    /* Entries in the journal file, guarded by the journal */
+    private int journaled;
+    private final BlockingQueue<AcceptedOrder> queue = new LinkedBlockingQueue<>();
+    private final Map<UUID, AcceptedOrder> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, OrderRejection> rejections = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, OrderRejection> eldest) {
+            return size() > MAX_REJECTIONS_KEPT;
+        }
+    });
+
+    public AsyncOrderQueue(
+            @Value("${orders.async.journal-path:data/order-journal.ndjson}") String journalPath,
+            @Value("${orders.async.journal-compact-entries:10000}") int compactEntries,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.journal = new OrderJournal(Path.of(journalPath), objectMapper);
+        this.compactEntries = compactEntries;
+        recover();
+
+        Gauge.builder("delivery_api.orders.async.queue.depth", this, AsyncOrderQueue::depth)
+                .description("Pedidos recebidos aguardando materialização")
+                .register(meterRegistry);
+        Gauge.builder("delivery_api.orders.async.lag", this, asyncQueue -> asyncQueue.lag().toMillis() / 1000.0)
+                .description("Idade do pedido pendente mais antigo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public AcceptedOrder accept(OrderRequestDto request, String user) {
+        AcceptedOrder order = new AcceptedOrder(UuidV7.randomUuid(), request, user, Instant.now());
+        synchronized (journal) {
+            journal.append(List.of(JournalEntry.received(order)));
+            journaled++;
+            pending.put(order.reference(), order);
+        }
+        queue.add(order);
+        return order;
+    }
+
+    /*
+        Blocks up to the timeout for the first order, then drains whatever else is ready.
+     */
+    public List<AcceptedOrder> take(int maxOrders, Duration timeout) throws InterruptedException {
+        AcceptedOrder first = queue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) return List.of();
+
+        List<AcceptedOrder> batch = new ArrayList<>(maxOrders);
+        batch.add(first);
+        queue.drainTo(batch, maxOrders - 1);
+        return batch;
+    }
+
+    public void retry(List<AcceptedOrder> orders) {
+        queue.addAll(orders);
+    }
+
+    public void settle(Map<UUID, UUID> created, List<OrderRejection> rejected) {
+        List<JournalEntry> entries = new ArrayList<>();
+        created.forEach((reference, orderId) -> entries.add(JournalEntry.done(reference, orderId)));
+        rejected.forEach(rejection -> entries.add(JournalEntry.rejected(
+                rejection.order().reference(), rejection.errorCode(), rejection.message())));
+
+        synchronized (journal) {
+            journal.append(entries);
+            journaled += entries.size();
+            rejected.forEach(rejection -> rejections.put(rejection.order().reference(), rejection));
+            created.keySet().forEach(pending::remove);
+            rejected.forEach(rejection -> pending.remove(rejection.order().reference()));
+
+            if (pending.isEmpty() || journaled >= compactEntries && journaled >= 2 * pending.size()) {
+                compact();
+            }
+        }
+    }
+
+    public Optional<AcceptedOrder> findPending(UUID reference) {
+        return Optional.ofNullable(pending.get(reference));
+    }
+
+    public Optional<OrderRejection> findRejection(UUID reference) {
+        return Optional.ofNullable(rejections.get(reference));
+    }
+
+    public int depth() {
+        return pending.size();
+    }
+
+    public Duration lag() {
+        Instant now = Instant.now();
+        return pending.values().stream()
+                .map(AcceptedOrder::receivedAt)
+                .min(Comparator.naturalOrder())
+                .map(oldest -> Duration.between(oldest, now))
+                .orElse(Duration.ZERO);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    /* Oldest first, so a restart replays the receipts in the order they were accepted */
+    private void compact() {
+        journal.rewrite(pending.values().stream()
+                .sorted(Comparator.comparing(AcceptedOrder::receivedAt))
+                .map(JournalEntry::received)
+                .toList());
+        journaled = pending.size();
+    }
+
+    /*
+        Rebuilds the pending set from the journal and compacts it down to the unsettled receipts.
+     */
+    private void recover() {
+        Map<UUID, AcceptedOrder> received = new LinkedHashMap<>();
+        for (JournalEntry entry : journal.replay()) {
+            switch (entry.type()) {
+                case RECEIVED -> received.put(entry.reference(), entry.toAcceptedOrder());
+                case DONE -> received.remove(entry.reference());
+                case REJECTED -> {
+                    AcceptedOrder order = received.remove(entry.reference());
+                    if (order != null) {
+                        rejections.put(entry.reference(), new OrderRejection(order, entry.errorCode(), entry.message()));
+                    }
+                }
+            }
+        }
+
+        journal.rewrite(received.values().stream().map(JournalEntry::received).toList());
+        journaled = received.size();
+        pending.putAll(received);
+        queue.addAll(received.values());
+    }
+}
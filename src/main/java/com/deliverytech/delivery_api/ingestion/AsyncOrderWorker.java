@@ -0,0 +1,115 @@
+package com.deliverytech.delivery_api.ingestion;
+
+import com.deliverytech.delivery_api.dto.response.OrderBatchItemResultDto;
+import com.deliverytech.delivery_api.model.enums.ErrorCode;
+import com.deliverytech.delivery_api.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class AsyncOrderWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOrderWorker.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final AsyncOrderQueue queue;
+    private final OrderService orderService;
+
+    @Value("${orders.async.workers:2}")
+    private int workerCount;
+
+    @Value("${orders.async.batch-size:50}")
+    private int batchSize;
+
+    @Value("${orders.async.retry-backoff:PT2S}")
+    private Duration retryBackoff;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = Thread.ofPlatform()
+                    .name("order-async-worker-" + i)
+                    .daemon(true)
+                    .start(this::run);
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join(POLL_TIMEOUT.toMillis());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                List<AcceptedOrder> batch = queue.take(batchSize, POLL_TIMEOUT);
+                if (!batch.isEmpty()) {
+                    process(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /*
+        Orders rejected by validation are settled as REJECTED. Orders that failed to be
+        written, or the whole batch when the call fails (e.g. database unavailable),
+        go back to the queue after a backoff.
+     */
+    void process(List<AcceptedOrder> batch) throws InterruptedException {
+        List<OrderBatchItemResultDto> results;
+        try {
+            results = orderService.materializeAcceptedOrders(batch);
+        } catch (RuntimeException e) {
+            log.error("Falha ao materializar {} pedido(s) assíncrono(s), nova tentativa em {}s",
+                    batch.size(), retryBackoff.toSeconds(), e);
+            queue.retry(batch);
+            Thread.sleep(retryBackoff.toMillis());
+            return;
+        }
+
+        Map<UUID, UUID> created = new LinkedHashMap<>();
+        List<OrderRejection> rejected = new ArrayList<>();
+        List<AcceptedOrder> failed = new ArrayList<>();
+        for (OrderBatchItemResultDto result : results) {
+            AcceptedOrder order = batch.get(result.index());
+            if (result.success()) {
+                created.put(order.reference(), result.orderId());
+            } else if (ErrorCode.INTERNAL_SERVER_ERROR.getCode().equals(result.errorCode())) {
+                failed.add(order);
+            } else {
+                rejected.add(new OrderRejection(order, result.errorCode(), result.message()));
+            }
+        }
+        queue.settle(created, rejected);
+
+        if (!failed.isEmpty()) {
+            queue.retry(failed);
+            Thread.sleep(retryBackoff.toMillis());
+        }
+    }
+}
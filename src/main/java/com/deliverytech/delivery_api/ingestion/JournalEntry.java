@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.ingestion;
+
+import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+record JournalEntry(
+        Type type,
+        UUID reference,
+        Instant at,
+        String user,
+        OrderRequestDto request,
+        UUID orderId,
+        String errorCode,
+        String message
+) {
+    enum Type { RECEIVED, DONE, REJECTED }
+
+    static JournalEntry received(AcceptedOrder order) {
+        return new JournalEntry(Type.RECEIVED, order.reference(), order.receivedAt(), order.user(), order.request(), null, null, null);
+    }
+
+    static JournalEntry done(UUID reference, UUID orderId) {
+        return new JournalEntry(Type.DONE, reference, Instant.now(), null, null, orderId, null, null);
+    }
+
+    static JournalEntry rejected(UUID reference, String errorCode, String message) {
+        return new JournalEntry(Type.REJECTED, reference, Instant.now(), null, null, null, errorCode, message);
+    }
+
+    AcceptedOrder toAcceptedOrder() {
+        return new AcceptedOrder(reference, request, user, at);
+    }
+}
@@ -0,0 +1,115 @@
+package com.deliverytech.delivery_api.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Append-only NDJSON file. Every append is forced to disk before returning, so an
+    accepted order survives a crash; a torn last line from such a crash is skipped on replay.
+ */
+class OrderJournal implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderJournal.class);
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    OrderJournal(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            this.channel = open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o journal de pedidos: " + file, e);
+        }
+    }
+
+    synchronized List<JournalEntry> replay() {
+        List<JournalEntry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                try {
+                    entries.add(objectMapper.readValue(line, JournalEntry.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Ignorando registro corrompido no journal de pedidos {}", file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    synchronized void append(List<JournalEntry> entries) {
+        if (entries.isEmpty()) return;
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (JournalEntry entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar no journal de pedidos", e);
+        }
+    }
+
+    /*
+        Atomically replaces the journal with the given entries, dropping everything already settled.
+     */
+    synchronized void rewrite(List<JournalEntry> entries) {
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            List<String> lines = new ArrayList<>();
+            for (JournalEntry entry : entries) {
+                lines.add(objectMapper.writeValueAsString(entry));
+            }
+            Files.write(tmp, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+
+            channel.close();
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível compactar o journal de pedidos", e);
+        }
+    }
+
+    synchronized long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,8 @@
+package com.deliverytech.delivery_api.ingestion;
+
+public record OrderRejection(
+        AcceptedOrder order,
+        String errorCode,
+        String message
+) {
+}
@@ -14,7 +14,7 @@ public class ConsumerAuditListener {
 
     private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onConsumerCreated(ConsumerCreateEvent event) {
         auditLogger.info("CRUD_EVENT; type=CREATE; entity=Consumer; entityId={}; user={}; traceId={}",
                 event.getConsumer().getId(),
@@ -23,7 +23,7 @@ public class ConsumerAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onConsumerUpdate(ConsumerUpdateEvent event) {
         auditLogger.info("CRUD_EVENT; type=UPDATE; entity=Consumer; entityId={}; user={}; traceId={}",
                 event.getConsumer().getId(),
@@ -32,7 +32,7 @@ public class ConsumerAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onConsumerDisable(ConsumerDisableEvent event) {
         auditLogger.info("CRUD_EVENT; type=DELETE; entity=Consumer; entityId={}; user={}; traceId={}",
                 event.getConsumer().getId(),
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery_api.listeners;
 
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
 import com.deliverytech.delivery_api.events.order.OrderCancelEvent;
 import com.deliverytech.delivery_api.events.order.OrderCreatedEvent;
 import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
@@ -14,7 +15,7 @@ public class OrderAuditListener {
 
     private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onOrderCreated(OrderCreatedEvent event) {
         auditLogger.info("CRUD_EVENT; type=CREATE; entity=Order; entityId={}; user={}; traceId={}",
                 event.getOrder().getId(),
@@ -23,7 +24,7 @@ public class OrderAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onOrderStatusUpdate(OrderStatusUpdateEvent event) {
         auditLogger.info("CRUD_EVENT; type=UPDATE; entity=Order; entityId={}; user={}; traceId={}",
                 event.getOrder().getId(),
@@ -32,7 +33,17 @@ public class OrderAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
+    public void onOrderBulkStatusUpdate(OrderBulkStatusUpdateEvent event) {
+        auditLogger.info("CRUD_EVENT; type=BULK_UPDATE; entity=Order; entityIds={}; status={}; user={}; traceId={}",
+                event.getBatch().orderIds(),
+                event.getBatch().status(),
+                event.getUser(),
+                MDC.get("traceId")
+        );
+    }
+
+    @EventListener(condition = "#event.relayed")
     public void onOrderCancel(OrderCancelEvent event) {
         auditLogger.info("CRUD_EVENT; type=CANCEL; entity=Order; entityId={}; user={}; traceId={}",
                 event.getOrder().getId(),
@@ -14,7 +14,7 @@ public class ProductAuditListener {
 
     private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onProductCreated(ProductCreateEvent event) {
         auditLogger.info("CRUD_EVENT; type=CREATE; entity=Product; entityId={}; user={}; traceId={}",
                 event.getProduct().getId(),
@@ -23,7 +23,7 @@ public class ProductAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onProductUpdate(ProductUpdateEvent event) {
         auditLogger.info("CRUD_EVENT; type=UPDATE; entity=Product; entityId={}; user={}; traceId={}",
                 event.getProduct().getId(),
@@ -32,7 +32,7 @@ public class ProductAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onProductDelete(ProductDeleteEvent event) {
         auditLogger.info("CRUD_EVENT; type=DELETE; entity=Product; entityId={}; user={}; traceId={}",
                 event.getProduct().getId(),
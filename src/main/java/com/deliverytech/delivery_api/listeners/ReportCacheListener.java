@@ -0,0 +1,54 @@
+package com.deliverytech.delivery_api.listeners;
+
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
+import com.deliverytech.delivery_api.events.order.OrderCancelEvent;
+import com.deliverytech.delivery_api.events.order.OrderCreatedEvent;
+import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.reportcache.ReportDayCache;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/* Evicts the report days of the orders that changed, once the change is committed */
+@Component
+@RequiredArgsConstructor
+public class ReportCacheListener {
+
+    private final ReportDayCache reportDayCache;
+    private final OrderRepository orderRepository;
+
+    @EventListener(condition = "#event.relayed")
+    public void onOrderCreated(OrderCreatedEvent event) {
+        orderChanged(event.getOrder());
+    }
+
+    @EventListener(condition = "#event.relayed")
+    public void onOrderStatusUpdate(OrderStatusUpdateEvent event) {
+        orderChanged(event.getOrder());
+    }
+
+    @EventListener(condition = "#event.relayed")
+    public void onOrderCancel(OrderCancelEvent event) {
+        orderChanged(event.getOrder());
+    }
+
+    @EventListener(condition = "#event.relayed")
+    public void onOrderBulkStatusUpdate(OrderBulkStatusUpdateEvent event) {
+        orderRepository.findOrderDatesByIdIn(event.getBatch().orderIds()).stream()
+                .map(LocalDateTime::toLocalDate)
+                .distinct()
+                .forEach(reportDayCache::orderChanged);
+    }
+
+    private void orderChanged(Order order) {
+        if (order.getOrderDate() == null) {
+            reportDayCache.invalidateAll();
+            return;
+        }
+        reportDayCache.orderChanged(order.getOrderDate().toLocalDate());
+    }
+}
@@ -14,7 +14,7 @@ public class RestaurantAuditListener {
 
     private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onRestaurantCreated(RestaurantCreatedEvent event) {
         auditLogger.info("CRUD_EVENT; type=CREATE; entity=Restaurant; entityId={}; user={}; traceId={}",
                 event.getRestaurant().getId(),
@@ -23,7 +23,7 @@ public class RestaurantAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onRestaurantUpdate(RestaurantUpdateEvent event) {
         auditLogger.info("CRUD_EVENT; type=UPDATE; entity=Restaurant; entityId={}; user={}; traceId={}",
                 event.getRestaurant().getId(),
@@ -32,7 +32,7 @@ public class RestaurantAuditListener {
         );
     }
 
-    @EventListener
+    @EventListener(condition = "#event.relayed")
     public void onRestaurantDisable(RestaurantDisableEvent event) {
         auditLogger.info("CRUD_EVENT; type=DISABLE; entity=Restaurant; entityId={}; user={}; traceId={}",
                 event.getRestaurant().getId(),
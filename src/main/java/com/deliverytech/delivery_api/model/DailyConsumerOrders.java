@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.model;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/* Orders of a consumer per order day and final status, see DailySalesRollup */
+@Entity
+@Table(name = "tb_daily_consumer_orders")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyConsumerOrders {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Embeddable
+    public record Key(
+            @Column(nullable = false) LocalDate orderDay,
+            @Column(nullable = false) UUID consumerId,
+            @Enumerated(EnumType.STRING) @Column(nullable = false) OrderStatus status
+    ) implements Serializable {
+    }
+}
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.model;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/* Units of a product per order day and final status, see DailySalesRollup */
+@Entity
+@Table(name = "tb_daily_product_sales")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyProductSales {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Embeddable
+    public record Key(
+            @Column(nullable = false) LocalDate orderDay,
+            @Column(nullable = false) UUID productId,
+            @Enumerated(EnumType.STRING) @Column(nullable = false) OrderStatus status
+    ) implements Serializable {
+    }
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.model;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/* Orders and sales of a restaurant per order day and final status, see DailySalesRollup */
+@Entity
+@Table(name = "tb_daily_restaurant_sales")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyRestaurantSales {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal totalSales;
+
+    @Embeddable
+    public record Key(
+            @Column(nullable = false) LocalDate orderDay,
+            @Column(nullable = false) UUID restaurantId,
+            @Enumerated(EnumType.STRING) @Column(nullable = false) OrderStatus status
+    ) implements Serializable {
+    }
+}
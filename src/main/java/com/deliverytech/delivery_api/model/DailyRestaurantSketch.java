@@ -0,0 +1,40 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/* Sketches of the orders a restaurant delivered per order day, see DailyOrderSketches */
+@Entity
+@Table(name = "tb_daily_restaurant_sketches")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyRestaurantSketch {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    /* HyperLogLog of the consumer ids */
+    @Column(nullable = false, length = 16384)
+    private byte[] consumers;
+
+    /* t-digest of the order totals */
+    @Column(nullable = false, length = 16384)
+    private byte[] totals;
+
+    @Embeddable
+    public record Key(
+            @Column(nullable = false) LocalDate orderDay,
+            @Column(nullable = false) UUID restaurantId
+    ) implements Serializable {
+    }
+}
@@ -1,11 +1,14 @@
 package com.deliverytech.delivery_api.model;
 
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.id.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,16 +18,47 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/*
+    Fetch plans per use case: detail feeds OrderMapper.toDto, summary feeds toSummaryDto
+    and report covers both parties of the order. The associations are lazy otherwise.
+    Restaurant.user is the inverse side of a one-to-one and cannot be proxied, so the
+    plans that load the restaurant join it too instead of selecting it per restaurant.
+ */
 @Entity
-@Table(name = "tb_orders")
+@Table(name = "tb_orders", uniqueConstraints = @UniqueConstraint(
+        name = "tb_orders_reference_order_date_key", columnNames = {"reference", "order_date"}))
+@NamedEntityGraph(name = Order.DETAIL_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("consumer"),
+                @NamedAttributeNode(value = "restaurant", subgraph = "restaurant"),
+                @NamedAttributeNode(value = "items", subgraph = "items")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "restaurant", attributeNodes = @NamedAttributeNode("user")),
+                @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product"))
+        })
+@NamedEntityGraph(name = Order.SUMMARY_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "restaurant", subgraph = "restaurant"),
+        subgraphs = @NamedSubgraph(name = "restaurant", attributeNodes = @NamedAttributeNode("user")))
+@NamedEntityGraph(name = Order.REPORT_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("consumer"),
+                @NamedAttributeNode(value = "restaurant", subgraph = "restaurant")
+        },
+        subgraphs = @NamedSubgraph(name = "restaurant", attributeNodes = @NamedAttributeNode("user")))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
+    public static final String DETAIL_GRAPH = "Order.detail";
+    public static final String SUMMARY_GRAPH = "Order.summary";
+    public static final String REPORT_GRAPH = "Order.report";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @CreatedDate
@@ -49,14 +83,28 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "consumer_id")
     private Consumer consumer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id")
     private Restaurant restaurant;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items;
+
+    /*
+        Partitioned Postgres can only enforce UNIQUE (reference, order_date), declared on the
+        table as in schema-postgresql.sql, so a replay that lands on another day could duplicate
+        it; lookups by reference take the earliest order.
+     */
+    @Column(updatable = false)
+    private UUID reference;
+
+    /* Bumped by every status transition, see OrderRepository.transitionStatus */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
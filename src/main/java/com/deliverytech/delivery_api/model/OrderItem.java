@@ -1,12 +1,15 @@
 package com.deliverytech.delivery_api.model;
 
+import com.deliverytech.delivery_api.model.id.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -17,7 +20,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     private Integer quantity;
@@ -28,11 +32,28 @@ public class OrderItem {
     @Column(precision = 18, scale = 2)
     private BigDecimal subtotal;
 
-    @ManyToOne
-    @JoinColumn(name = "order_id")
+    /*
+        Partition key inherited from the order: on Postgres both tables are range-partitioned
+        by order_date and the items reference the order through (order_id, order_date), so
+        the database-level foreign key lives in schema-postgresql.sql instead of here.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime orderDate;
+
+    @PrePersist
+    void assignOrderDate() {
+        if (orderDate == null) {
+            orderDate = order != null && order.getOrderDate() != null
+                    ? order.getOrderDate()
+                    : LocalDateTime.now();
+        }
+    }
 }
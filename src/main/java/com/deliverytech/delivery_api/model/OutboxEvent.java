@@ -0,0 +1,57 @@
+package com.deliverytech.delivery_api.model;
+
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "tb_outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_id", columnList = "status, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    /* Sequence ids give the relay a total order, and so an order per aggregate */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "tb_outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    private String username;
+
+    /* Unbounded, a bulk status update carries its whole batch of order ids */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant publishedAt;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,5 @@
+package com.deliverytech.delivery_api.model.enums;
+
+public enum AnalyticsDimension {
+    RESTAURANT, CONSUMER, PRODUCT, STATUS, HOUR, DAY
+}
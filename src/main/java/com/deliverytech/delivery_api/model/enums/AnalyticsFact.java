@@ -0,0 +1,6 @@
+package com.deliverytech.delivery_api.model.enums;
+
+/* What an analytics row counts: one order, or one item of an order */
+public enum AnalyticsFact {
+    ORDERS, ITEMS
+}
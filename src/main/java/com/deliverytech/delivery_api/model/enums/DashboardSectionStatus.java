@@ -0,0 +1,5 @@
+package com.deliverytech.delivery_api.model.enums;
+
+public enum DashboardSectionStatus {
+    OK, TIMEOUT, FAILED
+}
@@ -1,16 +1,19 @@
 package com.deliverytech.delivery_api.model.enums;
 
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
 
 public enum OrderStatus {
-    PENDING, CONFIRMED, PREPARING, OUT_FOR_DELIVERY, DELIVERED, CANCELED;
+    RECEIVED, PENDING, CONFIRMED, PREPARING, OUT_FOR_DELIVERY, DELIVERED, CANCELED;
 
     private static final Map<OrderStatus, Set<OrderStatus>> allowedTransitions =
             new EnumMap<>(OrderStatus.class);
 
     static {
+        /* Pre-state of orders accepted asynchronously, never persisted */
+        allowedTransitions.put(RECEIVED, Set.of());
         allowedTransitions.put(PENDING, Set.of(CONFIRMED, CANCELED, PREPARING));
         allowedTransitions.put(CONFIRMED, Set.of(PREPARING, CANCELED));
         allowedTransitions.put(PREPARING, Set.of(OUT_FOR_DELIVERY, CANCELED));
@@ -23,4 +26,13 @@ public enum OrderStatus {
     public boolean canTransition(OrderStatus newStatus) {
         return allowedTransitions.get(this).contains(newStatus);
     }
+
+    /* Statuses from which an order may move to this one */
+    public Set<OrderStatus> allowedPredecessors() {
+        Set<OrderStatus> predecessors = EnumSet.noneOf(OrderStatus.class);
+        allowedTransitions.forEach((status, targets) -> {
+            if (targets.contains(this)) predecessors.add(status);
+        });
+        return predecessors;
+    }
 }
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.model.enums;
+
+public enum ReportJobStatus {
+    QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
@@ -0,0 +1,6 @@
+package com.deliverytech.delivery_api.model.enums;
+
+/* Reports that can run as a background job: orders by period and status, and daily sales per restaurant */
+public enum ReportJobType {
+    ORDERS_BY_PERIOD, DAILY_SALES
+}
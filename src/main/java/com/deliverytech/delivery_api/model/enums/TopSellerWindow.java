@@ -0,0 +1,6 @@
+package com.deliverytech.delivery_api.model.enums;
+
+/* Period a top sellers ranking covers: the last hour, the last day, or everything delivered */
+public enum TopSellerWindow {
+    HOUR, DAY, ALL
+}
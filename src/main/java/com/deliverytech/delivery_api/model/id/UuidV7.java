@@ -0,0 +1,57 @@
+package com.deliverytech.delivery_api.model.id;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/*
+    Time-ordered UUIDs (RFC 9562, version 7): 48 bits of Unix epoch milliseconds, then a
+    12-bit sequence that keeps ids generated within the same millisecond increasing, then
+    62 random bits. Ids sort by creation time, so primary key inserts append to the index.
+ */
+public final class UuidV7 {
+
+    private static final UuidV7 SHARED = new UuidV7(System::currentTimeMillis, new SecureRandom());
+
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private final LongSupplier clock;
+    private final Random random;
+
+    private long lastTimestamp = -1;
+    private int sequence;
+
+    UuidV7(LongSupplier clock, Random random) {
+        this.clock = clock;
+        this.random = random;
+    }
+
+    public static UUID randomUuid() {
+        return SHARED.next();
+    }
+
+    synchronized UUID next() {
+        long now = clock.getAsLong();
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            /* Seeded in the lower half so a busy millisecond rarely overflows */
+            sequence = random.nextInt((MAX_SEQUENCE + 1) / 2);
+        } else if (++sequence > MAX_SEQUENCE) {
+            /* Sequence exhausted, or the clock went back: borrow the next millisecond */
+            lastTimestamp++;
+            sequence = 0;
+        }
+
+        long mostSigBits = (lastTimestamp << 16) | 0x7000L | sequence;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("O UUID não é da versão 7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/*
+    Plugged into the entities through @UuidGenerator(algorithm = UuidV7Generator.class);
+    switching the id scheme of an entity only takes another UuidValueGenerator.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.randomUuid();
+    }
+}
@@ -0,0 +1,5 @@
+package com.deliverytech.delivery_api.nearcache;
+
+/* An entry, or the whole cache when the key is null, changed on the origin node */
+public record CacheInvalidation(String origin, String cache, String key) {
+}
@@ -0,0 +1,8 @@
+package com.deliverytech.delivery_api.nearcache;
+
+/* Tells the other nodes which near cache entries went stale */
+@FunctionalInterface
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+}
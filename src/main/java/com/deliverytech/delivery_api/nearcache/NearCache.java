@@ -0,0 +1,79 @@
+package com.deliverytech.delivery_api.nearcache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    The in-process level of a cache: at most maxEntries values, least recently used first out,
+    each kept for the TTL at most. Every eviction moves the generation forward, so a value read
+    from the remote level before an eviction is not stored after it. Values are shared between
+    callers and must not be modified.
+ */
+public class NearCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private long generation;
+
+    public NearCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > NearCache.this.maxEntries;
+            }
+        };
+    }
+
+    /* null when missing or expired */
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (clock.millis() >= entry.expiresAt()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /* Stores a value read at the given generation, unless something was evicted since */
+    public synchronized void putIfUnchanged(String key, Object value, long readAt) {
+        if (generation == readAt && value != null) {
+            entries.put(key, new Entry(value, clock.millis() + ttl.toMillis()));
+        }
+    }
+
+    /* Stores a value just written to the remote level, dropping reads still in flight */
+    public synchronized void replace(String key, Object value) {
+        generation++;
+        entries.remove(key);
+        putIfUnchanged(key, value, generation);
+    }
+
+    public synchronized void evict(String key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
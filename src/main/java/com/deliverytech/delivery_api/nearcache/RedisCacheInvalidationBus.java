@@ -0,0 +1,53 @@
+package com.deliverytech.delivery_api.nearcache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/*
+    Invalidations over Redis pub/sub. Delivery is at most once: a node that is disconnected
+    while a message is sent keeps the stale entry until its near cache TTL runs out.
+ */
+public class RedisCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    /* A failed publish must not fail the write that caused it; the TTL bounds the staleness */
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Não foi possível publicar a invalidação do cache {}", invalidation.cache(), e);
+        }
+    }
+
+    public MessageListener listener(Consumer<CacheInvalidation> subscriber) {
+        return (Message message, byte[] pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                subscriber.accept(objectMapper.readValue(body, CacheInvalidation.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Invalidação de cache ilegível descartada: {}", body, e);
+            }
+        };
+    }
+}
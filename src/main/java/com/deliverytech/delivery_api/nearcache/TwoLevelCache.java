@@ -0,0 +1,200 @@
+package com.deliverytech.delivery_api.nearcache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/*
+    A near cache in front of a remote one. Reads try the near cache, then the remote cache,
+    keeping what they find there; writes go to the remote cache first, replace the local
+    entry and tell the other nodes to drop theirs. Keys are compared by their string form,
+    as the remote cache stores them.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache remote;
+    private final NearCache near;
+    private final CacheInvalidationBus bus;
+    private final String node;
+
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Timer nearLatency;
+    private final Timer remoteLatency;
+
+    public TwoLevelCache(Cache remote, NearCache near, CacheInvalidationBus bus, String node, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.near = near;
+        this.bus = bus;
+        this.node = node;
+
+        String name = remote.getName();
+        this.nearHits = gets(meterRegistry, name, "l1", "hit");
+        this.nearMisses = gets(meterRegistry, name, "l1", "miss");
+        this.remoteHits = gets(meterRegistry, name, "l2", "hit");
+        this.remoteMisses = gets(meterRegistry, name, "l2", "miss");
+        this.nearLatency = latency(meterRegistry, name, "l1");
+        this.remoteLatency = latency(meterRegistry, name, "l2");
+        Gauge.builder("delivery_api.cache.near.size", near, NearCache::size)
+                .description("Entradas no cache local")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = key.toString();
+        Object value = nearGet(nearKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        long readAt = near.generation();
+        long start = System.nanoTime();
+        ValueWrapper found = remote.get(key);
+        remoteLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (found == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        near.putIfUnchanged(nearKey, found.get(), readAt);
+        return found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper found = get(key);
+        Object value = found == null ? null : found.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String nearKey = key.toString();
+        Object value = nearGet(nearKey);
+        if (value != null) {
+            return (T) value;
+        }
+
+        long readAt = near.generation();
+        boolean[] loaded = {false};
+        long start = System.nanoTime();
+        T found = remote.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        remoteLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        (loaded[0] ? remoteMisses : remoteHits).increment();
+        if (loaded[0]) {
+            near.replace(nearKey, found);
+            publish(nearKey);
+        } else {
+            near.putIfUnchanged(nearKey, found, readAt);
+        }
+        return found;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        near.replace(key.toString(), value);
+        publish(key.toString());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            near.replace(key.toString(), value);
+            publish(key.toString());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        near.evict(key.toString());
+        publish(key.toString());
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        near.evict(key.toString());
+        publish(key.toString());
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        near.clear();
+        publish(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        near.clear();
+        publish(null);
+        return present;
+    }
+
+    /* Another node changed the entry, or the whole cache when the key is null */
+    void dropLocal(String key) {
+        if (key == null) near.clear();
+        else near.evict(key);
+    }
+
+    private Object nearGet(String key) {
+        long start = System.nanoTime();
+        Object value = near.get(key);
+        nearLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        (value == null ? nearMisses : nearHits).increment();
+        return value;
+    }
+
+    private void publish(String key) {
+        bus.publish(new CacheInvalidation(node, getName(), key));
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String cache, String level, String result) {
+        return Counter.builder("delivery_api.cache.gets")
+                .description("Leituras do cache por nível")
+                .tags("cache", cache, "level", level, "result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer latency(MeterRegistry meterRegistry, String cache, String level) {
+        return Timer.builder("delivery_api.cache.latency")
+                .description("Tempo de leitura do cache por nível")
+                .tags("cache", cache, "level", level)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.deliverytech.delivery_api.nearcache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+    Puts a near cache in front of each cache of the remote manager. Invalidations published by
+    this node come back to it through the bus and are ignored by their origin.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final CacheInvalidationBus bus;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final String node = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote, CacheInvalidationBus bus, int maxEntries, Duration ttl,
+                                Clock clock, MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.bus = bus;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = remote.getCache(cacheName);
+            return cache == null ? null
+                    : new TwoLevelCache(cache, new NearCache(maxEntries, ttl, clock), bus, node, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (node.equals(invalidation.origin())) return;
+
+        TwoLevelCache cache = caches.get(invalidation.cache());
+        if (cache != null) {
+            cache.dropLocal(invalidation.key());
+            meterRegistry.counter("delivery_api.cache.near.invalidations", "cache", invalidation.cache()).increment();
+        }
+    }
+}
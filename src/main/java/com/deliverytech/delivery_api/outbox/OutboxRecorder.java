@@ -0,0 +1,81 @@
+package com.deliverytech.delivery_api.outbox;
+
+import com.deliverytech.delivery_api.events.DomainEvent;
+import com.deliverytech.delivery_api.model.OutboxEvent;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import com.deliverytech.delivery_api.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Entity;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.beans.PropertyDescriptor;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    Writes every domain event published by the services to the outbox, in the
+    publisher's transaction, so the event commits or rolls back with the change itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener(condition = "!#event.relayed and !#event.broadcast")
+    @Transactional
+    public void record(DomainEvent event) {
+        Instant now = Instant.now();
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(event.getClass().getName());
+        outboxEvent.setAggregateType(Hibernate.getClass(event.getAggregate()).getName());
+        outboxEvent.setAggregateId(event.getAggregateId());
+        outboxEvent.setUsername(event.getUser());
+        outboxEvent.setPayload(snapshot(event.getAggregate()));
+        outboxEvent.setStatus(OutboxStatus.PENDING);
+        outboxEvent.setCreatedAt(now);
+        outboxEvent.setNextAttemptAt(now);
+
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    /*
+        Only simple properties of entities are kept: associations may be lazy and would tie
+        the payload to the state of other aggregates. Value aggregates are written whole.
+     */
+    private String snapshot(Object aggregate) {
+        if (!Hibernate.getClass(aggregate).isAnnotationPresent(Entity.class)) {
+            return serialize(aggregate, aggregate);
+        }
+
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(aggregate);
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (PropertyDescriptor property : wrapper.getPropertyDescriptors()) {
+            if (property.getReadMethod() == null || property.getWriteMethod() == null) continue;
+            if (!BeanUtils.isSimpleValueType(property.getPropertyType())) continue;
+            values.put(property.getName(), wrapper.getPropertyValue(property.getName()));
+        }
+
+        return serialize(values, aggregate);
+    }
+
+    private String serialize(Object values, Object aggregate) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + aggregate.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.deliverytech.delivery_api.outbox;
+
+import com.deliverytech.delivery_api.events.DomainEvent;
+import com.deliverytech.delivery_api.model.OutboxEvent;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import com.deliverytech.delivery_api.repository.OutboxEventRepository;
+import com.deliverytech.delivery_api.repository.projection.OutboxAggregateHeadProjection;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Constructor;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Drains the outbox after commit, in id order, to the application listeners and,
+    when enabled, to a Redis stream. A failed event blocks the later events of the
+    same aggregate until it is retried, so each aggregate is delivered in order.
+    Nodes claim their batch with SKIP LOCKED and each event is delivered in its own
+    transaction, so a failing listener only rolls back the work of that event.
+    Without the stream the relayed copy is also the broadcast one, which only reaches
+    every node when there is a single one; several nodes need the stream enabled.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTransaction;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectMapper payloadMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.base-backoff:PT1S}")
+    private Duration baseBackoff;
+
+    @Value("${outbox.relay.max-backoff:PT5M}")
+    private Duration maxBackoff;
+
+    @Value("${outbox.relay.retention:P1D}")
+    private Duration retention;
+
+    @Value("${outbox.redis-stream.enabled:false}")
+    private boolean redisStreamEnabled;
+
+    @Value("${outbox.redis-stream.key:delivery-api:events}")
+    private String redisStreamKey;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction = new TransactionTemplate(transactionManager);
+        this.deliveryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.redisTemplate = redisTemplate;
+        this.payloadMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("delivery_api.outbox.pending", pending, AtomicLong::get)
+                .description("Eventos do outbox aguardando publicação")
+                .register(meterRegistry);
+        Gauge.builder("delivery_api.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Idade do evento pendente mais antigo do outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT0.5S}")
+    public void scheduledRelay() {
+        if (!enabled) return;
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.error("Falha ao drenar o outbox", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.cleanup-interval:PT1H}")
+    public void scheduledCleanup() {
+        if (!enabled) return;
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deletePublishedBefore(Instant.now().minus(retention)));
+    }
+
+    /*
+        Relays one batch and returns how many events were published.
+     */
+    public int relay() {
+        Integer published = transactionTemplate.execute(status -> relayBatch());
+        return published == null ? 0 : published;
+    }
+
+    private int relayBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimDue(now, batchSize);
+        Set<UUID> blockedAggregates = findAggregatesBehind(batch);
+        int published = 0;
+
+        for (OutboxEvent event : batch) {
+            if (blockedAggregates.contains(event.getAggregateId())) continue;
+
+            try {
+                deliveryTransaction.executeWithoutResult(status -> deliver(event));
+                event.setStatus(OutboxStatus.PUBLISHED);
+                event.setPublishedAt(now);
+                event.setLastError(null);
+                published++;
+                meterRegistry.counter("delivery_api.outbox.published.total", "event", simpleName(event)).increment();
+            } catch (RuntimeException e) {
+                registerFailure(event, e, now);
+                if (event.getStatus() == OutboxStatus.PENDING) {
+                    blockedAggregates.add(event.getAggregateId());
+                }
+            }
+        }
+
+        updateGauges(batch, now);
+        return published;
+    }
+
+    /*
+        Aggregates with an earlier pending event outside the batch, either waiting for its
+        backoff or claimed by another node, must wait for it before going any further.
+     */
+    private Set<UUID> findAggregatesBehind(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) return Set.of();
+
+        Map<UUID, Long> firstClaimed = new HashMap<>();
+        batch.forEach(event -> firstClaimed.putIfAbsent(event.getAggregateId(), event.getId()));
+
+        Set<UUID> blocked = new HashSet<>();
+        for (OutboxAggregateHeadProjection head : outboxEventRepository.findAggregateHeads(OutboxStatus.PENDING, firstClaimed.keySet())) {
+            if (head.getFirstId() < firstClaimed.get(head.getAggregateId())) {
+                blocked.add(head.getAggregateId());
+            }
+        }
+        return blocked;
+    }
+
+    private void deliver(OutboxEvent outboxEvent) {
+        DomainEvent event = toDomainEvent(outboxEvent);
+        event.markRelayed();
+        if (!redisStreamEnabled) {
+            event.markBroadcast();
+        }
+        eventPublisher.publishEvent(event);
+
+        if (redisStreamEnabled) {
+            Map<String, String> record = new LinkedHashMap<>();
+            record.put("id", String.valueOf(outboxEvent.getId()));
+            record.put("type", simpleName(outboxEvent));
+            record.put("eventType", outboxEvent.getEventType());
+            record.put("aggregateType", outboxEvent.getAggregateType());
+            record.put("aggregateId", outboxEvent.getAggregateId().toString());
+            record.put("user", Objects.toString(outboxEvent.getUsername(), ""));
+            record.put("payload", outboxEvent.getPayload());
+            redisTemplate.getObject().opsForStream().add(StreamRecords.string(record).withStreamKey(redisStreamKey));
+        }
+    }
+
+    /*
+        Rebuilds the event with a detached snapshot of the aggregate as it was when the
+        event was recorded. Every domain event has an (Object, aggregate, String) constructor.
+     */
+    DomainEvent toDomainEvent(OutboxEvent outboxEvent) {
+        try {
+            Class<?> eventType = Class.forName(outboxEvent.getEventType());
+            Class<?> aggregateType = Class.forName(outboxEvent.getAggregateType());
+            if (!DomainEvent.class.isAssignableFrom(eventType)) {
+                throw new IllegalStateException("Tipo de evento inválido no outbox: " + outboxEvent.getEventType());
+            }
+
+            Object aggregate = payloadMapper.readValue(outboxEvent.getPayload(), aggregateType);
+            Constructor<?> constructor = eventType.getConstructor(Object.class, aggregateType, String.class);
+            return (DomainEvent) constructor.newInstance(this, aggregate, outboxEvent.getUsername());
+        } catch (ReflectiveOperationException | com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível reconstruir o evento " + outboxEvent.getId(), e);
+        }
+    }
+
+    private void registerFailure(OutboxEvent event, RuntimeException e, Instant now) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(Objects.toString(e.getMessage(), e.getClass().getName()));
+        if (event.getLastError().length() > 1000) {
+            event.setLastError(event.getLastError().substring(0, 1000));
+        }
+        meterRegistry.counter("delivery_api.outbox.failures.total", "event", simpleName(event)).increment();
+
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            log.error("Evento {} do outbox descartado após {} tentativas", event.getId(), attempts, e);
+            return;
+        }
+
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = baseBackoff.multipliedBy(factor);
+        event.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+        log.warn("Falha ao publicar o evento {} do outbox (tentativa {})", event.getId(), attempts, e);
+    }
+
+    private void updateGauges(List<OutboxEvent> batch, Instant now) {
+        pending.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        lagMillis.set(batch.stream()
+                .filter(event -> event.getStatus() == OutboxStatus.PENDING)
+                .map(OutboxEvent::getCreatedAt)
+                .min(Comparator.naturalOrder())
+                .map(oldest -> Duration.between(oldest, now).toMillis())
+                .orElse(0L));
+    }
+
+    private String simpleName(OutboxEvent event) {
+        return event.getEventType().substring(event.getEventType().lastIndexOf('.') + 1);
+    }
+}
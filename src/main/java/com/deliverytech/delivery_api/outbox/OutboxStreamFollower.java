@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.outbox;
+
+import com.deliverytech.delivery_api.events.DomainEvent;
+import com.deliverytech.delivery_api.model.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/*
+    Reads the outbox stream on every node, without a consumer group, and publishes each
+    event again as the broadcast copy for the in-memory read models of this node. The
+    relay hands an event to one node only; this is how the others see it. Reading starts
+    at the end of the stream: the read models load their history on start.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.redis-stream.enabled", havingValue = "true")
+public class OutboxStreamFollower {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxStreamFollower.class);
+
+    private final OutboxRelay relay;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    public OutboxStreamFollower(
+            OutboxRelay relay,
+            ApplicationEventPublisher eventPublisher,
+            RedisConnectionFactory connectionFactory,
+            @Value("${outbox.redis-stream.key:delivery-api:events}") String streamKey
+    ) {
+        this.relay = relay;
+        this.eventPublisher = eventPublisher;
+        this.container = StreamMessageListenerContainer.create(connectionFactory,
+                StreamMessageListenerContainerOptions.builder().pollTimeout(Duration.ofSeconds(1)).build());
+        this.container.register(StreamReadRequest.builder(StreamOffset.latest(streamKey))
+                .cancelOnError(e -> false)
+                .errorHandler(e -> log.warn("Falha ao ler o stream do outbox", e))
+                .build(), this::onRecord);
+    }
+
+    @PostConstruct
+    public void start() {
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        container.stop();
+    }
+
+    /* A failure loses the event for this node's read models only, it never blocks the stream */
+    void onRecord(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        if (fields.get("eventType") == null) return;
+
+        try {
+            OutboxEvent outboxEvent = new OutboxEvent();
+            outboxEvent.setId(Long.valueOf(fields.get("id")));
+            outboxEvent.setEventType(fields.get("eventType"));
+            outboxEvent.setAggregateType(fields.get("aggregateType"));
+            outboxEvent.setUsername(fields.getOrDefault("user", "").isEmpty() ? null : fields.get("user"));
+            outboxEvent.setPayload(fields.get("payload"));
+
+            DomainEvent event = relay.toDomainEvent(outboxEvent);
+            event.markBroadcast();
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.warn("Evento {} do stream do outbox não entregue aos modelos locais", record.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.pagination;
+
+/*
+    How the total of a paged listing is obtained: an exact COUNT(*), the planner's
+    estimate, or no total at all (the page is read as a slice of size + 1).
+ */
+public enum CountMode {
+    EXACT, ESTIMATED, NONE
+}
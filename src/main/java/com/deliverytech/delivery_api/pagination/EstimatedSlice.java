@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.pagination;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/*
+    A slice whose total is an estimate. hasNext still comes from the size + 1 fetch,
+    and the estimate is raised to at least the rows already known to exist.
+ */
+public class EstimatedSlice<T> extends SliceImpl<T> {
+
+    private final long estimatedTotal;
+
+    private EstimatedSlice(Slice<T> slice, long estimatedTotal) {
+        super(slice.getContent(), slice.getPageable(), slice.hasNext());
+        long known = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+                : slice.getNumberOfElements();
+        this.estimatedTotal = Math.max(estimatedTotal, known);
+    }
+
+    public static <T> EstimatedSlice<T> of(Slice<T> slice, long estimatedTotal) {
+        return new EstimatedSlice<>(slice, estimatedTotal);
+    }
+
+    public long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+
+    public int getEstimatedTotalPages() {
+        return getSize() == 0 ? 1 : (int) Math.ceil((double) estimatedTotal / getSize());
+    }
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.delivery_api.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+    One page of a cursor-paginated listing. next and prev are opaque cursors,
+    null when there is nothing further in that direction.
+ */
+public record KeysetPage<T>(
+        List<T> content,
+        int size,
+        String next,
+        String prev
+) {
+
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new KeysetPage<>(content.stream().<R>map(mapper).toList(), size, next, prev);
+    }
+}
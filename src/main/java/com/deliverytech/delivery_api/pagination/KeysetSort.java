@@ -0,0 +1,109 @@
+package com.deliverytech.delivery_api.pagination;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/*
+    A fixed, unique sort used for keyset pagination, and the codec of its cursors.
+    A cursor is the base64url JSON of the scroll direction and the sort keys of the
+    row it points at, so the next page is read with a WHERE on those keys instead
+    of an OFFSET, and rows inserted meanwhile do not shift it.
+ */
+public final class KeysetSort {
+
+    public static final KeysetSort ORDERS_BY_DATE = new KeysetSort(
+            Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id")),
+            Map.of("orderDate", LocalDateTime::parse, "id", UUID::fromString));
+
+    public static final KeysetSort BY_NAME = new KeysetSort(
+            Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id")),
+            Map.of("name", name -> name, "id", UUID::fromString));
+
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+    private static final String BACKWARD = "B";
+    private static final String FORWARD = "F";
+
+    private final Sort sort;
+    private final Map<String, Function<String, Object>> keyParsers;
+
+    private KeysetSort(Sort sort, Map<String, Function<String, Object>> keyParsers) {
+        this.sort = sort;
+        this.keyParsers = keyParsers;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    /*
+        An empty or missing cursor starts from the first row.
+     */
+    public KeysetScrollPosition position(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, String> token = CURSOR_MAPPER.readValue(json, new TypeReference<>() {});
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                String value = token.get(order.getProperty());
+                if (value == null) throw new IllegalArgumentException();
+                keys.put(order.getProperty(), keyParsers.get(order.getProperty()).apply(value));
+            }
+
+            return BACKWARD.equals(token.get("$")) ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+
+    /*
+        For a forward scroll the window tells whether more rows follow; for a backward one,
+        whether more rows precede. The opposite direction always exists unless the scroll
+        started from the first row.
+     */
+    public <E, T> KeysetPage<T> page(Window<E> window, KeysetScrollPosition requested, int size, Function<E, T> mapper) {
+        String next = null;
+        String prev = null;
+
+        if (!window.isEmpty()) {
+            boolean backward = requested.scrollsBackward();
+            if (backward ? !requested.isInitial() : window.hasNext()) {
+                next = encode(FORWARD, window.positionAt(window.size() - 1));
+            }
+            if (backward ? window.hasNext() : !requested.isInitial()) {
+                prev = encode(BACKWARD, window.positionAt(0));
+            }
+        }
+
+        return new KeysetPage<>(window.map(mapper).getContent(), size, next, prev);
+    }
+
+    private String encode(String direction, ScrollPosition position) {
+        Map<String, String> token = new LinkedHashMap<>();
+        token.put("$", direction);
+        ((KeysetScrollPosition) position).getKeys().forEach((key, value) -> token.put(key, String.valueOf(value)));
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(token));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
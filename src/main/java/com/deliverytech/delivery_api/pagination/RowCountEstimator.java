@@ -0,0 +1,59 @@
+package com.deliverytech.delivery_api.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/*
+    Row count estimates read from the PostgreSQL planner (EXPLAIN of the filtered
+    query), which cost a catalog lookup instead of a scan. Other databases, and any
+    failure, yield no estimate and callers fall back to an exact count.
+ */
+@Component
+public class RowCountEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(RowCountEstimator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile Boolean supported;
+
+    public RowCountEstimator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+        where holds only constant column conditions with ? placeholders bound to args.
+     */
+    public OptionalLong estimate(String table, String where, Object... args) {
+        if (!isSupported()) return OptionalLong.empty();
+
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM " + table + (where.isBlank() ? "" : " WHERE " + where);
+        try {
+            String plan = jdbcTemplate.queryForObject(sql, String.class, args);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Não foi possível estimar a contagem de {}: {}", table, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private boolean isSupported() {
+        if (supported == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            supported = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,106 @@
+package com.deliverytech.delivery_api.partitioning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Keeps the monthly range partitions of the order tables (see schema-postgresql.sql)
+    created ahead of time, so inserts never land in the default partition and queries
+    bounded by order_date only touch the months they cover. Old months can be detached
+    and archived without rewriting the live tables.
+ */
+public class OrderPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionManager.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("tb_orders", "tb_order_items");
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final int monthsAhead;
+
+    public OrderPartitionManager(JdbcTemplate jdbcTemplate, Clock clock, int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${orders.partitioning.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now(clock);
+
+        for (String table : PARTITIONED_TABLES) {
+            if (!isPartitioned(table)) {
+                log.warn("Tabela {} não é particionada por order_date; manutenção de partições ignorada", table);
+                continue;
+            }
+            for (int offset = -1; offset <= monthsAhead; offset++) {
+                createPartition(table, current.plusMonths(offset));
+            }
+        }
+    }
+
+    public List<String> listPartitions(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? ORDER BY c.relname",
+                String.class, table);
+    }
+
+    /*
+        Detaches the month from both tables, items first because of the composite foreign key.
+        The detached tables stay in place for archival or a later DROP.
+     */
+    public List<String> detachPartition(YearMonth month) {
+        List<String> detached = new ArrayList<>();
+
+        for (String table : PARTITIONED_TABLES.reversed()) {
+            String partition = partitionName(table, month);
+            if (listPartitions(table).contains(partition)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                detached.add(partition);
+                log.info("Partição {} desanexada de {}", partition, table);
+            }
+        }
+        return detached;
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_" + month.format(SUFFIX);
+    }
+
+    private boolean isPartitioned(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_class WHERE relname = ? AND relkind = 'p'",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        String partition = partitionName(table, month);
+        try {
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, table, month.atDay(1), month.plusMonths(1).atDay(1)));
+        } catch (DataAccessException e) {
+            /* e.g. the default partition already holds rows of that month and must be split manually */
+            log.error("Não foi possível criar a partição {}: {}", partition, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.deliverytech.delivery_api.reportcache;
+
+import com.deliverytech.delivery_api.nearcache.CacheInvalidation;
+import com.deliverytech.delivery_api.nearcache.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/*
+    Caches date-range reports one day at a time. A requested range is split into days: days
+    already cached are served from memory and each run of missing days is loaded with a single
+    query, then split back into days. Closed days are kept until an order of that day changes,
+    for the closed-day TTL at most; the open day, and a closed day that has just changed (the
+    replica may not have it yet), are kept for the open-day TTL only. Order events of the open
+    day do not evict it, so a busy day is not reloaded on every order. Entries are in memory,
+    per instance: evictions are broadcast on the bus so the other instances drop the days too,
+    and the closed-day TTL bounds the staleness left by a missed message.
+ */
+public class ReportDayCache {
+
+    public static final String CACHE_NAME = "report-days";
+
+    private final boolean enabled;
+    private final Duration openDayTtl;
+    private final Duration closedDayTtl;
+    private final int maxDays;
+    private final Clock clock;
+    private final CacheInvalidationBus bus;
+    private final String node = UUID.randomUUID().toString();
+
+    private final Map<LocalDate, Map<Variant, Entry>> days;
+    private final Map<LocalDate, Long> changedUntil;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong savedNanos = new AtomicLong();
+    private final Timer loads;
+
+    public ReportDayCache(boolean enabled, Duration openDayTtl, Duration closedDayTtl, int maxDays, Clock clock,
+                          CacheInvalidationBus bus, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.openDayTtl = openDayTtl;
+        this.closedDayTtl = closedDayTtl;
+        this.maxDays = maxDays;
+        this.clock = clock;
+        this.bus = bus;
+        this.days = lru(maxDays);
+        this.changedUntil = lru(maxDays);
+
+        this.hits = Counter.builder("delivery_api.reports.cache.days")
+                .description("Dias de relatório servidos pelo cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("delivery_api.reports.cache.days")
+                .description("Dias de relatório servidos pelo cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.loads = Timer.builder("delivery_api.reports.cache.load")
+                .description("Consultas ao banco para os dias ausentes do cache")
+                .register(meterRegistry);
+        Gauge.builder("delivery_api.reports.cache.hit_ratio", this, ReportDayCache::hitRatio)
+                .description("Fração dos dias de relatório servidos pelo cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("delivery_api.reports.cache.saved_db_time", savedNanos, nanos -> nanos.get() / 1e9)
+                .description("Tempo de banco que os dias servidos pelo cache teriam custado")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("delivery_api.reports.cache.size", this, ReportDayCache::size)
+                .description("Dias de relatório em cache")
+                .register(meterRegistry);
+    }
+
+    /*
+        Returns the rows of the report for the range, in the loader's order within each day and
+        by day across days. dayOf tells the day of a row; the loader runs the query for a
+        sub-range and the variant tells apart calls with different filters.
+     */
+    public <T> List<T> get(String report, Object variant, LocalDate startDate, LocalDate endDate,
+                           Function<T, LocalDate> dayOf, BiFunction<LocalDate, LocalDate, List<T>> loader) {
+        long length = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (!enabled || length <= 0 || length > maxDays) {
+            return loader.apply(startDate, endDate);
+        }
+
+        Variant key = new Variant(report, variant);
+        Map<LocalDate, List<T>> cached = lookup(key, startDate, endDate);
+        hits.increment(cached.size());
+        misses.increment(length - cached.size());
+
+        List<T> rows = new ArrayList<>();
+        LocalDate day = startDate;
+        while (!day.isAfter(endDate)) {
+            List<T> hit = cached.get(day);
+            if (hit != null) {
+                rows.addAll(hit);
+                day = day.plusDays(1);
+                continue;
+            }
+
+            LocalDate runEnd = day;
+            while (runEnd.isBefore(endDate) && !cached.containsKey(runEnd.plusDays(1))) {
+                runEnd = runEnd.plusDays(1);
+            }
+            rows.addAll(load(key, day, runEnd, dayOf, loader));
+            day = runEnd.plusDays(1);
+        }
+        return rows;
+    }
+
+    /*
+        An order of the day changed. Closed days are evicted and kept briefly afterwards;
+        the open day expires on its own.
+     */
+    public void orderChanged(LocalDate day) {
+        if (day.isBefore(today())) {
+            invalidate(day, day);
+        }
+    }
+
+    /* The days of the range changed outside the order flow, e.g. the rollups were rebuilt */
+    public void invalidate(LocalDate startDate, LocalDate endDate) {
+        evictRange(startDate, endDate);
+        bus.publish(new CacheInvalidation(node, CACHE_NAME, startDate + "/" + endDate));
+    }
+
+    public void invalidateAll() {
+        clear();
+        bus.publish(new CacheInvalidation(node, CACHE_NAME, null));
+    }
+
+    /* An eviction broadcast by another instance; the ones published here come back and are ignored */
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (node.equals(invalidation.origin()) || !CACHE_NAME.equals(invalidation.cache())) return;
+
+        if (invalidation.key() == null) {
+            clear();
+            return;
+        }
+        String[] range = invalidation.key().split("/");
+        evictRange(LocalDate.parse(range[0]), LocalDate.parse(range[1]));
+    }
+
+    public synchronized int size() {
+        return days.size();
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T> Map<LocalDate, List<T>> lookup(Variant key, LocalDate startDate, LocalDate endDate) {
+        long now = clock.millis();
+        Map<LocalDate, List<T>> found = new HashMap<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            Map<Variant, Entry> variants = days.get(day);
+            Entry entry = variants == null ? null : variants.get(key);
+            if (entry == null) continue;
+
+            if (now >= entry.expiresAt()) {
+                variants.remove(key);
+                continue;
+            }
+            found.put(day, (List<T>) entry.rows());
+            savedNanos.addAndGet(entry.loadNanos());
+        }
+        return found;
+    }
+
+    private <T> List<T> load(Variant key, LocalDate startDate, LocalDate endDate,
+                             Function<T, LocalDate> dayOf, BiFunction<LocalDate, LocalDate, List<T>> loader) {
+        long loadedAt = generation.get();
+        long start = System.nanoTime();
+        List<T> rows = loader.apply(startDate, endDate);
+        long elapsed = System.nanoTime() - start;
+        loads.record(elapsed, TimeUnit.NANOSECONDS);
+
+        Map<LocalDate, List<T>> byDay = new HashMap<>();
+        for (T row : rows) {
+            byDay.computeIfAbsent(dayOf.apply(row), day -> new ArrayList<>()).add(row);
+        }
+        long perDay = elapsed / (ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        store(key, startDate, endDate, byDay, perDay, loadedAt);
+        return rows;
+    }
+
+    /* Skipped when something was invalidated during the load: the rows may predate the change */
+    private synchronized <T> void store(Variant key, LocalDate startDate, LocalDate endDate,
+                                        Map<LocalDate, List<T>> byDay, long loadNanos, long loadedAt) {
+        if (generation.get() != loadedAt) return;
+
+        long now = clock.millis();
+        LocalDate today = today();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            Long changed = changedUntil.get(day);
+            if (changed != null && now >= changed) {
+                changedUntil.remove(day);
+                changed = null;
+            }
+            long expiresAt = now + (day.isBefore(today) && changed == null ? closedDayTtl : openDayTtl).toMillis();
+            days.computeIfAbsent(day, d -> new HashMap<>())
+                    .put(key, new Entry(List.copyOf(byDay.getOrDefault(day, List.of())), loadNanos, expiresAt));
+        }
+    }
+
+    private synchronized void evictRange(LocalDate startDate, LocalDate endDate) {
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            clear();
+            return;
+        }
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            evict(day);
+        }
+    }
+
+    private synchronized void clear() {
+        generation.incrementAndGet();
+        days.clear();
+        changedUntil.clear();
+    }
+
+    private void evict(LocalDate day) {
+        generation.incrementAndGet();
+        days.remove(day);
+        changedUntil.put(day, clock.millis() + openDayTtl.toMillis());
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private static <V> Map<LocalDate, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private record Variant(String report, Object filter) {
+    }
+
+    private record Entry(List<?> rows, long loadNanos, long expiresAt) {
+    }
+}
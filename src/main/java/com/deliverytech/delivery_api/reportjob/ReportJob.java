@@ -0,0 +1,42 @@
+package com.deliverytech.delivery_api.reportjob;
+
+import com.deliverytech.delivery_api.model.enums.ReportJobStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/* State of a job at one point; every transition makes a new one. Finished jobs expire with their result */
+public record ReportJob(
+        UUID id,
+        ReportJobRequest request,
+        ReportJobStatus status,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Instant expiresAt,
+        Long rows,
+        Long sizeBytes,
+        String error
+) {
+    static ReportJob queued(UUID id, ReportJobRequest request, Instant now) {
+        return new ReportJob(id, request, ReportJobStatus.QUEUED, now, null, null, null, null, null, null);
+    }
+
+    ReportJob started(Instant now) {
+        return new ReportJob(id, request, ReportJobStatus.RUNNING, submittedAt, now, null, null, null, null, null);
+    }
+
+    ReportJob succeeded(long rows, long sizeBytes, Instant now, Duration retention) {
+        return new ReportJob(id, request, ReportJobStatus.SUCCEEDED, submittedAt, startedAt, now, now.plus(retention),
+                rows, sizeBytes, null);
+    }
+
+    ReportJob stopped(ReportJobStatus status, String error, Instant now, Duration retention) {
+        return new ReportJob(id, request, status, submittedAt, startedAt, now, now.plus(retention), null, null, error);
+    }
+
+    boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
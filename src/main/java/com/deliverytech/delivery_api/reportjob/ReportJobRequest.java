@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.reportjob;
+
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+
+import java.time.LocalDate;
+
+/* What a job exports; equal requests submitted while one of them is queued or running share it */
+public record ReportJobRequest(
+        ReportJobType type,
+        LocalDate startDate,
+        LocalDate endDate,
+        OrderStatus status,
+        ExportFormat format
+) {
+    public String fileName() {
+        return type.name().toLowerCase().replace('_', '-') + "-" + startDate + "-" + endDate
+                + (status == null ? "" : "-" + status.name().toLowerCase());
+    }
+}
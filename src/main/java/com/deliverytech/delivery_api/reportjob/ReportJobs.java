@@ -0,0 +1,367 @@
+package com.deliverytech.delivery_api.reportjob;
+
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
+import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.model.enums.ReportJobStatus;
+import com.deliverytech.delivery_api.model.id.UuidV7;
+import com.deliverytech.delivery_api.service.ReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    Runs report exports in the background, so a wide period neither outlives the HTTP timeout
+    nor holds a request thread and its connection. A fixed number of workers takes jobs from a
+    bounded queue; each job runs in a read-only transaction whose timeout bounds its queries
+    and writes its rows gzipped to a local file, downloadable until it expires. The export
+    joins that transaction, so reports.jobs.timeout governs a job and exports.timeout-seconds
+    only the synchronous exports. A job being downloaded is kept past its expiry. Cancelling
+    interrupts the worker; a query already running stops at the timeout at the latest and its
+    rows are discarded. The state of a finished job is saved next to its file, so it survives
+    a restart; queued and running jobs do not. Jobs only exist on the instance that took them.
+ */
+@Component
+public class ReportJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobs.class);
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String RESULT_SUFFIX = ".gz";
+    private static final String STATE_SUFFIX = ".json";
+
+    private final ReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration timeout;
+    private final Duration retention;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter deduplicated;
+
+    private final Map<UUID, ReportJob> jobs = new HashMap<>();
+    private final Map<ReportJobRequest, UUID> active = new HashMap<>();
+    private final Map<UUID, Future<?>> running = new HashMap<>();
+    private final Map<UUID, Integer> downloads = new HashMap<>();
+
+    /* A finished job and its gzipped result; the job is not purged until it is closed */
+    public record Result(ReportJob job, Path file, Runnable release) implements Closeable {
+
+        /* Copies the file as stored, or inflated when the client does not take gzip */
+        public void writeTo(OutputStream out, boolean gzip) throws IOException {
+            try (InputStream in = gzip ? Files.newInputStream(file) : new GZIPInputStream(Files.newInputStream(file))) {
+                in.transferTo(out);
+            }
+        }
+
+        @Override
+        public void close() {
+            release.run();
+        }
+    }
+
+    public ReportJobs(
+            ReportService reportService,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${reports.jobs.path:data/report-jobs}") String directory,
+            @Value("${reports.jobs.workers:2}") int workers,
+            @Value("${reports.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${reports.jobs.timeout:PT10M}") Duration timeout,
+            @Value("${reports.jobs.retention:PT1H}") Duration retention
+    ) {
+        this.reportService = reportService;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.timeout = timeout;
+        this.retention = retention;
+        this.meterRegistry = meterRegistry;
+
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.transaction.setTimeout((int) Math.max(1, timeout.toSeconds()));
+
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("report-job-", 0).daemon(true).factory());
+        this.deduplicated = Counter.builder("delivery_api.reports.jobs")
+                .description("Relatórios em segundo plano por resultado")
+                .tag("result", "deduplicated")
+                .register(meterRegistry);
+        Gauge.builder("delivery_api.reports.jobs.queued", executor, pool -> pool.getQueue().size())
+                .description("Relatórios aguardando um worker")
+                .register(meterRegistry);
+
+        try {
+            Files.createDirectories(this.directory);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o diretório de relatórios: " + directory, e);
+        }
+    }
+
+    /* Interrupts the running jobs and gives them a moment to record that they were canceled */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Queues the request, or returns the queued or running job of an equal one */
+    public synchronized ReportJob submit(ReportJobRequest request) {
+        UUID existing = active.get(request);
+        if (existing != null) {
+            deduplicated.increment();
+            return jobs.get(existing);
+        }
+
+        ReportJob job = ReportJob.queued(UuidV7.randomUuid(), request, Instant.now());
+        try {
+            running.put(job.id(), executor.submit(() -> run(job.id())));
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("A fila de relatórios está cheia. Tente novamente em alguns minutos.");
+        }
+        jobs.put(job.id(), job);
+        active.put(request, job.id());
+        return job;
+    }
+
+    public synchronized ReportJob find(UUID id) {
+        ReportJob job = jobs.get(id);
+        if (job == null || job.isExpired(Instant.now())) {
+            throw new ResourceNotFoundException("Relatório não encontrado ou expirado");
+        }
+        return job;
+    }
+
+    public synchronized Result result(UUID id) {
+        ReportJob job = find(id);
+        if (job.status() != ReportJobStatus.SUCCEEDED) {
+            throw new ConflictException("O relatório não está disponível para download (status " + job.status() + ").");
+        }
+        downloads.merge(id, 1, Integer::sum);
+        return new Result(job, resultFile(id), () -> release(id));
+    }
+
+    public ReportJob cancel(UUID id) {
+        ReportJob canceled;
+        synchronized (this) {
+            ReportJob job = find(id);
+            if (job.status().isFinished()) {
+                throw new ConflictException("O relatório já terminou com status " + job.status() + ".");
+            }
+            canceled = job.stopped(ReportJobStatus.CANCELED, "Cancelado a pedido", Instant.now(), retention);
+            jobs.put(id, canceled);
+            active.remove(job.request());
+            Future<?> future = running.remove(id);
+            if (future != null) future.cancel(true);
+            count(canceled);
+        }
+        executor.purge();
+        saveState(canceled);
+        return canceled;
+    }
+
+    /* Drops the finished jobs past their expiry, with their files, unless they are being downloaded */
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval:PT5M}")
+    public void purgeExpired() {
+        List<UUID> expired = new ArrayList<>();
+        synchronized (this) {
+            Instant now = Instant.now();
+            jobs.values().removeIf(job -> {
+                if (!job.status().isFinished() || !job.isExpired(now) || downloads.containsKey(job.id())) return false;
+                expired.add(job.id());
+                return true;
+            });
+        }
+        expired.forEach(this::deleteFiles);
+        if (!expired.isEmpty()) {
+            log.info("{} relatório(s) expirado(s) removido(s)", expired.size());
+        }
+    }
+
+    private synchronized void release(UUID id) {
+        downloads.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void run(UUID id) {
+        ReportJob job;
+        synchronized (this) {
+            job = jobs.get(id);
+            if (job == null || job.status() != ReportJobStatus.QUEUED) return;
+            job = job.started(Instant.now());
+            jobs.put(id, job);
+        }
+
+        Path part = directory.resolve(id + PART_SUFFIX);
+        try {
+            ReportJobRequest request = job.request();
+            ExportSink sink = () -> new GZIPOutputStream(Files.newOutputStream(part), 64 * 1024);
+            Long rows = transaction.execute(status -> switch (request.type()) {
+                case ORDERS_BY_PERIOD -> reportService.exportOrdersByPeriod(
+                        request.startDate(), request.endDate(), request.status(), request.format(), sink);
+                case DAILY_SALES -> reportService.exportDailySales(
+                        request.startDate(), request.endDate(), request.format(), sink);
+            });
+            if (Files.notExists(part)) {
+                sink.open().close();
+            }
+            long size = Files.size(part);
+            Files.move(part, resultFile(id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finish(id, current -> current.succeeded(rows == null ? 0 : rows, size, Instant.now(), retention));
+        } catch (Exception e) {
+            deleteQuietly(part);
+            finish(id, current -> {
+                if (executor.isShutdown()) {
+                    return current.stopped(ReportJobStatus.CANCELED, "Interrompido pelo desligamento da aplicação",
+                            Instant.now(), retention);
+                }
+                log.warn("Relatório {} falhou: {}", id, current.request(), e);
+                return current.stopped(ReportJobStatus.FAILED, describe(e), Instant.now(), retention);
+            });
+        }
+    }
+
+    /* A job cancelled meanwhile stays cancelled and its file is dropped */
+    private void finish(UUID id, UnaryOperator<ReportJob> transition) {
+        ReportJob finished;
+        synchronized (this) {
+            ReportJob current = jobs.get(id);
+            running.remove(id);
+            if (current == null || current.status() == ReportJobStatus.CANCELED) {
+                deleteQuietly(resultFile(id));
+                return;
+            }
+            finished = transition.apply(current);
+            jobs.put(id, finished);
+            active.remove(current.request(), id);
+            count(finished);
+        }
+        saveState(finished);
+    }
+
+    private String describe(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransactionTimedOutException || cause instanceof SQLTimeoutException
+                    || cause instanceof org.springframework.dao.QueryTimeoutException
+                    || cause instanceof jakarta.persistence.QueryTimeoutException) {
+                return "O relatório excedeu o tempo limite de " + timeout.toSeconds() + " s.";
+            }
+            if (cause instanceof BusinessException) {
+                return cause.getMessage();
+            }
+        }
+        return "Falha ao gerar o relatório.";
+    }
+
+    private void count(ReportJob job) {
+        meterRegistry.counter("delivery_api.reports.jobs", "result", job.status().name().toLowerCase()).increment();
+    }
+
+    /* Written after the result, so a state file always points to a complete one */
+    private void saveState(ReportJob job) {
+        Path state = stateFile(job.id());
+        Path part = directory.resolve(job.id() + STATE_SUFFIX + PART_SUFFIX);
+        try {
+            objectMapper.writeValue(part.toFile(), job);
+            Files.move(part, state, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Não foi possível salvar o estado do relatório {}", job.id(), e);
+        }
+    }
+
+    /* Finished jobs come back from their state files; partial files and orphaned results are dropped */
+    private void load() throws IOException {
+        List<Path> results = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PART_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(RESULT_SUFFIX)) {
+                    results.add(file);
+                } else if (name.endsWith(STATE_SUFFIX)) {
+                    try {
+                        ReportJob job = objectMapper.readValue(file.toFile(), ReportJob.class);
+                        if (job.status().isFinished()) jobs.put(job.id(), job);
+                        else Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.warn("Estado de relatório ilegível descartado: {}", file, e);
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+        for (Path result : results) {
+            String name = result.getFileName().toString();
+            ReportJob job = jobs.get(UUID.fromString(name.substring(0, name.length() - RESULT_SUFFIX.length())));
+            if (job == null || job.status() != ReportJobStatus.SUCCEEDED) {
+                Files.deleteIfExists(result);
+            }
+        }
+        purgeExpired();
+    }
+
+    private void deleteFiles(UUID id) {
+        deleteQuietly(resultFile(id));
+        deleteQuietly(stateFile(id));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}", file, e);
+        }
+    }
+
+    private Path resultFile(UUID id) {
+        return directory.resolve(id + RESULT_SUFFIX);
+    }
+
+    private Path stateFile(UUID id) {
+        return directory.resolve(id + STATE_SUFFIX);
+    }
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.DailyConsumerOrders;
+import com.deliverytech.delivery_api.repository.projection.ActiveConsumerProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DailyConsumerOrdersRepository extends JpaRepository<DailyConsumerOrders, DailyConsumerOrders.Key> {
+
+    @Query("SELECT c.name as consumerName, c.email as consumerEmail, SUM(s.orderCount) as totalOrders " +
+            "FROM DailyConsumerOrders s JOIN Consumer c ON c.id = s.id.consumerId " +
+            "WHERE s.id.status = 'DELIVERED' " +
+            "GROUP BY c.id, c.name, c.email " +
+            "ORDER BY totalOrders DESC LIMIT 5")
+    List<ActiveConsumerProjection> getActiveConsumers();
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.DailyProductSales;
+import com.deliverytech.delivery_api.repository.projection.TopSellingProductProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSales.Key> {
+
+    @Query("SELECT p.id as productId, p.name as productName, SUM(s.quantity) as totalSold " +
+            "FROM DailyProductSales s JOIN Product p ON p.id = s.id.productId " +
+            "WHERE s.id.status = 'DELIVERED' " +
+            "GROUP BY p.id, p.name " +
+            "ORDER BY totalSold DESC LIMIT 10")
+    List<TopSellingProductProjection> getTopSellingProducts();
+}
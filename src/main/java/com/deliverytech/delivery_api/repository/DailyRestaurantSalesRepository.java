@@ -0,0 +1,49 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.dto.response.DailySalesExportRowDto;
+import com.deliverytech.delivery_api.model.DailyRestaurantSales;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.projection.OrderByPeriodProjection;
+import com.deliverytech.delivery_api.repository.projection.SalesByRestaurantProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface DailyRestaurantSalesRepository extends JpaRepository<DailyRestaurantSales, DailyRestaurantSales.Key> {
+
+    @Query("SELECT r.name as restaurantName, SUM(s.totalSales) as totalSales " +
+            "FROM DailyRestaurantSales s JOIN Restaurant r ON r.id = s.id.restaurantId " +
+            "WHERE s.id.status = 'DELIVERED' " +
+            "GROUP BY r.id, r.name " +
+            "ORDER BY totalSales DESC")
+    List<SalesByRestaurantProjection> getSalesByRestaurant();
+
+    @Query("SELECT s.id.orderDay as date, SUM(s.orderCount) as totalOrders, " +
+            "SUM(s.totalSales) as totalSales, s.id.status as status " +
+            "FROM DailyRestaurantSales s " +
+            "WHERE s.id.status IN :statuses " +
+            "AND s.id.orderDay BETWEEN :startDate AND :endDate " +
+            "GROUP BY s.id.orderDay, s.id.status " +
+            "ORDER BY date ASC")
+    List<OrderByPeriodProjection> getOrdersByPeriod(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("statuses") Collection<OrderStatus> statuses);
+
+    /* Forward-only cursor for the daily sales export, see OrderSearchRepository#streamExportRows */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = OrderSearchRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.DailySalesExportRowDto(" +
+            "s.id.orderDay, s.id.restaurantId, r.name, s.id.status, s.orderCount, s.totalSales) " +
+            "FROM DailyRestaurantSales s LEFT JOIN Restaurant r ON r.id = s.id.restaurantId " +
+            "WHERE s.id.orderDay BETWEEN :startDate AND :endDate " +
+            "ORDER BY s.id.orderDay, s.id.restaurantId, s.id.status")
+    Stream<DailySalesExportRowDto> streamExportRows(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+}
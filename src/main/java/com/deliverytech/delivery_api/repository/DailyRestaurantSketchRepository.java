@@ -0,0 +1,7 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.DailyRestaurantSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DailyRestaurantSketchRepository extends JpaRepository<DailyRestaurantSketch, DailyRestaurantSketch.Key> {
+}
@@ -10,10 +10,10 @@ import java.util.UUID;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
 
-    @Query("SELECT oi.product.name as productName, SUM(oi.quantity) as totalSold " +
+    @Query("SELECT oi.product.id as productId, oi.product.name as productName, SUM(oi.quantity) as totalSold " +
             "FROM OrderItem oi " +
             "WHERE oi.order.status = 'DELIVERED' " +
-            "GROUP BY oi.product.name " +
+            "GROUP BY oi.product.id, oi.product.name " +
             "ORDER BY totalSold DESC LIMIT 10")
     List<TopSellingProductProjection> getTopSellingProductsReport();
 }
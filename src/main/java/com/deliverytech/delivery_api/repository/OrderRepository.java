@@ -1,31 +1,147 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
 import com.deliverytech.delivery_api.model.Order;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
 import com.deliverytech.delivery_api.repository.projection.ActiveConsumerProjection;
 import com.deliverytech.delivery_api.repository.projection.OrderByPeriodProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderOwnerProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderStatusProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderTransitionProjection;
 import com.deliverytech.delivery_api.repository.projection.SalesByRestaurantProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order>, OrderSearchRepository {
+    String ORDER_SUMMARY = "new com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto(o.id, r.name, o.status, o.total)";
+
+    /* The reference is only unique per order_date on partitioned Postgres, the earliest order wins */
+    Optional<Order> findFirstByReferenceOrderByOrderDateAsc(UUID reference);
+
+    List<Order> findByReferenceIn(Collection<UUID> references);
+
+    @EntityGraph(Order.DETAIL_GRAPH)
+    Optional<Order> findDetailById(UUID id);
+
+    @EntityGraph(Order.DETAIL_GRAPH)
+    Optional<Order> findFirstDetailByReferenceOrderByOrderDateAsc(UUID reference);
+
+    @EntityGraph(Order.DETAIL_GRAPH)
+    List<Order> findDetailByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT o.consumer.email as consumerEmail, o.restaurant.id as restaurantId FROM Order o WHERE o.id = :id")
+    Optional<OrderOwnerProjection> findOwnerById(@Param("id") UUID id);
+
+    @Query("SELECT o.consumer.email as consumerEmail, o.restaurant.id as restaurantId FROM Order o " +
+            "WHERE o.reference = :reference ORDER BY o.orderDate LIMIT 1")
+    Optional<OrderOwnerProjection> findOwnerByReference(@Param("reference") UUID reference);
+
+    @Query("SELECT o.status as status, o.version as version FROM Order o WHERE o.id = :id")
+    Optional<OrderStatusProjection> findStatusById(@Param("id") UUID id);
+
+    @Query("SELECT o.id as id, o.status as status, o.version as version, " +
+            "o.restaurant.id as restaurantId, o.restaurant.name as restaurantName " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderTransitionProjection> findTransitionStateByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT DISTINCT o.orderDate FROM Order o WHERE o.id IN :ids")
+    List<LocalDateTime> findOrderDatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /*
+        Moves the order to newStatus only if it is still in one of the given statuses and,
+        when expectedVersion is set, still at that version. Returns the affected row count.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.lastModifiedDate = :now " +
+            "WHERE o.id = :id AND o.status IN :from " +
+            "AND (:expectedVersion IS NULL OR o.version = :expectedVersion)")
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("from") Collection<OrderStatus> from,
+                         @Param("newStatus") OrderStatus newStatus,
+                         @Param("expectedVersion") Long expectedVersion,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.lastModifiedDate = :now " +
+            "WHERE o.id IN :ids AND o.status IN :from")
+    int transitionStatuses(@Param("ids") Collection<UUID> ids,
+                           @Param("from") Collection<OrderStatus> from,
+                           @Param("newStatus") OrderStatus newStatus,
+                           @Param("now") LocalDateTime now);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.orderDate < :cutoff " +
+            "ORDER BY o.orderDate, o.id")
+    List<UUID> findArchivableIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :ids")
+    int deleteItemsByOrderIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(Order.SUMMARY_GRAPH)
     Page<Order> findByConsumerId(UUID consumerId, Pageable pageable);
 
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    Window<Order> findByConsumerId(UUID consumerId, ScrollPosition position, Sort sort, Limit limit);
+
+    /*
+        Summary read path: the listed columns are selected straight into the response
+        records, without managed entities nor their dirty-checking snapshots.
+     */
+    @Query(value = "SELECT " + ORDER_SUMMARY + " FROM Order o LEFT JOIN o.restaurant r WHERE o.consumer.id = :consumerId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.consumer.id = :consumerId")
+    Page<OrderSummaryResponseDto> findSummariesByConsumerId(@Param("consumerId") UUID consumerId, Pageable pageable);
+
+    @Query("SELECT " + ORDER_SUMMARY + " FROM Order o LEFT JOIN o.restaurant r WHERE o.consumer.id = :consumerId")
+    Slice<OrderSummaryResponseDto> readSummariesByConsumerId(@Param("consumerId") UUID consumerId, Pageable pageable);
+
+    long countByConsumerId(UUID consumerId);
+
+    @EntityGraph(Order.SUMMARY_GRAPH)
     Page<Order> findByRestaurantId(UUID restaurantId, Pageable pageable);
 
+    @EntityGraph(Order.SUMMARY_GRAPH)
+    Window<Order> findByRestaurantId(UUID restaurantId, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(value = "SELECT " + ORDER_SUMMARY + " FROM Order o LEFT JOIN o.restaurant r WHERE o.restaurant.id = :restaurantId",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.restaurant.id = :restaurantId")
+    Page<OrderSummaryResponseDto> findSummariesByRestaurantId(@Param("restaurantId") UUID restaurantId, Pageable pageable);
+
+    @Query("SELECT " + ORDER_SUMMARY + " FROM Order o LEFT JOIN o.restaurant r WHERE o.restaurant.id = :restaurantId")
+    Slice<OrderSummaryResponseDto> readSummariesByRestaurantId(@Param("restaurantId") UUID restaurantId, Pageable pageable);
+
+    long countByRestaurantId(UUID restaurantId);
+
+    @EntityGraph(Order.REPORT_GRAPH)
     List<Order> findByStatus(OrderStatus status);
 
+    @EntityGraph(Order.REPORT_GRAPH)
     List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
+    @EntityGraph(Order.REPORT_GRAPH)
     List<Order> findTop10ByOrderByOrderDateDesc();
 
     @Query("SELECT o.restaurant.name as restaurantName, SUM(o.total) as totalSales FROM Order o "
@@ -34,6 +150,7 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
             + "ORDER BY totalSales DESC")
     List<SalesByRestaurantProjection> getSalesByRestaurantReport();
 
+    @EntityGraph(Order.REPORT_GRAPH)
     @Query("SELECT o FROM Order o WHERE o.total > :value ORDER BY o.total DESC")
     List<Order> findOrdersWithTotalGreaterThan(@Param("value") BigDecimal value);
 
@@ -48,6 +165,18 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
                                                     @Param("endDate") LocalDateTime endDate,
                                                     @Param("status") OrderStatus status);
 
+    /* The in-flight part of the period report; final statuses come from DailyRestaurantSales */
+    @Query("SELECT CAST(o.orderDate AS DATE) as date, COUNT(o.id) as totalOrders, " +
+            "SUM(o.total) as totalSales, o.status as status " +
+            "FROM Order o " +
+            "WHERE o.status IN :statuses " +
+            "AND o.orderDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY CAST(o.orderDate AS DATE), o.status " +
+            "ORDER BY date ASC")
+    List<OrderByPeriodProjection> getOrdersByPeriodAndStatuses(@Param("startDate") LocalDateTime startDate,
+                                                               @Param("endDate") LocalDateTime endDate,
+                                                               @Param("statuses") Collection<OrderStatus> statuses);
+
     @Query("SELECT o.consumer.name as consumerName, o.consumer.email as consumerEmail, COUNT (o.id) as totalOrders " +
             "FROM Order o WHERE o.status = 'DELIVERED' " +
             "GROUP BY o.consumer.id, o.consumer.name, o.consumer.email " +
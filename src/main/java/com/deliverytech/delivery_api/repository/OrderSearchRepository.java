@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.dto.response.OrderExportRowDto;
+import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
+import com.deliverytech.delivery_api.model.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/*
+    Summary read path for the order search. The query is built from the filters actually
+    given, so each search gets the plan of its own filters instead of one catch-all plan
+    of "parameter IS NULL OR ..." conditions that no index can serve.
+ */
+public interface OrderSearchRepository {
+
+    /* Rows fetched per round trip by the export cursors */
+    String EXPORT_FETCH_SIZE = "500";
+
+    Page<OrderSummaryResponseDto> findSummaries(Specification<Order> specification, Pageable pageable);
+
+    Slice<OrderSummaryResponseDto> readSummaries(Specification<Order> specification, Pageable pageable);
+
+    /*
+        Forward-only cursor over the matching orders, oldest first. Must be consumed and
+        closed inside the transaction; the rows are not managed, so the persistence
+        context does not grow with them.
+     */
+    Stream<OrderExportRowDto> streamExportRows(Specification<Order> specification);
+}
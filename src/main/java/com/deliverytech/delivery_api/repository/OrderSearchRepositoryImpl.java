@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.dto.response.OrderExportRowDto;
+import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<OrderSummaryResponseDto> findSummaries(Specification<Order> specification, Pageable pageable) {
+        List<OrderSummaryResponseDto> content = summaries(specification, pageable, pageable.isPaged() ? pageable.getPageSize() : 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<OrderSummaryResponseDto> readSummaries(Specification<Order> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(summaries(specification, pageable, 0), pageable, false);
+        }
+        List<OrderSummaryResponseDto> content = summaries(specification, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<OrderExportRowDto> streamExportRows(Specification<Order> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderExportRowDto> query = criteriaBuilder.createQuery(OrderExportRowDto.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, Restaurant> restaurant = order.join("restaurant", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(OrderExportRowDto.class,
+                order.get("id"), order.get("orderDate"), order.get("status"), restaurant.get("id"), restaurant.get("name"),
+                order.get("consumer").get("id"), order.get("deliveryAddress"), order.get("subtotal"),
+                order.get("deliveryTax"), order.get("total")));
+        where(query, order, criteriaBuilder, specification);
+        query.orderBy(criteriaBuilder.asc(order.get("orderDate")), criteriaBuilder.asc(order.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private List<OrderSummaryResponseDto> summaries(Specification<Order> specification, Pageable pageable, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryResponseDto> query = criteriaBuilder.createQuery(OrderSummaryResponseDto.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, Restaurant> restaurant = order.join("restaurant", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(OrderSummaryResponseDto.class,
+                order.get("id"), restaurant.get("name"), order.get("status"), order.get("total")));
+        where(query, order, criteriaBuilder, specification);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), order, criteriaBuilder));
+
+        TypedQuery<OrderSummaryResponseDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(Specification<Order> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+
+        query.select(criteriaBuilder.count(order));
+        where(query, order, criteriaBuilder, specification);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Order> order, CriteriaBuilder criteriaBuilder,
+                              Specification<Order> specification) {
+        Predicate predicate = specification.toPredicate(order, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
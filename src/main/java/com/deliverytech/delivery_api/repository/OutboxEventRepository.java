@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.OutboxEvent;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import com.deliverytech.delivery_api.repository.projection.OutboxAggregateHeadProjection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByStatusOrderByIdAsc(OutboxStatus status, Limit limit);
+
+    /*
+        Claims the events due for delivery. Rows already claimed by another node are
+        skipped rather than waited for, so each event is relayed by a single node.
+        Native because Hibernate does not render SKIP LOCKED for every dialect.
+     */
+    @Query(value = "SELECT * FROM tb_outbox_events WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query("SELECT e.aggregateId as aggregateId, MIN(e.id) as firstId FROM OutboxEvent e " +
+            "WHERE e.status = :status AND e.aggregateId IN :aggregateIds GROUP BY e.aggregateId")
+    List<OutboxAggregateHeadProjection> findAggregateHeads(@Param("status") OutboxStatus status,
+                                                           @Param("aggregateIds") Collection<UUID> aggregateIds);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'PUBLISHED' AND e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -1,19 +1,45 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.ProductResponseDto;
 import com.deliverytech.delivery_api.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
+    String PRODUCT_RESPONSE = "new com.deliverytech.delivery_api.dto.response.ProductResponseDto(" +
+            "p.id, p.name, p.description, p.category, p.available, p.price, r.name, r.id)";
 
     Page<Product> findByRestaurantId(UUID restaurantId, Pageable pageable);
 
+    Window<Product> findByRestaurantId(UUID restaurantId, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(value = "SELECT " + PRODUCT_RESPONSE + " FROM Product p JOIN p.restaurant r WHERE r.id = :restaurantId",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.restaurant.id = :restaurantId")
+    Page<ProductResponseDto> findResponsesByRestaurantId(@Param("restaurantId") UUID restaurantId, Pageable pageable);
+
+    @Query("SELECT " + PRODUCT_RESPONSE + " FROM Product p JOIN p.restaurant r WHERE r.id = :restaurantId")
+    Slice<ProductResponseDto> readResponsesByRestaurantId(@Param("restaurantId") UUID restaurantId, Pageable pageable);
+
+    long countByRestaurantId(UUID restaurantId);
+
+    List<Product> findByRestaurantIdAndIdIn(UUID restaurantId, Collection<UUID> ids);
+
+    List<Product> findByIdIn(Collection<UUID> ids);
+
     List<Product> findByRestaurantIdAndAvailableTrue(UUID restaurantId);
 
     List<Product> findByCategory(String category);
@@ -0,0 +1,8 @@
+package com.deliverytech.delivery_api.repository.projection;
+
+import java.util.UUID;
+
+public interface OrderOwnerProjection {
+    String getConsumerEmail();
+    UUID getRestaurantId();
+}
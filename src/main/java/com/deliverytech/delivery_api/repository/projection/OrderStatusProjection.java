@@ -0,0 +1,8 @@
+package com.deliverytech.delivery_api.repository.projection;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+
+public interface OrderStatusProjection {
+    OrderStatus getStatus();
+    Long getVersion();
+}
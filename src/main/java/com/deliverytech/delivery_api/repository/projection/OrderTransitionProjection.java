@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.repository.projection;
+
+import java.util.UUID;
+
+public interface OrderTransitionProjection extends OrderStatusProjection {
+    UUID getId();
+    UUID getRestaurantId();
+    String getRestaurantName();
+}
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery_api.repository.projection;
 
+import java.util.UUID;
+
 public interface TopSellingProductProjection {
+    UUID getProductId();
     String getProductName();
     Long getTotalSold();
 }
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.repository.specification;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record OrderSearchFilter(
+        OrderStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        UUID restaurantId,
+        UUID consumerId,
+        BigDecimal minTotal,
+        BigDecimal maxTotal,
+        String deliveryAddressPrefix
+) {
+
+    public static OrderSearchFilter of(OrderStatus status, LocalDate startDate, LocalDate endDate) {
+        return new OrderSearchFilter(status, startDate, endDate, null, null, null, null, null);
+    }
+
+    /* Restaurant, consumer and address prefix each narrow the search through an index of their own */
+    public boolean isAnchored() {
+        return restaurantId != null || consumerId != null || deliveryAddressPrefix != null;
+    }
+
+    public OrderSearchFilter withDates(LocalDate startDate, LocalDate endDate) {
+        return new OrderSearchFilter(status, startDate, endDate, restaurantId, consumerId, minTotal, maxTotal, deliveryAddressPrefix);
+    }
+
+    public OrderSearchFilter withDeliveryAddressPrefix(String deliveryAddressPrefix) {
+        return new OrderSearchFilter(status, startDate, endDate, restaurantId, consumerId, minTotal, maxTotal, deliveryAddressPrefix);
+    }
+}
@@ -4,7 +4,10 @@ import com.deliverytech.delivery_api.model.Order;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
 
 public class OrderSpecification {
 
@@ -34,4 +37,57 @@ public class OrderSpecification {
             return criteriaBuilder.lessThanOrEqualTo(root.get("orderDate"), endDate);
         };
     }
+
+    public static Specification<Order> withRestaurant(UUID restaurantId) {
+        return (root, query, criteriaBuilder) -> {
+            if (restaurantId == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(root.get("restaurant").get("id"), restaurantId);
+        };
+    }
+
+    public static Specification<Order> withConsumer(UUID consumerId) {
+        return (root, query, criteriaBuilder) -> {
+            if (consumerId == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(root.get("consumer").get("id"), consumerId);
+        };
+    }
+
+    public static Specification<Order> withMinTotal(BigDecimal minTotal) {
+        return (root, query, criteriaBuilder) -> {
+            if (minTotal == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.greaterThanOrEqualTo(root.get("total"), minTotal);
+        };
+    }
+
+    public static Specification<Order> withMaxTotal(BigDecimal maxTotal) {
+        return (root, query, criteriaBuilder) -> {
+            if (maxTotal == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.lessThanOrEqualTo(root.get("total"), maxTotal);
+        };
+    }
+
+    /* Case-insensitive, matching the lower(delivery_address) index */
+    public static Specification<Order> withDeliveryAddressPrefix(String prefix) {
+        return (root, query, criteriaBuilder) -> {
+            if (prefix == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.like(criteriaBuilder.lower(root.get("deliveryAddress")), likePrefix(prefix), '\\');
+        };
+    }
+
+    public static String likePrefix(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
 }
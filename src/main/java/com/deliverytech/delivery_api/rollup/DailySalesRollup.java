@@ -0,0 +1,175 @@
+package com.deliverytech.delivery_api.rollup;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+    Daily rollups the reports read instead of aggregating the whole order history. An order
+    is added once, in the transaction that moves it to DELIVERED or CANCELED; both are final,
+    so the rollups never have to take an order back out. Rows are keyed by the order day,
+    like the raw reports group on CAST(order_date AS DATE).
+    Archived orders stay counted; rebuilding days that were already archived would lose them,
+    so ReportServiceImpl.rebuildRollups refuses ranges older than the archive minimum age.
+ */
+@Component
+public class DailySalesRollup {
+
+    private static final Logger log = LoggerFactory.getLogger(DailySalesRollup.class);
+
+    public static final Set<OrderStatus> ROLLED_UP_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELED);
+
+    private static final String ROLLED_UP = ROLLED_UP_STATUSES.stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ", "o.status IN (", ")"));
+
+    static final List<RollupTable> TABLES = List.of(
+            new RollupTable("tb_daily_restaurant_sales",
+                    List.of("order_day", "restaurant_id", "status"), List.of("order_count", "total_sales"),
+                    "SELECT CAST(o.order_date AS DATE) AS order_day, o.restaurant_id, o.status, " +
+                            "COUNT(*) AS order_count, SUM(o.total) AS total_sales " +
+                            "FROM tb_orders o WHERE %s AND o.restaurant_id IS NOT NULL " +
+                            "GROUP BY CAST(o.order_date AS DATE), o.restaurant_id, o.status"),
+            new RollupTable("tb_daily_product_sales",
+                    List.of("order_day", "product_id", "status"), List.of("quantity"),
+                    "SELECT CAST(o.order_date AS DATE) AS order_day, i.product_id, o.status, " +
+                            "COALESCE(SUM(i.quantity), 0) AS quantity " +
+                            "FROM tb_order_items i JOIN tb_orders o ON o.id = i.order_id " +
+                            "WHERE %s AND i.product_id IS NOT NULL " +
+                            "GROUP BY CAST(o.order_date AS DATE), i.product_id, o.status"),
+            new RollupTable("tb_daily_consumer_orders",
+                    List.of("order_day", "consumer_id", "status"), List.of("order_count"),
+                    "SELECT CAST(o.order_date AS DATE) AS order_day, o.consumer_id, o.status, " +
+                            "COUNT(*) AS order_count " +
+                            "FROM tb_orders o WHERE %s AND o.consumer_id IS NOT NULL " +
+                            "GROUP BY CAST(o.order_date AS DATE), o.consumer_id, o.status"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean postgres;
+
+    public DailySalesRollup(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /*
+        Adds the orders that have just moved to the given status. Must run in the transaction
+        of the transition, so the rollups commit or roll back with it.
+     */
+    public void record(OrderStatus status, Collection<UUID> orderIds) {
+        if (!ROLLED_UP_STATUSES.contains(status) || orderIds.isEmpty()) return;
+
+        String ids = orderIds.stream().map(id -> "?").collect(Collectors.joining(", ", "o.id IN (", ")"));
+        for (RollupTable table : TABLES) {
+            apply(upsert(table, ids + " AND " + ROLLED_UP), orderIds.toArray());
+        }
+    }
+
+    /*
+        Recomputes the days of the range from the order tables and returns how many orders
+        they hold. Transitions running meanwhile wait on the rewritten rows and are added on top.
+     */
+    public long rebuild(LocalDate startDate, LocalDate endDate) {
+        Long orders = transactionTemplate.execute(status -> {
+            Object[] range = {Timestamp.valueOf(startDate.atStartOfDay()), Timestamp.valueOf(endDate.plusDays(1).atStartOfDay())};
+            for (RollupTable table : TABLES) {
+                jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE order_day BETWEEN ? AND ?", startDate, endDate);
+                apply(upsert(table, ROLLED_UP + " AND o.order_date >= ? AND o.order_date < ?"), range);
+            }
+            return jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(order_count), 0) FROM tb_daily_restaurant_sales WHERE order_day BETWEEN ? AND ?",
+                    Long.class, startDate, endDate);
+        });
+        log.info("Rollups diários de {} a {} reconstruídos com {} pedido(s)", startDate, endDate, orders);
+        return orders == null ? 0 : orders;
+    }
+
+    /* First start with existing orders: fills the rollups from the whole order history */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM tb_daily_restaurant_sales)", Boolean.class);
+            if (!Boolean.TRUE.equals(empty)) return;
+
+            Map<String, Object> range = jdbcTemplate.queryForMap(
+                    "SELECT MIN(order_date) AS first_order, MAX(order_date) AS last_order FROM tb_orders o WHERE " + ROLLED_UP);
+            if (range.get("first_order") instanceof Timestamp first && range.get("last_order") instanceof Timestamp last) {
+                rebuild(first.toLocalDateTime().toLocalDate(), last.toLocalDateTime().toLocalDate());
+            }
+        } catch (DataAccessException e) {
+            log.error("Não foi possível preencher os rollups diários de vendas", e);
+        }
+    }
+
+    /*
+        MERGE is not atomic: two transactions creating the same row both take the INSERT branch
+        and one fails on the key. The row exists by then, so running it again adds to it.
+     */
+    private void apply(String upsert, Object... args) {
+        try {
+            jdbcTemplate.update(upsert, args);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(upsert, args);
+        }
+    }
+
+    /*
+        PostgreSQL adds to existing rows with INSERT ... ON CONFLICT, which is safe when two
+        transactions create the same row concurrently. Other databases use standard MERGE.
+     */
+    String upsert(RollupTable table, String filter) {
+        String source = table.source().formatted(filter);
+        String columns = String.join(", ", table.columns());
+
+        if (isPostgres()) {
+            return "INSERT INTO " + table.name() + " (" + columns + ") " + source +
+                    " ON CONFLICT (" + String.join(", ", table.keys()) + ") DO UPDATE SET " +
+                    table.values().stream()
+                            .map(value -> value + " = " + table.name() + "." + value + " + EXCLUDED." + value)
+                            .collect(Collectors.joining(", "));
+        }
+        return "MERGE INTO " + table.name() + " r USING (" + source + ") s ON (" +
+                table.keys().stream().map(key -> "r." + key + " = s." + key).collect(Collectors.joining(" AND ")) +
+                ") WHEN MATCHED THEN UPDATE SET " +
+                table.values().stream().map(value -> value + " = r." + value + " + s." + value).collect(Collectors.joining(", ")) +
+                " WHEN NOT MATCHED THEN INSERT (" + columns + ") VALUES (" +
+                table.columns().stream().map(column -> "s." + column).collect(Collectors.joining(", ")) + ")";
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+
+    /* source selects the key and value columns by name, filtered by the %s condition on o */
+    record RollupTable(String name, List<String> keys, List<String> values, String source) {
+        List<String> columns() {
+            return Stream.concat(keys.stream(), values.stream()).toList();
+        }
+    }
+}
@@ -6,11 +6,14 @@ import com.deliverytech.delivery_api.model.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ConsumerService {
     ConsumerResponseDto create(ConsumerRequestDto dto);
     Consumer findById(UUID id);
+    List<Consumer> findConsumerEntitiesByIds(Collection<UUID> consumerIds);
     ConsumerResponseDto findByIdResponse(String id);
     ConsumerResponseDto findByEmail(String email);
     Boolean existsByEmail(String email);
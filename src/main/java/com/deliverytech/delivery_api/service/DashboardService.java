@@ -0,0 +1,10 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.response.DashboardResponseDto;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+
+import java.time.LocalDate;
+
+public interface DashboardService {
+    DashboardResponseDto getDashboard(LocalDate startDate, LocalDate endDate, OrderStatus status);
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.response.AnalyticsResponseDto;
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderAnalyticsService {
+    AnalyticsResponseDto query(AnalyticsFact fact, LocalDateTime from, LocalDateTime to, List<OrderStatus> statuses,
+                               UUID restaurantId, UUID consumerId, UUID productId,
+                               List<AnalyticsDimension> groupBy, int limit);
+}
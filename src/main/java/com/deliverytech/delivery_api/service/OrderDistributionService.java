@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.response.OrderDistributionResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderDistributionService {
+    OrderDistributionResponseDto getOrderDistribution(LocalDate startDate, LocalDate endDate, List<UUID> restaurantIds);
+}
@@ -1,24 +1,49 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.dto.request.OrderBatchRequestDto;
+import com.deliverytech.delivery_api.dto.request.OrderBulkStatusUpdateRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchItemResultDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderBulkStatusUpdateResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderReceiptResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderTotalResponseDto;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.ingestion.AcceptedOrder;
 import com.deliverytech.delivery_api.model.Order;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.KeysetPage;
+import com.deliverytech.delivery_api.repository.specification.OrderSearchFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
-import java.time.LocalDate;
+import java.util.List;
 
 public interface OrderService {
     OrderResponseDto createOrder(OrderRequestDto dto);
+    OrderBatchResponseDto createOrdersBatch(OrderBatchRequestDto dto);
+    OrderReceiptResponseDto acceptOrder(OrderRequestDto dto);
+    List<OrderBatchItemResultDto> materializeAcceptedOrders(List<AcceptedOrder> acceptedOrders);
     Order findById(String id);
     OrderResponseDto getOrderResponseById(String id);
     Page<OrderSummaryResponseDto> findByConsumerId(String consumerId, Pageable pageable);
+    Slice<OrderSummaryResponseDto> findByConsumerId(String consumerId, Pageable pageable, CountMode count);
+    KeysetPage<OrderSummaryResponseDto> findByConsumerId(String consumerId, String cursor, int size);
     Page<OrderSummaryResponseDto> findByRestaurantId(String restaurantId, Pageable pageable);
-    Page<OrderSummaryResponseDto> searchOrders(OrderStatus status, LocalDate startDate, LocalDate endDate, Pageable pageable);
+    Slice<OrderSummaryResponseDto> findByRestaurantId(String restaurantId, Pageable pageable, CountMode count);
+    KeysetPage<OrderSummaryResponseDto> findByRestaurantId(String restaurantId, String cursor, int size);
+    Page<OrderSummaryResponseDto> searchOrders(OrderSearchFilter filter, Pageable pageable);
+    Slice<OrderSummaryResponseDto> searchOrders(OrderSearchFilter filter, Pageable pageable, CountMode count);
+    KeysetPage<OrderSummaryResponseDto> searchOrders(OrderSearchFilter filter, String cursor, int size);
+    long exportOrders(OrderSearchFilter filter, ExportFormat format, ExportSink sink);
     OrderResponseDto updateOrderStatus(String id, OrderStatus newStatus);
+    OrderResponseDto updateOrderStatus(String id, OrderStatus newStatus, Long expectedVersion);
+    OrderBulkStatusUpdateResponseDto updateOrdersStatus(OrderBulkStatusUpdateRequestDto dto);
     OrderTotalResponseDto calculateOrderTotal(OrderRequestDto dto);
     void cancelOrder(String orderId);
 }
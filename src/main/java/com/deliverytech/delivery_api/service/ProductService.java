@@ -3,14 +3,25 @@ package com.deliverytech.delivery_api.service;
 import com.deliverytech.delivery_api.dto.request.ProductRequestDto;
 import com.deliverytech.delivery_api.dto.response.ProductResponseDto;
 import com.deliverytech.delivery_api.model.Product;
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 public interface ProductService {
     ProductResponseDto createProduct(ProductRequestDto dto);
     ProductResponseDto findProductByIdResponse(String id);
     Product findProductEntityById(String id);
+    List<Product> findRestaurantProductEntities(UUID restaurantId, Collection<UUID> productIds);
+    List<Product> findProductEntitiesByIds(Collection<UUID> productIds);
     Page<ProductResponseDto> findProductsByRestaurantId(String restaurantId, Pageable pageable);
+    Slice<ProductResponseDto> findProductsByRestaurantId(String restaurantId, Pageable pageable, CountMode count);
+    KeysetPage<ProductResponseDto> findProductsByRestaurantId(String restaurantId, String cursor, int size);
     Page<ProductResponseDto> searchProducts(String name, String category, Pageable pageable);
     ProductResponseDto updateProduct(String id, ProductRequestDto dto);
     Product deleteProduct(String id);
@@ -0,0 +1,17 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.response.ReportJobResponseDto;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import com.deliverytech.delivery_api.reportjob.ReportJobs;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ReportJobService {
+    ReportJobResponseDto submit(ReportJobType type, LocalDate startDate, LocalDate endDate, OrderStatus status, ExportFormat format);
+    ReportJobResponseDto getJob(UUID id);
+    ReportJobResponseDto cancel(UUID id);
+    ReportJobs.Result getResult(UUID id);
+}
@@ -2,8 +2,11 @@ package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.response.ActiveConsumerReportDto;
 import com.deliverytech.delivery_api.dto.response.OrderByPeriodReportDto;
+import com.deliverytech.delivery_api.dto.response.RollupRebuildResponseDto;
 import com.deliverytech.delivery_api.dto.response.SalesByRestaurantReportDto;
 import com.deliverytech.delivery_api.dto.response.TopSellingProductReportDto;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
 
 import java.time.LocalDate;
@@ -14,4 +17,7 @@ public interface ReportService {
     List<TopSellingProductReportDto> getTopSellingProducts();
     List<ActiveConsumerReportDto> getActiveConsumers();
     List<OrderByPeriodReportDto> getOrdersByPeriodAndStatus(LocalDate startDate, LocalDate endDate, OrderStatus status);
+    RollupRebuildResponseDto rebuildRollups(LocalDate startDate, LocalDate endDate);
+    long exportOrdersByPeriod(LocalDate startDate, LocalDate endDate, OrderStatus status, ExportFormat format, ExportSink sink);
+    long exportDailySales(LocalDate startDate, LocalDate endDate, ExportFormat format, ExportSink sink);
 }
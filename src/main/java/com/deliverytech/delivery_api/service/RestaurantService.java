@@ -8,12 +8,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface RestaurantService {
     RestaurantResponseDto createRestaurant(RestaurantRequestDto dto);
     Restaurant findById(UUID id);
+    List<Restaurant> findRestaurantEntitiesByIds(Collection<UUID> restaurantIds);
     RestaurantResponseDto findByIdResponse(String id);
     Boolean existsByName(String name);
     Page<RestaurantResponseDto> searchRestaurants(String name, String category, Boolean active, Pageable pageable);
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.response.TopSellersResponseDto;
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+
+public interface TopSellersService {
+    TopSellersResponseDto getTopProducts(TopSellerWindow window, String category, int limit);
+    TopSellersResponseDto getTopRestaurants(TopSellerWindow window, String category, int limit);
+}
@@ -23,6 +23,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -68,6 +70,12 @@ public class ConsumerServiceImpl implements ConsumerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
     }
 
+    @Transactional(readOnly = true)
+    public List<Consumer> findConsumerEntitiesByIds(Collection<UUID> consumerIds) {
+        if (consumerIds.isEmpty()) return List.of();
+        return consumerRepository.findAllById(consumerIds);
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "consumers", key = "#id")
     public ConsumerResponseDto findByIdResponse(String id) {
@@ -0,0 +1,132 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.DashboardResponseDto;
+import com.deliverytech.delivery_api.dto.response.DashboardSectionDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.enums.DashboardSectionStatus;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.service.DashboardService;
+import com.deliverytech.delivery_api.service.ReportService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+    Runs the report queries side by side on virtual threads, each in a read-only transaction
+    of its own (so on the replica when there is one), with the caller's security context.
+    A section that fails or misses the timeout comes back empty instead of failing the
+    dashboard; the transaction timeout stops its query on the database as well.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    private final ReportService reportService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration sectionTimeout;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-dashboard-", 0).factory());
+
+    public DashboardServiceImpl(
+            ReportService reportService,
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.dashboard.section-timeout:PT5S}") Duration sectionTimeout
+    ) {
+        this.reportService = reportService;
+        this.sectionTimeout = sectionTimeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, sectionTimeout.plusMillis(999).toSeconds()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public DashboardResponseDto getDashboard(LocalDate startDate, LocalDate endDate, OrderStatus status) {
+        ExecutorService sections = new DelegatingSecurityContextExecutorService(executor);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + sectionTimeout.toNanos();
+
+        var sales = new Section<>(sections, reportService::getSalesByRestaurant, startedAt);
+        var topProducts = new Section<>(sections, reportService::getTopSellingProducts, startedAt);
+        var activeConsumers = new Section<>(sections, reportService::getActiveConsumers, startedAt);
+        var ordersByPeriod = new Section<>(sections,
+                () -> reportService.getOrdersByPeriodAndStatus(startDate, endDate, status), startedAt);
+
+        Map<String, DashboardSectionDto> metadata = new LinkedHashMap<>();
+        var response = new DashboardResponseDto(
+                sales.await("salesByRestaurant", deadline, metadata),
+                topProducts.await("topSellingProducts", deadline, metadata),
+                activeConsumers.await("activeConsumers", deadline, metadata),
+                ordersByPeriod.await("ordersByPeriod", deadline, metadata),
+                new DashboardResponseDto.Metadata(
+                        metadata.values().stream().allMatch(section -> section.status() == DashboardSectionStatus.OK),
+                        millisSince(startedAt), metadata));
+        log.debug("Painel de relatórios carregado em {} ms: {}", response.metadata().elapsedMillis(), metadata);
+        return response;
+    }
+
+    private static long millisSince(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private final class Section<T> {
+
+        private final Future<T> future;
+        private final long startedAt;
+        private volatile long elapsedMillis;
+
+        Section(ExecutorService executor, Supplier<T> query, long startedAt) {
+            this.startedAt = startedAt;
+            this.future = executor.submit(() -> {
+                try {
+                    return readOnlyTransaction.execute(transaction -> query.get());
+                } finally {
+                    elapsedMillis = millisSince(startedAt);
+                }
+            });
+        }
+
+        T await(String name, long deadline, Map<String, DashboardSectionDto> metadata) {
+            try {
+                T result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                metadata.put(name, DashboardSectionDto.ok(elapsedMillis));
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                metadata.put(name, DashboardSectionDto.timeout(millisSince(startedAt)));
+                log.warn("Seção {} do painel excedeu o tempo limite de {}", name, sectionTimeout);
+            } catch (ExecutionException e) {
+                String error = e.getCause() instanceof BusinessException ? e.getCause().getMessage()
+                        : "Não foi possível carregar esta seção";
+                metadata.put(name, DashboardSectionDto.failed(elapsedMillis, error));
+                log.warn("Seção {} do painel falhou", name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                metadata.put(name, DashboardSectionDto.failed(millisSince(startedAt), "Carregamento interrompido"));
+            }
+            return null;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import io.micrometer.core.instrument.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 
 @Service
@@ -47,4 +48,25 @@ public class MetricsServiceImpl {
 
         meterRegistry.counter("delivery_api.orders.canceled.total", tags).increment();
     }
+
+    public void incrementOrdersTransitioned(OrderStatus status, String restaurantName, int count) {
+        String counter = switch (status) {
+            case DELIVERED -> "delivery_api.orders.delivered.total";
+            case CANCELED -> "delivery_api.orders.canceled.total";
+            default -> null;
+        };
+        if (counter == null || count == 0) {
+            return;
+        }
+
+        meterRegistry.counter(counter, List.of(Tag.of("restaurant_name", restaurantName))).increment(count);
+    }
+
+    public void incrementIdempotencyReplays() {
+        meterRegistry.counter("delivery_api.idempotency.replays.total").increment();
+    }
+
+    public void recordIdempotencyWait(Duration duration) {
+        meterRegistry.timer("delivery_api.idempotency.wait").record(duration);
+    }
 }
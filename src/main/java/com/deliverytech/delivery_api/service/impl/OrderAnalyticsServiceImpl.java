@@ -0,0 +1,77 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.analytics.AnalyticsQuery;
+import com.deliverytech.delivery_api.analytics.AnalyticsResult;
+import com.deliverytech.delivery_api.analytics.OrderColumnStore;
+import com.deliverytech.delivery_api.dto.response.AnalyticsResponseDto;
+import com.deliverytech.delivery_api.dto.response.AnalyticsRowDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+
+    static final int MAX_LIMIT = 10_000;
+
+    private final OrderColumnStore store;
+
+    @Override
+    public AnalyticsResponseDto query(AnalyticsFact fact, LocalDateTime from, LocalDateTime to, List<OrderStatus> statuses,
+                                      UUID restaurantId, UUID consumerId, UUID productId,
+                                      List<AnalyticsDimension> groupBy, int limit) {
+        AnalyticsFact resolvedFact = fact == null ? AnalyticsFact.ORDERS : fact;
+        List<AnalyticsDimension> dimensions = groupBy == null ? List.of() : groupBy;
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minus(store.window()) : from;
+
+        if (!start.isBefore(end)) {
+            throw new BusinessException("A data inicial deve ser anterior à data final");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        if (dimensions.stream().distinct().count() != dimensions.size()) {
+            throw new BusinessException("Dimensão de agrupamento repetida");
+        }
+        if (resolvedFact == AnalyticsFact.ORDERS && (productId != null || dimensions.contains(AnalyticsDimension.PRODUCT))) {
+            throw new BusinessException("O filtro e o agrupamento por produto exigem o fato ITEMS");
+        }
+
+        long startedAt = System.nanoTime();
+        AnalyticsResult result = store.query(new AnalyticsQuery(resolvedFact, start, end,
+                statuses == null || statuses.isEmpty() ? EnumSet.noneOf(OrderStatus.class) : EnumSet.copyOf(statuses),
+                restaurantId, consumerId, productId, dimensions));
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        List<AnalyticsRowDto> rows = result.groups().stream()
+                .limit(limit)
+                .map(group -> toRow(group, dimensions, resolvedFact))
+                .toList();
+        return new AnalyticsResponseDto(start, end, rows, result.groups().size() > limit,
+                result.scannedRows(), result.scannedSegments(), elapsedMillis);
+    }
+
+    private static AnalyticsRowDto toRow(AnalyticsResult.Group group, List<AnalyticsDimension> dimensions, AnalyticsFact fact) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 0; i < dimensions.size(); i++) {
+            keys.put(dimensions.get(i).name().toLowerCase(Locale.ROOT), group.keys().get(i));
+        }
+        return new AnalyticsRowDto(keys, group.count(), BigDecimal.valueOf(group.cents(), 2),
+                fact == AnalyticsFact.ITEMS ? group.quantity() : null);
+    }
+}
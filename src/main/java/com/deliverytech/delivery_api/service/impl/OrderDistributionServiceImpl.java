@@ -0,0 +1,62 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.OrderDistributionDayDto;
+import com.deliverytech.delivery_api.dto.response.OrderDistributionResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.service.OrderDistributionService;
+import com.deliverytech.delivery_api.sketch.DailyOrderSketches;
+import com.deliverytech.delivery_api.sketch.OrderSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OrderDistributionServiceImpl implements OrderDistributionService {
+
+    static final int MAX_DAYS = 366;
+    static final int MAX_RESTAURANTS = 100;
+
+    private final DailyOrderSketches dailyOrderSketches;
+
+    @Override
+    public OrderDistributionResponseDto getOrderDistribution(LocalDate startDate, LocalDate endDate, List<UUID> restaurantIds) {
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("Data de início e data de fim são obrigatórias.");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data de início não pode ser posterior à data de fim.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_DAYS) {
+            throw new BusinessException("O período deve ter no máximo " + MAX_DAYS + " dias.");
+        }
+        Set<UUID> restaurants = restaurantIds == null ? Set.of() : Set.copyOf(restaurantIds);
+        if (restaurants.size() > MAX_RESTAURANTS) {
+            throw new BusinessException("Informe no máximo " + MAX_RESTAURANTS + " restaurantes.");
+        }
+
+        List<DailyOrderSketches.DailySketch> days = dailyOrderSketches.summarize(startDate, endDate, restaurants);
+        OrderSketch period = new OrderSketch();
+        days.forEach(day -> period.merge(day.sketch()));
+
+        return new OrderDistributionResponseDto(startDate, endDate, period.orders(), period.distinctConsumers(),
+                period.distinctConsumersError(), percentile(period, 0.5), percentile(period, 0.9), percentile(period, 0.99),
+                days.stream()
+                        .map(day -> new OrderDistributionDayDto(day.day(), day.sketch().orders(),
+                                day.sketch().distinctConsumers(), percentile(day.sketch(), 0.5),
+                                percentile(day.sketch(), 0.9), percentile(day.sketch(), 0.99)))
+                        .toList());
+    }
+
+    private static BigDecimal percentile(OrderSketch sketch, double q) {
+        BigDecimal value = sketch.totalQuantile(q);
+        return value == null ? null : value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,47 +1,100 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.archive.ArchivedOrder;
+import com.deliverytech.delivery_api.archive.OrderArchive;
+import com.deliverytech.delivery_api.dto.request.OrderBatchRequestDto;
+import com.deliverytech.delivery_api.dto.request.OrderBulkStatusUpdateRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderItemRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchItemResultDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderBulkStatusUpdateResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderExportRowDto;
+import com.deliverytech.delivery_api.dto.response.OrderReceiptResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderStatusUpdateResultDto;
 import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderTotalResponseDto;
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
 import com.deliverytech.delivery_api.events.order.OrderCancelEvent;
 import com.deliverytech.delivery_api.events.order.OrderCreatedEvent;
+import com.deliverytech.delivery_api.events.order.OrderStatusBatch;
 import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
+import com.deliverytech.delivery_api.exceptions.NotAllowedException;
 import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.export.RowExporter;
+import com.deliverytech.delivery_api.ingestion.AcceptedOrder;
+import com.deliverytech.delivery_api.ingestion.AsyncOrderQueue;
+import com.deliverytech.delivery_api.ingestion.OrderRejection;
 import com.deliverytech.delivery_api.mapper.OrderMapper;
 import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.model.enums.ErrorCode;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.Role;
+import com.deliverytech.delivery_api.model.id.UuidV7;
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.EstimatedSlice;
+import com.deliverytech.delivery_api.pagination.KeysetPage;
+import com.deliverytech.delivery_api.pagination.KeysetSort;
+import com.deliverytech.delivery_api.pagination.RowCountEstimator;
 import com.deliverytech.delivery_api.repository.OrderRepository;
+import com.deliverytech.delivery_api.repository.projection.OrderOwnerProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderStatusProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderTransitionProjection;
+import com.deliverytech.delivery_api.repository.specification.OrderSearchFilter;
 import com.deliverytech.delivery_api.repository.specification.OrderSpecification;
+import com.deliverytech.delivery_api.rollup.DailySalesRollup;
 import com.deliverytech.delivery_api.security.SecurityService;
 import com.deliverytech.delivery_api.service.ConsumerService;
 import com.deliverytech.delivery_api.service.OrderService;
 import com.deliverytech.delivery_api.service.ProductService;
 import com.deliverytech.delivery_api.service.RestaurantService;
+import com.deliverytech.delivery_api.sketch.DailyOrderSketches;
+import com.deliverytech.delivery_api.validation.OrderSearchValidator;
 import com.deliverytech.delivery_api.validation.OrderValidator;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service("orderServiceImpl")
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    /*
+        Orders persisted per transaction in a batch. A multiple of hibernate.jdbc.batch_size,
+        small enough that a failed chunk only discards a few orders of the batch.
+     */
+    private static final int BATCH_CHUNK_SIZE = 100;
+
+    /* Order.SUMMARY_GRAPH for the fluent specification queries, which take paths instead of a named graph */
+    private static final List<String> SUMMARY_PATHS = List.of("restaurant", "restaurant.user");
+
     private final OrderRepository orderRepository;
     private final ConsumerService consumerService;
     private final RestaurantService restaurantService;
@@ -50,6 +103,14 @@ public class OrderServiceImpl implements OrderService {
     private final SecurityService securityService;
     private final MetricsServiceImpl metricsService;
     private final OrderValidator orderValidator;
+    private final OrderSearchValidator orderSearchValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncOrderQueue asyncOrderQueue;
+    private final OrderArchive orderArchive;
+    private final RowCountEstimator rowCountEstimator;
+    private final DailySalesRollup dailySalesRollup;
+    private final DailyOrderSketches dailyOrderSketches;
+    private final RowExporter rowExporter;
 
     private final ApplicationEventPublisher eventPublisher;
 
@@ -59,35 +120,7 @@ public class OrderServiceImpl implements OrderService {
         Consumer consumer = consumerService.findById(dto.getConsumerId());
         Restaurant restaurant = restaurantService.findById(dto.getRestaurantId());
 
-        Order order = new Order();
-        order.setConsumer(consumer);
-        order.setRestaurant(restaurant);
-        order.setDeliveryAddress(consumer.getAddress());
-        order.setDeliveryTax(restaurant.getDeliveryTax());
-        order.setStatus(OrderStatus.PENDING);
-
-        List<OrderItem> orderItems = dto.getItems().stream().map(item -> {
-            Product product = productService.findProductEntityById(item.getProductId().toString());
-            orderValidator.validateProductBelongsRestaurant(restaurant, product);
-
-            OrderItem orderItem = new OrderItem();
-            orderItem.setProduct(product);
-            orderItem.setQuantity(item.getQuantity());
-            orderItem.setUnitPrice(product.getPrice());
-            orderItem.setSubtotal(
-                    product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
-            orderItem.setOrder(order);
-            return orderItem;
-
-        }).toList();
-
-        order.setItems(orderItems);
-
-        BigDecimal subtotal = orderItems.stream().map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        order.setSubtotal(subtotal);
-        order.setTotal(subtotal.add(order.getDeliveryTax()));
+        Order order = newOrder(consumer, restaurant, buildOrderItems(restaurant, dto.getItems()));
 
         var savedOrder = orderRepository.save(order);
         metricsService.incrementOrdersProcessed(savedOrder);
@@ -102,6 +135,43 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toDto(savedOrder);
     }
 
+    /*
+        Every order of the batch is validated against consumers, restaurants and products
+        loaded once for the whole request. Valid orders are inserted in chunks, each in its
+        own transaction, so JDBC batching applies and one failure does not reject the rest.
+     */
+    @Timed("delivery_api.orders.batchCreation.timer")
+    public OrderBatchResponseDto createOrdersBatch(OrderBatchRequestDto dto) {
+        var currentUserOpt = securityService.getCurrentUser();
+        String currentUser = currentUserOpt.map(User::getEmail).orElse("ANONYMOUS");
+        boolean restrictedToOwnRestaurant = currentUserOpt.map(User::getRole).orElse(null) == Role.RESTAURANT;
+        Optional<UUID> ownRestaurantId = securityService.getCurrentUserRestaurantId();
+
+        List<OrderBatchItemResultDto> results = ingestOrders(
+                dto.getOrders(),
+                index -> null,
+                index -> currentUser,
+                restaurantId -> !restrictedToOwnRestaurant || ownRestaurantId.map(restaurantId::equals).orElse(false));
+
+        int created = (int) results.stream().filter(OrderBatchItemResultDto::success).count();
+        return new OrderBatchResponseDto(results.size(), created, results.size() - created, results);
+    }
+
+    public OrderReceiptResponseDto acceptOrder(OrderRequestDto dto) {
+        String currentUser = securityService.getCurrentUser().map(User::getEmail).orElse("ANONYMOUS");
+        AcceptedOrder accepted = asyncOrderQueue.accept(dto, currentUser);
+        return new OrderReceiptResponseDto(accepted.reference(), OrderStatus.RECEIVED, toLocalDateTime(accepted));
+    }
+
+    @Timed("delivery_api.orders.asyncMaterialization.timer")
+    public List<OrderBatchItemResultDto> materializeAcceptedOrders(List<AcceptedOrder> acceptedOrders) {
+        return ingestOrders(
+                acceptedOrders.stream().map(AcceptedOrder::request).toList(),
+                index -> acceptedOrders.get(index).reference(),
+                index -> acceptedOrders.get(index).user(),
+                restaurantId -> true);
+    }
+
     public Order findById(String id) {
         return orderRepository.findById(UUID.fromString(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado "));
@@ -110,57 +180,221 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     @Timed("delivery_api.orders.findById.timer")
     public OrderResponseDto getOrderResponseById(String id) {
-        Order order = findById(id);
-        return orderMapper.toDto(order);
+        UUID orderId = UUID.fromString(id);
+        Optional<Order> order = orderRepository.findDetailById(orderId)
+                .or(() -> orderRepository.findFirstDetailByReferenceOrderByOrderDateAsc(orderId));
+        if (order.isPresent()) {
+            return orderMapper.toDto(order.get());
+        }
+
+        Optional<OrderRejection> rejection = asyncOrderQueue.findRejection(orderId);
+        if (rejection.isPresent()) {
+            throw new BusinessException("O pedido foi rejeitado: " + rejection.get().message());
+        }
+
+        return asyncOrderQueue.findPending(orderId)
+                .map(this::toReceivedDto)
+                .or(() -> orderArchive.findById(orderId).map(ArchivedOrder::order))
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado "));
     }
 
     @Timed("delivery_api.orders.findByConsumerId.timer")
     public Page<OrderSummaryResponseDto> findByConsumerId(String consumerId, Pageable pageable) {
         Consumer consumer = consumerService.findById(UUID.fromString(consumerId));
-        Page<Order> orderPages = orderRepository.findByConsumerId(consumer.getId(), pageable);
-        return orderPages.map(orderMapper::toSummaryDto);
+        Page<OrderSummaryResponseDto> orderPages = orderRepository.findSummariesByConsumerId(consumer.getId(), pageable);
+
+        long archivedCount = pageable.isPaged() ? orderArchive.countByConsumer(consumer.getId()) : 0;
+        if (archivedCount == 0) {
+            return orderPages;
+        }
+        return withArchivedOrders(consumer.getId(), orderPages, archivedCount, pageable);
     }
 
     @Override
     @Timed("delivery_api.orders.findByRestaurantId.timer")
     public Page<OrderSummaryResponseDto> findByRestaurantId(String restaurantId, Pageable pageable) {
         var restaurant = restaurantService.findById(UUID.fromString(restaurantId));
-        Page<Order> ordersPage = orderRepository.findByRestaurantId(restaurant.getId(), pageable);
-        return ordersPage.map(orderMapper::toSummaryDto);
+        return orderRepository.findSummariesByRestaurantId(restaurant.getId(), pageable);
+    }
+
+    /*
+        Pages mixing live and archived orders need the live total to place the archive
+        offset, so consumers with archived orders are always counted exactly.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed("delivery_api.orders.findByConsumerId.timer")
+    public Slice<OrderSummaryResponseDto> findByConsumerId(String consumerId, Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) return findByConsumerId(consumerId, pageable);
+
+        Consumer consumer = consumerService.findById(UUID.fromString(consumerId));
+        if (pageable.isPaged() && orderArchive.countByConsumer(consumer.getId()) > 0) {
+            return findByConsumerId(consumerId, pageable);
+        }
+
+        Slice<OrderSummaryResponseDto> orders = orderRepository.readSummariesByConsumerId(consumer.getId(), pageable);
+        return withCount(orders, count, () -> rowCountEstimator.estimate(
+                        "tb_orders", "consumer_id = ?", consumer.getId())
+                .orElseGet(() -> orderRepository.countByConsumerId(consumer.getId())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed("delivery_api.orders.findByRestaurantId.timer")
+    public Slice<OrderSummaryResponseDto> findByRestaurantId(String restaurantId, Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) return findByRestaurantId(restaurantId, pageable);
+
+        var restaurant = restaurantService.findById(UUID.fromString(restaurantId));
+        Slice<OrderSummaryResponseDto> orders = orderRepository.readSummariesByRestaurantId(restaurant.getId(), pageable);
+        return withCount(orders, count, () -> rowCountEstimator.estimate(
+                        "tb_orders", "restaurant_id = ?", restaurant.getId())
+                .orElseGet(() -> orderRepository.countByRestaurantId(restaurant.getId())));
+    }
+
+    /*
+        Cursor pages cover the live orders only; archived orders are listed by the offset mode.
+     */
+    @Timed("delivery_api.orders.findByConsumerId.timer")
+    public KeysetPage<OrderSummaryResponseDto> findByConsumerId(String consumerId, String cursor, int size) {
+        Consumer consumer = consumerService.findById(UUID.fromString(consumerId));
+        KeysetScrollPosition position = KeysetSort.ORDERS_BY_DATE.position(cursor);
+        Window<Order> ordersWindow = orderRepository.findByConsumerId(
+                consumer.getId(), position, KeysetSort.ORDERS_BY_DATE.sort(), Limit.of(size));
+        return KeysetSort.ORDERS_BY_DATE.page(ordersWindow, position, size, orderMapper::toSummaryDto);
+    }
+
+    @Override
+    @Timed("delivery_api.orders.findByRestaurantId.timer")
+    public KeysetPage<OrderSummaryResponseDto> findByRestaurantId(String restaurantId, String cursor, int size) {
+        var restaurant = restaurantService.findById(UUID.fromString(restaurantId));
+        KeysetScrollPosition position = KeysetSort.ORDERS_BY_DATE.position(cursor);
+        Window<Order> ordersWindow = orderRepository.findByRestaurantId(
+                restaurant.getId(), position, KeysetSort.ORDERS_BY_DATE.sort(), Limit.of(size));
+        return KeysetSort.ORDERS_BY_DATE.page(ordersWindow, position, size, orderMapper::toSummaryDto);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<OrderSummaryResponseDto> searchOrders(OrderSearchFilter filter, Pageable pageable) {
+        return orderRepository.findSummaries(searchSpecification(orderSearchValidator.validate(filter)), pageable);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Page<OrderSummaryResponseDto> searchOrders(OrderStatus status, LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        LocalDateTime startDateTime = null;
-        LocalDateTime endDateTime = null;
+    public KeysetPage<OrderSummaryResponseDto> searchOrders(OrderSearchFilter filter, String cursor, int size) {
+        KeysetScrollPosition position = KeysetSort.ORDERS_BY_DATE.position(cursor);
+        Window<Order> ordersWindow = orderRepository.findBy(searchSpecification(orderSearchValidator.validate(filter)),
+                query -> query.project(SUMMARY_PATHS).sortBy(KeysetSort.ORDERS_BY_DATE.sort()).limit(size).scroll(position));
+        return KeysetSort.ORDERS_BY_DATE.page(ordersWindow, position, size, orderMapper::toSummaryDto);
+    }
 
-        if (startDate != null) startDateTime = startDate.atStartOfDay();
-        if (endDate != null) endDateTime = endDate.atTime(LocalTime.MAX);
-        if (startDate != null && endDate == null) endDateTime = startDate.atTime(LocalTime.MAX);
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<OrderSummaryResponseDto> searchOrders(OrderSearchFilter filter, Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) return searchOrders(filter, pageable);
+
+        OrderSearchFilter checked = orderSearchValidator.validate(filter);
+        Specification<Order> specification = searchSpecification(checked);
+        Slice<OrderSummaryResponseDto> orders = orderRepository.readSummaries(specification, pageable);
+        return withCount(orders, count, () -> estimateSearch(checked)
+                .orElseGet(() -> orderRepository.count(specification)));
+    }
 
-        Specification<Order> spec = Specification.allOf(
-                OrderSpecification.withStatus(status),
-                OrderSpecification.withStartDate(startDateTime),
-                OrderSpecification.withEndDate(endDateTime));
+    /*
+        Streams the orders of the period to the sink from a read-only cursor. Unlike the search,
+        the period is not capped: the rows never pile up in memory, and the timeout bounds the query.
+     */
+    @Transactional(readOnly = true, timeoutString = "${exports.timeout-seconds:300}")
+    @Override
+    public long exportOrders(OrderSearchFilter filter, ExportFormat format, ExportSink sink) {
+        if (filter.startDate() == null || filter.endDate() == null) {
+            throw new BusinessException("Data de início e data de fim são obrigatórias para a exportação.");
+        }
+        if (filter.startDate().isAfter(filter.endDate())) {
+            throw new BusinessException("A data de início não pode ser posterior à data de fim.");
+        }
 
-        Page<Order> ordersPage = orderRepository.findAll(spec, pageable);
-        return ordersPage.map(orderMapper::toSummaryDto);
+        try (Stream<OrderExportRowDto> rows = orderRepository.streamExportRows(searchSpecification(filter))) {
+            return rowExporter.export(rows, OrderExportRowDto.class, format, sink);
+        }
     }
 
-    @Transactional
-    @Timed("delivery_api.orders.updateStatus.timer")
-    public OrderResponseDto updateOrderStatus(String id, OrderStatus newStatus) {
-        Order order = findById(id);
-        var currentStatus = order.getStatus();
+    private OptionalLong estimateSearch(OrderSearchFilter filter) {
+        SearchRange range = SearchRange.of(filter.startDate(), filter.endDate());
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (filter.status() != null) {
+            conditions.add("status = ?");
+            args.add(filter.status().name());
+        }
+        if (range.start() != null) {
+            conditions.add("order_date >= ?");
+            args.add(range.start());
+        }
+        if (range.end() != null) {
+            conditions.add("order_date <= ?");
+            args.add(range.end());
+        }
+        if (filter.restaurantId() != null) {
+            conditions.add("restaurant_id = ?");
+            args.add(filter.restaurantId());
+        }
+        if (filter.consumerId() != null) {
+            conditions.add("consumer_id = ?");
+            args.add(filter.consumerId());
+        }
+        if (filter.minTotal() != null) {
+            conditions.add("total >= ?");
+            args.add(filter.minTotal());
+        }
+        if (filter.maxTotal() != null) {
+            conditions.add("total <= ?");
+            args.add(filter.maxTotal());
+        }
+        if (filter.deliveryAddressPrefix() != null) {
+            conditions.add("lower(delivery_address) LIKE ?");
+            args.add(OrderSpecification.likePrefix(filter.deliveryAddressPrefix()));
+        }
+        return rowCountEstimator.estimate("tb_orders", String.join(" AND ", conditions), args.toArray());
+    }
+
+    private static <T> Slice<T> withCount(Slice<T> slice, CountMode count, LongSupplier estimatedTotal) {
+        return count == CountMode.ESTIMATED ? EstimatedSlice.of(slice, estimatedTotal.getAsLong()) : slice;
+    }
 
-        if (!currentStatus.canTransition(newStatus)) {
-            throw new BusinessException(
-                    "Não é possível mudar de " + currentStatus + " para " + newStatus);
+    private Specification<Order> searchSpecification(OrderSearchFilter filter) {
+        SearchRange range = SearchRange.of(filter.startDate(), filter.endDate());
+        return Specification.allOf(
+                OrderSpecification.withStatus(filter.status()),
+                OrderSpecification.withStartDate(range.start()),
+                OrderSpecification.withEndDate(range.end()),
+                OrderSpecification.withRestaurant(filter.restaurantId()),
+                OrderSpecification.withConsumer(filter.consumerId()),
+                OrderSpecification.withMinTotal(filter.minTotal()),
+                OrderSpecification.withMaxTotal(filter.maxTotal()),
+                OrderSpecification.withDeliveryAddressPrefix(filter.deliveryAddressPrefix()));
+    }
+
+    /* A start date alone searches that single day */
+    private record SearchRange(LocalDateTime start, LocalDateTime end) {
+        static SearchRange of(LocalDate startDate, LocalDate endDate) {
+            LocalDate lastDay = endDate != null ? endDate : startDate;
+            return new SearchRange(
+                    startDate != null ? startDate.atStartOfDay() : null,
+                    lastDay != null ? lastDay.atTime(LocalTime.MAX) : null);
         }
+    }
+
+    @Transactional
+    public OrderResponseDto updateOrderStatus(String id, OrderStatus newStatus) {
+        return updateOrderStatus(id, newStatus, null);
+    }
 
-        order.setStatus(newStatus);
-        var updatedOrder = orderRepository.save(order);
+    @Transactional
+    @Timed("delivery_api.orders.updateStatus.timer")
+    public OrderResponseDto updateOrderStatus(String id, OrderStatus newStatus, Long expectedVersion) {
+        Order updatedOrder = transitionStatus(UUID.fromString(id), newStatus, expectedVersion,
+                currentStatus -> "Não é possível mudar de " + currentStatus + " para " + newStatus);
 
         metricsService.incrementOrdersDelivered(updatedOrder);
         metricsService.incrementOrdersCanceled(updatedOrder);
@@ -175,9 +409,84 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toDto(updatedOrder);
     }
 
+    /*
+        Kitchen bulk transition: the orders are loaded in one query, authorized and validated
+        against the transition table in memory, and the valid ones are moved with a single
+        conditional UPDATE. Orders changed concurrently are reported as conflicts.
+     */
+    @Transactional
+    @Timed("delivery_api.orders.updateStatusBulk.timer")
+    public OrderBulkStatusUpdateResponseDto updateOrdersStatus(OrderBulkStatusUpdateRequestDto dto) {
+        OrderStatus newStatus = dto.getStatus();
+        var currentUserOpt = securityService.getCurrentUser();
+        String currentUser = currentUserOpt.map(User::getEmail).orElse("ANONYMOUS");
+        boolean restrictedToOwnRestaurant = currentUserOpt.map(User::getRole).orElse(null) == Role.RESTAURANT;
+        Optional<UUID> ownRestaurantId = securityService.getCurrentUserRestaurantId();
+
+        Set<UUID> orderIds = collectIds(dto.getOrderIds().stream());
+        Map<UUID, OrderTransitionProjection> orders = indexById(
+                orderRepository.findTransitionStateByIdIn(orderIds), OrderTransitionProjection::getId);
+
+        Map<UUID, OrderStatusUpdateResultDto> results = new LinkedHashMap<>();
+        List<UUID> candidates = new ArrayList<>();
+        for (UUID orderId : orderIds) {
+            OrderTransitionProjection order = orders.get(orderId);
+            if (order == null) {
+                results.put(orderId, OrderStatusUpdateResultDto.failed(orderId,
+                        ErrorCode.RESOURCE_NOT_FOUND.getCode(), "Pedido não encontrado"));
+            } else if (restrictedToOwnRestaurant && !ownRestaurantId.map(order.getRestaurantId()::equals).orElse(false)) {
+                results.put(orderId, OrderStatusUpdateResultDto.failed(orderId,
+                        ErrorCode.FORBIDDEN_ACCESS.getCode(), "O pedido pertence a um restaurante diferente do usuário autenticado."));
+            } else if (!order.getStatus().canTransition(newStatus)) {
+                results.put(orderId, OrderStatusUpdateResultDto.failed(orderId,
+                        ErrorCode.UNPROCESSABLE_ENTITY.getCode(), "Não é possível mudar de " + order.getStatus() + " para " + newStatus));
+            } else {
+                results.put(orderId, null);
+                candidates.add(orderId);
+            }
+        }
+
+        List<UUID> updatedIds = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            int updated = orderRepository.transitionStatuses(
+                    candidates, newStatus.allowedPredecessors(), newStatus, LocalDateTime.now());
+            Map<UUID, OrderTransitionProjection> afterUpdate = updated == candidates.size()
+                    ? Map.of()
+                    : indexById(orderRepository.findTransitionStateByIdIn(candidates), OrderTransitionProjection::getId);
+
+            for (UUID orderId : candidates) {
+                long previousVersion = orders.get(orderId).getVersion();
+                OrderTransitionProjection current = afterUpdate.get(orderId);
+                if (updated == candidates.size()
+                        || current != null && current.getStatus() == newStatus && current.getVersion() > previousVersion) {
+                    long version = current == null ? previousVersion + 1 : current.getVersion();
+                    results.put(orderId, OrderStatusUpdateResultDto.updated(orderId, newStatus, version));
+                    updatedIds.add(orderId);
+                } else {
+                    results.put(orderId, OrderStatusUpdateResultDto.failed(orderId,
+                            ErrorCode.CONFLICT_ERROR.getCode(), "O pedido foi alterado por outra operação."));
+                }
+            }
+        }
+
+        if (!updatedIds.isEmpty()) {
+            dailySalesRollup.record(newStatus, updatedIds);
+            dailyOrderSketches.record(newStatus, updatedIds);
+            updatedIds.stream()
+                    .collect(Collectors.groupingBy(orderId -> orders.get(orderId).getRestaurantName(), Collectors.counting()))
+                    .forEach((restaurantName, count) ->
+                            metricsService.incrementOrdersTransitioned(newStatus, restaurantName, count.intValue()));
+            eventPublisher.publishEvent(new OrderBulkStatusUpdateEvent(this,
+                    new OrderStatusBatch(UuidV7.randomUuid(), newStatus, List.copyOf(updatedIds)), currentUser));
+        }
+
+        return new OrderBulkStatusUpdateResponseDto(
+                results.size(), updatedIds.size(), results.size() - updatedIds.size(), List.copyOf(results.values()));
+    }
+
     public OrderTotalResponseDto calculateOrderTotal(OrderRequestDto dto) {
         var restaurant = restaurantService.findById(dto.getRestaurantId());
-        BigDecimal subtotal = calculateSubtotal(dto.getItems(), restaurant.getId());
+        BigDecimal subtotal = calculateSubtotal(dto.getItems(), restaurant);
         BigDecimal deliveryTax = restaurant.getDeliveryTax();
         BigDecimal totalPrice = subtotal.add(deliveryTax);
 
@@ -186,16 +495,8 @@ public class OrderServiceImpl implements OrderService {
 
     @Transactional
     public void cancelOrder(String orderId) {
-        Order order = findById(orderId);
-
-        if (!order.getStatus().canTransition(OrderStatus.CANCELED)) {
-            throw new BusinessException(
-                    String.format("Não é possível cancelar o pedido com status '%s'.", order.getStatus())
-            );
-        }
-
-        order.setStatus(OrderStatus.CANCELED);
-        orderRepository.save(order);
+        Order order = transitionStatus(UUID.fromString(orderId), OrderStatus.CANCELED, null,
+                currentStatus -> String.format("Não é possível cancelar o pedido com status '%s'.", currentStatus));
 
         var currentUserOpt = securityService.getCurrentUser();
         String currentUser = "ANONYMOUS";
@@ -205,38 +506,282 @@ public class OrderServiceImpl implements OrderService {
         eventPublisher.publishEvent(new OrderCancelEvent(this, order, currentUser));
     }
 
+    /*
+        Applies the transition with a single conditional UPDATE, so two concurrent
+        transitions can never both succeed. The status is only read when the UPDATE
+        misses, to tell an unknown order, an invalid transition and a lost race apart.
+     */
+    private Order transitionStatus(UUID orderId, OrderStatus newStatus, Long expectedVersion,
+                                   Function<OrderStatus, String> invalidTransitionMessage) {
+        Set<OrderStatus> predecessors = newStatus.allowedPredecessors();
+        int updated = predecessors.isEmpty() ? 0 : orderRepository.transitionStatus(
+                orderId, predecessors, newStatus, expectedVersion, LocalDateTime.now());
+
+        if (updated == 0) {
+            OrderStatusProjection current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado "));
+
+            if (!current.getStatus().canTransition(newStatus)) {
+                throw new BusinessException(invalidTransitionMessage.apply(current.getStatus()));
+            }
+            throw new ConflictException(String.format(
+                    "O pedido foi alterado por outra operação (versão atual %d). Consulte-o novamente e repita a operação.",
+                    current.getVersion()));
+        }
+
+        dailySalesRollup.record(newStatus, List.of(orderId));
+        dailyOrderSketches.record(newStatus, List.of(orderId));
+        return orderRepository.findDetailById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado "));
+    }
+
     public boolean isOwnerConsumer(String orderId) {
         Optional<String> userEmail = securityService.getCurrentUser().map(User::getEmail);
         if (userEmail.isEmpty()) return false;
 
-        Order order = findById(orderId);
-        return order.getConsumer().getEmail().equalsIgnoreCase(userEmail.get());
+        return checkOwnership(orderId,
+                owner -> owner.getConsumerEmail().equalsIgnoreCase(userEmail.get()),
+                accepted -> accepted.user().equalsIgnoreCase(userEmail.get()),
+                archived -> archived.consumerEmail().equalsIgnoreCase(userEmail.get()));
     }
 
     public boolean isOwnerRestaurant(String orderId) {
         Optional<UUID> currentUserRestaurantId = securityService.getCurrentUserRestaurantId();
         if (currentUserRestaurantId.isEmpty()) return false;
 
-        Order order = findById(orderId);
-        return order.getRestaurant().getId().equals(currentUserRestaurantId.get());
+        return checkOwnership(orderId,
+                owner -> owner.getRestaurantId().equals(currentUserRestaurantId.get()),
+                accepted -> accepted.request().getRestaurantId().equals(currentUserRestaurantId.get()),
+                archived -> archived.restaurantId().equals(currentUserRestaurantId.get()));
     }
 
-    private BigDecimal calculateSubtotal(List<OrderItemRequestDto> items, UUID restaurantId) {
-        BigDecimal subtotal = BigDecimal.ZERO;
+    /*
+        Orders accepted asynchronously are looked up by their reference, first as a
+        materialized order and then among the receipts still pending or rejected.
+        Orders moved out of the live tables are checked against their archived copy.
+        Live orders are checked through a projection: the guard runs outside any
+        transaction, where the lazy consumer of a loaded order cannot be read.
+     */
+    private boolean checkOwnership(String orderId, Predicate<OrderOwnerProjection> orderCheck, Predicate<AcceptedOrder> receiptCheck,
+                                   Predicate<ArchivedOrder> archiveCheck) {
+        UUID id = UUID.fromString(orderId);
+        Optional<OrderOwnerProjection> owner = orderRepository.findOwnerById(id)
+                .or(() -> orderRepository.findOwnerByReference(id));
+        if (owner.isPresent()) {
+            return orderCheck.test(owner.get());
+        }
+
+        Optional<AcceptedOrder> accepted = asyncOrderQueue.findPending(id)
+                .or(() -> asyncOrderQueue.findRejection(id).map(OrderRejection::order));
+        if (accepted.isPresent()) {
+            return receiptCheck.test(accepted.get());
+        }
+
+        return orderArchive.findById(id)
+                .map(archiveCheck::test)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado "));
+    }
+
+    /*
+        Archived orders are older than any live order of the consumer that could still change,
+        so the history lists them after the live ones, newest first, once the live pages run out.
+     */
+    private Page<OrderSummaryResponseDto> withArchivedOrders(UUID consumerId, Page<OrderSummaryResponseDto> livePage,
+                                                             long archivedCount, Pageable pageable) {
+        List<OrderSummaryResponseDto> content = new ArrayList<>(livePage.getContent());
+        long liveTotal = livePage.getTotalElements();
+
+        int missing = pageable.getPageSize() - content.size();
+        if (missing > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - liveTotal);
+            orderArchive.findByConsumer(consumerId, archiveOffset, missing).stream()
+                    .map(ArchivedOrder::toSummaryDto)
+                    .forEach(content::add);
+        }
+        return new PageImpl<>(content, pageable, liveTotal + archivedCount);
+    }
+
+    private OrderResponseDto toReceivedDto(AcceptedOrder accepted) {
+        return new OrderResponseDto(accepted.reference(), null, null, null, OrderStatus.RECEIVED,
+                toLocalDateTime(accepted), null, List.of(), null, null, null, null);
+    }
+
+    private LocalDateTime toLocalDateTime(AcceptedOrder accepted) {
+        return LocalDateTime.ofInstant(accepted.receivedAt(), ZoneId.systemDefault());
+    }
+
+    /*
+        Shared by the batch endpoint and the async workers: every order is validated against
+        consumers, restaurants and products loaded once, and valid orders are inserted in
+        chunks, each in its own transaction, so JDBC batching applies and one failure does
+        not reject the rest. References that are already stored (a journal replayed after a
+        crash between the insert and the settle) are reported as created, not inserted again.
+     */
+    private List<OrderBatchItemResultDto> ingestOrders(
+            List<OrderRequestDto> requests,
+            IntFunction<UUID> referenceOf,
+            IntFunction<String> userOf,
+            Predicate<UUID> restaurantAllowed
+    ) {
+        Map<UUID, Consumer> consumers = indexById(consumerService.findConsumerEntitiesByIds(
+                collectIds(requests.stream().map(OrderRequestDto::getConsumerId))), Consumer::getId);
+        Map<UUID, Restaurant> restaurants = indexById(restaurantService.findRestaurantEntitiesByIds(
+                collectIds(requests.stream().map(OrderRequestDto::getRestaurantId))), Restaurant::getId);
+        Map<UUID, Product> products = indexById(productService.findProductEntitiesByIds(
+                collectIds(requests.stream().flatMap(request -> request.getItems().stream())
+                        .map(OrderItemRequestDto::getProductId))), Product::getId);
+
+        Map<UUID, Order> materialized = findMaterializedOrders(collectIds(
+                IntStream.range(0, requests.size()).mapToObj(referenceOf)));
+
+        OrderBatchItemResultDto[] results = new OrderBatchItemResultDto[requests.size()];
+        List<Order> validOrders = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequestDto request = requests.get(i);
+            UUID reference = referenceOf.apply(i);
+            Order existing = reference == null ? null : materialized.get(reference);
+            if (existing != null) {
+                results[i] = OrderBatchItemResultDto.created(i, existing.getId(), existing.getStatus(), existing.getTotal());
+                continue;
+            }
+            try {
+                if (!restaurantAllowed.test(request.getRestaurantId())) {
+                    throw new NotAllowedException("O pedido pertence a um restaurante diferente do usuário autenticado.");
+                }
+
+                Consumer consumer = Optional.ofNullable(consumers.get(request.getConsumerId()))
+                        .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado"));
+                Restaurant restaurant = Optional.ofNullable(restaurants.get(request.getRestaurantId()))
+                        .orElseThrow(() -> new ResourceNotFoundException("Restaurante não encontrado"));
+
+                Order order = newOrder(consumer, restaurant, toOrderItems(restaurant, request.getItems(), products));
+                order.setReference(reference);
+                validOrders.add(order);
+                validIndexes.add(i);
+            } catch (ResourceNotFoundException e) {
+                results[i] = OrderBatchItemResultDto.failed(i, ErrorCode.RESOURCE_NOT_FOUND.getCode(), e.getMessage());
+            } catch (BusinessException e) {
+                results[i] = OrderBatchItemResultDto.failed(i, ErrorCode.UNPROCESSABLE_ENTITY.getCode(), e.getMessage());
+            } catch (NotAllowedException e) {
+                results[i] = OrderBatchItemResultDto.failed(i, ErrorCode.FORBIDDEN_ACCESS.getCode(), e.getMessage());
+            }
+        }
 
-        for (OrderItemRequestDto itemDto : items) {
-            Product product = productService.findProductEntityById(itemDto.getProductId().toString());
-            if (!product.getRestaurant().getId().equals(restaurantId)) {
-                throw new BusinessException(
-                        String.format("O produto '%s' (%s) não pertence ao restaurante informado.", product.getName(), product.getId())
-                );
+        for (int start = 0; start < validOrders.size(); start += BATCH_CHUNK_SIZE) {
+            int end = Math.min(start + BATCH_CHUNK_SIZE, validOrders.size());
+            List<Order> chunk = validOrders.subList(start, end);
+            List<Integer> chunkIndexes = validIndexes.subList(start, end);
+
+            try {
+                List<Order> savedOrders = transactionTemplate.execute(status -> saveOrdersChunk(chunk, chunkIndexes, userOf));
+                for (int j = 0; j < savedOrders.size(); j++) {
+                    Order saved = savedOrders.get(j);
+                    int index = chunkIndexes.get(j);
+                    results[index] = OrderBatchItemResultDto.created(index, saved.getId(), saved.getStatus(), saved.getTotal());
+                }
+            } catch (DataAccessException e) {
+                chunkIndexes.forEach(index -> results[index] = OrderBatchItemResultDto.failed(
+                        index, ErrorCode.INTERNAL_SERVER_ERROR.getCode(), "Não foi possível gravar o pedido."));
             }
+        }
+
+        return List.of(results);
+    }
+
+    private Map<UUID, Order> findMaterializedOrders(Set<UUID> references) {
+        if (references.isEmpty()) return Map.of();
+        return orderRepository.findByReferenceIn(references).stream()
+                .collect(Collectors.toMap(Order::getReference, Function.identity(),
+                        BinaryOperator.minBy(Comparator.comparing(Order::getOrderDate))));
+    }
+
+    private BigDecimal calculateSubtotal(List<OrderItemRequestDto> items, Restaurant restaurant) {
+        return buildOrderItems(restaurant, items).stream()
+                .map(OrderItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Order newOrder(Consumer consumer, Restaurant restaurant, List<OrderItem> orderItems) {
+        Order order = new Order();
+        order.setConsumer(consumer);
+        order.setRestaurant(restaurant);
+        order.setDeliveryAddress(consumer.getAddress());
+        order.setDeliveryTax(restaurant.getDeliveryTax());
+        order.setStatus(OrderStatus.PENDING);
+
+        orderItems.forEach(orderItem -> orderItem.setOrder(order));
+        order.setItems(orderItems);
+
+        BigDecimal subtotal = orderItems.stream().map(OrderItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        order.setSubtotal(subtotal);
+        order.setTotal(subtotal.add(order.getDeliveryTax()));
+        return order;
+    }
 
-            BigDecimal itemPrice = product.getPrice().multiply(new BigDecimal(itemDto.getQuantity()));
-            subtotal = subtotal.add(itemPrice);
+    private List<Order> saveOrdersChunk(List<Order> orders, List<Integer> indexes, IntFunction<String> userOf) {
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        for (int i = 0; i < savedOrders.size(); i++) {
+            Order savedOrder = savedOrders.get(i);
+            metricsService.incrementOrdersProcessed(savedOrder);
+            eventPublisher.publishEvent(new OrderCreatedEvent(this, savedOrder, userOf.apply(indexes.get(i))));
         }
+        return savedOrders;
+    }
+
+    private List<OrderItem> buildOrderItems(Restaurant restaurant, List<OrderItemRequestDto> items) {
+        return toOrderItems(restaurant, items, resolveProducts(restaurant, items));
+    }
+
+    private List<OrderItem> toOrderItems(Restaurant restaurant, List<OrderItemRequestDto> items, Map<UUID, Product> products) {
+        orderValidator.validateOrderItems(restaurant, items, products);
+
+        return items.stream().map(item -> {
+            Product product = products.get(item.getProductId());
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProduct(product);
+            orderItem.setQuantity(item.getQuantity());
+            orderItem.setUnitPrice(product.getPrice());
+            orderItem.setSubtotal(
+                    product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            return orderItem;
+        }).toList();
+    }
+
+    /*
+        Loads every product of the request with one restaurant-scoped query.
+        Only when some item is missing from that result a second lookup is made,
+        to tell products of another restaurant apart from nonexistent ones.
+     */
+    private Map<UUID, Product> resolveProducts(Restaurant restaurant, List<OrderItemRequestDto> items) {
+        Set<UUID> productIds = items.stream()
+                .map(OrderItemRequestDto::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<UUID, Product> products = new HashMap<>();
+        productService.findRestaurantProductEntities(restaurant.getId(), productIds)
+                .forEach(product -> products.put(product.getId(), product));
+
+        if (products.size() < productIds.size()) {
+            Set<UUID> missingIds = new LinkedHashSet<>(productIds);
+            missingIds.removeAll(products.keySet());
+            productService.findProductEntitiesByIds(missingIds)
+                    .forEach(product -> products.put(product.getId(), product));
+        }
+
+        return products;
+    }
+
+    private Set<UUID> collectIds(Stream<UUID> ids) {
+        return ids.filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
 
-        return subtotal;
+    private <T> Map<UUID, T> indexById(List<T> entities, Function<T, UUID> idExtractor) {
+        return entities.stream().collect(Collectors.toMap(idExtractor, Function.identity()));
     }
 
     private LocalDate parseStringDate(String date) {
@@ -10,6 +10,11 @@ import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
 import com.deliverytech.delivery_api.mapper.ProductMapper;
 import com.deliverytech.delivery_api.model.Product;
 import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.EstimatedSlice;
+import com.deliverytech.delivery_api.pagination.KeysetPage;
+import com.deliverytech.delivery_api.pagination.KeysetSort;
+import com.deliverytech.delivery_api.pagination.RowCountEstimator;
 import com.deliverytech.delivery_api.repository.ProductRepository;
 import com.deliverytech.delivery_api.security.SecurityService;
 import com.deliverytech.delivery_api.service.ProductService;
@@ -22,11 +27,16 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +48,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final RestaurantService restaurantService;
     private final ProductMapper productMapper;
+    private final RowCountEstimator rowCountEstimator;
     private final SecurityService securityService;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -75,13 +86,49 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado"));
     }
 
+    @Transactional(readOnly = true)
+    public List<Product> findRestaurantProductEntities(UUID restaurantId, Collection<UUID> productIds) {
+        if (productIds.isEmpty()) return List.of();
+        return productRepository.findByRestaurantIdAndIdIn(restaurantId, productIds);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Product> findProductEntitiesByIds(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) return List.of();
+        return productRepository.findByIdIn(productIds);
+    }
+
     @Transactional(readOnly = true)
     @Timed("delivery_api.products.findProductsByRestaurantId.timer")
     public Page<ProductResponseDto> findProductsByRestaurantId(String restaurantId, Pageable pageable) {
         var restaurant = restaurantService.findById(UUID.fromString(restaurantId));
 
-        var productsPage = productRepository.findByRestaurantId(restaurant.getId(), pageable);
-        return productsPage.map(productMapper::toResponseDto);
+        return productRepository.findResponsesByRestaurantId(restaurant.getId(), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Timed("delivery_api.products.findProductsByRestaurantId.timer")
+    public Slice<ProductResponseDto> findProductsByRestaurantId(String restaurantId, Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) return findProductsByRestaurantId(restaurantId, pageable);
+
+        var restaurant = restaurantService.findById(UUID.fromString(restaurantId));
+        Slice<ProductResponseDto> products = productRepository.readResponsesByRestaurantId(restaurant.getId(), pageable);
+        if (count == CountMode.NONE) return products;
+
+        long estimatedTotal = rowCountEstimator.estimate("tb_products", "restaurant_id = ?", restaurant.getId())
+                .orElseGet(() -> productRepository.countByRestaurantId(restaurant.getId()));
+        return EstimatedSlice.of(products, estimatedTotal);
+    }
+
+    @Transactional(readOnly = true)
+    @Timed("delivery_api.products.findProductsByRestaurantId.timer")
+    public KeysetPage<ProductResponseDto> findProductsByRestaurantId(String restaurantId, String cursor, int size) {
+        var restaurant = restaurantService.findById(UUID.fromString(restaurantId));
+
+        KeysetScrollPosition position = KeysetSort.BY_NAME.position(cursor);
+        var productsWindow = productRepository.findByRestaurantId(
+                restaurant.getId(), position, KeysetSort.BY_NAME.sort(), Limit.of(size));
+        return KeysetSort.BY_NAME.page(productsWindow, position, size, productMapper::toResponseDto);
     }
 
     @Override
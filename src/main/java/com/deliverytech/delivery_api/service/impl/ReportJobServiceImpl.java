@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.ReportJobResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import com.deliverytech.delivery_api.reportjob.ReportJob;
+import com.deliverytech.delivery_api.reportjob.ReportJobRequest;
+import com.deliverytech.delivery_api.reportjob.ReportJobs;
+import com.deliverytech.delivery_api.service.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportJobs reportJobs;
+
+    @Override
+    public ReportJobResponseDto submit(ReportJobType type, LocalDate startDate, LocalDate endDate,
+                                       OrderStatus status, ExportFormat format) {
+        if (type == null) {
+            throw new BusinessException("O tipo do relatório é obrigatório.");
+        }
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("Data de início e data de fim são obrigatórias.");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data de início não pode ser posterior à data de fim.");
+        }
+        if (type == ReportJobType.DAILY_SALES && status != null) {
+            throw new BusinessException("O relatório de vendas diárias não aceita filtro de status.");
+        }
+
+        ReportJobRequest request = new ReportJobRequest(type, startDate, endDate, status,
+                format == null ? ExportFormat.CSV : format);
+        return toDto(reportJobs.submit(request));
+    }
+
+    @Override
+    public ReportJobResponseDto getJob(UUID id) {
+        return toDto(reportJobs.find(id));
+    }
+
+    @Override
+    public ReportJobResponseDto cancel(UUID id) {
+        return toDto(reportJobs.cancel(id));
+    }
+
+    @Override
+    public ReportJobs.Result getResult(UUID id) {
+        return reportJobs.result(id);
+    }
+
+    private static ReportJobResponseDto toDto(ReportJob job) {
+        ReportJobRequest request = job.request();
+        return new ReportJobResponseDto(job.id(), request.type(), job.status(), request.startDate(), request.endDate(),
+                request.status(), request.format(), job.submittedAt(), job.startedAt(), job.finishedAt(),
+                job.expiresAt(), job.rows(), job.sizeBytes(), job.error());
+    }
+}
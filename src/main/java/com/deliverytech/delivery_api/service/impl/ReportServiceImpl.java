@@ -1,51 +1,80 @@
 package com.deliverytech.delivery_api.service.impl;
 
 import com.deliverytech.delivery_api.dto.response.ActiveConsumerReportDto;
+import com.deliverytech.delivery_api.dto.response.DailySalesExportRowDto;
 import com.deliverytech.delivery_api.dto.response.OrderByPeriodReportDto;
+import com.deliverytech.delivery_api.dto.response.RollupRebuildResponseDto;
 import com.deliverytech.delivery_api.dto.response.SalesByRestaurantReportDto;
 import com.deliverytech.delivery_api.dto.response.TopSellingProductReportDto;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.export.RowExporter;
 import com.deliverytech.delivery_api.mapper.ReportMapper;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
-import com.deliverytech.delivery_api.repository.OrderItemRepository;
+import com.deliverytech.delivery_api.repository.DailyConsumerOrdersRepository;
+import com.deliverytech.delivery_api.repository.DailyProductSalesRepository;
+import com.deliverytech.delivery_api.repository.DailyRestaurantSalesRepository;
 import com.deliverytech.delivery_api.repository.OrderRepository;
 import com.deliverytech.delivery_api.repository.projection.ActiveConsumerProjection;
 import com.deliverytech.delivery_api.repository.projection.OrderByPeriodProjection;
 import com.deliverytech.delivery_api.repository.projection.SalesByRestaurantProjection;
 import com.deliverytech.delivery_api.repository.projection.TopSellingProductProjection;
+import com.deliverytech.delivery_api.reportcache.ReportDayCache;
+import com.deliverytech.delivery_api.rollup.DailySalesRollup;
 import com.deliverytech.delivery_api.service.ReportService;
+import com.deliverytech.delivery_api.sketch.DailyOrderSketches;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
     private final OrderRepository orderRepository;
-    private final OrderItemRepository orderItemRepository;
+    private final DailyRestaurantSalesRepository dailyRestaurantSalesRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final DailyConsumerOrdersRepository dailyConsumerOrdersRepository;
+    private final DailySalesRollup dailySalesRollup;
+    private final DailyOrderSketches dailyOrderSketches;
     private final ReportMapper reportMapper;
+    private final RowExporter rowExporter;
+    private final ReportDayCache reportDayCache;
+
+    @Value("${orders.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${orders.archive.min-age:P180D}")
+    private Duration archiveMinAge;
 
     @Transactional(readOnly = true)
     public List<SalesByRestaurantReportDto> getSalesByRestaurant() {
-        List<SalesByRestaurantProjection> projections = orderRepository.getSalesByRestaurantReport();
+        List<SalesByRestaurantProjection> projections = dailyRestaurantSalesRepository.getSalesByRestaurant();
         return reportMapper.toDtoList(projections);
     }
 
     @Transactional(readOnly = true)
     public List<TopSellingProductReportDto> getTopSellingProducts() {
-        List<TopSellingProductProjection> projections = orderItemRepository.getTopSellingProductsReport();
+        List<TopSellingProductProjection> projections = dailyProductSalesRepository.getTopSellingProducts();
         return reportMapper.toTopSellingDtoList(projections);
     }
 
     @Transactional(readOnly = true)
     public List<ActiveConsumerReportDto> getActiveConsumers() {
-        List<ActiveConsumerProjection> projections = orderRepository.getActiveConsumers();
+        List<ActiveConsumerProjection> projections = dailyConsumerOrdersRepository.getActiveConsumers();
         return reportMapper.toActiveConsumerDtoList(projections);
     }
 
@@ -56,11 +85,72 @@ public class ReportServiceImpl implements ReportService {
             throw new BusinessException("Data de início e data de fim são obrigatórias para este relatório.");
         }
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
+        return reportDayCache.get("orders-by-period", status, startDate, endDate, OrderByPeriodReportDto::date,
+                (start, end) -> loadOrdersByPeriod(start, end, status));
+    }
+
+    private List<OrderByPeriodReportDto> loadOrdersByPeriod(LocalDate startDate, LocalDate endDate, OrderStatus status) {
+        Set<OrderStatus> statuses = status != null ? EnumSet.of(status) : EnumSet.allOf(OrderStatus.class);
+        Set<OrderStatus> rolledUp = EnumSet.copyOf(statuses);
+        rolledUp.retainAll(DailySalesRollup.ROLLED_UP_STATUSES);
+        Set<OrderStatus> inFlight = EnumSet.copyOf(statuses);
+        inFlight.removeAll(DailySalesRollup.ROLLED_UP_STATUSES);
 
-        List<OrderByPeriodProjection> projections = orderRepository
-                .getOrdersByPeriod(startDateTime, endDateTime, status);
+        /* final orders come from the rollups, the few still in flight from the orders table */
+        List<OrderByPeriodProjection> projections = new ArrayList<>();
+        if (!rolledUp.isEmpty()) {
+            projections.addAll(dailyRestaurantSalesRepository.getOrdersByPeriod(startDate, endDate, rolledUp));
+        }
+        if (!inFlight.isEmpty()) {
+            projections.addAll(orderRepository.getOrdersByPeriodAndStatuses(
+                    startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX), inFlight));
+        }
+        projections.sort(Comparator.comparing(OrderByPeriodProjection::getDate)
+                .thenComparing(OrderByPeriodProjection::getStatus));
         return reportMapper.toOrderByPeriodAndStatusDtoList(projections);
     }
+
+    public RollupRebuildResponseDto rebuildRollups(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("Data de início e data de fim são obrigatórias para reconstruir os rollups.");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data de início não pode ser posterior à data de fim.");
+        }
+        /* Both are recomputed from tb_orders only, so days that may hold archived orders would lose them */
+        if (archiveEnabled) {
+            LocalDate firstLiveDay = LocalDateTime.now().minus(archiveMinAge).toLocalDate().plusDays(1);
+            if (startDate.isBefore(firstLiveDay)) {
+                throw new BusinessException("Só é possível reconstruir os rollups a partir de " + firstLiveDay
+                        + "; os dias anteriores podem ter pedidos arquivados.");
+            }
+        }
+        long orders = dailySalesRollup.rebuild(startDate, endDate);
+        dailyOrderSketches.rebuild(startDate, endDate);
+        reportDayCache.invalidate(startDate, endDate);
+        return new RollupRebuildResponseDto(startDate, endDate, orders);
+    }
+
+    /* One row per day and status; the rows are only written once the whole period is loaded */
+    @Transactional(readOnly = true, timeoutString = "${exports.timeout-seconds:300}")
+    public long exportOrdersByPeriod(LocalDate startDate, LocalDate endDate, OrderStatus status,
+                                     ExportFormat format, ExportSink sink) {
+        List<OrderByPeriodReportDto> rows = getOrdersByPeriodAndStatus(startDate, endDate, status);
+        return rowExporter.export(rows.stream(), OrderByPeriodReportDto.class, format, sink);
+    }
+
+    /* One row per day, restaurant and final status, streamed from the rollup */
+    @Transactional(readOnly = true, timeoutString = "${exports.timeout-seconds:300}")
+    public long exportDailySales(LocalDate startDate, LocalDate endDate, ExportFormat format, ExportSink sink) {
+        if (startDate == null || endDate == null) {
+            throw new BusinessException("Data de início e data de fim são obrigatórias para a exportação.");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data de início não pode ser posterior à data de fim.");
+        }
+
+        try (Stream<DailySalesExportRowDto> rows = dailyRestaurantSalesRepository.streamExportRows(startDate, endDate)) {
+            return rowExporter.export(rows, DailySalesExportRowDto.class, format, sink);
+        }
+    }
 }
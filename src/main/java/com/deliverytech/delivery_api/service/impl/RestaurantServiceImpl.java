@@ -29,6 +29,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -74,6 +76,12 @@ public class RestaurantServiceImpl implements RestaurantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurante não encontrado"));
     }
 
+    @Transactional(readOnly = true)
+    public List<Restaurant> findRestaurantEntitiesByIds(Collection<UUID> restaurantIds) {
+        if (restaurantIds.isEmpty()) return List.of();
+        return restaurantRepository.findAllById(restaurantIds);
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "restaurants", key = "#id")
     public RestaurantResponseDto findByIdResponse(String id) {
@@ -0,0 +1,50 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.TopSellerEntryDto;
+import com.deliverytech.delivery_api.dto.response.TopSellersResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import com.deliverytech.delivery_api.service.TopSellersService;
+import com.deliverytech.delivery_api.topk.TopSellers;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+@RequiredArgsConstructor
+public class TopSellersServiceImpl implements TopSellersService {
+
+    private final TopSellers topSellers;
+
+    @Override
+    public TopSellersResponseDto getTopProducts(TopSellerWindow window, String category, int limit) {
+        TopSellerWindow resolved = validate(window, limit);
+        TopSellers.Ranking ranking = topSellers.topProducts(resolved, category, limit);
+        return new TopSellersResponseDto(resolved, categoryOf(category), ranking.entries().stream()
+                .map(entry -> new TopSellerEntryDto(entry.id(), entry.name(), BigDecimal.valueOf(entry.value()),
+                        BigDecimal.valueOf(entry.error()), entry.guaranteed()))
+                .toList());
+    }
+
+    @Override
+    public TopSellersResponseDto getTopRestaurants(TopSellerWindow window, String category, int limit) {
+        TopSellerWindow resolved = validate(window, limit);
+        TopSellers.Ranking ranking = topSellers.topRestaurants(resolved, category, limit);
+        return new TopSellersResponseDto(resolved, categoryOf(category), ranking.entries().stream()
+                .map(entry -> new TopSellerEntryDto(entry.id(), entry.name(), BigDecimal.valueOf(entry.value(), 2),
+                        BigDecimal.valueOf(entry.error(), 2), entry.guaranteed()))
+                .toList());
+    }
+
+    private TopSellerWindow validate(TopSellerWindow window, int limit) {
+        if (limit < 1 || limit > topSellers.capacity()) {
+            throw new BusinessException("O limite deve estar entre 1 e " + topSellers.capacity());
+        }
+        return window == null ? TopSellerWindow.ALL : window;
+    }
+
+    private static String categoryOf(String category) {
+        return category == null || category.isBlank() ? null : category.trim();
+    }
+}
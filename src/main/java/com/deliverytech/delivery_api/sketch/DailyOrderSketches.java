@@ -0,0 +1,206 @@
+package com.deliverytech.delivery_api.sketch;
+
+import com.deliverytech.delivery_api.model.DailyRestaurantSketch;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/*
+    Per restaurant and order day, the number of delivered orders, a HyperLogLog of their
+    consumers and a t-digest of their totals, so distinct consumers and total percentiles
+    of any range of days and set of restaurants come from merging a few kilobytes instead of
+    COUNT(DISTINCT) and sorts over the orders. Like the daily rollups, an order is added in
+    the transaction that moves it to DELIVERED, which is final; rebuilding days that were
+    already archived would lose their orders, so ReportServiceImpl.rebuildRollups refuses them.
+ */
+@Component
+public class DailyOrderSketches {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyOrderSketches.class);
+
+    private static final String TABLE = "tb_daily_restaurant_sketches";
+
+    private static final String DELIVERED_ORDERS =
+            "SELECT CAST(o.order_date AS DATE) AS order_day, o.restaurant_id, o.consumer_id, o.total " +
+                    "FROM tb_orders o WHERE o.status = 'DELIVERED' AND o.restaurant_id IS NOT NULL AND ";
+
+    private static final Comparator<DailyRestaurantSketch.Key> BY_DAY_AND_RESTAURANT =
+            Comparator.comparing(DailyRestaurantSketch.Key::orderDay).thenComparing(DailyRestaurantSketch.Key::restaurantId);
+
+    public record DailySketch(LocalDate day, OrderSketch sketch) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean postgres;
+
+    public DailyOrderSketches(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /*
+        Adds the orders that have just been delivered. Must run in the transaction of the
+        transition; rows are locked by day and restaurant, in that order, so two transitions
+        over the same restaurants cannot deadlock.
+     */
+    public void record(OrderStatus status, Collection<UUID> orderIds) {
+        if (status != OrderStatus.DELIVERED || orderIds.isEmpty()) return;
+
+        Map<DailyRestaurantSketch.Key, OrderSketch> groups = new TreeMap<>(BY_DAY_AND_RESTAURANT);
+        String ids = orderIds.stream().map(id -> "?").collect(Collectors.joining(", ", "o.id IN (", ")"));
+        jdbcTemplate.query(DELIVERED_ORDERS + ids, (RowCallbackHandler) rs -> groups
+                .computeIfAbsent(keyOf(rs.getDate("order_day"), rs.getObject("restaurant_id", UUID.class)), k -> new OrderSketch())
+                .add(rs.getObject("consumer_id", UUID.class), rs.getBigDecimal("total")), orderIds.toArray());
+
+        groups.forEach(this::addTo);
+    }
+
+    /*
+        Recomputes the days of the range from the orders and returns how many they hold.
+        Orders are read by day and restaurant, so only one group is in memory at a time.
+     */
+    public long rebuild(LocalDate startDate, LocalDate endDate) {
+        Long orders = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE order_day BETWEEN ? AND ?", startDate, endDate);
+
+            long[] total = {0};
+            DailyRestaurantSketch.Key[] current = {null};
+            OrderSketch[] sketch = {null};
+            jdbcTemplate.query(DELIVERED_ORDERS + "o.order_date >= ? AND o.order_date < ? " +
+                            "ORDER BY CAST(o.order_date AS DATE), o.restaurant_id",
+                    (RowCallbackHandler) rs -> {
+                        DailyRestaurantSketch.Key key = keyOf(rs.getDate("order_day"), rs.getObject("restaurant_id", UUID.class));
+                        if (!key.equals(current[0])) {
+                            if (current[0] != null) insert(current[0], sketch[0]);
+                            current[0] = key;
+                            sketch[0] = new OrderSketch();
+                        }
+                        sketch[0].add(rs.getObject("consumer_id", UUID.class), rs.getBigDecimal("total"));
+                        total[0]++;
+                    },
+                    Timestamp.valueOf(startDate.atStartOfDay()), Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+            if (current[0] != null) insert(current[0], sketch[0]);
+            return total[0];
+        });
+        log.info("Sketches diários de {} a {} reconstruídos com {} pedido(s)", startDate, endDate, orders);
+        return orders == null ? 0 : orders;
+    }
+
+    /* First start with existing orders: fills the sketches from the whole order history */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + TABLE + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(empty)) return;
+
+            Map<String, Object> range = jdbcTemplate.queryForMap(
+                    "SELECT MIN(order_date) AS first_order, MAX(order_date) AS last_order FROM tb_orders WHERE status = 'DELIVERED'");
+            if (range.get("first_order") instanceof Timestamp first && range.get("last_order") instanceof Timestamp last) {
+                rebuild(first.toLocalDateTime().toLocalDate(), last.toLocalDateTime().toLocalDate());
+            }
+        } catch (DataAccessException e) {
+            log.error("Não foi possível preencher os sketches diários de pedidos", e);
+        }
+    }
+
+    /* One sketch per day of the range, merged over the restaurants; every restaurant when none is given */
+    public List<DailySketch> summarize(LocalDate startDate, LocalDate endDate, Collection<UUID> restaurantIds) {
+        List<Object> args = new ArrayList<>(List.of(startDate, endDate));
+        String filter = "";
+        if (!restaurantIds.isEmpty()) {
+            filter = restaurantIds.stream().map(id -> "?").collect(Collectors.joining(", ", " AND restaurant_id IN (", ")"));
+            args.addAll(restaurantIds);
+        }
+
+        Map<LocalDate, OrderSketch> days = new TreeMap<>();
+        jdbcTemplate.query("SELECT order_day, order_count, consumers, totals FROM " + TABLE +
+                        " WHERE order_day BETWEEN ? AND ?" + filter,
+                (RowCallbackHandler) rs -> {
+                    OrderSketch sketch = new OrderSketch(rs.getLong("order_count"),
+                            HyperLogLog.fromBytes(rs.getBytes("consumers")), TDigest.fromBytes(rs.getBytes("totals")));
+                    LocalDate day = rs.getDate("order_day").toLocalDate();
+                    OrderSketch merged = days.putIfAbsent(day, sketch);
+                    if (merged != null) merged.merge(sketch);
+                },
+                args.toArray());
+        return days.entrySet().stream().map(day -> new DailySketch(day.getKey(), day.getValue())).toList();
+    }
+
+    /* Creates the row when missing; otherwise locks it and merges the new orders into it */
+    private void addTo(DailyRestaurantSketch.Key key, OrderSketch added) {
+        if (insertIfAbsent(key, added)) return;
+
+        OrderSketch stored = jdbcTemplate.queryForObject(
+                "SELECT order_count, consumers, totals FROM " + TABLE + " WHERE order_day = ? AND restaurant_id = ? FOR UPDATE",
+                (rs, rowNum) -> new OrderSketch(rs.getLong("order_count"),
+                        HyperLogLog.fromBytes(rs.getBytes("consumers")), TDigest.fromBytes(rs.getBytes("totals"))),
+                key.orderDay(), key.restaurantId());
+        stored.merge(added);
+        jdbcTemplate.update("UPDATE " + TABLE + " SET order_count = ?, consumers = ?, totals = ? " +
+                        "WHERE order_day = ? AND restaurant_id = ?",
+                stored.orders(), stored.consumers().toBytes(), stored.totals().toBytes(), key.orderDay(), key.restaurantId());
+    }
+
+    /*
+        PostgreSQL skips an existing row with ON CONFLICT DO NOTHING. Elsewhere MERGE inserts
+        only when not matched, but two transactions creating the row can both try; the loser
+        fails on the key once the row exists and merges into it instead.
+     */
+    private boolean insertIfAbsent(DailyRestaurantSketch.Key key, OrderSketch sketch) {
+        Object[] args = {key.orderDay(), key.restaurantId(), sketch.orders(), sketch.consumers().toBytes(), sketch.totals().toBytes()};
+        if (isPostgres()) {
+            return jdbcTemplate.update("INSERT INTO " + TABLE + " (order_day, restaurant_id, order_count, consumers, totals) " +
+                    "VALUES (?, ?, ?, ?, ?) ON CONFLICT (order_day, restaurant_id) DO NOTHING", args) > 0;
+        }
+        try {
+            return jdbcTemplate.update("MERGE INTO " + TABLE + " r USING (SELECT CAST(? AS DATE) AS order_day, " +
+                    "CAST(? AS UUID) AS restaurant_id, CAST(? AS BIGINT) AS order_count, CAST(? AS VARBINARY) AS consumers, " +
+                    "CAST(? AS VARBINARY) AS totals) s ON (r.order_day = s.order_day AND r.restaurant_id = s.restaurant_id) " +
+                    "WHEN NOT MATCHED THEN INSERT (order_day, restaurant_id, order_count, consumers, totals) " +
+                    "VALUES (s.order_day, s.restaurant_id, s.order_count, s.consumers, s.totals)", args) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void insert(DailyRestaurantSketch.Key key, OrderSketch sketch) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " (order_day, restaurant_id, order_count, consumers, totals) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                key.orderDay(), key.restaurantId(), sketch.orders(), sketch.consumers().toBytes(), sketch.totals().toBytes());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+
+    private static DailyRestaurantSketch.Key keyOf(Date orderDay, UUID restaurantId) {
+        return new DailyRestaurantSketch.Key(orderDay.toLocalDate(), restaurantId);
+    }
+}
@@ -0,0 +1,64 @@
+package com.deliverytech.delivery_api.sketch;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/* Order count, distinct consumers and distribution of the totals of a set of orders */
+public final class OrderSketch {
+
+    private long orders;
+    private final HyperLogLog consumers;
+    private final TDigest totals;
+
+    public OrderSketch() {
+        this(0, new HyperLogLog(), new TDigest());
+    }
+
+    OrderSketch(long orders, HyperLogLog consumers, TDigest totals) {
+        this.orders = orders;
+        this.consumers = consumers;
+        this.totals = totals;
+    }
+
+    public void add(UUID consumerId, BigDecimal total) {
+        orders++;
+        if (consumerId != null) {
+            consumers.add(consumerId);
+        }
+        if (total != null) {
+            totals.add(total.doubleValue());
+        }
+    }
+
+    public void merge(OrderSketch other) {
+        orders += other.orders;
+        consumers.merge(other.consumers);
+        totals.merge(other.totals);
+    }
+
+    public long orders() {
+        return orders;
+    }
+
+    public long distinctConsumers() {
+        return consumers.estimate();
+    }
+
+    public double distinctConsumersError() {
+        return consumers.relativeError();
+    }
+
+    HyperLogLog consumers() {
+        return consumers;
+    }
+
+    TDigest totals() {
+        return totals;
+    }
+
+    /* null without orders */
+    public BigDecimal totalQuantile(double q) {
+        double value = totals.quantile(q);
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+    }
+}
@@ -0,0 +1,246 @@
+package com.deliverytech.delivery_api.sketch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/*
+    Quantile estimate of a stream of values (merging t-digest). Values are buffered and folded
+    into a sorted list of centroids, each a mean and a weight; the arcsine scale function keeps
+    centroids small near both ends, so the tails (p99) are far more precise than the middle.
+    With the default compression a digest holds at most about a hundred centroids and a
+    quantile is within about 1% in rank. Digests merge by folding each other's centroids, so
+    a range of days is answered from the digests of the days. Not thread-safe.
+ */
+public final class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 200;
+
+    private static final byte VERSION = 1;
+
+    private final double compression;
+
+    private double[] means = new double[0];
+    private long[] weights = new long[0];
+    private int centroids;
+
+    private final double[] bufferMeans;
+    private final long[] bufferWeights;
+    private int buffered;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("Compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+        this.bufferMeans = new double[(int) (5 * compression)];
+        this.bufferWeights = new long[bufferMeans.length];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    private void add(double mean, long weight) {
+        if (Double.isNaN(mean)) {
+            throw new IllegalArgumentException("Cannot add NaN to a digest");
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        count += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /* NaN when the digest is empty */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        compress();
+        if (centroids == 0) return Double.NaN;
+        if (centroids == 1) return means[0];
+
+        /* Each centroid is centered on its weight; the ends interpolate towards min and max */
+        double index = q * count;
+        if (index < 1) return min;
+        if (weights[0] > 1 && index < weights[0] / 2.0) {
+            return min + (index - 1) / (weights[0] / 2.0 - 1) * (means[0] - min);
+        }
+        if (index > count - 1) return max;
+        int last = centroids - 1;
+        if (weights[last] > 1 && count - index <= weights[last] / 2.0) {
+            return max - (count - index - 1) / (weights[last] / 2.0 - 1) * (max - means[last]);
+        }
+
+        double weightSoFar = weights[0] / 2.0;
+        for (int i = 0; i < last; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2.0;
+            if (weightSoFar + step > index) {
+                /* A single value sits exactly on its mean, not spread around it */
+                double leftUnit = 0;
+                if (weights[i] == 1) {
+                    if (index - weightSoFar < 0.5) return means[i];
+                    leftUnit = 0.5;
+                }
+                double rightUnit = 0;
+                if (weights[i + 1] == 1) {
+                    if (weightSoFar + step - index <= 0.5) return means[i + 1];
+                    rightUnit = 0.5;
+                }
+                double toLeft = index - weightSoFar - leftUnit;
+                double toRight = weightSoFar + step - index - rightUnit;
+                return (means[i] * toRight + means[i + 1] * toLeft) / (toLeft + toRight);
+            }
+            weightSoFar += step;
+        }
+
+        double toLeft = index - count + weights[last] / 2.0;
+        double toRight = weights[last] / 2.0 - toLeft;
+        return (means[last] * toRight + max * toLeft) / (toLeft + toRight);
+    }
+
+    int centroids() {
+        compress();
+        return centroids;
+    }
+
+    /* Folds the buffer into the centroids, merging neighbours while the scale function allows */
+    private void compress() {
+        if (buffered == 0) return;
+
+        int[] order = IntStream.range(0, buffered).boxed()
+                .sorted((a, b) -> Double.compare(bufferMeans[a], bufferMeans[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        double[] newMeans = new double[centroids + buffered];
+        long[] newWeights = new long[newMeans.length];
+        int size = 0;
+
+        int fromCentroids = 0;
+        int fromBuffer = 0;
+        double weightSoFar = 0;
+        double limit = count * inverseScale(scale(0) + 1);
+        while (fromCentroids < centroids || fromBuffer < buffered) {
+            double mean;
+            long weight;
+            if (fromBuffer == buffered
+                    || fromCentroids < centroids && means[fromCentroids] <= bufferMeans[order[fromBuffer]]) {
+                mean = means[fromCentroids];
+                weight = weights[fromCentroids++];
+            } else {
+                mean = bufferMeans[order[fromBuffer]];
+                weight = bufferWeights[order[fromBuffer++]];
+            }
+
+            if (size > 0 && weightSoFar + newWeights[size - 1] + weight <= limit) {
+                long merged = newWeights[size - 1] + weight;
+                newMeans[size - 1] += (mean - newMeans[size - 1]) * weight / merged;
+                newWeights[size - 1] = merged;
+            } else {
+                if (size > 0) {
+                    weightSoFar += newWeights[size - 1];
+                    limit = count * inverseScale(scale(weightSoFar / count) + 1);
+                }
+                newMeans[size] = mean;
+                newWeights[size] = weight;
+                size++;
+            }
+        }
+
+        means = Arrays.copyOf(newMeans, size);
+        weights = Arrays.copyOf(newWeights, size);
+        centroids = size;
+        buffered = 0;
+    }
+
+    private double scale(double q) {
+        return compression * Math.asin(2 * q - 1) / (2 * Math.PI);
+    }
+
+    private double inverseScale(double k) {
+        if (k >= compression / 4) return 1;
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+    /* Means as doubles, weights as variable-length integers: one byte for most centroids */
+    public byte[] toBytes() {
+        compress();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(33 + centroids * 9);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeDouble(compression);
+            out.writeDouble(min);
+            out.writeDouble(max);
+            out.writeInt(centroids);
+            for (int i = 0; i < centroids; i++) {
+                out.writeDouble(means[i]);
+                long weight = weights[i];
+                while ((weight & ~0x7FL) != 0) {
+                    out.writeByte((int) (weight & 0x7F) | 0x80);
+                    weight >>>= 7;
+                }
+                out.writeByte((int) weight);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() != VERSION) {
+            throw new IllegalArgumentException("Unknown t-digest format");
+        }
+        TDigest digest = new TDigest(buffer.getDouble());
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        int size = buffer.getInt();
+        digest.means = new double[size];
+        digest.weights = new long[size];
+        for (int i = 0; i < size; i++) {
+            digest.means[i] = buffer.getDouble();
+            long weight = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte next = buffer.get();
+                weight |= (long) (next & 0x7F) << shift;
+                if (next >= 0) break;
+            }
+            digest.weights[i] = weight;
+            digest.count += weight;
+        }
+        digest.centroids = size;
+        return digest;
+    }
+}
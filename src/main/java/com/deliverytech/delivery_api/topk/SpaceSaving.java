@@ -0,0 +1,154 @@
+package com.deliverytech.delivery_api.topk;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+    Weighted Space-Saving summary: at most capacity counters. A key not counted yet takes
+    over the counter with the smallest count, inheriting that count as its error, so every
+    count is an upper bound and count - error a lower bound of the true weight. The
+    smallest count (the floor) bounds the weight of every key without a counter. Counters
+    sit in an indexed min-heap; arrays grow up to capacity, so sparse summaries stay small.
+ */
+final class SpaceSaving {
+
+    private final int capacity;
+    private final Map<UUID, Integer> slots = new HashMap<>();
+
+    private UUID[] keys = new UUID[0];
+    private long[] counts = new long[0];
+    private long[] errors = new long[0];
+    private int[] heap = new int[0];
+    private int[] positions = new int[0];
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(UUID key, long weight) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot] += weight;
+            siftDown(positions[slot]);
+        } else if (size < capacity) {
+            insert(key, weight);
+        } else {
+            int min = heap[0];
+            long floor = counts[min];
+            slots.remove(keys[min]);
+            slots.put(key, min);
+            keys[min] = key;
+            counts[min] = floor + weight;
+            errors[min] = floor;
+            siftDown(0);
+        }
+    }
+
+    /*
+        Adds an exact count while there is room. Seeded in descending order, every key left
+        out weighs at most the floor, as the summary requires.
+     */
+    boolean seed(UUID key, long count) {
+        if (size == capacity || slots.containsKey(key)) return false;
+        insert(key, count);
+        return true;
+    }
+
+    /* The upper bound of the weight of any key without a counter */
+    long floor() {
+        return size < capacity ? 0 : counts[heap[0]];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /*
+        Combines summaries of disjoint streams. A key missing from a summary may have
+        weighed up to that summary's floor there, which is added to both its count and its
+        error; the sum of the floors bounds any key missing from all of them.
+     */
+    static Merged merge(List<SpaceSaving> summaries) {
+        long floor = 0;
+        Map<UUID, long[]> merged = new HashMap<>();
+        for (SpaceSaving summary : summaries) {
+            long summaryFloor = summary.floor();
+            floor += summaryFloor;
+            for (int slot = 0; slot < summary.size; slot++) {
+                long[] estimate = merged.computeIfAbsent(summary.keys[slot], key -> new long[2]);
+                estimate[0] += summary.counts[slot] - summaryFloor;
+                estimate[1] += summary.errors[slot] - summaryFloor;
+            }
+        }
+
+        Estimate[] estimates = new Estimate[merged.size()];
+        int i = 0;
+        for (Map.Entry<UUID, long[]> entry : merged.entrySet()) {
+            estimates[i++] = new Estimate(entry.getKey(), entry.getValue()[0] + floor, entry.getValue()[1] + floor);
+        }
+        Arrays.sort(estimates, (a, b) -> a.count() != b.count()
+                ? Long.compare(b.count(), a.count())
+                : a.key().compareTo(b.key()));
+        return new Merged(List.of(estimates), floor);
+    }
+
+    record Estimate(UUID key, long count, long error) {
+    }
+
+    /* Estimates by descending count, and the bound of every key not among them */
+    record Merged(List<Estimate> estimates, long floor) {
+    }
+
+    private void insert(UUID key, long count) {
+        if (size == keys.length) {
+            int grown = Math.min(capacity, Math.max(8, size * 2));
+            keys = Arrays.copyOf(keys, grown);
+            counts = Arrays.copyOf(counts, grown);
+            errors = Arrays.copyOf(errors, grown);
+            heap = Arrays.copyOf(heap, grown);
+            positions = Arrays.copyOf(positions, grown);
+        }
+        int slot = size++;
+        keys[slot] = key;
+        counts[slot] = count;
+        errors[slot] = 0;
+        heap[slot] = slot;
+        positions[slot] = slot;
+        slots.put(key, slot);
+        siftUp(slot);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[heap[position]]) return;
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[heap[left]] < counts[heap[smallest]]) smallest = left;
+            if (right < size && counts[heap[right]] < counts[heap[smallest]]) smallest = right;
+            if (smallest == position) return;
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slot = heap[a];
+        heap[a] = heap[b];
+        heap[b] = slot;
+        positions[heap[a]] = a;
+        positions[heap[b]] = b;
+    }
+}
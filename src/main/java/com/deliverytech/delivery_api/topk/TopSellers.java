@@ -0,0 +1,241 @@
+package com.deliverytech.delivery_api.topk;
+
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+    Best-selling products (by quantity) and restaurants (by sales) of the delivered orders,
+    kept in Space-Saving summaries instead of aggregating the rollups on every call. Each
+    ranking exists overall and per category, for everything delivered and for the last
+    hour and day; the windows are rings of summaries per 5 minutes and per hour, merged
+    when read, so they slide in those steps. Rankings carry the error bound of each entry
+    and whether it is certainly in the top. Deliveries are counted on every instance, from
+    the broadcast copy of their events; an order seen again, as on a redelivered event, is skipped.
+ */
+public class TopSellers {
+
+    private static final int RECENT_ORDERS = 10_000;
+
+    private final int capacity;
+    private final Clock clock;
+    private final Counter counted;
+    private final Counter duplicates;
+
+    private final Board products;
+    private final Board restaurants;
+    private final Map<UUID, String> names = new HashMap<>();
+    private final Map<UUID, Boolean> recentOrders = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > RECENT_ORDERS;
+        }
+    };
+
+    public TopSellers(int capacity, Clock clock, MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.clock = clock;
+        this.products = new Board();
+        this.restaurants = new Board();
+        this.counted = Counter.builder("delivery_api.reports.top.deliveries")
+                .description("Pedidos entregues contabilizados nos rankings")
+                .tag("result", "counted")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("delivery_api.reports.top.deliveries")
+                .description("Pedidos entregues contabilizados nos rankings")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+    }
+
+    public record Delivery(UUID orderId, UUID restaurantId, String restaurantName, String restaurantCategory,
+                           BigDecimal total, List<DeliveredItem> items) {
+    }
+
+    public record DeliveredItem(UUID productId, String productName, String category, int quantity) {
+    }
+
+    /* Entries by descending value; value - error <= true value <= value */
+    public record Ranking(List<Entry> entries) {
+    }
+
+    public record Entry(UUID id, String name, long value, long error, boolean guaranteed) {
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /* Returns false when the order was already counted */
+    public synchronized boolean record(Delivery delivery) {
+        if (recentOrders.putIfAbsent(delivery.orderId(), Boolean.TRUE) != null) {
+            duplicates.increment();
+            return false;
+        }
+
+        long now = clock.millis();
+        if (delivery.restaurantId() != null) {
+            names.put(delivery.restaurantId(), delivery.restaurantName());
+            restaurants.add(delivery.restaurantId(), delivery.restaurantCategory(), cents(delivery.total()), now);
+        }
+        for (DeliveredItem item : delivery.items()) {
+            if (item.productId() == null || item.quantity() <= 0) continue;
+            names.put(item.productId(), item.productName());
+            products.add(item.productId(), item.category(), item.quantity(), now);
+        }
+        counted.increment();
+        return true;
+    }
+
+    /* Seeds the overall rankings with exact totals; must be called in descending order */
+    public synchronized void seedProduct(UUID productId, String name, String category, long quantity) {
+        names.putIfAbsent(productId, name);
+        products.seed(productId, category, quantity);
+    }
+
+    public synchronized void seedRestaurant(UUID restaurantId, String name, String category, BigDecimal sales) {
+        names.putIfAbsent(restaurantId, name);
+        restaurants.seed(restaurantId, category, cents(sales));
+    }
+
+    /* Quantities sold; a null category ranks every product */
+    public synchronized Ranking topProducts(TopSellerWindow window, String category, int limit) {
+        return products.top(window, category, limit);
+    }
+
+    /* Sales in cents; a null category ranks every restaurant */
+    public synchronized Ranking topRestaurants(TopSellerWindow window, String category, int limit) {
+        return restaurants.top(window, category, limit);
+    }
+
+    public synchronized void clear() {
+        products.clear();
+        restaurants.clear();
+        names.clear();
+        recentOrders.clear();
+    }
+
+    static String categoryOf(String category) {
+        return category == null || category.isBlank() ? null : category.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /* One ranking overall and one per category */
+    private final class Board {
+
+        private Windows overall = new Windows();
+        private final Map<String, Windows> categories = new HashMap<>();
+
+        void add(UUID key, String category, long weight, long now) {
+            overall.add(key, weight, now);
+            String normalized = categoryOf(category);
+            if (normalized != null) {
+                categories.computeIfAbsent(normalized, c -> new Windows()).add(key, weight, now);
+            }
+        }
+
+        void seed(UUID key, String category, long weight) {
+            overall.all.seed(key, weight);
+            String normalized = categoryOf(category);
+            if (normalized != null) {
+                categories.computeIfAbsent(normalized, c -> new Windows()).all.seed(key, weight);
+            }
+        }
+
+        Ranking top(TopSellerWindow window, String category, int limit) {
+            String normalized = categoryOf(category);
+            Windows windows = normalized == null ? overall : categories.get(normalized);
+            if (windows == null) return new Ranking(List.of());
+
+            SpaceSaving.Merged merged = SpaceSaving.merge(windows.summaries(window, clock.millis()));
+            List<SpaceSaving.Estimate> estimates = merged.estimates();
+            int size = Math.min(limit, estimates.size());
+            long threshold = size < estimates.size()
+                    ? Math.max(merged.floor(), estimates.get(size).count())
+                    : merged.floor();
+
+            List<Entry> entries = new ArrayList<>(size);
+            for (SpaceSaving.Estimate estimate : estimates.subList(0, size)) {
+                entries.add(new Entry(estimate.key(), names.get(estimate.key()), estimate.count(), estimate.error(),
+                        estimate.count() - estimate.error() >= threshold));
+            }
+            return new Ranking(entries);
+        }
+
+        void clear() {
+            overall = new Windows();
+            categories.clear();
+        }
+    }
+
+    /* Everything delivered, plus rings of summaries for the last hour and the last day */
+    private final class Windows {
+
+        private final SpaceSaving all = new SpaceSaving(capacity);
+        private final Ring hour = new Ring(Duration.ofMinutes(5), 12);
+        private final Ring day = new Ring(Duration.ofHours(1), 24);
+
+        void add(UUID key, long weight, long now) {
+            all.add(key, weight);
+            hour.add(key, weight, now);
+            day.add(key, weight, now);
+        }
+
+        List<SpaceSaving> summaries(TopSellerWindow window, long now) {
+            return switch (window) {
+                case HOUR -> hour.summaries(now);
+                case DAY -> day.summaries(now);
+                case ALL -> List.of(all);
+            };
+        }
+    }
+
+    /* One summary per step; a slot is reused once its step has left the ring */
+    private final class Ring {
+
+        private final long stepMillis;
+        private final SpaceSaving[] summaries;
+        private final long[] steps;
+
+        Ring(Duration step, int length) {
+            this.stepMillis = step.toMillis();
+            this.summaries = new SpaceSaving[length];
+            this.steps = new long[length];
+        }
+
+        void add(UUID key, long weight, long now) {
+            long step = Math.floorDiv(now, stepMillis);
+            int slot = (int) Math.floorMod(step, summaries.length);
+            if (summaries[slot] == null || steps[slot] != step) {
+                summaries[slot] = new SpaceSaving(capacity);
+                steps[slot] = step;
+            }
+            summaries[slot].add(key, weight);
+        }
+
+        List<SpaceSaving> summaries(long now) {
+            long current = Math.floorDiv(now, stepMillis);
+            List<SpaceSaving> live = new ArrayList<>();
+            for (int slot = 0; slot < summaries.length; slot++) {
+                if (summaries[slot] != null && steps[slot] > current - summaries.length && steps[slot] <= current) {
+                    live.add(summaries[slot]);
+                }
+            }
+            return live;
+        }
+    }
+}
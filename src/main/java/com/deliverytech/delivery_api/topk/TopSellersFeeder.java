@@ -0,0 +1,139 @@
+package com.deliverytech.delivery_api.topk;
+
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
+import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/*
+    Seeds the overall rankings from the daily rollups on start, then counts the orders
+    broadcast as delivered, on every instance. The hour and day rankings start empty.
+    Deliveries are held until the seed finishes; those last changed before it started are
+    already in the rollups and are not counted again, so the error bounds stay exact.
+ */
+@Component
+public class TopSellersFeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(TopSellersFeeder.class);
+
+    private static final String PRODUCTS_QUERY =
+            "SELECT s.product_id, p.name, p.category, SUM(s.quantity) AS sold " +
+                    "FROM tb_daily_product_sales s JOIN tb_products p ON p.id = s.product_id " +
+                    "WHERE s.status = 'DELIVERED' GROUP BY s.product_id, p.name, p.category ORDER BY sold DESC";
+
+    private static final String RESTAURANTS_QUERY =
+            "SELECT s.restaurant_id, r.name, r.category, SUM(s.total_sales) AS sales " +
+                    "FROM tb_daily_restaurant_sales s JOIN tb_restaurants r ON r.id = s.restaurant_id " +
+                    "WHERE s.status = 'DELIVERED' GROUP BY s.restaurant_id, r.name, r.category ORDER BY sales DESC";
+
+    private final TopSellers topSellers;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object lock = new Object();
+    /* Deliveries held until the seed finishes; null once it has */
+    private List<Collection<UUID>> pending = new ArrayList<>();
+    private volatile LocalDateTime seededFrom;
+
+    public TopSellersFeeder(TopSellers topSellers, OrderRepository orderRepository, JdbcTemplate jdbcTemplate) {
+        this.topSellers = topSellers;
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            jdbcTemplate.query(PRODUCTS_QUERY, (RowCallbackHandler) rs -> topSellers.seedProduct(
+                    rs.getObject("product_id", UUID.class), rs.getString("name"), rs.getString("category"),
+                    rs.getLong("sold")));
+            jdbcTemplate.query(RESTAURANTS_QUERY, (RowCallbackHandler) rs -> topSellers.seedRestaurant(
+                    rs.getObject("restaurant_id", UUID.class), rs.getString("name"), rs.getString("category"),
+                    rs.getBigDecimal("sales")));
+            seededFrom = started;
+        } catch (DataAccessException e) {
+            log.error("Não foi possível carregar os rankings de mais vendidos a partir dos rollups", e);
+        }
+
+        List<Collection<UUID>> held;
+        synchronized (lock) {
+            held = pending;
+            pending = null;
+        }
+        if (held != null) {
+            held.forEach(this::recordDeliveries);
+        }
+    }
+
+    @EventListener(condition = "#event.broadcast")
+    public void onOrderStatusUpdate(OrderStatusUpdateEvent event) {
+        if (event.getOrder().getStatus() == OrderStatus.DELIVERED) {
+            deliver(List.of(event.getOrder().getId()));
+        }
+    }
+
+    @EventListener(condition = "#event.broadcast")
+    public void onOrderBulkStatusUpdate(OrderBulkStatusUpdateEvent event) {
+        if (event.getBatch().status() == OrderStatus.DELIVERED) {
+            deliver(event.getBatch().orderIds());
+        }
+    }
+
+    private void deliver(Collection<UUID> orderIds) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(List.copyOf(orderIds));
+                return;
+            }
+        }
+        recordDeliveries(orderIds);
+    }
+
+    /* The snapshot in the event has no associations, the orders and their items are read again */
+    private void recordDeliveries(Collection<UUID> orderIds) {
+        try {
+            for (Order order : orderRepository.findDetailByIdIn(orderIds)) {
+                if (order.getStatus() != OrderStatus.DELIVERED || seeded(order)) continue;
+                topSellers.record(toDelivery(order));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pedidos entregues {} não contabilizados nos rankings", orderIds, e);
+        }
+    }
+
+    private boolean seeded(Order order) {
+        LocalDateTime from = seededFrom;
+        return from != null && order.getLastModifiedDate() != null && order.getLastModifiedDate().isBefore(from);
+    }
+
+    private static TopSellers.Delivery toDelivery(Order order) {
+        var restaurant = order.getRestaurant();
+        return new TopSellers.Delivery(order.getId(),
+                restaurant == null ? null : restaurant.getId(),
+                restaurant == null ? null : restaurant.getName(),
+                restaurant == null ? null : restaurant.getCategory(),
+                order.getTotal(),
+                order.getItems() == null ? List.of() : order.getItems().stream()
+                        .filter(item -> item.getProduct() != null)
+                        .map(item -> new TopSellers.DeliveredItem(item.getProduct().getId(), item.getProduct().getName(),
+                                item.getProduct().getCategory(), item.getQuantity() == null ? 0 : item.getQuantity()))
+                        .toList());
+    }
+}
@@ -0,0 +1,75 @@
+package com.deliverytech.delivery_api.validation;
+
+import com.deliverytech.delivery_api.repository.specification.OrderSearchFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/*
+    Query-shape check of the admin order search. Restaurant, consumer and address prefix
+    each have a composite index (see schema-postgresql.sql). Without any of them only the
+    order_date range bounds the scan of tb_orders, so a missing range is rewritten to the
+    most recent days and a given one may not exceed the maximum span.
+ */
+@Component
+public class OrderSearchValidator {
+
+    static final int MIN_ADDRESS_PREFIX = 3;
+
+    private final Duration defaultWindow;
+    private final Duration maxRange;
+    private final Clock clock;
+
+    @Autowired
+    public OrderSearchValidator(
+            @Value("${orders.search.default-window:P30D}") Duration defaultWindow,
+            @Value("${orders.search.max-range:P92D}") Duration maxRange
+    ) {
+        this(defaultWindow, maxRange, Clock.systemDefaultZone());
+    }
+
+    OrderSearchValidator(Duration defaultWindow, Duration maxRange, Clock clock) {
+        this.defaultWindow = defaultWindow;
+        this.maxRange = maxRange;
+        this.clock = clock;
+    }
+
+    public OrderSearchFilter validate(OrderSearchFilter filter) {
+        String prefix = filter.deliveryAddressPrefix() == null || filter.deliveryAddressPrefix().isBlank()
+                ? null : filter.deliveryAddressPrefix().strip();
+        if (prefix != null && prefix.length() < MIN_ADDRESS_PREFIX) {
+            throw new IllegalArgumentException(String.format(
+                    "O prefixo do endereço de entrega deve ter ao menos %d caracteres", MIN_ADDRESS_PREFIX));
+        }
+        if (filter.minTotal() != null && filter.maxTotal() != null && filter.minTotal().compareTo(filter.maxTotal()) > 0) {
+            throw new IllegalArgumentException("O valor total mínimo não pode ser maior que o máximo");
+        }
+
+        LocalDate startDate = filter.startDate();
+        LocalDate endDate = filter.endDate();
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final");
+        }
+
+        OrderSearchFilter checked = filter.withDeliveryAddressPrefix(prefix);
+        if (checked.isAnchored()) {
+            return checked;
+        }
+
+        if (startDate == null) {
+            LocalDate lastDay = endDate != null ? endDate : LocalDate.now(clock);
+            return checked.withDates(lastDay.minusDays(defaultWindow.toDays()), lastDay);
+        }
+        LocalDate lastDay = endDate != null ? endDate : startDate;
+        if (startDate.plusDays(maxRange.toDays()).isBefore(lastDay)) {
+            throw new IllegalArgumentException(String.format(
+                    "Sem filtro por restaurante, cliente ou endereço, o período de busca deve ser de no máximo %d dias",
+                    maxRange.toDays()));
+        }
+        return checked;
+    }
+}
@@ -1,37 +1,84 @@
 package com.deliverytech.delivery_api.validation;
 
+import com.deliverytech.delivery_api.dto.request.OrderItemRequestDto;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
 import com.deliverytech.delivery_api.model.Product;
 import com.deliverytech.delivery_api.model.Restaurant;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import io.micrometer.tracing.annotation.NewSpan;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 @Component
 @RequiredArgsConstructor
 public class OrderValidator {
 
     private final Tracer tracer;
 
-    @NewSpan("checkProductBelongsRestaurant")
-    public void validateProductBelongsRestaurant(Restaurant restaurant, Product product) {
-        tracer.currentSpan().tag("restaurant.name", restaurant.getName());
-        tracer.currentSpan().tag("product.name", product.getName());
+    /*
+        Validates every item of the order against the products resolved in bulk,
+        so a single response reports all invalid items instead of the first one.
+     */
+    @NewSpan("checkOrderItems")
+    public void validateOrderItems(Restaurant restaurant, List<OrderItemRequestDto> items, Map<UUID, Product> products) {
+        tag("restaurant.name", restaurant.getName());
+        tag("items.count", String.valueOf(items.size()));
+
+        Set<UUID> notFound = new LinkedHashSet<>();
+        Set<String> violations = new LinkedHashSet<>();
+
+        for (OrderItemRequestDto item : items) {
+            Product product = products.get(item.getProductId());
+
+            if (product == null) {
+                notFound.add(item.getProductId());
+                continue;
+            }
+
+            if (!product.getRestaurant().getId().equals(restaurant.getId())) {
+                violations.add(String.format("O produto '%s' (%s) não pertence ao restaurante informado.",
+                        product.getName(), product.getId()));
+            } else if (!Boolean.TRUE.equals(product.getAvailable())) {
+                violations.add(String.format("O produto '%s' (%s) está indisponível no momento.",
+                        product.getName(), product.getId()));
+            }
+        }
 
-        if (!product.getRestaurant().getId().equals(restaurant.getId())) {
-            tracer.currentSpan().tag("validation.result", "failed");
-            throw new BusinessException(
-                    String.format("O produto '%s' (%s) não pertence ao restaurante informado.",
-                            product.getName(), product.getId()));
+        if (!notFound.isEmpty()) {
+            tag("validation.result", "failed");
+            throw new ResourceNotFoundException("Produto não encontrado: " + notFound.stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(", ")));
         }
 
-        tracer.currentSpan().tag("validation.result", "success");
+        if (!violations.isEmpty()) {
+            tag("validation.result", "failed");
+            throw new BusinessException(String.join(" ", violations));
+        }
+
+        tag("validation.result", "success");
     }
 
     @NewSpan("checkStatusTransition")
     public void validateStatusTransition(OrderStatus current, OrderStatus newStatus) {
         //
     }
+
+    /* the async workers validate outside any request, where there is no current span */
+    private void tag(String key, String value) {
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag(key, value);
+        }
+    }
 }
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery_api;
 
+import com.deliverytech.delivery_api.analytics.OrderColumnStore;
+import com.deliverytech.delivery_api.reportcache.ReportDayCache;
 import com.deliverytech.delivery_api.repository.*;
+import com.deliverytech.delivery_api.topk.TopSellers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +43,30 @@ public class BaseIntegrationTest {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DailyRestaurantSalesRepository dailyRestaurantSalesRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private DailyConsumerOrdersRepository dailyConsumerOrdersRepository;
+
+    @Autowired
+    private DailyRestaurantSketchRepository dailyRestaurantSketchRepository;
+
+    @Autowired
+    private ReportDayCache reportDayCache;
+
+    @Autowired
+    private OrderColumnStore orderColumnStore;
+
+    @Autowired
+    private TopSellers topSellers;
+
     @BeforeEach
     void cleanDatabase() {
         orderItemRepository.deleteAllInBatch();
@@ -48,5 +75,13 @@ public class BaseIntegrationTest {
         userRepository.deleteAllInBatch();
         consumerRepository.deleteAllInBatch();
         restaurantRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        dailyRestaurantSalesRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        dailyConsumerOrdersRepository.deleteAllInBatch();
+        dailyRestaurantSketchRepository.deleteAllInBatch();
+        reportDayCache.invalidateAll();
+        orderColumnStore.clear();
+        topSellers.clear();
     }
 }
@@ -0,0 +1,122 @@
+package com.deliverytech.delivery_api.analytics;
+
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.id.UuidV7;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    Load time and group-by latency of the column store. Opt-in, as it holds millions of
+    orders (about 1 GB of heap at 10M):
+
+        mvn test -Dtest=OrderColumnStoreBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=10000000]
+            [-Dbenchmark.parallelism=8]
+
+    Each query runs a few times to warm up, then the median of the measured runs is logged.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderColumnStoreBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderColumnStoreBenchmarkTest.class);
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 7;
+
+    @Test
+    @DisplayName("Should load and scan the configured number of orders")
+    void should_LoadAndQueryOrders() {
+        int rows = Integer.getInteger("benchmark.rows", 10_000_000);
+        int parallelism = Integer.getInteger("benchmark.parallelism", Runtime.getRuntime().availableProcessors());
+        Duration window = Duration.ofDays(7);
+        LocalDateTime now = LocalDateTime.now();
+
+        UUID[] restaurants = ids(500);
+        UUID[] consumers = ids(100_000);
+        UUID[] products = ids(2_000);
+
+        try (OrderColumnStore store = new OrderColumnStore(window, 65_536, parallelism, Clock.systemDefaultZone(),
+                new SimpleMeterRegistry())) {
+            SplittableRandom random = new SplittableRandom(42);
+            long windowMinutes = window.toMinutes() - 1;
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                BigDecimal total = BigDecimal.valueOf(random.nextInt(1_000, 20_000), 2);
+                store.add(new OrderColumnStore.OrderRow(UuidV7.randomUuid(),
+                                restaurants[random.nextInt(restaurants.length)],
+                                consumers[random.nextInt(consumers.length)],
+                                now.minusMinutes(random.nextLong(windowMinutes)),
+                                STATUSES[random.nextInt(STATUSES.length)], total),
+                        List.of(new OrderColumnStore.ItemRow(products[random.nextInt(products.length)],
+                                random.nextInt(1, 5), total)));
+            }
+            long loadMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("analytics-benchmark; rows={}; segments={}; parallelism={}; loadMillis={}",
+                    store.size(), store.segmentCount(), parallelism, loadMillis);
+            assertEquals(rows, store.size());
+
+            LocalDateTime from = now.minus(window);
+            LocalDateTime to = now.plusMinutes(1);
+            measure(store, "orders by restaurant and hour", new AnalyticsQuery(AnalyticsFact.ORDERS, from, to,
+                    Set.of(), null, null, null, List.of(AnalyticsDimension.RESTAURANT, AnalyticsDimension.HOUR)), rows);
+            measure(store, "delivered orders by restaurant and status", new AnalyticsQuery(AnalyticsFact.ORDERS, from, to,
+                    Set.of(OrderStatus.DELIVERED), null, null, null,
+                    List.of(AnalyticsDimension.RESTAURANT, AnalyticsDimension.STATUS)), -1);
+            measure(store, "orders of one restaurant by day", new AnalyticsQuery(AnalyticsFact.ORDERS, from, to,
+                    Set.of(), restaurants[0], null, null, List.of(AnalyticsDimension.DAY)), -1);
+            measure(store, "items by product", new AnalyticsQuery(AnalyticsFact.ITEMS, from, to,
+                    Set.of(), null, null, null, List.of(AnalyticsDimension.PRODUCT)), rows);
+            measure(store, "orders by consumer", new AnalyticsQuery(AnalyticsFact.ORDERS, from, to,
+                    Set.of(), null, null, null, List.of(AnalyticsDimension.CONSUMER)), rows);
+        }
+    }
+
+    /* expectedCount, when not negative, is checked against the sum of the group counts */
+    private void measure(OrderColumnStore store, String name, AnalyticsQuery query, long expectedCount) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            store.query(query);
+        }
+
+        long[] millis = new long[MEASURED_RUNS];
+        AnalyticsResult result = null;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            result = store.query(query);
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+
+        long count = result.groups().stream().mapToLong(AnalyticsResult.Group::count).sum();
+        log.info("analytics-benchmark; query={}; groups={}; matched={}; scannedRows={}; medianMillis={}; minMillis={}; maxMillis={}",
+                name, result.groups().size(), count, result.scannedRows(), millis[MEASURED_RUNS / 2], millis[0],
+                millis[MEASURED_RUNS - 1]);
+        if (expectedCount >= 0) {
+            assertEquals(expectedCount, count);
+        }
+    }
+
+    private static UUID[] ids(int count) {
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = UuidV7.randomUuid();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,303 @@
+package com.deliverytech.delivery_api.analytics;
+
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderColumnStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 10, 12, 0);
+    private static final Duration WINDOW = Duration.ofDays(7);
+
+    private static final UUID RESTAURANT_A = UUID.fromString("00000000-0000-7000-8000-00000000000a");
+    private static final UUID RESTAURANT_B = UUID.fromString("00000000-0000-7000-8000-00000000000b");
+    private static final UUID CONSUMER_A = UUID.fromString("00000000-0000-7000-8000-0000000000ca");
+    private static final UUID CONSUMER_B = UUID.fromString("00000000-0000-7000-8000-0000000000cb");
+    private static final UUID PIZZA = UUID.fromString("00000000-0000-7000-8000-0000000000f1");
+    private static final UUID SODA = UUID.fromString("00000000-0000-7000-8000-0000000000f2");
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderColumnStore store;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        store = new OrderColumnStore(WINDOW, 2, 2, clock, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Nested
+    @DisplayName("Group by and filters")
+    class QueryTests {
+
+        @BeforeEach
+        void setUp() {
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusHours(1), OrderStatus.DELIVERED, "40.00",
+                    new OrderColumnStore.ItemRow(PIZZA, 2, new BigDecimal("30.00")),
+                    new OrderColumnStore.ItemRow(SODA, 2, new BigDecimal("10.00")));
+            add(RESTAURANT_A, CONSUMER_B, NOW.minusHours(1).plusMinutes(30), OrderStatus.CANCELED, "10.00",
+                    new OrderColumnStore.ItemRow(SODA, 2, new BigDecimal("10.00")));
+            add(RESTAURANT_B, CONSUMER_A, NOW.minusDays(2), OrderStatus.DELIVERED, "15.50",
+                    new OrderColumnStore.ItemRow(PIZZA, 1, new BigDecimal("15.50")));
+            add(RESTAURANT_B, CONSUMER_B, NOW.minusDays(2).plusHours(1), OrderStatus.PENDING, "20.00");
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusDays(3), OrderStatus.DELIVERED, "5.00");
+        }
+
+        @Test
+        @DisplayName("Should count and sum the orders of each group, in group order, across segments")
+        void should_AggregateOrders_When_GroupedByRestaurantAndStatus() {
+            AnalyticsResult result = store.query(query(AnalyticsFact.ORDERS, NOW.minusDays(7), NOW, Set.of(),
+                    null, null, null, AnalyticsDimension.RESTAURANT, AnalyticsDimension.STATUS));
+
+            assertEquals(List.of(
+                    new AnalyticsResult.Group(List.of(RESTAURANT_A, OrderStatus.DELIVERED), 2, 4500, 0),
+                    new AnalyticsResult.Group(List.of(RESTAURANT_A, OrderStatus.CANCELED), 1, 1000, 0),
+                    new AnalyticsResult.Group(List.of(RESTAURANT_B, OrderStatus.PENDING), 1, 2000, 0),
+                    new AnalyticsResult.Group(List.of(RESTAURANT_B, OrderStatus.DELIVERED), 1, 1550, 0)
+            ), result.groups());
+            assertEquals(5, result.scannedRows());
+            assertEquals(3, result.scannedSegments());
+            assertEquals(1, meterRegistry.get("delivery_api.analytics.query").timer().count());
+            assertEquals(5.0, meterRegistry.get("delivery_api.analytics.orders").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should return a single group when there are no dimensions")
+        void should_ReturnTotals_When_NotGrouped() {
+            AnalyticsResult result = store.query(query(AnalyticsFact.ORDERS, NOW.minusDays(7), NOW,
+                    Set.of(OrderStatus.DELIVERED), null, CONSUMER_A, null));
+
+            assertEquals(List.of(new AnalyticsResult.Group(List.of(), 3, 6050, 0)), result.groups());
+        }
+
+        @Test
+        @DisplayName("Should skip the segments outside the period")
+        void should_SkipSegments_When_OutsidePeriod() {
+            AnalyticsResult result = store.query(query(AnalyticsFact.ORDERS, NOW.minusHours(2), NOW, Set.of(),
+                    RESTAURANT_A, null, null, AnalyticsDimension.CONSUMER));
+
+            assertEquals(List.of(
+                    new AnalyticsResult.Group(List.of(CONSUMER_A), 1, 4000, 0),
+                    new AnalyticsResult.Group(List.of(CONSUMER_B), 1, 1000, 0)
+            ), result.groups());
+            assertEquals(1, result.scannedSegments());
+        }
+
+        @Test
+        @DisplayName("Should aggregate the items, with quantities, by product")
+        void should_AggregateItems_When_FactIsItems() {
+            AnalyticsResult result = store.query(query(AnalyticsFact.ITEMS, NOW.minusDays(7), NOW, Set.of(),
+                    null, null, null, AnalyticsDimension.PRODUCT));
+
+            assertEquals(List.of(
+                    new AnalyticsResult.Group(List.of(PIZZA), 2, 4550, 3),
+                    new AnalyticsResult.Group(List.of(SODA), 2, 2000, 4)
+            ), result.groups());
+
+            AnalyticsResult pizza = store.query(query(AnalyticsFact.ITEMS, NOW.minusDays(7), NOW, Set.of(),
+                    null, null, PIZZA, AnalyticsDimension.RESTAURANT));
+            assertEquals(List.of(
+                    new AnalyticsResult.Group(List.of(RESTAURANT_A), 1, 3000, 2),
+                    new AnalyticsResult.Group(List.of(RESTAURANT_B), 1, 1550, 1)
+            ), pizza.groups());
+        }
+
+        @Test
+        @DisplayName("Should bucket the orders by hour and by day")
+        void should_BucketByTime_When_GroupedByHourAndDay() {
+            AnalyticsResult hours = store.query(query(AnalyticsFact.ORDERS, NOW.minusDays(2).minusMinutes(30),
+                    NOW.minusDays(1), Set.of(), null, null, null, AnalyticsDimension.HOUR));
+            assertEquals(List.of(
+                    new AnalyticsResult.Group(List.of(NOW.minusDays(2)), 1, 1550, 0),
+                    new AnalyticsResult.Group(List.of(NOW.minusDays(2).plusHours(1)), 1, 2000, 0)
+            ), hours.groups());
+
+            AnalyticsResult days = store.query(query(AnalyticsFact.ORDERS, NOW.minusDays(7), NOW, Set.of(),
+                    null, null, null, AnalyticsDimension.DAY));
+            assertEquals(List.of(LocalDate.of(2025, 10, 7), LocalDate.of(2025, 10, 8), LocalDate.of(2025, 10, 10)),
+                    days.groups().stream().map(group -> group.keys().getFirst()).toList());
+            assertEquals(List.of(1L, 2L, 2L), days.groups().stream().map(AnalyticsResult.Group::count).toList());
+        }
+
+        @Test
+        @DisplayName("Should return no groups when a filter value was never stored or the period is empty")
+        void should_ReturnNothing_When_FilterUnknownOrPeriodEmpty() {
+            assertTrue(store.query(query(AnalyticsFact.ORDERS, NOW.minusDays(7), NOW, Set.of(),
+                    UUID.randomUUID(), null, null)).groups().isEmpty());
+            assertTrue(store.query(query(AnalyticsFact.ITEMS, NOW.minusDays(7), NOW, Set.of(),
+                    null, null, UUID.randomUUID())).groups().isEmpty());
+            assertTrue(store.query(query(AnalyticsFact.ORDERS, NOW, NOW, Set.of(),
+                    null, null, null)).groups().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject grouping by product on orders")
+        void should_Throw_When_ProductGroupOnOrders() {
+            assertThrows(IllegalArgumentException.class, () -> store.query(query(AnalyticsFact.ORDERS,
+                    NOW.minusDays(7), NOW, Set.of(), null, null, null, AnalyticsDimension.PRODUCT)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject group combinations whose keys do not fit in 62 bits")
+    void should_Throw_When_GroupKeysTooWide() {
+        store.close();
+        store = new OrderColumnStore(WINDOW, 4096, 1, clock, meterRegistry);
+        for (int i = 0; i < 2048; i++) {
+            add(UUID.randomUUID(), UUID.randomUUID(), NOW.minusMinutes(i), OrderStatus.PENDING, "1.00");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> store.query(query(AnalyticsFact.ORDERS,
+                LocalDateTime.MIN, LocalDateTime.MAX, Set.of(), null, null, null, AnalyticsDimension.RESTAURANT,
+                AnalyticsDimension.CONSUMER, AnalyticsDimension.HOUR, AnalyticsDimension.DAY)));
+    }
+
+    @Nested
+    @DisplayName("Writes and eviction")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should skip duplicates, orders before the window and orders without date or status")
+        void should_SkipOrder_When_DuplicateOrOutsideWindow() {
+            UUID id = add(RESTAURANT_A, CONSUMER_A, NOW.minusHours(1), OrderStatus.PENDING, "10.00");
+
+            assertFalse(store.add(new OrderColumnStore.OrderRow(id, RESTAURANT_A, CONSUMER_A, NOW.minusHours(1),
+                    OrderStatus.PENDING, BigDecimal.TEN), List.of()));
+            assertFalse(store.add(new OrderColumnStore.OrderRow(UUID.randomUUID(), RESTAURANT_A, CONSUMER_A,
+                    NOW.minusDays(8), OrderStatus.PENDING, BigDecimal.TEN), List.of()));
+            assertFalse(store.add(new OrderColumnStore.OrderRow(UUID.randomUUID(), RESTAURANT_A, CONSUMER_A,
+                    NOW, null, BigDecimal.TEN), List.of()));
+            assertFalse(store.add(new OrderColumnStore.OrderRow(UUID.randomUUID(), RESTAURANT_A, CONSUMER_A,
+                    null, OrderStatus.PENDING, BigDecimal.TEN), List.of()));
+            assertEquals(1, store.size());
+        }
+
+        @Test
+        @DisplayName("Should update the status of a stored order")
+        void should_UpdateStatus_When_OrderStored() {
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusHours(2), OrderStatus.PENDING, "10.00");
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusHours(2), OrderStatus.PENDING, "10.00");
+            UUID id = add(RESTAURANT_A, CONSUMER_A, NOW.minusHours(1), OrderStatus.PENDING, "10.00");
+
+            assertTrue(store.updateStatus(id, OrderStatus.DELIVERED));
+            assertFalse(store.updateStatus(UUID.randomUUID(), OrderStatus.DELIVERED));
+
+            assertEquals(List.of(OrderStatus.PENDING, OrderStatus.DELIVERED), statuses());
+        }
+
+        @Test
+        @DisplayName("Should apply status changes that arrive during the load to orders loaded afterwards")
+        void should_ApplyLateStatus_When_ChangedDuringLoad() {
+            UUID id = nextId();
+            store.beginLoad();
+            store.updateStatus(id, OrderStatus.CANCELED);
+            store.add(new OrderColumnStore.OrderRow(id, RESTAURANT_A, CONSUMER_A, NOW.minusHours(1),
+                    OrderStatus.PENDING, BigDecimal.TEN), List.of());
+            store.endLoad();
+
+            UUID afterLoad = nextId();
+            store.updateStatus(afterLoad, OrderStatus.CANCELED);
+            store.add(new OrderColumnStore.OrderRow(afterLoad, RESTAURANT_A, CONSUMER_A, NOW.minusHours(1),
+                    OrderStatus.PENDING, BigDecimal.TEN), List.of());
+
+            assertEquals(List.of(OrderStatus.PENDING, OrderStatus.CANCELED), statuses());
+        }
+
+        @Test
+        @DisplayName("Should drop whole segments once all their orders leave the window")
+        void should_EvictSegments_When_WindowMovesPast() {
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusDays(6), OrderStatus.PENDING, "10.00");
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusDays(6), OrderStatus.PENDING, "10.00");
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusDays(6), OrderStatus.PENDING, "10.00");
+            add(RESTAURANT_A, CONSUMER_A, NOW.minusDays(1), OrderStatus.PENDING, "10.00");
+            assertEquals(0, store.evictExpired());
+
+            clock.advance(Duration.ofDays(2));
+
+            assertEquals(2, store.evictExpired());
+            assertEquals(2, store.size());
+            assertEquals(1, store.segmentCount());
+
+            store.clear();
+            assertEquals(0, store.size());
+        }
+    }
+
+    private List<OrderStatus> statuses() {
+        return store.query(query(AnalyticsFact.ORDERS, NOW.minusDays(7), NOW, Set.of(), null, null, null,
+                AnalyticsDimension.STATUS)).groups().stream().map(group -> (OrderStatus) group.keys().getFirst()).toList();
+    }
+
+    private UUID add(UUID restaurant, UUID consumer, LocalDateTime orderDate, OrderStatus status, String total,
+                     OrderColumnStore.ItemRow... items) {
+        UUID id = nextId();
+        assertTrue(store.add(new OrderColumnStore.OrderRow(id, restaurant, consumer, orderDate, status,
+                new BigDecimal(total)), List.of(items)));
+        return id;
+    }
+
+    /* Increasing ids, like UUIDv7 */
+    private UUID nextId() {
+        return new UUID(0x0199_0000_0000_7000L + (++nextId << 16), 0x8000_0000_0000_0000L | nextId);
+    }
+
+    private static AnalyticsQuery query(AnalyticsFact fact, LocalDateTime from, LocalDateTime to, Set<OrderStatus> statuses,
+                                        UUID restaurantId, UUID consumerId, UUID productId,
+                                        AnalyticsDimension... groupBy) {
+        return new AnalyticsQuery(fact, from, to, statuses, restaurantId, consumerId, productId, List.of(groupBy));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = NOW.toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.deliverytech.delivery_api.archive;
+
+import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.id.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderArchiveTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private OrderArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = newArchive();
+    }
+
+    private OrderArchive newArchive() {
+        return new OrderArchive(directory.toString(), 4, objectMapper);
+    }
+
+    private static ArchivedOrder order(UUID consumerId, LocalDateTime orderDate) {
+        UUID id = UuidV7.randomUuid();
+        OrderResponseDto dto = new OrderResponseDto(id, "Consumidor", "Restaurante", "Rua A", OrderStatus.DELIVERED,
+                orderDate, orderDate, List.of(), BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("11.00"), 4L);
+        return new ArchivedOrder(id, null, consumerId, "customer@email.com", UUID.randomUUID(), dto);
+    }
+
+    private static List<ArchivedOrder> orders(UUID consumerId, LocalDateTime firstDate, int count) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(order(consumerId, firstDate.plusHours(i)));
+        }
+        return orders;
+    }
+
+    @Nested
+    @DisplayName("Tests for findById method")
+    class FindByIdTests {
+
+        @Test
+        @DisplayName("Should find every archived order by id across blocks and segments")
+        void should_FindEveryOrder_When_Archived() {
+            List<ArchivedOrder> orders = new ArrayList<>(orders(UUID.randomUUID(), LocalDateTime.of(2024, 1, 31, 18, 0), 10));
+            orders.addAll(orders(UUID.randomUUID(), LocalDateTime.of(2024, 3, 1, 10, 0), 3));
+            archive.append(orders);
+
+            for (ArchivedOrder order : orders) {
+                assertEquals(order, archive.findById(order.id()).orElseThrow());
+            }
+            assertTrue(Files.exists(directory.resolve("2024-01.seg")));
+            assertTrue(Files.exists(directory.resolve("2024-02.idx")));
+            assertTrue(Files.exists(directory.resolve("2024-03.seg")));
+        }
+
+        @Test
+        @DisplayName("Should return empty when the order was never archived")
+        void should_ReturnEmpty_When_OrderIsUnknown() {
+            archive.append(orders(UUID.randomUUID(), LocalDateTime.of(2024, 1, 1, 10, 0), 5));
+
+            assertTrue(archive.findById(UUID.randomUUID()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reload the sparse index and skip a torn index line after a restart")
+        void should_ReloadIndex_When_Reopened() throws IOException {
+            List<ArchivedOrder> orders = orders(UUID.randomUUID(), LocalDateTime.of(2024, 5, 1, 10, 0), 6);
+            archive.append(orders);
+            Files.writeString(directory.resolve("2024-05.idx"), "{\"offset\":12", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            OrderArchive reopened = newArchive();
+
+            assertEquals(orders.get(5), reopened.findById(orders.get(5).id()).orElseThrow());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for consumer history methods")
+    class ConsumerHistoryTests {
+
+        @Test
+        @DisplayName("Should count and page the consumer orders newest first")
+        void should_PageConsumerOrders_NewestFirst() {
+            UUID consumerId = UUID.randomUUID();
+            List<ArchivedOrder> own = orders(consumerId, LocalDateTime.of(2024, 2, 1, 8, 0), 7);
+            archive.append(own);
+            archive.append(orders(UUID.randomUUID(), LocalDateTime.of(2024, 2, 1, 8, 0), 5));
+
+            assertEquals(7, archive.countByConsumer(consumerId));
+            assertEquals(List.of(own.get(4), own.get(3), own.get(2)), archive.findByConsumer(consumerId, 2, 3));
+        }
+
+        @Test
+        @DisplayName("Should return and count an order archived twice only once")
+        void should_ReturnOnce_When_OrderArchivedTwice() {
+            UUID consumerId = UUID.randomUUID();
+            ArchivedOrder order = order(consumerId, LocalDateTime.of(2024, 2, 1, 8, 0));
+            archive.append(List.of(order));
+            archive.append(List.of(order));
+
+            assertEquals(List.of(order), archive.findByConsumer(consumerId, 0, 10));
+            assertEquals(1, archive.countByConsumer(consumerId));
+        }
+
+        @Test
+        @DisplayName("Should count and list the consumer orders from the reloaded index after a restart")
+        void should_CountFromIndex_When_Reopened() {
+            UUID consumerId = UUID.randomUUID();
+            List<ArchivedOrder> own = new ArrayList<>(orders(consumerId, LocalDateTime.of(2024, 1, 31, 20, 0), 6));
+            archive.append(own);
+            archive.append(orders(UUID.randomUUID(), LocalDateTime.of(2024, 2, 1, 8, 0), 5));
+
+            OrderArchive reopened = newArchive();
+
+            assertEquals(6, reopened.countByConsumer(consumerId));
+            assertEquals(own.reversed(), reopened.findByConsumer(consumerId, 0, 10));
+            assertEquals(0, reopened.countByConsumer(UUID.randomUUID()));
+        }
+
+        @Test
+        @DisplayName("Should stop counting the consumer orders of purged segments")
+        void should_DropConsumerOrders_When_SegmentPurged() {
+            UUID consumerId = UUID.randomUUID();
+            archive.append(orders(consumerId, LocalDateTime.of(2020, 1, 10, 10, 0), 3));
+            List<ArchivedOrder> recent = orders(consumerId, LocalDateTime.of(2024, 1, 10, 10, 0), 2);
+            archive.append(recent);
+
+            archive.purgeBefore(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+            assertEquals(2, archive.countByConsumer(consumerId));
+            assertEquals(recent.reversed(), archive.findByConsumer(consumerId, 0, 10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for purgeBefore method")
+    class PurgeBeforeTests {
+
+        @Test
+        @DisplayName("Should delete only segments whose orders are all older than the cutoff")
+        void should_DeleteExpiredSegments_Only() {
+            List<ArchivedOrder> old = orders(UUID.randomUUID(), LocalDateTime.of(2020, 1, 10, 10, 0), 5);
+            List<ArchivedOrder> recent = orders(UUID.randomUUID(), LocalDateTime.of(2024, 1, 10, 10, 0), 5);
+            archive.append(old);
+            archive.append(recent);
+
+            List<YearMonth> purged = archive.purgeBefore(LocalDateTime.of(2024, 1, 10, 12, 0));
+
+            assertEquals(List.of(YearMonth.of(2020, 1)), purged);
+            assertFalse(Files.exists(directory.resolve("2020-01.seg")));
+            assertFalse(Files.exists(directory.resolve("2020-01.idx")));
+            assertTrue(archive.findById(old.getFirst().id()).isEmpty());
+            assertTrue(archive.findById(recent.getFirst().id()).isPresent());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.deliverytech.delivery_api.archive;
+
+import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
+import com.deliverytech.delivery_api.mapper.OrderMapper;
+import com.deliverytech.delivery_api.model.Consumer;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderArchiverTest {
+
+    private OrderRepository orderRepository;
+    private OrderMapper orderMapper;
+    private OrderArchive orderArchive;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderArchiver archiver;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderMapper = mock(OrderMapper.class);
+        orderArchive = mock(OrderArchive.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        archiver = new OrderArchiver(orderRepository, orderMapper, orderArchive, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(archiver, "chunkSize", 2);
+        ReflectionTestUtils.setField(archiver, "maxChunksPerRun", 3);
+        ReflectionTestUtils.setField(archiver, "minAge", Duration.ofDays(180));
+        ReflectionTestUtils.setField(archiver, "retention", Duration.ofDays(1825));
+    }
+
+    private List<Order> givenOrders(int count) {
+        Consumer consumer = new Consumer();
+        consumer.setId(UUID.randomUUID());
+        consumer.setEmail("customer@email.com");
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(UUID.randomUUID());
+
+        return IntStream.range(0, count).mapToObj(i -> {
+            Order order = new Order();
+            order.setId(UUID.randomUUID());
+            order.setOrderDate(cutoff.minusDays(count - i));
+            order.setStatus(OrderStatus.DELIVERED);
+            order.setConsumer(consumer);
+            order.setRestaurant(restaurant);
+            when(orderMapper.toDto(order)).thenReturn(new OrderResponseDto(order.getId(), null, null, null,
+                    OrderStatus.DELIVERED, order.getOrderDate(), null, List.of(), null, null, null, 0L));
+            return order;
+        }).toList();
+    }
+
+    private void givenChunks(List<List<Order>> chunks) {
+        List<List<UUID>> ids = chunks.stream().map(chunk -> chunk.stream().map(Order::getId).toList()).toList();
+        for (int i = 0; i < chunks.size(); i++) {
+            when(orderRepository.findDetailByIdIn(ids.get(i))).thenReturn(chunks.get(i));
+            when(orderRepository.deleteByIdIn(ids.get(i))).thenReturn(chunks.get(i).size());
+        }
+
+        var idStubbing = when(orderRepository.findArchivableIds(eq(OrderArchiver.ARCHIVABLE_STATUSES), eq(cutoff), eq(Limit.of(2))));
+        for (List<UUID> chunkIds : ids) {
+            idStubbing = idStubbing.thenReturn(chunkIds);
+        }
+        idStubbing.thenReturn(List.of());
+    }
+
+    @Nested
+    @DisplayName("Tests for archive method")
+    class ArchiveTests {
+
+        @Test
+        @DisplayName("Should archive and delete the old orders chunk by chunk")
+        void should_ArchiveAndDeleteInChunks_When_OrdersAreOld() {
+            List<Order> orders = givenOrders(3);
+            givenChunks(List.of(orders.subList(0, 2), orders.subList(2, 3)));
+
+            assertEquals(3, archiver.archive(cutoff));
+
+            verify(orderArchive, times(2)).append(anyList());
+            verify(orderRepository).deleteItemsByOrderIdIn(List.of(orders.get(0).getId(), orders.get(1).getId()));
+            verify(orderRepository).deleteByIdIn(List.of(orders.get(2).getId()));
+            assertEquals(3.0, meterRegistry.counter("delivery_api.orders.archived.total").count());
+        }
+
+        @Test
+        @DisplayName("Should write the archived copy of each order in date order")
+        void should_WriteArchivedCopies_InDateOrder() {
+            List<Order> orders = givenOrders(2);
+            givenChunks(List.of(List.of(orders.get(1), orders.get(0))));
+
+            archiver.archive(cutoff);
+
+            verify(orderArchive).append(argThat(archived -> archived.size() == 2
+                    && archived.get(0).id().equals(orders.get(0).getId())
+                    && archived.get(1).consumerEmail().equals("customer@email.com")));
+        }
+
+        @Test
+        @DisplayName("Should stop after the maximum number of chunks per run")
+        void should_StopAfterMaxChunks_When_BacklogIsLarge() {
+            List<Order> orders = givenOrders(8);
+            givenChunks(List.of(orders.subList(0, 2), orders.subList(2, 4), orders.subList(4, 6), orders.subList(6, 8)));
+
+            assertEquals(6, archiver.archive(cutoff));
+            verify(orderArchive, times(3)).append(anyList());
+        }
+
+        @Test
+        @DisplayName("Should do nothing when there is nothing to archive")
+        void should_DoNothing_When_NoOrderIsOldEnough() {
+            givenChunks(List.of());
+
+            assertEquals(0, archiver.archive(cutoff));
+            verifyNoInteractions(orderArchive);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for scheduledArchival method")
+    class ScheduledArchivalTests {
+
+        @Test
+        @DisplayName("Should not run when archival is disabled")
+        void should_NotRun_When_Disabled() {
+            archiver.scheduledArchival();
+
+            verifyNoInteractions(orderRepository, orderArchive);
+        }
+
+        @Test
+        @DisplayName("Should archive old orders and purge expired segments when enabled")
+        void should_ArchiveAndPurge_When_Enabled() {
+            ReflectionTestUtils.setField(archiver, "enabled", true);
+            when(orderArchive.purgeBefore(any())).thenReturn(List.of(YearMonth.of(2019, 1)));
+
+            archiver.scheduledArchival();
+
+            verify(orderRepository).findArchivableIds(eq(OrderArchiver.ARCHIVABLE_STATUSES), any(), eq(Limit.of(2)));
+            verify(orderArchive).purgeBefore(argThat(date -> date.isBefore(LocalDateTime.now().minusYears(4))));
+        }
+
+        @Test
+        @DisplayName("Should log and swallow failures so the next run is still scheduled")
+        void should_SwallowFailure_When_ArchivalFails() {
+            ReflectionTestUtils.setField(archiver, "enabled", true);
+            when(orderRepository.findArchivableIds(any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+            assertDoesNotThrow(() -> archiver.scheduledArchival());
+            verify(orderArchive, never()).purgeBefore(any());
+        }
+    }
+}
@@ -296,6 +296,24 @@ class ConsumerControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.content[0].status", is(OrderStatus.DELIVERED.name())));
         }
 
+        @Test
+        @DisplayName("Should return 200 - OK with a cursor page when a cursor is given")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnCursorPage_When_CursorIsGiven() throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userA));
+
+            mockMvc.perform(get("/consumers/{id}/orders", consumerA.getId())
+                            .param("cursor", "")
+                            .param("size", "10")
+                    )
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.page").doesNotExist())
+                    .andExpect(jsonPath("$.cursors.next", nullValue()))
+                    .andExpect(jsonPath("$.cursors.prev", nullValue()))
+                    .andExpect(jsonPath("$.content[0].id", is(orderForConsumerA.getId().toString())));
+        }
+
         @Test
         @DisplayName("Should return 200 - OK (and Paged Response) when ADMIN gets any consumer's orders")
         @WithMockUser(roles = "ADMIN")
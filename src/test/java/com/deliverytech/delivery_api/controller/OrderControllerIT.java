@@ -1,35 +1,58 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.BaseIntegrationTest;
+import com.deliverytech.delivery_api.archive.OrderArchiver;
+import com.deliverytech.delivery_api.dto.request.OrderBatchRequestDto;
+import com.deliverytech.delivery_api.dto.request.OrderBulkStatusUpdateRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderItemRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderStatusUpdateRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchItemResultDto;
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
+import com.deliverytech.delivery_api.ingestion.AcceptedOrder;
+import com.deliverytech.delivery_api.ingestion.AsyncOrderQueue;
 import com.deliverytech.delivery_api.model.*;
 import com.deliverytech.delivery_api.model.enums.ErrorCode;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
 import com.deliverytech.delivery_api.model.enums.Role;
 import com.deliverytech.delivery_api.repository.*;
 import com.deliverytech.delivery_api.security.SecurityService;
+import com.deliverytech.delivery_api.service.OrderService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -296,6 +319,649 @@ class OrderControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.data.status", is(OrderStatus.PENDING.name())))
                     .andExpect(jsonPath("$.data.items", hasSize(1)));
         }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity reporting every invalid item at once")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnUnprocessableEntity_ReportingEveryInvalidItem() throws Exception {
+            Product unavailableProduct = new Product();
+            unavailableProduct.setName("Unavailable Product");
+            unavailableProduct.setRestaurant(restaurantA);
+            unavailableProduct.setPrice(BigDecimal.TEN);
+            unavailableProduct.setCategory("TEST");
+            unavailableProduct.setDescription("Test");
+            unavailableProduct.setAvailable(false);
+            unavailableProduct = productRepository.saveAndFlush(unavailableProduct);
+
+            orderRequest.setItems(List.of(
+                    new OrderItemRequestDto(productA.getId(), 1),
+                    new OrderItemRequestDto(productB.getId(), 1),
+                    new OrderItemRequestDto(unavailableProduct.getId(), 2)
+            ));
+            String jsonBody = objectMapper.writeValueAsString(orderRequest);
+
+            mockMvc.perform(
+                            post("/orders")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isUnprocessableEntity())
+
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.UNPROCESSABLE_ENTITY.getCode())))
+                    .andExpect(jsonPath("$.error.details", containsString(productB.getId().toString())))
+                    .andExpect(jsonPath("$.error.details", containsString("não pertence ao restaurante informado")))
+                    .andExpect(jsonPath("$.error.details", containsString(unavailableProduct.getId().toString())))
+                    .andExpect(jsonPath("$.error.details", containsString("está indisponível")));
+        }
+
+        @Test
+        @DisplayName("Should return 404 - Not Found listing every unknown product")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnResourceNotFound_ListingEveryUnknownProduct() throws Exception {
+            UUID unknownA = UUID.randomUUID();
+            UUID unknownB = UUID.randomUUID();
+            orderRequest.setItems(List.of(
+                    new OrderItemRequestDto(unknownA, 1),
+                    new OrderItemRequestDto(productA.getId(), 1),
+                    new OrderItemRequestDto(unknownB, 1)
+            ));
+            String jsonBody = objectMapper.writeValueAsString(orderRequest);
+
+            mockMvc.perform(
+                            post("/orders")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isNotFound())
+
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.RESOURCE_NOT_FOUND.getCode())))
+                    .andExpect(jsonPath("$.error.details", containsString(unknownA.toString())))
+                    .andExpect(jsonPath("$.error.details", containsString(unknownB.toString())));
+        }
+
+        @Test
+        @DisplayName("Should replay the original response when the Idempotency-Key is repeated")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReplayOriginalResponse_When_IdempotencyKeyIsRepeated() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(orderRequest);
+            String idempotencyKey = UUID.randomUUID().toString();
+            long ordersBefore = orderRepository.count();
+
+            String firstResponse = mockMvc.perform(
+                            post("/orders")
+                                    .header("Idempotency-Key", idempotencyKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotency-Replayed"))
+                    .andReturn().getResponse().getContentAsString();
+            String orderId = objectMapper.readTree(firstResponse).at("/data/id").asText();
+
+            mockMvc.perform(
+                            post("/orders")
+                                    .header("Idempotency-Key", idempotencyKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotency-Replayed", "true"))
+                    .andExpect(header().string("Location", containsString("/orders/" + orderId)))
+                    .andExpect(jsonPath("$.data.id", is(orderId)))
+                    .andExpect(jsonPath("$.message", is("Pedido criado com sucesso")));
+
+            assertEquals(ordersBefore + 1, orderRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the Idempotency-Key is reused with a different body")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnUnprocessableEntity_When_IdempotencyKeyIsReusedWithDifferentBody() throws Exception {
+            String idempotencyKey = UUID.randomUUID().toString();
+
+            mockMvc.perform(
+                            post("/orders")
+                                    .header("Idempotency-Key", idempotencyKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(orderRequest))
+                    )
+                    .andExpect(status().isCreated());
+
+            orderRequest.setItems(List.of(new OrderItemRequestDto(productA.getId(), 2)));
+
+            mockMvc.perform(
+                            post("/orders")
+                                    .header("Idempotency-Key", idempotencyKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(orderRequest))
+                    )
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.UNPROCESSABLE_ENTITY.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should not keep the Idempotency-Key when the request fails")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReleaseIdempotencyKey_When_RequestFails() throws Exception {
+            String idempotencyKey = UUID.randomUUID().toString();
+            orderRequest.setItems(List.of(new OrderItemRequestDto(productB.getId(), 1)));
+            String jsonBody = objectMapper.writeValueAsString(orderRequest);
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                mockMvc.perform(
+                                post("/orders")
+                                        .header("Idempotency-Key", idempotencyKey)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(jsonBody)
+                        )
+                        .andExpect(status().isUnprocessableEntity())
+                        .andExpect(header().doesNotExist("Idempotency-Replayed"));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /orders bulk product resolution tests")
+    class BulkProductResolutionTests {
+
+        @Autowired
+        private EntityManager entityManager;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        }
+
+        @Test
+        @DisplayName("Should resolve products with a constant number of statements regardless of cart size")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_UseConstantStatementCount_Regardless_Of_CartSize() throws Exception {
+            long smallCart = measureCreateOrderStatements(1);
+            long mediumCart = measureCreateOrderStatements(10);
+            long largeCart = measureCreateOrderStatements(50);
+
+            assertTrue(smallCart > 0);
+            assertSameStatementCount(smallCart, mediumCart);
+            assertSameStatementCount(smallCart, largeCart);
+        }
+
+        @Test
+        @DisplayName("Should calculate totals with a constant number of statements regardless of cart size")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_CalculateTotals_With_ConstantStatementCount() throws Exception {
+            long smallCart = measureCalculateStatements(1);
+            long largeCart = measureCalculateStatements(50);
+
+            assertEquals(smallCart, largeCart);
+        }
+
+        /* Any request may also fetch the next block of outbox ids from the sequence */
+        private void assertSameStatementCount(long expected, long actual) {
+            assertTrue(Math.abs(expected - actual) <= 1, "expected " + expected + " statements but was " + actual);
+        }
+
+        private long measureCreateOrderStatements(int cartSize) throws Exception {
+            return measureStatements("/orders", cartSize);
+        }
+
+        private long measureCalculateStatements(int cartSize) throws Exception {
+            return measureStatements("/orders/calculate", cartSize);
+        }
+
+        private long measureStatements(String uri, int cartSize) throws Exception {
+            List<OrderItemRequestDto> items = new ArrayList<>();
+            for (int i = 0; i < cartSize; i++) {
+                Product product = new Product();
+                product.setName("Product " + cartSize + "-" + i);
+                product.setRestaurant(restaurantA);
+                product.setPrice(BigDecimal.TEN);
+                product.setCategory("TEST");
+                product.setDescription("Test");
+                product.setAvailable(true);
+                product = productRepository.save(product);
+                items.add(new OrderItemRequestDto(product.getId(), 1));
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            String jsonBody = objectMapper.writeValueAsString(
+                    new OrderRequestDto(customerA.getId(), restaurantA.getId(), items));
+
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            long start = System.nanoTime();
+            mockMvc.perform(
+                            post(uri)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().is2xxSuccessful());
+            long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+            long statements = statistics.getPrepareStatementCount();
+            statistics.setStatisticsEnabled(false);
+
+            LoggerFactory.getLogger(OrderControllerIT.class).info(
+                    "bulk-product-resolution; uri={}; cartSize={}; statements={}; latencyMicros={}",
+                    uri, cartSize, statements, elapsedMicros);
+
+            entityManager.clear();
+            return statements;
+        }
+    }
+
+    @Nested
+    @DisplayName("Order fetch plans")
+    class FetchPlanTests {
+
+        @Autowired
+        private EntityManager entityManager;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        }
+
+        @Test
+        @DisplayName("Should load an order detail with a constant number of statements regardless of its items")
+        @WithMockUser(roles = "ADMIN")
+        void should_LoadDetail_With_ConstantStatementCount() throws Exception {
+            Order small = orderWithItems(1);
+            Order large = orderWithItems(20);
+
+            long smallOrder = measureStatements(get("/orders/{id}", small.getId()));
+            long largeOrder = measureStatements(get("/orders/{id}", large.getId()));
+
+            assertEquals(1, smallOrder);
+            assertEquals(smallOrder, largeOrder);
+        }
+
+        @Test
+        @DisplayName("Should list a 50 order summary page with a constant number of statements")
+        @WithMockUser(roles = "ADMIN")
+        void should_ListSummaries_With_ConstantStatementCount() throws Exception {
+            for (int i = 0; i < 49; i++) {
+                Order order = new Order();
+                order.setConsumer(i % 2 == 0 ? customerA : customerB);
+                order.setRestaurant(newRestaurant("Restaurant " + i));
+                order.setDeliveryAddress("Street");
+                order.setDeliveryTax(BigDecimal.ONE);
+                order.setStatus(OrderStatus.PENDING);
+                order.setSubtotal(BigDecimal.TEN);
+                order.setTotal(BigDecimal.TEN);
+                orderRepository.save(order);
+            }
+
+            long onePage = measureStatements(get("/orders").param("size", "1"));
+            long fullPage = measureStatements(get("/orders").param("size", "50"));
+            long consumerPage = measureStatements(get("/consumers/{id}/orders", customerA.getId()).param("size", "50"));
+            long slicePage = measureStatements(get("/orders").param("size", "50").param("count", "none"));
+
+            assertEquals(2, onePage);
+            assertEquals(onePage, fullPage);
+            assertEquals(onePage, consumerPage);
+            assertEquals(1, slicePage);
+        }
+
+        private Order orderWithItems(int itemCount) {
+            Restaurant restaurant = newRestaurant("Restaurant with " + itemCount + " items");
+            Order order = new Order();
+            order.setConsumer(customerA);
+            order.setRestaurant(restaurant);
+            order.setDeliveryAddress("Street");
+            order.setDeliveryTax(BigDecimal.ONE);
+            order.setStatus(OrderStatus.PENDING);
+            order.setSubtotal(BigDecimal.TEN);
+            order.setTotal(BigDecimal.TEN);
+
+            List<OrderItem> items = new ArrayList<>();
+            for (int i = 0; i < itemCount; i++) {
+                Product product = new Product();
+                product.setName("Product " + itemCount + "-" + i);
+                product.setRestaurant(restaurant);
+                product.setPrice(BigDecimal.TEN);
+                product.setCategory("TEST");
+                product.setDescription("Test");
+                product.setAvailable(true);
+                items.add(new OrderItem(null, 1, BigDecimal.TEN, BigDecimal.TEN, order, productRepository.save(product), null));
+            }
+            order.setItems(items);
+            return orderRepository.save(order);
+        }
+
+        private Restaurant newRestaurant(String name) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setName(name);
+            restaurant.setCategory("TEST");
+            restaurant.setAddress("Address");
+            restaurant.setPhoneNumber("555555555");
+            restaurant.setDeliveryTax(BigDecimal.ONE);
+            restaurant.setActive(true);
+            return restaurantRepository.save(restaurant);
+        }
+
+        private long measureStatements(org.springframework.test.web.servlet.RequestBuilder request) throws Exception {
+            entityManager.flush();
+            entityManager.clear();
+
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+            mockMvc.perform(request).andExpect(status().isOk());
+            long statements = statistics.getPrepareStatementCount();
+            statistics.setStatisticsEnabled(false);
+
+            entityManager.clear();
+            return statements;
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /orders/batch tests")
+    class CreateOrdersBatchTests {
+
+        @Autowired
+        private EntityManager entityManager;
+
+        private Product productA;
+        private Product productB;
+
+        @BeforeEach
+        void setUp() {
+            productA = new Product();
+            productA.setName("Product A");
+            productA.setRestaurant(restaurantA);
+            productA.setPrice(BigDecimal.TEN);
+            productA.setCategory("TEST");
+            productA.setDescription("Test");
+            productA.setAvailable(true);
+            productA = productRepository.saveAndFlush(productA);
+
+            productB = new Product();
+            productB.setName("Product B");
+            productB.setRestaurant(restaurantB);
+            productB.setPrice(BigDecimal.TEN);
+            productB.setCategory("TEST");
+            productB.setDescription("Test");
+            productB.setAvailable(true);
+            productB = productRepository.saveAndFlush(productB);
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when authenticated as CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(new OrderBatchRequestDto(List.of(
+                    new OrderRequestDto(customerA.getId(), restaurantA.getId(), List.of(new OrderItemRequestDto(productA.getId(), 1)))
+            )));
+
+            mockMvc.perform(
+                            post("/orders/batch")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the batch is empty")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_BatchIsEmpty() throws Exception {
+            mockMvc.perform(
+                            post("/orders/batch")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(new OrderBatchRequestDto(List.of())))
+                    )
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.VALIDATION_ERROR.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK creating valid orders and reporting each failed one")
+        @WithMockUser(roles = "ADMIN")
+        void should_CreateValidOrders_And_ReportFailures() throws Exception {
+            long ordersBefore = orderRepository.count();
+            String jsonBody = objectMapper.writeValueAsString(new OrderBatchRequestDto(List.of(
+                    new OrderRequestDto(customerA.getId(), restaurantA.getId(), List.of(new OrderItemRequestDto(productA.getId(), 2))),
+                    new OrderRequestDto(UUID.randomUUID(), restaurantA.getId(), List.of(new OrderItemRequestDto(productA.getId(), 1))),
+                    new OrderRequestDto(customerB.getId(), restaurantA.getId(), List.of(new OrderItemRequestDto(productB.getId(), 1))),
+                    new OrderRequestDto(customerB.getId(), restaurantB.getId(), List.of(new OrderItemRequestDto(productB.getId(), 1)))
+            )));
+
+            mockMvc.perform(
+                            post("/orders/batch")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.data.received", is(4)))
+                    .andExpect(jsonPath("$.data.created", is(2)))
+                    .andExpect(jsonPath("$.data.failed", is(2)))
+
+                    .andExpect(jsonPath("$.data.results[0].success", is(true)))
+                    .andExpect(jsonPath("$.data.results[0].orderId", notNullValue()))
+                    .andExpect(jsonPath("$.data.results[0].status", is(OrderStatus.PENDING.name())))
+                    .andExpect(jsonPath("$.data.results[0].total", is(30.0)))
+
+                    .andExpect(jsonPath("$.data.results[1].success", is(false)))
+                    .andExpect(jsonPath("$.data.results[1].errorCode", is(ErrorCode.RESOURCE_NOT_FOUND.getCode())))
+
+                    .andExpect(jsonPath("$.data.results[2].success", is(false)))
+                    .andExpect(jsonPath("$.data.results[2].errorCode", is(ErrorCode.UNPROCESSABLE_ENTITY.getCode())))
+
+                    .andExpect(jsonPath("$.data.results[3].success", is(true)))
+                    .andExpect(jsonPath("$.data.results[3].index", is(3)));
+
+            assertEquals(ordersBefore + 2, orderRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should reject orders of other restaurants when authenticated as RESTAURANT")
+        @WithMockUser(roles = "RESTAURANT")
+        void should_RejectOtherRestaurantOrders_When_RoleIsRestaurant() throws Exception {
+            User restaurantUser = new User();
+            restaurantUser.setEmail("restaurantA@email.com");
+            restaurantUser.setRole(Role.RESTAURANT);
+            restaurantUser.setRestaurant(restaurantA);
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(restaurantUser));
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantA.getId()));
+
+            String jsonBody = objectMapper.writeValueAsString(new OrderBatchRequestDto(List.of(
+                    new OrderRequestDto(customerA.getId(), restaurantA.getId(), List.of(new OrderItemRequestDto(productA.getId(), 1))),
+                    new OrderRequestDto(customerA.getId(), restaurantB.getId(), List.of(new OrderItemRequestDto(productB.getId(), 1)))
+            )));
+
+            mockMvc.perform(
+                            post("/orders/batch")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.created", is(1)))
+                    .andExpect(jsonPath("$.data.results[0].success", is(true)))
+                    .andExpect(jsonPath("$.data.results[1].success", is(false)))
+                    .andExpect(jsonPath("$.data.results[1].errorCode", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should ingest orders with fewer statements and higher throughput than the single-order path")
+        void should_OutperformSingleOrderPath() throws Exception {
+            int orderCount = 100;
+            List<OrderRequestDto> orders = new ArrayList<>();
+            for (int i = 0; i < orderCount; i++) {
+                Consumer consumer = i % 2 == 0 ? customerA : customerB;
+                orders.add(new OrderRequestDto(consumer.getId(), restaurantA.getId(), List.of(new OrderItemRequestDto(productA.getId(), 1 + i % 3))));
+            }
+            Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+
+            statistics.clear();
+            long singleStart = System.nanoTime();
+            for (OrderRequestDto order : orders) {
+                mockMvc.perform(
+                                post("/orders")
+                                        .with(user("customer").roles("CUSTOMER"))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(order))
+                        )
+                        .andExpect(status().isCreated());
+            }
+            entityManager.flush();
+            long singleNanos = System.nanoTime() - singleStart;
+            long singleStatements = statistics.getPrepareStatementCount();
+            entityManager.clear();
+
+            statistics.clear();
+            long batchStart = System.nanoTime();
+            mockMvc.perform(
+                            post("/orders/batch")
+                                    .with(user("admin").roles("ADMIN"))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(new OrderBatchRequestDto(orders)))
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.created", is(orderCount)));
+            entityManager.flush();
+            long batchNanos = System.nanoTime() - batchStart;
+            long batchStatements = statistics.getPrepareStatementCount();
+            statistics.setStatisticsEnabled(false);
+
+            LoggerFactory.getLogger(OrderControllerIT.class).info(
+                    "batch-ingestion; orders={}; singleOrdersPerSecond={}; batchOrdersPerSecond={}; singleStatements={}; batchStatements={}",
+                    orderCount,
+                    orderCount * 1_000_000_000L / singleNanos,
+                    orderCount * 1_000_000_000L / batchNanos,
+                    singleStatements,
+                    batchStatements);
+
+            assertEquals(orderCount * 2L, orderRepository.count() - 1);
+            assertTrue(batchStatements < singleStatements);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /orders/async tests")
+    class CreateOrderAsyncTests {
+
+        @Autowired
+        private AsyncOrderQueue asyncOrderQueue;
+
+        @Autowired
+        private OrderService orderService;
+
+        private OrderRequestDto orderRequest;
+
+        @BeforeEach
+        void setUp() {
+            Product product = new Product();
+            product.setName("Product A");
+            product.setRestaurant(restaurantA);
+            product.setPrice(BigDecimal.TEN);
+            product.setCategory("TEST");
+            product.setDescription("Test");
+            product.setAvailable(true);
+            product = productRepository.saveAndFlush(product);
+
+            orderRequest = new OrderRequestDto(
+                    customerA.getId(),
+                    restaurantA.getId(),
+                    List.of(new OrderItemRequestDto(product.getId(), 1))
+            );
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when authenticated as ADMIN")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnForbidden_When_RoleIsAdmin() throws Exception {
+            mockMvc.perform(
+                            post("/orders/async")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(orderRequest))
+                    )
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when data is invalid")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnBadRequest_When_DataIsInvalid() throws Exception {
+            orderRequest.setItems(List.of());
+
+            mockMvc.perform(
+                            post("/orders/async")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(orderRequest))
+                    )
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 202 - Accepted and report RECEIVED until the order is materialized")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnAccepted_And_ReportReceivedStatus() throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerA));
+            long ordersBefore = orderRepository.count();
+
+            String location = mockMvc.perform(
+                            post("/orders/async")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(orderRequest))
+                    )
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.message", is("Pedido recebido e aguardando processamento")))
+                    .andExpect(jsonPath("$.data.reference", notNullValue()))
+                    .andExpect(jsonPath("$.data.status", is(OrderStatus.RECEIVED.name())))
+                    .andExpect(header().string("Location", containsString("/orders/")))
+                    .andReturn().getResponse().getHeader("Location");
+
+            mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status", is(OrderStatus.RECEIVED.name())));
+
+            assertEquals(ordersBefore, orderRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when another CUSTOMER polls the receipt")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_AnotherCustomerPollsReceipt() throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerA));
+            String location = mockMvc.perform(
+                            post("/orders/async")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(orderRequest))
+                    )
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getHeader("Location");
+
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerB));
+
+            mockMvc.perform(get(location))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Should report a replayed receipt as created without inserting the order again")
+        void should_NotInsertAgain_When_ReplayingMaterializedReceipt() {
+            AcceptedOrder accepted = asyncOrderQueue.accept(orderRequest, userCustomerA.getEmail());
+            long ordersBefore = orderRepository.count();
+
+            /* the first run commits the order, the replay comes from a journal that was never settled */
+            OrderBatchItemResultDto first = orderService.materializeAcceptedOrders(List.of(accepted)).get(0);
+            OrderBatchItemResultDto replayed = orderService.materializeAcceptedOrders(List.of(accepted)).get(0);
+
+            assertTrue(first.success());
+            assertTrue(replayed.success());
+            assertEquals(first.orderId(), replayed.orderId());
+            assertEquals(ordersBefore + 1, orderRepository.count());
+            assertEquals(first.orderId(), orderRepository.findFirstByReferenceOrderByOrderDateAsc(accepted.reference()).orElseThrow().getId());
+        }
     }
 
     @Nested
@@ -402,6 +1068,30 @@ class OrderControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.success", is(true)))
                     .andExpect(jsonPath("$.data.id", is(orderA.getId().toString())));
         }
+
+        @Test
+        @DisplayName("Should return 200 - OK with the archived copy when the order was archived")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnArchivedOrder_When_OrderWasArchived(@Autowired OrderArchiver orderArchiver) throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerA));
+            orderA.setStatus(OrderStatus.DELIVERED);
+            orderRepository.saveAndFlush(orderA);
+
+            assertEquals(1, orderArchiver.archive(LocalDateTime.now().plusDays(1)));
+            assertTrue(orderRepository.findById(orderA.getId()).isEmpty());
+
+            mockMvc.perform(get("/orders/{id}", orderA.getId()))
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.success", is(true)))
+                    .andExpect(jsonPath("$.data.id", is(orderA.getId().toString())))
+                    .andExpect(jsonPath("$.data.status", is(OrderStatus.DELIVERED.name())))
+                    .andExpect(jsonPath("$.data.consumerName", is(customerA.getName())));
+
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerB));
+            mockMvc.perform(get("/orders/{id}", orderA.getId()))
+                    .andExpect(status().isForbidden());
+        }
     }
 
     @Nested
@@ -417,8 +1107,137 @@ class OrderControllerIT extends BaseIntegrationTest {
         }
 
         @Test
-        @DisplayName("Should return 401 - Unauthorized when not authenticated")
-        void should_ReturnUnauthorized_When_NotAuthenticated() throws Exception {
+        @DisplayName("Should return 401 - Unauthorized when not authenticated")
+        void should_ReturnUnauthorized_When_NotAuthenticated() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+
+            mockMvc.perform(
+                            patch("/orders/{id}", orderA.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isUnauthorized())
+
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.error", notNullValue()))
+
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.UNAUTHORIZED_ERROR.getCode())))
+                    .andExpect(jsonPath("$.error.message", is(ErrorCode.UNAUTHORIZED_ERROR.getDefaultMessage())));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when authenticated as CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+
+            mockMvc.perform(
+                            patch("/orders/{id}", orderA.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isForbidden())
+
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.error", notNullValue()))
+
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())))
+                    .andExpect(jsonPath("$.error.message", is(ErrorCode.FORBIDDEN_ACCESS.getDefaultMessage())));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when RESTAURANT updates another's order")
+        @WithMockUser(roles = "RESTAURANT")
+        void should_ReturnForbidden_When_RestaurantIsNotOwner() throws Exception {
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantB.getId()));
+
+            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+
+            mockMvc.perform(
+                            patch("/orders/{id}", orderA.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isForbidden())
+
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.error", notNullValue()))
+
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())))
+                    .andExpect(jsonPath("$.error.message", is(ErrorCode.FORBIDDEN_ACCESS.getDefaultMessage())));
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when transition is invalid")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_TransitionIsInvalid() throws Exception {
+            statusUpdateDto.setStatus(OrderStatus.DELIVERED);
+            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+
+            mockMvc.perform(
+                            patch("/orders/{id}", orderA.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isUnprocessableEntity())
+
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.error", notNullValue()))
+
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.UNPROCESSABLE_ENTITY.getCode())))
+                    .andExpect(jsonPath("$.error.message", is(ErrorCode.UNPROCESSABLE_ENTITY.getDefaultMessage())))
+                    .andExpect(jsonPath("$.error.details", is("Não é possível mudar de PENDING para DELIVERED")));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK when RESTAURANT owner updates status")
+        @WithMockUser(roles = "RESTAURANT")
+        void should_ReturnOk_When_RestaurantOwnerUpdatesStatus() throws Exception {
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantA.getId()));
+
+            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+
+            mockMvc.perform(
+                            patch("/orders/{id}", orderA.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.success", is(true)))
+                    .andExpect(jsonPath("$.message", is("O status do pedido foi atualizado")))
+                    .andExpect(jsonPath("$.data.status", is(OrderStatus.CONFIRMED.name())));
+
+            Order updatedOrder = orderRepository.findById(orderA.getId()).get();
+            assertEquals(OrderStatus.CONFIRMED, updatedOrder.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK when ADMIN updates status")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_When_AdminUpdatesStatus() throws Exception {
+            statusUpdateDto.setStatus(OrderStatus.PREPARING);
+            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+
+            mockMvc.perform(
+                            patch("/orders/{id}", orderA.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.success", is(true)))
+                    .andExpect(jsonPath("$.data.status", is(OrderStatus.PREPARING.name())));
+
+            Order updatedOrder = orderRepository.findById(orderA.getId()).get();
+            assertEquals(OrderStatus.PREPARING, updatedOrder.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK with the new version when the expected version matches")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_When_ExpectedVersionMatches() throws Exception {
+            statusUpdateDto.setVersion(orderA.getVersion());
             String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
 
             mockMvc.perform(
@@ -426,121 +1245,367 @@ class OrderControllerIT extends BaseIntegrationTest {
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(jsonBody)
                     )
-                    .andExpect(status().isUnauthorized())
-
-                    .andExpect(jsonPath("$.success", is(false)))
-                    .andExpect(jsonPath("$.error", notNullValue()))
+                    .andExpect(status().isOk())
 
-                    .andExpect(jsonPath("$.error.code", is(ErrorCode.UNAUTHORIZED_ERROR.getCode())))
-                    .andExpect(jsonPath("$.error.message", is(ErrorCode.UNAUTHORIZED_ERROR.getDefaultMessage())));
+                    .andExpect(jsonPath("$.data.status", is(OrderStatus.CONFIRMED.name())))
+                    .andExpect(jsonPath("$.data.version", is((int) (orderA.getVersion() + 1))));
         }
 
         @Test
-        @DisplayName("Should return 403 - Forbidden when authenticated as CUSTOMER")
-        @WithMockUser(roles = "CUSTOMER")
-        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+        @DisplayName("Should return 409 - Conflict when the order changed since the expected version")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnConflict_When_ExpectedVersionIsStale() throws Exception {
+            statusUpdateDto.setStatus(OrderStatus.PREPARING);
+            statusUpdateDto.setVersion(orderA.getVersion());
             String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+            orderRepository.transitionStatus(orderA.getId(), Set.of(OrderStatus.PENDING), OrderStatus.CONFIRMED, null, LocalDateTime.now());
 
             mockMvc.perform(
                             patch("/orders/{id}", orderA.getId())
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(jsonBody)
                     )
-                    .andExpect(status().isForbidden())
+                    .andExpect(status().isConflict())
 
                     .andExpect(jsonPath("$.success", is(false)))
-                    .andExpect(jsonPath("$.error", notNullValue()))
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.CONFLICT_ERROR.getCode())));
 
-                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())))
-                    .andExpect(jsonPath("$.error.message", is(ErrorCode.FORBIDDEN_ACCESS.getDefaultMessage())));
+            assertEquals(OrderStatus.CONFIRMED, orderRepository.findById(orderA.getId()).get().getStatus());
         }
+    }
 
-        @Test
-        @DisplayName("Should return 403 - Forbidden when RESTAURANT updates another's order")
-        @WithMockUser(roles = "RESTAURANT")
-        void should_ReturnForbidden_When_RestaurantIsNotOwner() throws Exception {
-            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantB.getId()));
+    @Nested
+    @DisplayName("PATCH /orders/status tests")
+    class UpdateOrdersStatusTests {
 
-            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+        @Autowired
+        private OutboxEventRepository outboxEventRepository;
+
+        private Order orderB;
+
+        @BeforeEach
+        void setUp() {
+            orderB = new Order();
+            orderB.setConsumer(customerB);
+            orderB.setRestaurant(restaurantB);
+            orderB.setDeliveryAddress(customerB.getAddress());
+            orderB.setDeliveryTax(restaurantB.getDeliveryTax());
+            orderB.setStatus(OrderStatus.PENDING);
+            orderB.setSubtotal(new BigDecimal("20.00"));
+            orderB.setTotal(new BigDecimal("32.00"));
+            orderB = orderRepository.saveAndFlush(orderB);
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when authenticated as CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(
+                    new OrderBulkStatusUpdateRequestDto(OrderStatus.CONFIRMED, List.of(orderA.getId())));
 
             mockMvc.perform(
-                            patch("/orders/{id}", orderA.getId())
+                            patch("/orders/status")
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(jsonBody)
                     )
                     .andExpect(status().isForbidden())
-
-                    .andExpect(jsonPath("$.success", is(false)))
-                    .andExpect(jsonPath("$.error", notNullValue()))
-
-                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())))
-                    .andExpect(jsonPath("$.error.message", is(ErrorCode.FORBIDDEN_ACCESS.getDefaultMessage())));
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
         }
 
         @Test
-        @DisplayName("Should return 422 - Unprocessable Entity when transition is invalid")
+        @DisplayName("Should return 400 - Bad Request when no order is informed")
         @WithMockUser(roles = "ADMIN")
-        void should_ReturnUnprocessableEntity_When_TransitionIsInvalid() throws Exception {
-            statusUpdateDto.setStatus(OrderStatus.DELIVERED);
-            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+        void should_ReturnBadRequest_When_OrderIdsAreEmpty() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(
+                    new OrderBulkStatusUpdateRequestDto(OrderStatus.CONFIRMED, List.of()));
 
             mockMvc.perform(
-                            patch("/orders/{id}", orderA.getId())
+                            patch("/orders/status")
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(jsonBody)
                     )
-                    .andExpect(status().isUnprocessableEntity())
-
-                    .andExpect(jsonPath("$.success", is(false)))
-                    .andExpect(jsonPath("$.error", notNullValue()))
-
-                    .andExpect(jsonPath("$.error.code", is(ErrorCode.UNPROCESSABLE_ENTITY.getCode())))
-                    .andExpect(jsonPath("$.error.message", is(ErrorCode.UNPROCESSABLE_ENTITY.getDefaultMessage())))
-                    .andExpect(jsonPath("$.error.details", is("Não é possível mudar de PENDING para DELIVERED")));
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.VALIDATION_ERROR.getCode())));
         }
 
         @Test
-        @DisplayName("Should return 200 - OK when RESTAURANT owner updates status")
+        @DisplayName("Should update own orders and reject other restaurants' orders when RESTAURANT")
         @WithMockUser(roles = "RESTAURANT")
-        void should_ReturnOk_When_RestaurantOwnerUpdatesStatus() throws Exception {
+        void should_UpdateOwnOrders_And_RejectOthers_When_RoleIsRestaurant() throws Exception {
+            User restaurantUser = new User();
+            restaurantUser.setEmail("restaurantA@email.com");
+            restaurantUser.setRole(Role.RESTAURANT);
+            restaurantUser.setRestaurant(restaurantA);
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(restaurantUser));
             when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantA.getId()));
 
-            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+            String jsonBody = objectMapper.writeValueAsString(
+                    new OrderBulkStatusUpdateRequestDto(OrderStatus.CONFIRMED, List.of(orderA.getId(), orderB.getId())));
 
             mockMvc.perform(
-                            patch("/orders/{id}", orderA.getId())
+                            patch("/orders/status")
                                     .contentType(MediaType.APPLICATION_JSON)
                                     .content(jsonBody)
                     )
                     .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message", is("Lote processado: 1 pedido(s) atualizado(s), 1 com falha")))
+                    .andExpect(jsonPath("$.data.results[0].orderId", is(orderA.getId().toString())))
+                    .andExpect(jsonPath("$.data.results[0].success", is(true)))
+                    .andExpect(jsonPath("$.data.results[0].status", is(OrderStatus.CONFIRMED.name())))
+                    .andExpect(jsonPath("$.data.results[1].success", is(false)))
+                    .andExpect(jsonPath("$.data.results[1].errorCode", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+
+            assertEquals(OrderStatus.CONFIRMED, orderRepository.findById(orderA.getId()).get().getStatus());
+            assertEquals(OrderStatus.PENDING, orderRepository.findById(orderB.getId()).get().getStatus());
+
+            List<OutboxEvent> events = outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(10));
+            assertEquals(1, events.size());
+            assertEquals(OrderBulkStatusUpdateEvent.class.getName(), events.getFirst().getEventType());
+            assertEquals("restaurantA@email.com", events.getFirst().getUsername());
+        }
 
-                    .andExpect(jsonPath("$.success", is(true)))
-                    .andExpect(jsonPath("$.message", is("O status do pedido foi atualizado")))
-                    .andExpect(jsonPath("$.data.status", is(OrderStatus.CONFIRMED.name())));
-
-            Order updatedOrder = orderRepository.findById(orderA.getId()).get();
-            assertEquals(OrderStatus.CONFIRMED, updatedOrder.getStatus());
+        @Test
+        @DisplayName("Should advance many orders with a constant number of statements")
+        @WithMockUser(roles = "ADMIN")
+        void should_UseConstantStatementCount_Regardless_Of_OrderCount(@Autowired EntityManager entityManager) throws Exception {
+            List<UUID> orderIds = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                Order order = new Order();
+                order.setConsumer(customerA);
+                order.setRestaurant(restaurantA);
+                order.setDeliveryAddress(customerA.getAddress());
+                order.setDeliveryTax(restaurantA.getDeliveryTax());
+                order.setStatus(OrderStatus.PREPARING);
+                order.setSubtotal(new BigDecimal("20.00"));
+                order.setTotal(new BigDecimal("30.00"));
+                orderIds.add(orderRepository.save(order).getId());
+            }
+            entityManager.flush();
+            entityManager.clear();
+            Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+            List<List<UUID>> rounds = List.of(orderIds.subList(0, 1), orderIds.subList(1, orderIds.size()));
+            long[] statements = new long[rounds.size()];
+            for (int round = 0; round < rounds.size(); round++) {
+                List<UUID> ids = rounds.get(round);
+                statistics.setStatisticsEnabled(true);
+                statistics.clear();
+                mockMvc.perform(
+                                patch("/orders/status")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(
+                                                new OrderBulkStatusUpdateRequestDto(OrderStatus.OUT_FOR_DELIVERY, ids)))
+                        )
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.updated", is(ids.size())));
+                entityManager.flush();
+                statements[round] = statistics.getPrepareStatementCount();
+                statistics.setStatisticsEnabled(false);
+            }
+
+            /* Either round may also fetch the next block of outbox ids from the sequence */
+            assertTrue(Math.abs(statements[0] - statements[1]) <= 1,
+                    "expected " + statements[0] + " statements but was " + statements[1]);
         }
 
         @Test
-        @DisplayName("Should return 200 - OK when ADMIN updates status")
+        @DisplayName("Should record the outbox event of the largest batch allowed")
         @WithMockUser(roles = "ADMIN")
-        void should_ReturnOk_When_AdminUpdatesStatus() throws Exception {
-            statusUpdateDto.setStatus(OrderStatus.PREPARING);
-            String jsonBody = objectMapper.writeValueAsString(statusUpdateDto);
+        void should_RecordOutboxEvent_When_BatchHasMaximumSize(@Autowired EntityManager entityManager) throws Exception {
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                Order order = new Order();
+                order.setConsumer(customerA);
+                order.setRestaurant(restaurantA);
+                order.setDeliveryAddress(customerA.getAddress());
+                order.setDeliveryTax(restaurantA.getDeliveryTax());
+                order.setStatus(OrderStatus.PREPARING);
+                order.setSubtotal(new BigDecimal("20.00"));
+                order.setTotal(new BigDecimal("30.00"));
+                orders.add(order);
+            }
+            List<UUID> orderIds = orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+            entityManager.flush();
+            entityManager.clear();
 
             mockMvc.perform(
-                            patch("/orders/{id}", orderA.getId())
+                            patch("/orders/status")
                                     .contentType(MediaType.APPLICATION_JSON)
-                                    .content(jsonBody)
+                                    .content(objectMapper.writeValueAsString(
+                                            new OrderBulkStatusUpdateRequestDto(OrderStatus.OUT_FOR_DELIVERY, orderIds)))
                     )
                     .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.updated", is(500)));
+            entityManager.flush();
 
-                    .andExpect(jsonPath("$.success", is(true)))
-                    .andExpect(jsonPath("$.data.status", is(OrderStatus.PREPARING.name())));
+            List<OutboxEvent> events = outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(10));
+            assertEquals(1, events.size());
+            assertTrue(events.getFirst().getPayload().length() > 4000);
+            orderIds.forEach(id -> assertTrue(events.getFirst().getPayload().contains(id.toString())));
+        }
+    }
 
-            Order updatedOrder = orderRepository.findById(orderA.getId()).get();
-            assertEquals(OrderStatus.PREPARING, updatedOrder.getStatus());
+    @Nested
+    @DisplayName("Ownership checks outside a transaction")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class NonTransactionalOwnershipTests {
+
+        @Test
+        @DisplayName("Should return 200 - OK when CUSTOMER gets their own order")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnOk_When_CustomerGetsOwnOrder() throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerA));
+
+            mockMvc.perform(get("/orders/{id}", orderA.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.consumerName", is(customerA.getName())));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when another CUSTOMER gets the order")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_CustomerIsNotOwner() throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerB));
+
+            mockMvc.perform(get("/orders/{id}", orderA.getId()))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Should return 204 - No Content when CUSTOMER owner cancels order")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnNoContent_When_CustomerOwnerCancels() throws Exception {
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(userCustomerA));
+
+            mockMvc.perform(delete("/orders/{id}", orderA.getId()))
+                    .andExpect(status().isNoContent());
+
+            assertEquals(OrderStatus.CANCELED, orderRepository.findById(orderA.getId()).orElseThrow().getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent order status transitions")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ConcurrentStatusTransitionTests {
+
+        private static final int THREADS = 8;
+
+        @Autowired
+        private OrderService orderService;
+
+        private List<UUID> createPendingOrders(int count) {
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Order order = new Order();
+                order.setConsumer(customerA);
+                order.setRestaurant(restaurantA);
+                order.setDeliveryAddress(customerA.getAddress());
+                order.setDeliveryTax(restaurantA.getDeliveryTax());
+                order.setStatus(OrderStatus.PENDING);
+                order.setSubtotal(new BigDecimal("20.00"));
+                order.setTotal(new BigDecimal("30.00"));
+                orders.add(order);
+            }
+            return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+        }
+
+        private boolean attempt(Runnable transition) {
+            try {
+                transition.run();
+                return true;
+            } catch (BusinessException | ConflictException e) {
+                return false;
+            }
+        }
+
+        @Test
+        @DisplayName("Should let exactly one of the racing transitions on the same order win")
+        void should_AllowSingleWinner_When_TransitionsRaceOnSameOrder() throws Exception {
+            List<UUID> orderIds = createPendingOrders(50);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            long attempts = 0;
+            long start = System.nanoTime();
+
+            try {
+                for (UUID orderId : orderIds) {
+                    CountDownLatch ready = new CountDownLatch(1);
+                    List<Future<Boolean>> racers = new ArrayList<>();
+                    for (int i = 0; i < THREADS; i++) {
+                        OrderStatus target = i % 2 == 0 ? OrderStatus.CONFIRMED : OrderStatus.CANCELED;
+                        racers.add(executor.submit(() -> {
+                            ready.await();
+                            return attempt(() -> orderService.updateOrderStatus(orderId.toString(), target, 0L));
+                        }));
+                    }
+                    ready.countDown();
+
+                    long winners = 0;
+                    for (Future<Boolean> racer : racers) {
+                        if (racer.get(30, TimeUnit.SECONDS)) winners++;
+                    }
+                    attempts += racers.size();
+                    assertEquals(1, winners, "exatamente uma transição concorrente deve vencer");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            for (Order order : orderRepository.findAllById(orderIds)) {
+                assertEquals(1L, order.getVersion());
+                assertTrue(order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.CANCELED);
+            }
+
+            LoggerFactory.getLogger(OrderControllerIT.class).info(
+                    "status-transition-race; orders={}; threads={}; attemptsPerSecondPerOrder={}",
+                    orderIds.size(), THREADS, attempts * 1_000_000_000L / elapsedNanos);
+        }
+
+        @Test
+        @DisplayName("Should apply every transition across 1,000 orders without lost updates")
+        void should_NotLoseUpdates_When_KitchenAndCustomerRaceAcrossThousandOrders() throws Exception {
+            List<UUID> orderIds = createPendingOrders(1_000);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            Map<UUID, Integer> applied = new ConcurrentHashMap<>();
+            Set<UUID> canceled = ConcurrentHashMap.newKeySet();
+            List<Future<?>> tasks = new ArrayList<>();
+            long start = System.nanoTime();
+
+            try {
+                for (UUID orderId : orderIds) {
+                    tasks.add(executor.submit(() -> {
+                        for (OrderStatus next : List.of(OrderStatus.CONFIRMED, OrderStatus.PREPARING)) {
+                            if (attempt(() -> orderService.updateOrderStatus(orderId.toString(), next))) {
+                                applied.merge(orderId, 1, Integer::sum);
+                            }
+                        }
+                    }));
+                    tasks.add(executor.submit(() -> {
+                        if (attempt(() -> orderService.cancelOrder(orderId.toString()))) {
+                            applied.merge(orderId, 1, Integer::sum);
+                            canceled.add(orderId);
+                        }
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            for (Order order : orderRepository.findAllById(orderIds)) {
+                assertEquals(applied.getOrDefault(order.getId(), 0).longValue(), order.getVersion(),
+                        "cada transição aplicada deve incrementar a versão exatamente uma vez");
+                assertEquals(canceled.contains(order.getId()), order.getStatus() == OrderStatus.CANCELED);
+            }
+            int transitions = applied.values().stream().mapToInt(Integer::intValue).sum();
+
+            LoggerFactory.getLogger(OrderControllerIT.class).info(
+                    "status-transition-throughput; orders={}; threads={}; transitions={}; transitionsPerSecond={}",
+                    orderIds.size(), THREADS, transitions, transitions * 1_000_000_000L / elapsedNanos);
         }
     }
 
@@ -641,6 +1706,60 @@ class OrderControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.error.message", is(ErrorCode.BAD_REQUEST.getDefaultMessage())));
         }
 
+        @Test
+        @DisplayName("Should return 200 - OK walking the orders newest first with a cursor, unaffected by new orders")
+        @WithMockUser(roles = "ADMIN")
+        void should_WalkOrdersWithCursor_Without_SkipsOrDuplicates(@Autowired EntityManager entityManager) throws Exception {
+            /* the cursor keys must come from the stored rows, not from instances still holding sub-microsecond dates */
+            entityManager.clear();
+
+            String firstPage = mockMvc.perform(get("/orders")
+                            .param("cursor", "")
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.cursors.next", notNullValue()))
+                    .andExpect(jsonPath("$.cursors.prev", nullValue()))
+                    .andReturn().getResponse().getContentAsString();
+
+            Order newer = new Order();
+            newer.setDeliveryAddress(customerA.getAddress());
+            newer.setSubtotal(BigDecimal.ONE);
+            newer.setDeliveryTax(BigDecimal.ONE);
+            newer.setTotal(BigDecimal.ONE);
+            newer.setStatus(OrderStatus.PENDING);
+            newer.setConsumer(customerA);
+            newer.setRestaurant(restaurantA);
+            orderRepository.saveAndFlush(newer);
+
+            String secondPage = mockMvc.perform(get("/orders")
+                            .param("cursor", JsonPath.<String>read(firstPage, "$.cursors.next"))
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.cursors.next", nullValue()))
+                    .andReturn().getResponse().getContentAsString();
+
+            Set<String> seen = new HashSet<>(JsonPath.read(firstPage, "$.content[*].id"));
+            seen.addAll(JsonPath.read(secondPage, "$.content[*].id"));
+            assertEquals(Set.of(orderA.getId().toString(), orderB.getId().toString(), orderC.getId().toString()), seen);
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK applying the filters to cursor pages")
+        @WithMockUser(roles = "ADMIN")
+        void should_ApplyFilters_When_CursorIsUsed() throws Exception {
+            mockMvc.perform(get("/orders")
+                            .queryParam("status", "DELIVERED")
+                            .queryParam("cursor", "")
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(orderC.getId().toString())))
+                    .andExpect(jsonPath("$.links.first", containsString("status=DELIVERED")))
+                    .andExpect(jsonPath("$.cursors.next", nullValue()));
+        }
+
         @Test
         @DisplayName("Should return 200 - OK with all orders when no filters provided")
         @WithMockUser(roles = "ADMIN")
@@ -710,6 +1829,289 @@ class OrderControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.page.totalElements", is(1)))
                     .andExpect(jsonPath("$.content[0].id", is(orderC.getId().toString())));
         }
+        @Test
+        @DisplayName("Should return 200 - OK with a next link and no totals when the count mode is none")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnSliceWithoutTotals_When_CountIsNone() throws Exception {
+
+            mockMvc.perform(
+                            get("/orders")
+                                    .queryParam("count", "none")
+                                    .queryParam("page", "0")
+                                    .queryParam("size", "2")
+                    )
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.count", is("NONE")))
+                    .andExpect(jsonPath("$.page").doesNotExist())
+                    .andExpect(jsonPath("$.slice.hasNext", is(true)))
+                    .andExpect(jsonPath("$.links.last", nullValue()))
+                    .andExpect(jsonPath("$.links.next", containsString("count=none")))
+                    .andExpect(jsonPath("$.links.next", containsString("page=1")));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK with totals from the exact count when the database has no estimate")
+        @WithMockUser(roles = "ADMIN")
+        void should_FallBackToExactTotals_When_CountIsEstimated() throws Exception {
+
+            mockMvc.perform(
+                            get("/orders")
+                                    .param("status", "DELIVERED")
+                                    .param("count", "ESTIMATED")
+                                    .param("size", "5")
+                    )
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.count", is("ESTIMATED")))
+                    .andExpect(jsonPath("$.page.totalElements", is(1)))
+                    .andExpect(jsonPath("$.page.totalPages", is(1)))
+                    .andExpect(jsonPath("$.slice").doesNotExist())
+                    .andExpect(jsonPath("$.links.last", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when 'count' is invalid")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_CountIsInvalid() throws Exception {
+
+            mockMvc.perform(get("/orders").param("count", "approximate"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.BAD_REQUEST.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK filtered by restaurant, consumer, total range and address prefix")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_When_FilteredByIndexedFields() throws Exception {
+            Order orderD = new Order();
+            orderD.setDeliveryAddress("Avenida Central, 100");
+            orderD.setSubtotal(new BigDecimal("40.00"));
+            orderD.setDeliveryTax(restaurantB.getDeliveryTax());
+            orderD.setTotal(new BigDecimal("52.00"));
+            orderD.setStatus(OrderStatus.PENDING);
+            orderD.setConsumer(customerB);
+            orderD.setRestaurant(restaurantB);
+            orderD = orderRepository.saveAndFlush(orderD);
+
+            mockMvc.perform(get("/orders").param("restaurantId", restaurantB.getId().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(orderD.getId().toString())));
+
+            mockMvc.perform(get("/orders").param("consumerId", customerA.getId().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(3)));
+
+            mockMvc.perform(get("/orders").param("minTotal", "20").param("maxTotal", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(orderA.getId().toString())));
+
+            mockMvc.perform(get("/orders").param("deliveryAddress", "avenida c").param("count", "ESTIMATED"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(1)))
+                    .andExpect(jsonPath("$.content[0].id", is(orderD.getId().toString())));
+
+            mockMvc.perform(get("/orders")
+                            .param("restaurantId", restaurantA.getId().toString())
+                            .param("status", "PENDING")
+                            .param("cursor", ""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK matching the address prefix literally")
+        @WithMockUser(roles = "ADMIN")
+        void should_MatchPrefixLiterally_When_PrefixHasWildcards() throws Exception {
+
+            mockMvc.perform(get("/orders").param("deliveryAddress", "Str%"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(0)));
+
+            mockMvc.perform(get("/orders").param("deliveryAddress", "  street a "))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(3)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the address prefix is too short")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_AddressPrefixIsTooShort() throws Exception {
+
+            mockMvc.perform(get("/orders").param("deliveryAddress", "St"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.BAD_REQUEST.getCode())))
+                    .andExpect(jsonPath("$.error.details", containsString("ao menos 3 caracteres")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when an unanchored search spans too many days")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_UnanchoredRangeIsTooWide() throws Exception {
+
+            mockMvc.perform(get("/orders")
+                            .param("startDate", today.minusYears(1).format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.details", containsString("no máximo 92 dias")));
+
+            mockMvc.perform(get("/orders")
+                            .param("consumerId", customerA.getId().toString())
+                            .param("startDate", today.minusYears(1).format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements", is(3)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the minimum total exceeds the maximum")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_TotalRangeIsInverted() throws Exception {
+
+            mockMvc.perform(get("/orders").param("minTotal", "50").param("maxTotal", "10"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error.details", is("O valor total mínimo não pode ser maior que o máximo")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /orders/export tests")
+    class ExportOrdersTests {
+
+        private String today;
+
+        @BeforeEach
+        void setUp() {
+            today = LocalDate.now().format(DateTimeFormatter.ISO_DATE);
+
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < 600; i++) {
+                Order order = new Order();
+                order.setConsumer(customerB);
+                order.setRestaurant(restaurantB);
+                order.setDeliveryAddress("Rua B, " + i);
+                order.setDeliveryTax(BigDecimal.ONE);
+                order.setSubtotal(BigDecimal.TEN);
+                order.setTotal(new BigDecimal("11.00"));
+                order.setStatus(i == 0 ? OrderStatus.DELIVERED : OrderStatus.PENDING);
+                orders.add(order);
+            }
+            orderRepository.saveAllAndFlush(orders);
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK streaming every order of the period as CSV")
+        @WithMockUser(roles = "ADMIN")
+        void should_StreamCsv_When_AdminAuthenticated() throws Exception {
+            var response = mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", today))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition",
+                            "attachment; filename=\"orders-" + today + "-" + today + ".csv\""))
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andReturn().getResponse();
+
+            List<String> lines = response.getContentAsString().lines().toList();
+            assertEquals(602, lines.size());
+            assertEquals("id,orderDate,status,restaurantId,restaurantName,consumerId,deliveryAddress,subtotal,deliveryTax,total",
+                    lines.get(0));
+            assertTrue(lines.get(1).startsWith(orderA.getId() + ","));
+            assertTrue(lines.get(2).contains(",\"Rua B, 0\",10.00,1.00,11.00"));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK streaming the filtered orders as NDJSON")
+        @WithMockUser(roles = "ADMIN")
+        void should_StreamNdjson_When_FormatIsNdjson() throws Exception {
+            var response = mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", today)
+                            .param("status", "DELIVERED")
+                            .param("restaurantId", restaurantB.getId().toString())
+                            .param("format", "ndjson"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn().getResponse();
+
+            List<String> lines = response.getContentAsString().lines().toList();
+            assertEquals(1, lines.size());
+            assertEquals("DELIVERED", JsonPath.read(lines.get(0), "$.status"));
+            assertEquals("Restaurant B", JsonPath.read(lines.get(0), "$.restaurantName"));
+            assertEquals(11.0, JsonPath.<Double>read(lines.get(0), "$.total"));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK with a gzip body when the client accepts it")
+        @WithMockUser(roles = "ADMIN")
+        void should_CompressExport_When_ClientAcceptsGzip() throws Exception {
+            String plain = mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", today))
+                    .andReturn().getResponse().getContentAsString();
+
+            var response = mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", today)
+                            .header("Accept-Encoding", "gzip, deflate"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("Vary", "Accept-Encoding"))
+                    .andReturn().getResponse();
+
+            byte[] compressed = response.getContentAsByteArray();
+            try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertEquals(plain, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            assertTrue(compressed.length < plain.length() / 4);
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity as JSON when the period is inverted")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_RangeIsInverted() throws Exception {
+            mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", LocalDate.now().minusDays(1).format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(header().doesNotExist("Content-Disposition"))
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the end date is missing")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_EndDateIsMissing() throws Exception {
+            mockMvc.perform(get("/orders/export").param("startDate", today))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the format is unknown")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_FormatIsUnknown() throws Exception {
+            mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", today)
+                            .param("format", "xlsx"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when authenticated as CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            mockMvc.perform(get("/orders/export")
+                            .param("startDate", today)
+                            .param("endDate", today))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
     }
 
     @Nested
@@ -2,9 +2,13 @@ package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.BaseIntegrationTest;
 import com.deliverytech.delivery_api.dto.request.ProductRequestDto;
+import com.deliverytech.delivery_api.events.product.ProductCreateEvent;
+import com.deliverytech.delivery_api.model.OutboxEvent;
 import com.deliverytech.delivery_api.model.Product;
 import com.deliverytech.delivery_api.model.Restaurant;
 import com.deliverytech.delivery_api.model.enums.ErrorCode;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import com.deliverytech.delivery_api.repository.OutboxEventRepository;
 import com.deliverytech.delivery_api.repository.ProductRepository;
 import com.deliverytech.delivery_api.repository.RestaurantRepository;
 import com.deliverytech.delivery_api.repository.UserRepository;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -44,6 +49,9 @@ class ProductControllerIT extends BaseIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @MockitoBean
     private SecurityService securityService;
 
@@ -247,6 +255,28 @@ class ProductControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.data.name", is(validDto.getName())))
                     .andExpect(jsonPath("$.data.restaurantId", is(restaurantA.getId().toString())));
         }
+
+        @Test
+        @DisplayName("Should record the creation event in the outbox within the request transaction")
+        @WithMockUser(roles = "ADMIN")
+        void should_RecordOutboxEvent_When_ProductIsCreated() throws Exception {
+            String jsonBody = objectMapper.writeValueAsString(validDto);
+
+            String response = mockMvc.perform(
+                            post("/products")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(jsonBody)
+                    )
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            UUID productId = UUID.fromString(objectMapper.readTree(response).path("data").path("id").asText());
+
+            List<OutboxEvent> events = outboxEventRepository.findByStatusOrderByIdAsc(OutboxStatus.PENDING, Limit.of(10));
+
+            assertEquals(1, events.size());
+            assertEquals(ProductCreateEvent.class.getName(), events.getFirst().getEventType());
+            assertEquals(productId, events.getFirst().getAggregateId());
+        }
     }
 
     @Nested
@@ -1,26 +1,48 @@
 package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.BaseIntegrationTest;
+import com.deliverytech.delivery_api.analytics.OrderColumnFeeder;
+import com.deliverytech.delivery_api.dto.request.OrderBulkStatusUpdateRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderByPeriodReportDto;
+import com.deliverytech.delivery_api.events.order.OrderCreatedEvent;
+import com.deliverytech.delivery_api.mapper.ReportMapper;
 import com.deliverytech.delivery_api.model.*;
 import com.deliverytech.delivery_api.model.enums.ErrorCode;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
 import com.deliverytech.delivery_api.model.enums.Role;
+import com.deliverytech.delivery_api.outbox.OutboxRelay;
 import com.deliverytech.delivery_api.repository.*;
+import com.deliverytech.delivery_api.rollup.DailySalesRollup;
+import com.deliverytech.delivery_api.service.OrderService;
+import com.deliverytech.delivery_api.service.ReportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +69,30 @@ class ReportControllerIT extends BaseIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DailySalesRollup dailySalesRollup;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportMapper reportMapper;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OrderColumnFeeder orderColumnFeeder;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
 
     @Nested
     @DisplayName("GET /reports/sales-by-restaurant tests")
@@ -94,15 +140,16 @@ class ReportControllerIT extends BaseIntegrationTest {
             consumer = consumerRepository.saveAndFlush(consumer);
 
             Order order1 = new Order(null, null, null, "Addr 3", new BigDecimal("100.00"),
-                    BigDecimal.ONE, new BigDecimal("101.00"), OrderStatus.DELIVERED, consumer, restaurantA, null);
+                    BigDecimal.ONE, new BigDecimal("101.00"), OrderStatus.DELIVERED, consumer, restaurantA, null, null, null);
             Order order2 = new Order(null, null, null, "Addr 3", new BigDecimal("50.00"),
-                    BigDecimal.ONE, new BigDecimal("51.00"), OrderStatus.DELIVERED, consumer, restaurantA, null);
+                    BigDecimal.ONE, new BigDecimal("51.00"), OrderStatus.DELIVERED, consumer, restaurantA, null, null, null);
             Order order3 = new Order(null, null, null, "Addr 3", new BigDecimal("200.00"),
-                    BigDecimal.ONE, new BigDecimal("201.00"), OrderStatus.DELIVERED, consumer, restaurantB, null);
+                    BigDecimal.ONE, new BigDecimal("201.00"), OrderStatus.DELIVERED, consumer, restaurantB, null, null, null);
             Order order4 = new Order(null, null, null, "Addr 3", new BigDecimal("30.00"),
-                    BigDecimal.ONE, new BigDecimal("31.00"), OrderStatus.PENDING, consumer, restaurantA, null);
+                    BigDecimal.ONE, new BigDecimal("31.00"), OrderStatus.PENDING, consumer, restaurantA, null, null, null);
 
             orderRepository.saveAllAndFlush(List.of(order1, order2, order3, order4));
+            rebuildRollups();
         }
 
         @Test
@@ -230,26 +277,27 @@ class ReportControllerIT extends BaseIntegrationTest {
             productRepository.saveAllAndFlush(List.of(productA, productB));
 
             Order order1 = new Order(null, null, null, "Addr", BigDecimal.ZERO,
-                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.DELIVERED, consumer, restaurant, null);
+                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.DELIVERED, consumer, restaurant, null, null, null);
             order1 = orderRepository.saveAndFlush(order1);
 
-            OrderItem item1 = new OrderItem(null, 10, BigDecimal.TEN, BigDecimal.ZERO, order1, productA);
-            OrderItem item2 = new OrderItem(null, 5, BigDecimal.ONE, BigDecimal.ZERO, order1, productB);
+            OrderItem item1 = new OrderItem(null, 10, BigDecimal.TEN, BigDecimal.ZERO, order1, productA, null);
+            OrderItem item2 = new OrderItem(null, 5, BigDecimal.ONE, BigDecimal.ZERO, order1, productB, null);
             orderItemRepository.saveAllAndFlush(List.of(item1, item2));
 
             Order order2 = new Order(null, null, null, "Addr", BigDecimal.ZERO,
-                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.DELIVERED, consumer, restaurant, null);
+                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.DELIVERED, consumer, restaurant, null, null, null);
             order2 = orderRepository.saveAndFlush(order2);
 
-            OrderItem item3 = new OrderItem(null, 3, BigDecimal.TEN, BigDecimal.ZERO, order2, productA);
+            OrderItem item3 = new OrderItem(null, 3, BigDecimal.TEN, BigDecimal.ZERO, order2, productA, null);
             orderItemRepository.saveAndFlush(item3);
 
             Order order3 = new Order(null, null, null, "Addr", BigDecimal.ZERO,
-                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.PENDING, consumer, restaurant, null);
+                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.PENDING, consumer, restaurant, null, null, null);
             order3 = orderRepository.saveAndFlush(order3);
 
-            OrderItem item4 = new OrderItem(null, 100, BigDecimal.TEN, BigDecimal.ZERO, order3, productA);
+            OrderItem item4 = new OrderItem(null, 100, BigDecimal.TEN, BigDecimal.ZERO, order3, productA, null);
             orderItemRepository.saveAndFlush(item4);
+            rebuildRollups();
         }
 
         @Test
@@ -267,6 +315,29 @@ class ReportControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$[1].productName", is(productB.getName())))
                     .andExpect(jsonPath("$[1].totalSold", is(5)));
         }
+
+        @Test
+        @DisplayName("Should keep same-named products of different restaurants apart")
+        @WithMockUser(roles = "ADMIN")
+        void should_SeparateProducts_When_NamesAreEqual() throws Exception {
+            Restaurant other = restaurantRepository.saveAndFlush(new Restaurant(null, "Other", "CAT", "Addr", "222",
+                    BigDecimal.ZERO, true, null, null, null));
+            Product otherPizza = productRepository.saveAndFlush(new Product(null, "Pizza", "Desc", BigDecimal.TEN, "PIZZA",
+                    true, other));
+            Order order = orderRepository.saveAndFlush(new Order(null, null, null, "Addr", BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO, OrderStatus.DELIVERED, null, other, null, null, null));
+            orderItemRepository.saveAndFlush(new OrderItem(null, 7, BigDecimal.TEN, BigDecimal.ZERO, order, otherPizza, null));
+            rebuildRollups();
+
+            mockMvc.perform(get("/reports/top-selling-products"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[0].productId", is(productA.getId().toString())))
+                    .andExpect(jsonPath("$[0].totalSold", is(13)))
+                    .andExpect(jsonPath("$[1].productId", is(otherPizza.getId().toString())))
+                    .andExpect(jsonPath("$[1].productName", is("Pizza")))
+                    .andExpect(jsonPath("$[1].totalSold", is(7)));
+        }
     }
 
     @Nested
@@ -351,21 +422,22 @@ class ReportControllerIT extends BaseIntegrationTest {
             consumerRepository.saveAllAndFlush(List.of(consumerA, consumerB, consumerC));
 
             Order orderA1 = new Order(null, null, null, "Addr", BigDecimal.TEN,
-                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerA, restaurant, null);
+                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerA, restaurant, null, null, null);
 
             Order orderA2 = new Order(null, null, null, "Addr", BigDecimal.TEN,
-                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerA, restaurant, null);
+                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerA, restaurant, null, null, null);
 
             Order orderA3 = new Order(null, null, null, "Addr", BigDecimal.TEN,
-                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerA, restaurant, null);
+                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerA, restaurant, null, null, null);
 
             Order orderA4 = new Order(null, null, null, "Addr", BigDecimal.TEN,
-                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.PENDING, consumerA, restaurant, null);
+                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.PENDING, consumerA, restaurant, null, null, null);
 
             Order orderB1 = new Order(null, null, null, "Addr", BigDecimal.TEN,
-                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerB, restaurant, null);
+                    BigDecimal.ONE, BigDecimal.TEN, OrderStatus.DELIVERED, consumerB, restaurant, null, null, null);
 
             orderRepository.saveAllAndFlush(List.of(orderA1, orderA2, orderA3, orderA4, orderB1));
+            rebuildRollups();
         }
 
         @Test
@@ -503,12 +575,13 @@ class ReportControllerIT extends BaseIntegrationTest {
             consumer = consumerRepository.saveAndFlush(consumer);
 
             Order order1 = new Order(null, null, null, "Addr", new BigDecimal("100"),
-                    BigDecimal.ZERO, new BigDecimal("100"), OrderStatus.DELIVERED, consumer, restaurant, null);
+                    BigDecimal.ZERO, new BigDecimal("100"), OrderStatus.DELIVERED, consumer, restaurant, null, null, null);
 
             Order order2 = new Order(null, null, null, "Addr", new BigDecimal("50"),
-                    BigDecimal.ZERO, new BigDecimal("50"), OrderStatus.PENDING, consumer, restaurant, null);
+                    BigDecimal.ZERO, new BigDecimal("50"), OrderStatus.PENDING, consumer, restaurant, null, null, null);
 
             orderRepository.saveAllAndFlush(List.of(order1, order2));
+            rebuildRollups();
         }
 
         @Test
@@ -565,4 +638,589 @@ class ReportControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$", hasSize(0)));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Rollup consistency tests")
+    class RollupConsistencyTests {
+
+        private static final Comparator<OrderByPeriodReportDto> BY_DATE_AND_STATUS =
+                Comparator.comparing(OrderByPeriodReportDto::date).thenComparing(OrderByPeriodReportDto::status);
+
+        private LocalDate today;
+        private UUID pendingTwoDaysAgo;
+
+        @BeforeEach
+        void setUp() {
+            today = LocalDate.now();
+
+            Restaurant restaurantA = restaurantRepository.saveAndFlush(new Restaurant(null, "Restaurant A", "CAT", "Addr",
+                    "111", BigDecimal.ZERO, true, null, null, null));
+            Restaurant restaurantB = restaurantRepository.saveAndFlush(new Restaurant(null, "Restaurant B", "CAT", "Addr",
+                    "222", BigDecimal.ZERO, true, null, null, null));
+
+            Consumer consumerA = consumerRepository.saveAndFlush(new Consumer(null, "Cons A", "a@email.com", "1", "Addr", true, null));
+            Consumer consumerB = consumerRepository.saveAndFlush(new Consumer(null, "Cons B", "b@email.com", "2", "Addr", true, null));
+            Consumer consumerC = consumerRepository.saveAndFlush(new Consumer(null, "Cons C", "c@email.com", "3", "Addr", true, null));
+
+            Product pizza = new Product(null, "Pizza", "Desc", BigDecimal.TEN, "PIZZA", true, restaurantA);
+            Product soda = new Product(null, "Soda", "Desc", BigDecimal.ONE, "BEBIDAS", true, restaurantA);
+            Product salad = new Product(null, "Salad", "Desc", BigDecimal.ONE, "SALADAS", true, restaurantB);
+            productRepository.saveAllAndFlush(List.of(pizza, soda, salad));
+
+            UUID delivered = placeOrder(consumerA, restaurantA, pizza, 5, "40.00", 2);
+            UUID canceled = placeOrder(consumerB, restaurantA, soda, 3, "25.00", 1);
+            UUID bulkA = placeOrder(consumerA, restaurantB, pizza, 2, "60.00", 1);
+            UUID bulkB = placeOrder(consumerC, restaurantB, salad, 6, "15.00", 0);
+            UUID preparing = placeOrder(consumerA, restaurantA, soda, 1, "10.00", 0);
+            pendingTwoDaysAgo = placeOrder(consumerB, restaurantB, pizza, 4, "30.00", 2);
+
+            for (OrderStatus status : List.of(OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED)) {
+                orderService.updateOrderStatus(delivered.toString(), status);
+                orderService.updateOrdersStatus(new OrderBulkStatusUpdateRequestDto(status, List.of(bulkA, bulkB)));
+            }
+            orderService.cancelOrder(canceled.toString());
+            orderService.updateOrderStatus(preparing.toString(), OrderStatus.PREPARING);
+        }
+
+        @Test
+        @DisplayName("Should match the raw reports when orders reach final statuses through transitions")
+        void should_MatchRawReports_When_OrdersTransition() {
+            assertEquals(reportMapper.toDtoList(orderRepository.getSalesByRestaurantReport()),
+                    reportService.getSalesByRestaurant());
+            assertEquals(reportMapper.toTopSellingDtoList(orderItemRepository.getTopSellingProductsReport()),
+                    reportService.getTopSellingProducts());
+            assertEquals(reportMapper.toActiveConsumerDtoList(orderRepository.getActiveConsumers()),
+                    reportService.getActiveConsumers());
+
+            assertEquals(6, rawOrdersByPeriod(null).size());
+            for (OrderStatus status : new OrderStatus[]{null, OrderStatus.DELIVERED, OrderStatus.CANCELED, OrderStatus.PENDING}) {
+                assertEquals(rawOrdersByPeriod(status), reportService.getOrdersByPeriodAndStatus(today.minusDays(2), today, status));
+            }
+        }
+
+        @Test
+        @DisplayName("Should match the raw reports after the rollups are rebuilt")
+        void should_MatchRawReports_When_RollupsRebuilt() {
+            var salesBefore = reportService.getSalesByRestaurant();
+            var periodBefore = reportService.getOrdersByPeriodAndStatus(today.minusDays(2), today, null);
+
+            assertEquals(4, dailySalesRollup.rebuild(today.minusDays(2), today));
+
+            assertEquals(salesBefore, reportService.getSalesByRestaurant());
+            assertEquals(periodBefore, reportService.getOrdersByPeriodAndStatus(today.minusDays(2), today, null));
+            assertEquals(reportMapper.toTopSellingDtoList(orderItemRepository.getTopSellingProductsReport()),
+                    reportService.getTopSellingProducts());
+        }
+
+        @Test
+        @DisplayName("Should serve cached closed days until an order of that day is relayed as changed")
+        void should_ReloadCachedDay_When_OrderChangeIsRelayed() {
+            outboxRelay.relay();
+            List<OrderByPeriodReportDto> cached = reportService.getOrdersByPeriodAndStatus(today.minusDays(2), today, null);
+            assertEquals(rawOrdersByPeriod(null), cached);
+
+            orderService.cancelOrder(pendingTwoDaysAgo.toString());
+            assertEquals(cached, reportService.getOrdersByPeriodAndStatus(today.minusDays(2), today, null));
+
+            outboxRelay.relay();
+            assertEquals(rawOrdersByPeriod(null), reportService.getOrdersByPeriodAndStatus(today.minusDays(2), today, null));
+            assertTrue(rawOrdersByPeriod(null).stream().anyMatch(row ->
+                    row.date().equals(today.minusDays(2)) && row.status() == OrderStatus.CANCELED));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK and restore the rollups when rebuilt as ADMIN")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_When_RebuildRequestedByAdmin() throws Exception {
+            jdbcTemplate.update("DELETE FROM tb_daily_restaurant_sales");
+            assertEquals(List.of(), reportService.getSalesByRestaurant());
+
+            mockMvc.perform(post("/reports/rollups/rebuild")
+                            .param("startDate", today.minusDays(7).format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.orders", is(4)))
+                    .andExpect(jsonPath("$.startDate", is(today.minusDays(7).format(DateTimeFormatter.ISO_DATE))));
+
+            assertEquals(reportMapper.toDtoList(orderRepository.getSalesByRestaurantReport()),
+                    reportService.getSalesByRestaurant());
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the rebuild range is inverted")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_RebuildRangeInverted() throws Exception {
+            mockMvc.perform(post("/reports/rollups/rebuild")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.minusDays(1).format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when rebuild is requested by a CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RebuildRequestedByCustomer() throws Exception {
+            mockMvc.perform(post("/reports/rollups/rebuild")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK streaming one CSV line per day, restaurant and final status")
+        @WithMockUser(roles = "ADMIN")
+        void should_StreamDailySales_When_AdminAuthenticated() throws Exception {
+            String content = mockMvc.perform(get("/reports/daily-sales/export")
+                            .param("startDate", today.minusDays(2).format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andReturn().getResponse().getContentAsString();
+
+            List<String> lines = content.lines().toList();
+            assertEquals("date,restaurantId,restaurantName,status,totalOrders,totalSales", lines.get(0));
+            assertEquals(5, lines.size());
+            assertTrue(lines.get(1).startsWith(today.minusDays(2) + ","));
+            assertTrue(lines.get(1).endsWith(",Restaurant A,DELIVERED,1,40.00"));
+            assertTrue(lines.get(4).endsWith(",Restaurant B,DELIVERED,1,15.00"));
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the export range is inverted")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_ExportRangeInverted() throws Exception {
+            mockMvc.perform(get("/reports/daily-sales/export")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.minusDays(1).format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        private UUID placeOrder(Consumer consumer, Restaurant restaurant, Product product, int quantity,
+                                String total, int daysAgo) {
+            Order order = orderRepository.saveAndFlush(new Order(null, null, null, "Addr", new BigDecimal(total),
+                    BigDecimal.ZERO, new BigDecimal(total), OrderStatus.PENDING, consumer, restaurant, null, null, null));
+            orderItemRepository.saveAndFlush(new OrderItem(null, quantity, product.getPrice(), BigDecimal.ZERO,
+                    order, product, null));
+
+            LocalDate day = today.minusDays(daysAgo);
+            jdbcTemplate.update("UPDATE tb_orders SET order_date = ? WHERE id = ?", day.atTime(12, 0), order.getId());
+            jdbcTemplate.update("UPDATE tb_order_items SET order_date = ? WHERE order_id = ?", day.atTime(12, 0), order.getId());
+            return order.getId();
+        }
+
+        private List<OrderByPeriodReportDto> rawOrdersByPeriod(OrderStatus status) {
+            return reportMapper.toOrderByPeriodAndStatusDtoList(orderRepository.getOrdersByPeriod(
+                            today.minusDays(2).atStartOfDay(), today.atTime(23, 59, 59), status))
+                    .stream().sorted(BY_DATE_AND_STATUS).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /reports/dashboard tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class GetDashboardTests {
+
+        private LocalDate today;
+
+        @BeforeEach
+        void setUp() {
+            today = LocalDate.now();
+
+            Restaurant restaurant = restaurantRepository.saveAndFlush(new Restaurant(null, "Rest", "CAT", "Addr", "123",
+                    BigDecimal.ZERO, true, null, null, null));
+            Consumer consumer = consumerRepository.saveAndFlush(new Consumer(null, "Cons", "cons@email.com", "123",
+                    "Addr", true, null));
+            Product pizza = productRepository.saveAndFlush(new Product(null, "Pizza", "Desc", BigDecimal.TEN, "PIZZA",
+                    true, restaurant));
+            Order order = orderRepository.saveAndFlush(new Order(null, null, null, "Addr", new BigDecimal("100"),
+                    BigDecimal.ZERO, new BigDecimal("100"), OrderStatus.DELIVERED, consumer, restaurant, null, null, null));
+            orderItemRepository.saveAndFlush(new OrderItem(null, 3, pizza.getPrice(), BigDecimal.ZERO, order, pizza, null));
+            rebuildRollups();
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK with every section and its timing when loaded by ADMIN")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_WithAllSections_When_AdminAuthenticated() throws Exception {
+            mockMvc.perform(get("/reports/dashboard")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.salesByRestaurant[0].restaurantName", is("Rest")))
+                    .andExpect(jsonPath("$.salesByRestaurant[0].totalSales", is(100.00)))
+                    .andExpect(jsonPath("$.topSellingProducts[0].productName", is("Pizza")))
+                    .andExpect(jsonPath("$.activeConsumers[0].consumerEmail", is("cons@email.com")))
+                    .andExpect(jsonPath("$.ordersByPeriod[0].totalOrders", is(1)))
+                    .andExpect(jsonPath("$.metadata.complete", is(true)))
+                    .andExpect(jsonPath("$.metadata.sections.salesByRestaurant.status", is("OK")))
+                    .andExpect(jsonPath("$.metadata.sections.ordersByPeriod.status", is("OK")))
+                    .andExpect(jsonPath("$.metadata.sections.ordersByPeriod.elapsedMillis", greaterThanOrEqualTo(0)))
+                    .andExpect(jsonPath("$.metadata.sections.ordersByPeriod.error").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the dates are missing")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_DatesAreMissing() throws Exception {
+            mockMvc.perform(get("/reports/dashboard"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when the role is CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            mockMvc.perform(get("/reports/dashboard")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /reports/analytics tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class GetAnalyticsTests {
+
+        private Restaurant restaurant;
+        private Consumer consumer;
+        private Product pizza;
+        private Order pending;
+
+        @BeforeEach
+        void setUp() {
+            restaurant = restaurantRepository.saveAndFlush(new Restaurant(null, "Rest", "CAT", "Addr", "123",
+                    BigDecimal.ZERO, true, null, null, null));
+            consumer = consumerRepository.saveAndFlush(new Consumer(null, "Cons", "cons@email.com", "123",
+                    "Addr", true, null));
+            pizza = productRepository.saveAndFlush(new Product(null, "Pizza", "Desc", BigDecimal.TEN, "PIZZA",
+                    true, restaurant));
+            saveOrder(OrderStatus.DELIVERED, "100.00", 3);
+            pending = saveOrder(OrderStatus.PENDING, "50.00", 1);
+            orderColumnFeeder.load();
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK with the orders grouped by restaurant and status when queried by ADMIN")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_WithGroups_When_AdminAuthenticated() throws Exception {
+            mockMvc.perform(get("/reports/analytics")
+                            .param("groupBy", "restaurant", "status"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows", hasSize(2)))
+                    .andExpect(jsonPath("$.rows[0].group.restaurant", is(restaurant.getId().toString())))
+                    .andExpect(jsonPath("$.rows[0].group.status", is("PENDING")))
+                    .andExpect(jsonPath("$.rows[0].count", is(1)))
+                    .andExpect(jsonPath("$.rows[0].total", is(50.00)))
+                    .andExpect(jsonPath("$.rows[0].quantity").doesNotExist())
+                    .andExpect(jsonPath("$.rows[1].group.status", is("DELIVERED")))
+                    .andExpect(jsonPath("$.rows[1].total", is(100.00)))
+                    .andExpect(jsonPath("$.truncated", is(false)))
+                    .andExpect(jsonPath("$.scannedRows", is(2)));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK with the items and quantities grouped by product")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnOk_WithItems_When_FactIsItems() throws Exception {
+            mockMvc.perform(get("/reports/analytics")
+                            .param("fact", "items")
+                            .param("groupBy", "product")
+                            .param("consumerId", consumer.getId().toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows", hasSize(1)))
+                    .andExpect(jsonPath("$.rows[0].group.product", is(pizza.getId().toString())))
+                    .andExpect(jsonPath("$.rows[0].count", is(2)))
+                    .andExpect(jsonPath("$.rows[0].quantity", is(4)))
+                    .andExpect(jsonPath("$.rows[0].total", is(40.00)));
+        }
+
+        @Test
+        @DisplayName("Should follow the broadcast order events")
+        @WithMockUser(roles = "ADMIN")
+        void should_FollowOrderChanges_When_EventsAreRelayed() throws Exception {
+            orderService.updateOrderStatus(pending.getId().toString(), OrderStatus.PREPARING);
+            outboxRelay.relay();
+
+            OrderCreatedEvent created = new OrderCreatedEvent(this, saveOrder(OrderStatus.PREPARING, "20.00", 2), null);
+            created.markBroadcast();
+            eventPublisher.publishEvent(created);
+
+            mockMvc.perform(get("/reports/analytics")
+                            .param("status", "PREPARING"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows[0].count", is(2)))
+                    .andExpect(jsonPath("$.rows[0].total", is(70.00)));
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the period is inverted or products are grouped on orders")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_QueryInvalid() throws Exception {
+            mockMvc.perform(get("/reports/analytics")
+                            .param("from", "2025-10-08T00:00:00")
+                            .param("to", "2025-10-01T00:00:00"))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+
+            mockMvc.perform(get("/reports/analytics")
+                            .param("groupBy", "product"))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when a dimension is unknown")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_DimensionUnknown() throws Exception {
+            mockMvc.perform(get("/reports/analytics")
+                            .param("groupBy", "weekday"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when the role is CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            mockMvc.perform(get("/reports/analytics"))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+
+        private Order saveOrder(OrderStatus status, String total, int pizzas) {
+            Order order = orderRepository.saveAndFlush(new Order(null, null, null, "Addr", new BigDecimal(total),
+                    BigDecimal.ZERO, new BigDecimal(total), status, consumer, restaurant, null, null, null));
+            orderItemRepository.saveAndFlush(new OrderItem(null, pizzas, pizza.getPrice(),
+                    pizza.getPrice().multiply(BigDecimal.valueOf(pizzas)), order, pizza, null));
+            return order;
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /reports/top-sellers tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class GetTopSellersTests {
+
+        private Restaurant pizzeria;
+        private Restaurant bar;
+        private Product pizza;
+        private Product soda;
+        private Consumer consumer;
+
+        @BeforeEach
+        void setUp() {
+            pizzeria = restaurantRepository.saveAndFlush(new Restaurant(null, "Pizzeria", "Italiana", "Addr", "111",
+                    BigDecimal.ZERO, true, null, null, null));
+            bar = restaurantRepository.saveAndFlush(new Restaurant(null, "Bar", "Bebidas", "Addr", "222",
+                    BigDecimal.ZERO, true, null, null, null));
+            consumer = consumerRepository.saveAndFlush(new Consumer(null, "Cons", "cons@email.com", "1", "Addr", true, null));
+            pizza = productRepository.saveAndFlush(new Product(null, "Pizza", "Desc", BigDecimal.TEN, "PIZZA", true, pizzeria));
+            soda = productRepository.saveAndFlush(new Product(null, "Soda", "Desc", BigDecimal.ONE, "BEBIDAS", true, bar));
+        }
+
+        @Test
+        @DisplayName("Should rank the products and restaurants of the orders relayed as delivered")
+        @WithMockUser(roles = "ADMIN")
+        void should_RankDeliveredOrders_When_DeliveriesAreRelayed() throws Exception {
+            UUID pizzas = placeOrder(pizzeria, pizza, 2, "20.00");
+            UUID sodas = placeOrder(bar, soda, 5, "5.00");
+            UUID moreSodas = placeOrder(bar, soda, 4, "4.00");
+            placeOrder(pizzeria, pizza, 50, "500.00");
+
+            for (OrderStatus status : List.of(OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED)) {
+                orderService.updateOrderStatus(pizzas.toString(), status);
+                orderService.updateOrdersStatus(new OrderBulkStatusUpdateRequestDto(status, List.of(sodas, moreSodas)));
+            }
+            outboxRelay.relay();
+
+            mockMvc.perform(get("/reports/top-sellers/products")
+                            .param("window", "hour"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.window", is("HOUR")))
+                    .andExpect(jsonPath("$.entries", hasSize(2)))
+                    .andExpect(jsonPath("$.entries[0].id", is(soda.getId().toString())))
+                    .andExpect(jsonPath("$.entries[0].name", is("Soda")))
+                    .andExpect(jsonPath("$.entries[0].value", is(9)))
+                    .andExpect(jsonPath("$.entries[0].error", is(0)))
+                    .andExpect(jsonPath("$.entries[0].guaranteed", is(true)))
+                    .andExpect(jsonPath("$.entries[1].id", is(pizza.getId().toString())))
+                    .andExpect(jsonPath("$.entries[1].value", is(2)));
+
+            mockMvc.perform(get("/reports/top-sellers/restaurants")
+                            .param("category", "italiana"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.window", is("ALL")))
+                    .andExpect(jsonPath("$.category", is("italiana")))
+                    .andExpect(jsonPath("$.entries", hasSize(1)))
+                    .andExpect(jsonPath("$.entries[0].name", is("Pizzeria")))
+                    .andExpect(jsonPath("$.entries[0].value", is(20.00)));
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the limit is out of range")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_LimitOutOfRange() throws Exception {
+            mockMvc.perform(get("/reports/top-sellers/products")
+                            .param("limit", "0"))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the window is unknown")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_WindowUnknown() throws Exception {
+            mockMvc.perform(get("/reports/top-sellers/restaurants")
+                            .param("window", "week"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when the role is CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            mockMvc.perform(get("/reports/top-sellers/products"))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+
+        private UUID placeOrder(Restaurant restaurant, Product product, int quantity, String total) {
+            Order order = orderRepository.saveAndFlush(new Order(null, null, null, "Addr", new BigDecimal(total),
+                    BigDecimal.ZERO, new BigDecimal(total), OrderStatus.PENDING, consumer, restaurant, null, null, null));
+            orderItemRepository.saveAndFlush(new OrderItem(null, quantity, product.getPrice(), new BigDecimal(total),
+                    order, product, null));
+            return order.getId();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /reports/order-distribution tests")
+    class GetOrderDistributionTests {
+
+        private LocalDate today;
+        private Restaurant pizzeria;
+        private Restaurant bar;
+
+        @BeforeEach
+        void setUp() {
+            today = LocalDate.now();
+            pizzeria = restaurantRepository.saveAndFlush(new Restaurant(null, "Pizzeria", "Italiana", "Addr", "111",
+                    BigDecimal.ZERO, true, null, null, null));
+            bar = restaurantRepository.saveAndFlush(new Restaurant(null, "Bar", "Bebidas", "Addr", "222",
+                    BigDecimal.ZERO, true, null, null, null));
+            List<Consumer> consumers = consumerRepository.saveAllAndFlush(IntStream.range(0, 12)
+                    .mapToObj(i -> new Consumer(null, "Cons " + i, "cons" + i + "@email.com", String.valueOf(i), "Addr", true, null))
+                    .toList());
+
+            List<UUID> orderIds = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Restaurant restaurant = i % 4 == 0 ? bar : pizzeria;
+                String total = BigDecimal.valueOf(1000 + (i * 7919L) % 9000, 2).toPlainString();
+                orderIds.add(placeOrder(consumers.get(i % consumers.size()), restaurant, total, i % 3));
+            }
+            placeOrder(consumers.getFirst(), pizzeria, "999.00", 0);
+
+            for (OrderStatus status : List.of(OrderStatus.PREPARING, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED)) {
+                orderService.updateOrdersStatus(new OrderBulkStatusUpdateRequestDto(status, orderIds.subList(0, 20)));
+                orderService.updateOrdersStatus(new OrderBulkStatusUpdateRequestDto(status, orderIds.subList(20, 40)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should match the exact distinct consumers and percentiles of the delivered orders")
+        @WithMockUser(roles = "ADMIN")
+        void should_MatchExactQueries_When_OrdersDelivered() throws Exception {
+            assertMatchesExact(List.of());
+            assertMatchesExact(List.of(bar.getId()));
+        }
+
+        @Test
+        @DisplayName("Should return the same distribution after the sketches are rebuilt")
+        @WithMockUser(roles = "ADMIN")
+        void should_MatchExactQueries_When_SketchesRebuilt() throws Exception {
+            jdbcTemplate.update("DELETE FROM tb_daily_restaurant_sketches");
+
+            mockMvc.perform(post("/reports/rollups/rebuild")
+                            .param("startDate", today.minusDays(7).format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isOk());
+
+            assertMatchesExact(List.of(pizzeria.getId()));
+            assertMatchesExact(List.of(pizzeria.getId(), bar.getId()));
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the range is inverted")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_RangeInverted() throws Exception {
+            mockMvc.perform(get("/reports/order-distribution")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.minusDays(1).format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when the role is CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            mockMvc.perform(get("/reports/order-distribution")
+                            .param("startDate", today.format(DateTimeFormatter.ISO_DATE))
+                            .param("endDate", today.format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.FORBIDDEN_ACCESS.getCode())));
+        }
+
+        private void assertMatchesExact(List<UUID> restaurantIds) throws Exception {
+            String filter = restaurantIds.isEmpty() ? "" : restaurantIds.stream()
+                    .map(id -> "'" + id + "'").collect(Collectors.joining(", ", " AND restaurant_id IN (", ")"));
+            String delivered = " FROM tb_orders WHERE status = 'DELIVERED' AND order_date >= ?" + filter;
+            Object since = today.minusDays(2).atStartOfDay();
+            long distinct = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT consumer_id)" + delivered, Long.class, since);
+            List<BigDecimal> totals = jdbcTemplate.queryForList("SELECT total" + delivered + " ORDER BY total",
+                    BigDecimal.class, since);
+            long todayDistinct = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT consumer_id)" + delivered +
+                    " AND order_date >= ?", Long.class, since, today.atStartOfDay());
+
+            var request = get("/reports/order-distribution")
+                    .param("startDate", today.minusDays(2).format(DateTimeFormatter.ISO_DATE))
+                    .param("endDate", today.format(DateTimeFormatter.ISO_DATE));
+            restaurantIds.forEach(id -> request.param("restaurantId", id.toString()));
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.orders", is(totals.size())))
+                    .andExpect(jsonPath("$.distinctConsumers", is((int) distinct)))
+                    .andExpect(jsonPath("$.p99", is(totals.getLast().doubleValue())))
+                    .andExpect(jsonPath("$.days", hasSize(3)))
+                    .andExpect(jsonPath("$.days[2].day", is(today.format(DateTimeFormatter.ISO_DATE))))
+                    .andExpect(jsonPath("$.days[2].distinctConsumers", is((int) todayDistinct)))
+                    .andReturn().getResponse().getContentAsString();
+
+            /* Between the two middle values, as the exact median would be */
+            BigDecimal p50 = objectMapper.readTree(body).get("p50").decimalValue();
+            int middle = totals.size() / 2;
+            assertTrue(p50.compareTo(totals.get(middle - 1)) >= 0 && p50.compareTo(totals.get(middle)) <= 0,
+                    p50 + " fora de " + totals.get(middle - 1) + ".." + totals.get(middle));
+        }
+
+        private UUID placeOrder(Consumer consumer, Restaurant restaurant, String total, int daysAgo) {
+            Order order = orderRepository.saveAndFlush(new Order(null, null, null, "Addr", new BigDecimal(total),
+                    BigDecimal.ZERO, new BigDecimal(total), OrderStatus.PENDING, consumer, restaurant, null, null, null));
+            jdbcTemplate.update("UPDATE tb_orders SET order_date = ? WHERE id = ?",
+                    today.minusDays(daysAgo).atTime(12, 0), order.getId());
+            return order.getId();
+        }
+    }
+
+    /* Orders seeded directly skip the status transitions that feed the rollups */
+    private void rebuildRollups() {
+        dailySalesRollup.rebuild(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+    }
+}
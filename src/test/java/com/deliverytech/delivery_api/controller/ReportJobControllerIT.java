@@ -0,0 +1,199 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.BaseIntegrationTest;
+import com.deliverytech.delivery_api.model.Consumer;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.ConsumerRepository;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import com.deliverytech.delivery_api.repository.RestaurantRepository;
+import com.deliverytech.delivery_api.rollup.DailySalesRollup;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReportJobControllerIT extends BaseIntegrationTest {
+
+    @Autowired
+    private ConsumerRepository consumerRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DailySalesRollup dailySalesRollup;
+
+    @Nested
+    @DisplayName("POST /reports/jobs tests")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ReportJobTests {
+
+        private String today;
+
+        @BeforeEach
+        void setUp() {
+            today = LocalDate.now().format(DateTimeFormatter.ISO_DATE);
+
+            Restaurant restaurant = restaurantRepository.saveAndFlush(new Restaurant(null, "Rest", "CAT", "Addr", "123",
+                    BigDecimal.ZERO, true, null, null, null));
+            Consumer consumer = consumerRepository.saveAndFlush(new Consumer(null, "Cons", "cons@email.com", "123",
+                    "Addr", true, null));
+            orderRepository.saveAllAndFlush(List.of(
+                    new Order(null, null, null, "Addr", new BigDecimal("100"), BigDecimal.ZERO, new BigDecimal("100"),
+                            OrderStatus.DELIVERED, consumer, restaurant, null, null, null),
+                    new Order(null, null, null, "Addr", new BigDecimal("50"), BigDecimal.ZERO, new BigDecimal("50"),
+                            OrderStatus.PENDING, consumer, restaurant, null, null, null)));
+            dailySalesRollup.rebuild(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+        }
+
+        @Test
+        @DisplayName("Should return 202 - Accepted and serve the finished file plain or gzipped")
+        @WithMockUser(roles = "ADMIN")
+        void should_ServeFinishedReport_When_Submitted() throws Exception {
+            MvcResult submitted = mockMvc.perform(post("/reports/jobs")
+                            .param("type", "orders-by-period")
+                            .param("startDate", today)
+                            .param("endDate", today)
+                            .param("status", "DELIVERED"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string(HttpHeaders.LOCATION, containsString("/reports/jobs/")))
+                    .andExpect(jsonPath("$.type", is("ORDERS_BY_PERIOD")))
+                    .andExpect(jsonPath("$.format", is("CSV")))
+                    .andReturn();
+            UUID id = UUID.fromString(objectMapper.readTree(submitted.getResponse().getContentAsString()).get("id").asText());
+
+            JsonNode job = awaitFinished(id);
+            assertEquals("SUCCEEDED", job.get("status").asText());
+            assertEquals(1, job.get("rows").asInt());
+
+            String plain = mockMvc.perform(get("/reports/jobs/{id}/download", id))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                            containsString("orders-by-period-" + today + "-" + today + "-delivered.csv")))
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            List<String> lines = plain.lines().toList();
+            assertEquals(2, lines.size());
+            assertEquals(today + ",1,100.00,DELIVERED", lines.get(1));
+
+            byte[] gzipped = mockMvc.perform(get("/reports/jobs/{id}/download", id)
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertEquals(plain, new String(new GZIPInputStream(new ByteArrayInputStream(gzipped)).readAllBytes(),
+                    StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Should return 409 - Conflict when canceling a finished report")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnConflict_When_CancelingFinishedReport() throws Exception {
+            MvcResult submitted = mockMvc.perform(post("/reports/jobs")
+                            .param("type", "daily_sales")
+                            .param("startDate", today)
+                            .param("endDate", today)
+                            .param("format", "ndjson"))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+            UUID id = UUID.fromString(objectMapper.readTree(submitted.getResponse().getContentAsString()).get("id").asText());
+            awaitFinished(id);
+
+            mockMvc.perform(delete("/reports/jobs/{id}", id))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 422 - Unprocessable Entity when the range is inverted")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnUnprocessableEntity_When_RangeIsInverted() throws Exception {
+            mockMvc.perform(post("/reports/jobs")
+                            .param("type", "daily_sales")
+                            .param("startDate", today)
+                            .param("endDate", LocalDate.now().minusDays(1).format(DateTimeFormatter.ISO_DATE)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the type is unknown")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnBadRequest_When_TypeIsUnknown() throws Exception {
+            mockMvc.perform(post("/reports/jobs")
+                            .param("type", "everything")
+                            .param("startDate", today)
+                            .param("endDate", today))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @DisplayName("Should return 404 - Not Found when the report does not exist")
+        @WithMockUser(roles = "ADMIN")
+        void should_ReturnNotFound_When_ReportDoesNotExist() throws Exception {
+            mockMvc.perform(get("/reports/jobs/{id}", UUID.randomUUID()))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.success", is(false)));
+            mockMvc.perform(get("/reports/jobs/{id}/download", UUID.randomUUID()))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should return 403 - Forbidden when the role is CUSTOMER")
+        @WithMockUser(roles = "CUSTOMER")
+        void should_ReturnForbidden_When_RoleIsCustomer() throws Exception {
+            mockMvc.perform(post("/reports/jobs")
+                            .param("type", "daily_sales")
+                            .param("startDate", today)
+                            .param("endDate", today))
+                    .andExpect(status().isForbidden());
+        }
+
+        private JsonNode awaitFinished(UUID id) throws Exception {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                JsonNode job = objectMapper.readTree(mockMvc.perform(get("/reports/jobs/{id}", id))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+                if (!List.of("QUEUED", "RUNNING").contains(job.get("status").asText())) return job;
+                Thread.sleep(20);
+            }
+            return fail("Report did not finish: " + id);
+        }
+    }
+}
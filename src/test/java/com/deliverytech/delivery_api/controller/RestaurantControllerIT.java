@@ -8,6 +8,7 @@ import com.deliverytech.delivery_api.model.enums.ErrorCode;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
 import com.deliverytech.delivery_api.repository.*;
 import com.deliverytech.delivery_api.security.SecurityService;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +21,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -444,6 +446,80 @@ class RestaurantControllerIT extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.content[0].name", is(productA.getName())))
                     .andExpect(jsonPath("$.content[0].restaurantId", is(restaurantA.getId().toString())));
         }
+
+        @Test
+        @DisplayName("Should return 200 - OK walking the products by name with next and prev cursors")
+        void should_WalkProductsByName_When_CursorIsUsed() throws Exception {
+            for (String name : List.of("Burger", "Salada", "Açaí", "Suco")) {
+                Product product = new Product();
+                product.setName(name);
+                product.setDescription("Test " + name);
+                product.setPrice(BigDecimal.ONE);
+                product.setCategory("OUTROS");
+                product.setAvailable(true);
+                product.setRestaurant(restaurantA);
+                productRepository.saveAndFlush(product);
+            }
+
+            String firstPage = mockMvc.perform(get("/restaurants/{id}/products", restaurantA.getId())
+                            .param("cursor", "")
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].name", contains("Açaí", "Burger")))
+                    .andExpect(jsonPath("$.page").doesNotExist())
+                    .andExpect(jsonPath("$.cursors.size", is(2)))
+                    .andExpect(jsonPath("$.cursors.prev", nullValue()))
+                    .andExpect(jsonPath("$.links.next", containsString("cursor=")))
+                    .andReturn().getResponse().getContentAsString();
+
+            String secondPage = mockMvc.perform(get("/restaurants/{id}/products", restaurantA.getId())
+                            .param("cursor", JsonPath.<String>read(firstPage, "$.cursors.next"))
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].name", contains("Pizza", "Salada")))
+                    .andReturn().getResponse().getContentAsString();
+
+            String lastPage = mockMvc.perform(get("/restaurants/{id}/products", restaurantA.getId())
+                            .param("cursor", JsonPath.<String>read(secondPage, "$.cursors.next"))
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].name", contains("Suco")))
+                    .andExpect(jsonPath("$.cursors.next", nullValue()))
+                    .andReturn().getResponse().getContentAsString();
+
+            mockMvc.perform(get("/restaurants/{id}/products", restaurantA.getId())
+                            .param("cursor", JsonPath.<String>read(lastPage, "$.cursors.prev"))
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[*].name", contains("Pizza", "Salada")))
+                    .andExpect(jsonPath("$.cursors.prev", notNullValue()))
+                    .andExpect(jsonPath("$.cursors.next", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Should return 400 - Bad Request when the cursor is not valid")
+        void should_ReturnBadRequest_When_CursorIsInvalid() throws Exception {
+            mockMvc.perform(get("/restaurants/{id}/products", restaurantA.getId())
+                            .param("cursor", "not-a-cursor"))
+                    .andExpect(status().isBadRequest())
+
+                    .andExpect(jsonPath("$.success", is(false)))
+                    .andExpect(jsonPath("$.error.code", is(ErrorCode.BAD_REQUEST.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should return 200 - OK without totals nor last link when the count mode is none")
+        void should_ReturnSliceWithoutTotals_When_CountIsNone() throws Exception {
+            mockMvc.perform(get("/restaurants/{id}/products", restaurantA.getId())
+                            .param("count", "none"))
+                    .andExpect(status().isOk())
+
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.page").doesNotExist())
+                    .andExpect(jsonPath("$.slice.hasNext", is(false)))
+                    .andExpect(jsonPath("$.links.next", nullValue()))
+                    .andExpect(jsonPath("$.links.last", nullValue()));
+        }
     }
 
     @Nested
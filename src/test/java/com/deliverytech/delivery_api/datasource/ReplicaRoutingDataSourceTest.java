@@ -0,0 +1,311 @@
+package com.deliverytech.delivery_api.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private DataSource primary;
+    private DataSource replica;
+    private MutableClock clock;
+    private ReplicaHealth replicaHealth;
+    private PrimaryPinning primaryPinning;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        clock = new MutableClock();
+        replicaHealth = new ReplicaHealth(replica, null, WINDOW);
+        primaryPinning = new PrimaryPinning(WINDOW, 100, clock);
+        replicaHealth.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should read from the replica in a read-only transaction")
+        void should_UseReplica_When_TransactionIsReadOnly() {
+            assertEquals("replica", readNode(routing(replica), true));
+        }
+
+        @Test
+        @DisplayName("Should use the primary in a read-write transaction")
+        void should_UsePrimary_When_TransactionIsReadWrite() {
+            assertEquals("primary", readNode(routing(replica), false));
+        }
+
+        @Test
+        @DisplayName("Should use the primary outside a transaction")
+        void should_UsePrimary_When_NoTransaction() {
+            assertEquals("primary", new JdbcTemplate(routing(replica)).queryForObject("SELECT name FROM node", String.class));
+        }
+
+        @Test
+        @DisplayName("Should read from the primary while the replica is marked down")
+        void should_UsePrimary_When_ReplicaIsDown() {
+            replicaHealth.markDown(new SQLException("down"));
+
+            assertEquals("primary", readNode(routing(replica), true));
+        }
+
+        @Test
+        @DisplayName("Should fall back to the primary and mark the replica down when it refuses connections")
+        void should_FallBackToPrimary_When_ReplicaConnectionFails() throws SQLException {
+            DataSource unreachable = mock(DataSource.class);
+            when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+            assertEquals("primary", readNode(routing(unreachable), true));
+            assertFalse(replicaHealth.isAvailable());
+        }
+
+        @Test
+        @DisplayName("Should open connections with explicit credentials on the routed database")
+        void should_UseCredentials_When_Given() throws SQLException {
+            try (var connection = new ReplicaRoutingDataSource(primary, replica, replicaHealth, primaryPinning)
+                    .getConnection("sa", "")) {
+                assertTrue(connection.isValid(1));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes")
+    class ReadYourWritesTests {
+
+        @Test
+        @DisplayName("Should keep a user's reads on the primary right after they write")
+        void should_PinUserToPrimary_When_UserJustWrote() {
+            DataSource routing = routing(replica);
+            authenticate("writer@email.com");
+
+            readNode(routing, false);
+
+            assertEquals("primary", readNode(routing, true));
+        }
+
+        @Test
+        @DisplayName("Should read from the replica again once the window has passed")
+        void should_ReadFromReplica_When_WindowExpired() {
+            DataSource routing = routing(replica);
+            authenticate("writer@email.com");
+            readNode(routing, false);
+
+            clock.advance(WINDOW);
+
+            assertEquals("replica", readNode(routing, true));
+        }
+
+        @Test
+        @DisplayName("Should not pin other users")
+        void should_ReadFromReplica_When_AnotherUserWrote() {
+            DataSource routing = routing(replica);
+            authenticate("writer@email.com");
+            readNode(routing, false);
+
+            authenticate("reader@email.com");
+
+            assertEquals("replica", readNode(routing, true));
+        }
+
+        @Test
+        @DisplayName("Should not pin when the write is rolled back")
+        void should_NotPin_When_TransactionRolledBack() {
+            DataSource routing = routing(replica);
+            authenticate("writer@email.com");
+
+            new TransactionTemplate(new DataSourceTransactionManager(routing)).executeWithoutResult(status -> {
+                new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class);
+                status.setRollbackOnly();
+            });
+
+            assertEquals("replica", readNode(routing, true));
+        }
+
+        @Test
+        @DisplayName("Should not pin anonymous requests")
+        void should_NotPin_When_Anonymous() {
+            DataSource routing = routing(replica);
+            SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                    "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+            readNode(routing, false);
+
+            assertEquals("replica", readNode(routing, true));
+        }
+
+        @Test
+        @DisplayName("Should not pin when the window is zero")
+        void should_NotPin_When_Disabled() {
+            primaryPinning = new PrimaryPinning(Duration.ZERO, 100, clock);
+            DataSource routing = routing(replica);
+            authenticate("writer@email.com");
+
+            readNode(routing, false);
+
+            assertFalse(primaryPinning.isEnabled());
+            assertEquals("replica", readNode(routing, true));
+        }
+
+        @Test
+        @DisplayName("Should forget the least recently pinned user beyond the limit")
+        void should_EvictEldest_When_LimitExceeded() {
+            PrimaryPinning pinning = new PrimaryPinning(WINDOW, 1, clock);
+
+            pinning.pin("first");
+            pinning.pin("second");
+
+            assertFalse(pinning.isPinned("first"));
+            assertTrue(pinning.isPinned("second"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Replica health")
+    class ReplicaHealthTests {
+
+        @Test
+        @DisplayName("Should be available when the lag is within the limit")
+        void should_BeAvailable_When_LagWithinLimit() {
+            ReplicaHealth health = new ReplicaHealth(replica, "SELECT 1.5", WINDOW);
+
+            health.check();
+
+            assertTrue(health.isAvailable());
+        }
+
+        @Test
+        @DisplayName("Should be available when the replica reports no lag")
+        void should_BeAvailable_When_LagIsNull() {
+            ReplicaHealth health = new ReplicaHealth(replica, "SELECT CAST(NULL AS DOUBLE PRECISION)", WINDOW);
+
+            health.check();
+
+            assertTrue(health.isAvailable());
+        }
+
+        @Test
+        @DisplayName("Should be unavailable when the replica lags too far behind")
+        void should_BeUnavailable_When_LagExceedsLimit() {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+            jdbcTemplate.execute("CREATE TABLE replication_lag (seconds DOUBLE PRECISION)");
+            jdbcTemplate.update("INSERT INTO replication_lag VALUES (1)");
+            ReplicaHealth health = new ReplicaHealth(replica, "SELECT seconds FROM replication_lag", WINDOW);
+            health.check();
+            assertTrue(health.isAvailable());
+
+            jdbcTemplate.update("UPDATE replication_lag SET seconds = 30");
+            health.check();
+
+            assertFalse(health.isAvailable());
+        }
+
+        @Test
+        @DisplayName("Should be unavailable when the check query fails")
+        void should_BeUnavailable_When_CheckFails() {
+            ReplicaHealth health = new ReplicaHealth(replica, "SELECT missing_function()", WINDOW);
+
+            health.check();
+
+            assertFalse(health.isAvailable());
+        }
+
+        @Test
+        @DisplayName("Should become available again on the next successful check")
+        void should_Recover_When_CheckSucceedsAfterMarkDown() {
+            replicaHealth.markDown(new SQLException("down"));
+            assertFalse(replicaHealth.isAvailable());
+
+            replicaHealth.check();
+
+            assertTrue(replicaHealth.isAvailable());
+        }
+    }
+
+    private DataSource routing(DataSource replicaTarget) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaTarget, replicaHealth, primaryPinning));
+    }
+
+    private static String readNode(DataSource routing, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("ROLE_CUSTOMER")));
+    }
+
+    private static DataSource database(String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", node);
+        return dataSource;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-10-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
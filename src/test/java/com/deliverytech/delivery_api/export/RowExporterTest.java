@@ -0,0 +1,120 @@
+package com.deliverytech.delivery_api.export;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowExporterTest {
+
+    private final RowExporter rowExporter = new RowExporter(JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build());
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    record Row(LocalDate date, String name, BigDecimal total) {
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Should write a header and one line per row")
+        void should_WriteHeaderAndRows_When_FormatIsCsv() {
+            long rows = rowExporter.export(Stream.of(
+                    new Row(LocalDate.of(2025, 10, 1), "Pizza", new BigDecimal("1E+1")),
+                    new Row(LocalDate.of(2025, 10, 2), null, null)), Row.class, ExportFormat.CSV, () -> output);
+
+            assertEquals(2, rows);
+            assertEquals("date,name,total\r\n2025-10-01,Pizza,10\r\n2025-10-02,,\r\n", written());
+        }
+
+        @Test
+        @DisplayName("Should quote cells with separators, quotes or line breaks")
+        void should_QuoteCell_When_ItHasSpecialCharacters() {
+            assertEquals("\"Rua A, 100\"", RowExporter.csv("Rua A, 100"));
+            assertEquals("\"Bar \"\"do Zé\"\"\"", RowExporter.csv("Bar \"do Zé\""));
+            assertEquals("\"linha 1\nlinha 2\"", RowExporter.csv("linha 1\nlinha 2"));
+        }
+
+        @Test
+        @DisplayName("Should neutralize text a spreadsheet would read as a formula")
+        void should_PrefixCell_When_TextLooksLikeFormula() {
+            assertEquals("'=SUM(A1:A9)", RowExporter.csv("=SUM(A1:A9)"));
+            assertEquals("'@cmd", RowExporter.csv("@cmd"));
+            assertEquals("-5.50", RowExporter.csv(new BigDecimal("-5.50")));
+        }
+
+        @Test
+        @DisplayName("Should write only the header when there are no rows")
+        void should_WriteHeaderOnly_When_NoRows() {
+            assertEquals(0, rowExporter.export(Stream.empty(), Row.class, ExportFormat.CSV, () -> output));
+            assertEquals("date,name,total\r\n", written());
+        }
+    }
+
+    @Nested
+    @DisplayName("NDJSON")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Should write one JSON object per line")
+        void should_WriteJsonLines_When_FormatIsNdjson() {
+            long rows = rowExporter.export(Stream.of(
+                    new Row(LocalDate.of(2025, 10, 1), "Pizza", new BigDecimal("10.00")),
+                    new Row(LocalDate.of(2025, 10, 2), "Suco", BigDecimal.ONE)), Row.class, ExportFormat.NDJSON, () -> output);
+
+            assertEquals(2, rows);
+            assertEquals("""
+                    {"date":"2025-10-01","name":"Pizza","total":10.00}
+                    {"date":"2025-10-02","name":"Suco","total":1}
+                    """, written());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail with UncheckedIOException when the sink cannot be written")
+    void should_ThrowUncheckedIOException_When_SinkFails() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> rowExporter.export(
+                Stream.of(new Row(LocalDate.now(), "Pizza", BigDecimal.ONE)), Row.class, ExportFormat.CSV, () -> broken));
+    }
+
+    @Test
+    @DisplayName("Should compress only when the client accepts gzip")
+    void should_DetectGzip_From_AcceptEncoding() {
+        assertTrue(ExportSink.acceptsGzip("gzip"));
+        assertTrue(ExportSink.acceptsGzip("deflate, GZIP;q=0.8"));
+        assertFalse(ExportSink.acceptsGzip("gzip;q=0"));
+        assertFalse(ExportSink.acceptsGzip("br, deflate"));
+        assertFalse(ExportSink.acceptsGzip(null));
+    }
+
+    private String written() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
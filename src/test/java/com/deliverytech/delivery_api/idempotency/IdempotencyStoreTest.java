@@ -0,0 +1,191 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Nested
+    @DisplayName("InMemoryIdempotencyStore tests")
+    class InMemoryStoreTests {
+
+        private MutableClock clock;
+        private InMemoryIdempotencyStore store;
+
+        @BeforeEach
+        void setUp() {
+            clock = new MutableClock();
+            store = new InMemoryIdempotencyStore(2, clock);
+        }
+
+        @Test
+        @DisplayName("Should reserve a new key and return the in-progress record to duplicates")
+        void should_ReturnInProgressRecord_When_KeyIsAlreadyReserved() {
+            assertTrue(store.reserve("key", "fp", LOCK_TTL).isEmpty());
+
+            Optional<IdempotencyRecord> duplicate = store.reserve("key", "fp", LOCK_TTL);
+
+            assertTrue(duplicate.isPresent());
+            assertFalse(duplicate.get().completed());
+            assertEquals("fp", duplicate.get().fingerprint());
+        }
+
+        @Test
+        @DisplayName("Should return the completed record until the ttl expires")
+        void should_ReturnCompletedRecord_Until_TtlExpires() {
+            store.reserve("key", "fp", LOCK_TTL);
+            store.complete("key", IdempotencyRecord.completed("fp", 201, "/orders/1", objectMapper.createObjectNode()), TTL);
+
+            Optional<IdempotencyRecord> replay = store.reserve("key", "fp", LOCK_TTL);
+            assertTrue(replay.isPresent());
+            assertTrue(replay.get().completed());
+            assertEquals(201, replay.get().status());
+
+            clock.advance(TTL);
+            assertTrue(store.reserve("key", "fp", LOCK_TTL).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should allow a new reservation after release or lock expiration")
+        void should_AllowNewReservation_When_ReleasedOrLockExpired() {
+            store.reserve("released", "fp", LOCK_TTL);
+            store.release("released");
+            assertTrue(store.reserve("released", "fp", LOCK_TTL).isEmpty());
+
+            store.reserve("abandoned", "fp", LOCK_TTL);
+            clock.advance(LOCK_TTL);
+            assertTrue(store.reserve("abandoned", "fp", LOCK_TTL).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used entry when full")
+        void should_EvictLeastRecentlyUsed_When_Full() {
+            store.reserve("a", "fp", LOCK_TTL);
+            store.reserve("b", "fp", LOCK_TTL);
+            store.reserve("a", "fp", LOCK_TTL);
+            store.reserve("c", "fp", LOCK_TTL);
+
+            assertEquals(2, store.size());
+            assertTrue(store.reserve("a", "fp", LOCK_TTL).isPresent());
+            assertTrue(store.reserve("b", "fp", LOCK_TTL).isEmpty());
+        }
+    }
+
+    @Nested
+    @ExtendWith(MockitoExtension.class)
+    @DisplayName("RedisIdempotencyStore tests")
+    class RedisStoreTests {
+
+        @Mock
+        private StringRedisTemplate redisTemplate;
+
+        @Mock
+        private ValueOperations<String, String> valueOperations;
+
+        private RedisIdempotencyStore store;
+
+        @BeforeEach
+        void setUp() {
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            store = new RedisIdempotencyStore(redisTemplate, objectMapper);
+        }
+
+        @Test
+        @DisplayName("Should reserve the key with SET NX and the lock ttl")
+        void should_ReserveKey_When_Absent() {
+            when(valueOperations.setIfAbsent(eq("key"), anyString(), eq(LOCK_TTL))).thenReturn(true);
+
+            assertTrue(store.reserve("key", "fp", LOCK_TTL).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return the stored record when the key already exists")
+        void should_ReturnStoredRecord_When_KeyExists() throws Exception {
+            IdempotencyRecord stored = IdempotencyRecord.completed("fp", 204, null, null);
+            when(valueOperations.setIfAbsent(eq("key"), anyString(), eq(LOCK_TTL))).thenReturn(false);
+            when(valueOperations.get("key")).thenReturn(objectMapper.writeValueAsString(stored));
+
+            Optional<IdempotencyRecord> result = store.reserve("key", "fp", LOCK_TTL);
+
+            assertTrue(result.isPresent());
+            assertTrue(result.get().completed());
+            assertEquals(204, result.get().status());
+        }
+
+        @Test
+        @DisplayName("Should retry the reservation when the key expires between SET NX and GET")
+        void should_RetryReservation_When_KeyExpiresInBetween() {
+            when(valueOperations.setIfAbsent(eq("key"), anyString(), eq(LOCK_TTL))).thenReturn(false, true);
+            when(valueOperations.get("key")).thenReturn(null);
+
+            assertTrue(store.reserve("key", "fp", LOCK_TTL).isEmpty());
+            verify(valueOperations, times(2)).setIfAbsent(eq("key"), anyString(), eq(LOCK_TTL));
+        }
+
+        @Test
+        @DisplayName("Should store the completed record with the ttl and delete it on release")
+        void should_StoreAndRelease_Records() {
+            store.complete("key", IdempotencyRecord.completed("fp", 201, "/orders/1", objectMapper.createObjectNode()), TTL);
+            store.release("key");
+
+            verify(valueOperations).set(eq("key"), contains("\"status\":201"), eq(TTL));
+            verify(redisTemplate).delete("key");
+        }
+
+        @Test
+        @DisplayName("Should fail when the stored value is not a valid record")
+        void should_Throw_When_StoredValueIsInvalid() {
+            when(valueOperations.setIfAbsent(eq("key"), anyString(), eq(LOCK_TTL))).thenReturn(false);
+            when(valueOperations.get("key")).thenReturn("not-json");
+
+            assertThrows(IllegalStateException.class, () -> store.reserve("key", "fp", LOCK_TTL));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-10-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.deliverytech.delivery_api.ingestion;
+
+import com.deliverytech.delivery_api.dto.request.OrderItemRequestDto;
+import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchItemResultDto;
+import com.deliverytech.delivery_api.model.enums.ErrorCode;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AsyncOrderQueueTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path tempDir;
+
+    private Path journalPath;
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncOrderQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("journal/orders.ndjson");
+        meterRegistry = new SimpleMeterRegistry();
+        queue = newQueue();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queue.close();
+    }
+
+    private AsyncOrderQueue newQueue() {
+        return new AsyncOrderQueue(journalPath.toString(), 4, objectMapper, meterRegistry);
+    }
+
+    private AsyncOrderQueue restart() throws Exception {
+        queue.close();
+        meterRegistry = new SimpleMeterRegistry();
+        queue = newQueue();
+        return queue;
+    }
+
+    private OrderRequestDto request() {
+        return new OrderRequestDto(UUID.randomUUID(), UUID.randomUUID(), List.of(new OrderItemRequestDto(UUID.randomUUID(), 1)));
+    }
+
+    @Nested
+    @DisplayName("AsyncOrderQueue tests")
+    class QueueTests {
+
+        @Test
+        @DisplayName("Should journal and expose an accepted order as pending")
+        void should_JournalAndExposePendingOrder_When_Accepted() throws Exception {
+            AcceptedOrder accepted = queue.accept(request(), "customer@email.com");
+
+            assertTrue(queue.findPending(accepted.reference()).isPresent());
+            assertEquals(1, queue.depth());
+            assertTrue(Files.readString(journalPath).contains(accepted.reference().toString()));
+            assertEquals(1.0, meterRegistry.get("delivery_api.orders.async.queue.depth").gauge().value());
+            assertTrue(meterRegistry.get("delivery_api.orders.async.lag").gauge().value() >= 0);
+        }
+
+        @Test
+        @DisplayName("Should drain up to the batch size and return empty after the timeout")
+        void should_DrainUpToBatchSize() throws Exception {
+            for (int i = 0; i < 5; i++) {
+                queue.accept(request(), "customer@email.com");
+            }
+
+            assertEquals(3, queue.take(3, Duration.ofMillis(10)).size());
+            assertEquals(2, queue.take(3, Duration.ofMillis(10)).size());
+            assertTrue(queue.take(3, Duration.ofMillis(10)).isEmpty());
+            assertEquals(5, queue.depth());
+        }
+
+        @Test
+        @DisplayName("Should settle orders and compact the journal when nothing is pending")
+        void should_SettleOrders_And_CompactJournal() throws Exception {
+            AcceptedOrder done = queue.accept(request(), "customer@email.com");
+            AcceptedOrder rejected = queue.accept(request(), "customer@email.com");
+
+            queue.settle(Map.of(done.reference(), UUID.randomUUID()),
+                    List.of(new OrderRejection(rejected, ErrorCode.UNPROCESSABLE_ENTITY.getCode(), "Produto indisponível")));
+
+            assertEquals(0, queue.depth());
+            assertEquals(Duration.ZERO, queue.lag());
+            assertTrue(queue.findPending(done.reference()).isEmpty());
+            assertEquals("Produto indisponível", queue.findRejection(rejected.reference()).orElseThrow().message());
+            assertEquals(0, Files.size(journalPath));
+        }
+
+        @Test
+        @DisplayName("Should compact the journal down to the pending orders while the queue never drains")
+        void should_CompactJournal_When_EntriesPassThreshold() throws Exception {
+            AcceptedOrder waiting = queue.accept(request(), "customer@email.com");
+            for (int i = 0; i < 5; i++) {
+                AcceptedOrder done = queue.accept(request(), "customer@email.com");
+                queue.settle(Map.of(done.reference(), UUID.randomUUID()), List.of());
+            }
+
+            assertEquals(1, queue.depth());
+            assertTrue(Files.readAllLines(journalPath).size() <= 4);
+
+            AsyncOrderQueue restarted = restart();
+
+            assertEquals(1, restarted.depth());
+            assertEquals(waiting.reference(), restarted.take(10, Duration.ofMillis(10)).get(0).reference());
+        }
+
+        @Test
+        @DisplayName("Should replay unsettled orders after a restart")
+        void should_ReplayUnsettledOrders_After_Restart() throws Exception {
+            AcceptedOrder done = queue.accept(request(), "customer@email.com");
+            AcceptedOrder rejected = queue.accept(request(), "customer@email.com");
+            AcceptedOrder pending = queue.accept(request(), "customer@email.com");
+            queue.settle(Map.of(done.reference(), UUID.randomUUID()),
+                    List.of(new OrderRejection(rejected, ErrorCode.RESOURCE_NOT_FOUND.getCode(), "Cliente não encontrado")));
+
+            AsyncOrderQueue restarted = restart();
+
+            assertEquals(1, restarted.depth());
+            assertEquals(pending.request(), restarted.findPending(pending.reference()).orElseThrow().request());
+            assertTrue(restarted.findPending(done.reference()).isEmpty());
+            assertEquals(pending.reference(), restarted.take(10, Duration.ofMillis(10)).get(0).reference());
+        }
+
+        @Test
+        @DisplayName("Should ignore a torn record at the end of the journal")
+        void should_IgnoreTornRecord_When_Replaying() throws Exception {
+            AcceptedOrder pending = queue.accept(request(), "customer@email.com");
+            Files.writeString(journalPath, "{\"type\":\"RECEIVED\",\"refer", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            AsyncOrderQueue restarted = restart();
+
+            assertEquals(1, restarted.depth());
+            assertTrue(restarted.findPending(pending.reference()).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("AsyncOrderWorker tests")
+    class WorkerTests {
+
+        private OrderService orderService;
+        private AsyncOrderWorker worker;
+
+        @BeforeEach
+        void setUp() {
+            orderService = mock(OrderService.class);
+            worker = new AsyncOrderWorker(queue, orderService);
+            ReflectionTestUtils.setField(worker, "batchSize", 10);
+            ReflectionTestUtils.setField(worker, "retryBackoff", Duration.ZERO);
+        }
+
+        @Test
+        @DisplayName("Should settle created and rejected orders and requeue the ones that failed to be written")
+        void should_SettleResults_And_RequeueWriteFailures() throws Exception {
+            AcceptedOrder created = queue.accept(request(), "customer@email.com");
+            AcceptedOrder rejected = queue.accept(request(), "customer@email.com");
+            AcceptedOrder failed = queue.accept(request(), "customer@email.com");
+            List<AcceptedOrder> batch = queue.take(10, Duration.ofMillis(10));
+            UUID orderId = UUID.randomUUID();
+
+            when(orderService.materializeAcceptedOrders(batch)).thenReturn(List.of(
+                    OrderBatchItemResultDto.created(0, orderId, OrderStatus.PENDING, BigDecimal.TEN),
+                    OrderBatchItemResultDto.failed(1, ErrorCode.UNPROCESSABLE_ENTITY.getCode(), "Produto indisponível"),
+                    OrderBatchItemResultDto.failed(2, ErrorCode.INTERNAL_SERVER_ERROR.getCode(), "Não foi possível gravar o pedido.")
+            ));
+
+            worker.process(batch);
+
+            assertTrue(queue.findPending(created.reference()).isEmpty());
+            assertTrue(queue.findRejection(rejected.reference()).isPresent());
+            assertTrue(queue.findPending(failed.reference()).isPresent());
+            assertEquals(failed.reference(), queue.take(10, Duration.ofMillis(10)).get(0).reference());
+        }
+
+        @Test
+        @DisplayName("Should requeue the whole batch when materialization fails")
+        void should_RequeueBatch_When_MaterializationFails() throws Exception {
+            AcceptedOrder accepted = queue.accept(request(), "customer@email.com");
+            List<AcceptedOrder> batch = queue.take(10, Duration.ofMillis(10));
+            when(orderService.materializeAcceptedOrders(batch)).thenThrow(new IllegalStateException("database down"));
+
+            worker.process(batch);
+
+            assertTrue(queue.findPending(accepted.reference()).isPresent());
+            assertEquals(accepted.reference(), queue.take(10, Duration.ofMillis(10)).get(0).reference());
+        }
+
+        @Test
+        @DisplayName("Should materialize queued orders in background threads")
+        void should_MaterializeQueuedOrders_InBackground() throws Exception {
+            ReflectionTestUtils.setField(worker, "workerCount", 1);
+            when(orderService.materializeAcceptedOrders(anyList())).thenAnswer(invocation -> {
+                List<AcceptedOrder> batch = invocation.getArgument(0);
+                return IntStream.range(0, batch.size())
+                        .mapToObj(i -> OrderBatchItemResultDto.created(i, UUID.randomUUID(), OrderStatus.PENDING, BigDecimal.TEN))
+                        .toList();
+            });
+
+            AcceptedOrder accepted = queue.accept(request(), "customer@email.com");
+            worker.start();
+            try {
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (queue.findPending(accepted.reference()).isPresent() && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(20);
+                }
+            } finally {
+                worker.stop();
+            }
+
+            assertEquals(0, queue.depth());
+        }
+    }
+}
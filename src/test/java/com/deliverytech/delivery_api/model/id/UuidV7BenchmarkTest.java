@@ -0,0 +1,114 @@
+package com.deliverytech.delivery_api.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    Insert throughput and primary key index size with random (v4) and time-ordered (v7)
+    ids. Opt-in, as it inserts millions of rows:
+
+        mvn test -Dtest=UuidV7BenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=2000000]
+            [-Dbenchmark.jdbc-url=jdbc:postgresql://localhost:5432/delivery -Dbenchmark.user=... -Dbenchmark.password=...]
+
+    Without a JDBC url it runs against a file-backed H2 database, whose tables are stored
+    in their primary key index, so the size reported there is that of the whole table.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidV7BenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidV7BenchmarkTest.class);
+    private static final int BATCH_SIZE = 1_000;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Should insert v7 ids at least as fast as v4 ids into a smaller index")
+    void should_CompareInsertThroughputAndIndexSize() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 2_000_000);
+
+        try (Connection connection = connect()) {
+            Result v4 = run(connection, "bench_uuid_v4", rows, UUID::randomUUID);
+            Result v7 = run(connection, "bench_uuid_v7", rows, UuidV7::randomUuid);
+
+            log.info("uuid-benchmark; database={}; rows={}; v4RowsPerSecond={}; v7RowsPerSecond={}; v4IndexBytes={}; v7IndexBytes={}",
+                    connection.getMetaData().getDatabaseProductName(), rows,
+                    v4.rowsPerSecond(), v7.rowsPerSecond(), v4.indexBytes(), v7.indexBytes());
+
+            assertTrue(v7.indexBytes() <= v4.indexBytes());
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url == null) {
+            return DriverManager.getConnection("jdbc:h2:file:" + tempDir.resolve("uuid-benchmark"), "sa", "");
+        }
+        return DriverManager.getConnection(url, System.getProperty("benchmark.user"), System.getProperty("benchmark.password"));
+    }
+
+    private Result run(Connection connection, String table, int rows, Supplier<UUID> ids) throws SQLException {
+        boolean postgres = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, created_at TIMESTAMP NOT NULL, payload VARCHAR(64))");
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, created_at, payload) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                insert.setString(3, "order-" + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        return new Result(rows * 1_000_000_000L / elapsedNanos, indexBytes(connection, table, postgres));
+    }
+
+    private long indexBytes(Connection connection, String table, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("VACUUM ANALYZE " + table);
+            }
+            String query = postgres
+                    ? "SELECT pg_indexes_size('" + table + "')"
+                    : "SELECT DISK_SPACE_USED('" + table.toUpperCase() + "')";
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private record Result(long rowsPerSecond, long indexBytes) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.deliverytech.delivery_api.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    /* Unsigned byte order, as Postgres and H2 compare uuid columns */
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Nested
+    @DisplayName("UuidV7 tests")
+    class GenerationTests {
+
+        @Test
+        @DisplayName("Should set version 7, the RFC variant and the creation timestamp")
+        void should_EncodeVersionVariantAndTimestamp() {
+            UuidV7 generator = new UuidV7(() -> 1_700_000_000_123L, new Random(1));
+
+            UUID uuid = generator.next();
+
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertEquals(1_700_000_000_123L, UuidV7.timestampOf(uuid));
+        }
+
+        @Test
+        @DisplayName("Should generate strictly increasing ids within the same millisecond")
+        void should_IncreaseMonotonically_When_ClockDoesNotAdvance() {
+            UuidV7 generator = new UuidV7(() -> 1_700_000_000_000L, new Random(2));
+
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                ids.add(generator.next());
+            }
+
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0, "id " + i + " fora de ordem");
+            }
+            assertTrue(UuidV7.timestampOf(ids.getLast()) > 1_700_000_000_000L, "a sequência esgotada avança o milissegundo");
+        }
+
+        @Test
+        @DisplayName("Should keep ids increasing when the clock goes back")
+        void should_KeepOrder_When_ClockGoesBack() {
+            AtomicLong clock = new AtomicLong(1_700_000_000_500L);
+            UuidV7 generator = new UuidV7(clock::get, new Random(3));
+
+            UUID before = generator.next();
+            clock.set(1_700_000_000_100L);
+            UUID after = generator.next();
+
+            assertTrue(compareUnsigned(before, after) < 0);
+            assertEquals(1_700_000_000_500L, UuidV7.timestampOf(after));
+        }
+
+        @Test
+        @DisplayName("Should order ids by creation time across milliseconds")
+        void should_OrderByCreationTime() throws Exception {
+            UUID first = UuidV7.randomUuid();
+            Thread.sleep(2);
+            UUID second = UuidV7.randomUuid();
+
+            assertTrue(compareUnsigned(first, second) < 0);
+            assertTrue(UuidV7.timestampOf(first) < UuidV7.timestampOf(second));
+        }
+
+        @Test
+        @DisplayName("Should reject the timestamp of a non-v7 UUID")
+        void should_Throw_When_UuidIsNotV7() {
+            assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampOf(UUID.randomUUID()));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.deliverytech.delivery_api.nearcache;
+
+import com.deliverytech.delivery_api.BaseIntegrationTest;
+import com.deliverytech.delivery_api.dto.response.RestaurantResponseDto;
+import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.repository.RestaurantRepository;
+import com.deliverytech.delivery_api.service.RestaurantService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    p50/p99 of findByIdResponse read through the restaurants cache, with Redis alone and with
+    the near cache in front of it. Redis is stood in for by a map of values serialized with the
+    same JSON serializer plus a fixed round trip, so the difference is the round trip and the
+    deserialization a near hit skips. Keys are skewed: a tenth of the restaurants gets most reads.
+    Opt-in:
+
+        mvn test -Dtest=TwoLevelCacheBenchmarkTest -Dbenchmark=true [-Dbenchmark.reads=50000 -Dbenchmark.rtt-micros=250]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TwoLevelCacheBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheBenchmarkTest.class);
+    private static final int RESTAURANTS = 1_000;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Test
+    @DisplayName("Should read restaurants with a lower p99 when the near cache is in front of Redis")
+    void should_CompareRedisAndTwoLevelReads() {
+        int reads = Integer.getInteger("benchmark.reads", 50_000);
+        long rttNanos = TimeUnit.MICROSECONDS.toNanos(Integer.getInteger("benchmark.rtt-micros", 250));
+        List<String> ids = seed();
+
+        Cache redisOnly = new SimulatedRedisCache(rttNanos);
+        Cache twoLevel = new TwoLevelCache(new SimulatedRedisCache(rttNanos), new NearCache(10_000, Duration.ofSeconds(30),
+                Clock.systemUTC()), invalidation -> { }, "benchmark", new SimpleMeterRegistry());
+
+        String first = ids.getFirst();
+        assertEquals(restaurantService.findByIdResponse(first),
+                twoLevel.get(first, () -> restaurantService.findByIdResponse(first)));
+
+        long[] redisNanos = run(redisOnly, ids, reads);
+        long[] twoLevelNanos = run(twoLevel, ids, reads);
+
+        log.info("near-cache-benchmark; restaurants={}; reads={}; rttMicros={}; redisP50Micros={}; redisP99Micros={}; twoLevelP50Micros={}; twoLevelP99Micros={}",
+                RESTAURANTS, reads, rttNanos / 1_000,
+                percentile(redisNanos, 0.5) / 1_000, percentile(redisNanos, 0.99) / 1_000,
+                percentile(twoLevelNanos, 0.5) / 1_000, percentile(twoLevelNanos, 0.99) / 1_000);
+
+        assertTrue(percentile(twoLevelNanos, 0.99) < percentile(redisNanos, 0.99));
+    }
+
+    private List<String> seed() {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setName("Restaurant " + i);
+            restaurant.setCategory("BRASILEIRA");
+            restaurant.setAddress("Addr " + i);
+            restaurant.setPhoneNumber("2222" + i);
+            restaurant.setDeliveryTax(BigDecimal.ONE);
+            restaurant.setActive(true);
+            restaurants.add(restaurant);
+        }
+        return restaurantRepository.saveAllAndFlush(restaurants).stream().map(r -> r.getId().toString()).toList();
+    }
+
+    /* 90% of the reads go to the first tenth of the ids */
+    private long[] run(Cache cache, List<String> ids, int reads) {
+        SplittableRandom random = new SplittableRandom(42);
+        int hot = ids.size() / 10;
+        long[] nanos = new long[reads];
+        for (int i = -reads / 5; i < reads; i++) {
+            String id = random.nextInt(10) < 9 ? ids.get(random.nextInt(hot)) : ids.get(random.nextInt(ids.size()));
+            long start = System.nanoTime();
+            cache.get(id, () -> restaurantService.findByIdResponse(id));
+            if (i >= 0) nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1)];
+    }
+
+    /* Values kept as the JSON Redis would hold, paying a round trip on every call */
+    private static final class SimulatedRedisCache extends ConcurrentMapCache {
+
+        private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        private final long rttNanos;
+
+        SimulatedRedisCache(long rttNanos) {
+            super("restaurants", false);
+            this.rttNanos = rttNanos;
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            LockSupport.parkNanos(rttNanos);
+            ValueWrapper stored = super.get(key);
+            return stored == null ? null : new SimpleValueWrapper(serializer.deserialize((byte[]) stored.get()));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            ValueWrapper found = get(key);
+            if (found != null) return (T) found.get();
+            try {
+                T value = valueLoader.call();
+                put(key, value);
+                return value;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            LockSupport.parkNanos(rttNanos);
+            super.put(key, serializer.serialize(value));
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.deliverytech.delivery_api.nearcache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager redis;
+    private List<CacheInvalidation> published;
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        redis = new ConcurrentMapCacheManager("restaurants", "products");
+        published = new ArrayList<>();
+
+        /* Both nodes share the remote caches and hear every invalidation, their own included */
+        List<TwoLevelCacheManager> nodes = new ArrayList<>();
+        CacheInvalidationBus bus = invalidation -> {
+            published.add(invalidation);
+            nodes.forEach(node -> node.onInvalidation(invalidation));
+        };
+        nodeA = new TwoLevelCacheManager(redis, bus, 3, TTL, clock, meterRegistry);
+        nodeB = new TwoLevelCacheManager(redis, bus, 3, TTL, clock, new SimpleMeterRegistry());
+        nodes.add(nodeA);
+        nodes.add(nodeB);
+    }
+
+    private double gets(String level, String result) {
+        return meterRegistry.counter("delivery_api.cache.gets", "cache", "restaurants", "level", level, "result", result).count();
+    }
+
+    private Cache remote() {
+        return redis.getCache("restaurants");
+    }
+
+    @Nested
+    @DisplayName("Tests for reads")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should serve the second read from the near cache once the remote cache was read")
+        void should_ServeFromNearCache_When_ReadTwice() {
+            remote().put("r1", "Pizzaria");
+            Cache cache = nodeA.getCache("restaurants");
+
+            assertEquals("Pizzaria", cache.get("r1").get());
+            remote().evict("r1");
+            assertEquals("Pizzaria", cache.get("r1", String.class));
+
+            assertEquals(1, gets("l1", "hit"));
+            assertEquals(1, gets("l1", "miss"));
+            assertEquals(1, gets("l2", "hit"));
+            assertEquals(2, meterRegistry.timer("delivery_api.cache.latency", "cache", "restaurants", "level", "l1").count());
+            assertEquals(1, meterRegistry.get("delivery_api.cache.near.size").tag("cache", "restaurants").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should return null and count a miss on both levels when the entry is nowhere")
+        void should_ReturnNull_When_EntryIsMissing() {
+            Cache cache = nodeA.getCache("restaurants");
+
+            assertNull(cache.get("r1"));
+            assertNull(cache.get("r1", String.class));
+            assertEquals(2, gets("l2", "miss"));
+        }
+
+        @Test
+        @DisplayName("Should throw IllegalStateException when the value is not of the required type")
+        void should_ThrowIllegalStateException_When_TypeDiffers() {
+            remote().put("r1", "Pizzaria");
+
+            assertThrows(IllegalStateException.class, () -> nodeA.getCache("restaurants").get("r1", Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should load once and then serve from the near cache when read through a loader")
+        void should_LoadOnce_When_ReadThroughLoader() {
+            AtomicInteger loads = new AtomicInteger();
+            Cache cache = nodeA.getCache("restaurants");
+
+            assertEquals("Pizzaria", cache.get("r1", () -> {
+                loads.incrementAndGet();
+                return "Pizzaria";
+            }));
+            assertEquals("Pizzaria", cache.get("r1", () -> "other" + loads.incrementAndGet()));
+            assertEquals("Pizzaria", nodeB.getCache("restaurants").get("r1", () -> "other" + loads.incrementAndGet()));
+
+            assertEquals(1, loads.get());
+            assertEquals(1, gets("l2", "miss"));
+            assertEquals(1, gets("l1", "hit"));
+            assertEquals("Pizzaria", remote().get("r1").get());
+        }
+
+        @Test
+        @DisplayName("Should read the remote cache again once the near entry expires")
+        void should_ReadRemoteAgain_When_NearEntryExpires() {
+            remote().put("r1", "Pizzaria");
+            Cache cache = nodeA.getCache("restaurants");
+            cache.get("r1");
+
+            clock.advance(TTL);
+            remote().put("r1", "Pizzaria Nova");
+
+            assertEquals("Pizzaria Nova", cache.get("r1").get());
+            assertEquals(2, gets("l2", "hit"));
+        }
+
+        @Test
+        @DisplayName("Should keep only the most recently used entries when the near cache is full")
+        void should_EvictLeastRecentlyUsed_When_NearCacheIsFull() {
+            Cache cache = nodeA.getCache("restaurants");
+            for (String key : List.of("r1", "r2", "r3")) {
+                remote().put(key, key);
+                cache.get(key);
+            }
+            cache.get("r1");
+            remote().put("r4", "r4");
+            cache.get("r4");
+            remote().clear();
+
+            assertEquals("r1", cache.get("r1").get());
+            assertNull(cache.get("r2"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for writes and invalidations")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should drop the entry on the other node when it is evicted")
+        void should_DropOtherNodeEntry_When_Evicted() {
+            remote().put("r1", "Pizzaria");
+            nodeB.getCache("restaurants").get("r1");
+
+            nodeA.getCache("restaurants").evict("r1");
+
+            assertNull(nodeB.getCache("restaurants").get("r1"));
+            assertEquals(new CacheInvalidation(published.getFirst().origin(), "restaurants", "r1"), published.getFirst());
+        }
+
+        @Test
+        @DisplayName("Should serve the new value on both nodes when it is put")
+        void should_ServeNewValue_When_Put() {
+            remote().put("r1", "Pizzaria");
+            nodeA.getCache("restaurants").get("r1");
+            nodeB.getCache("restaurants").get("r1");
+
+            nodeA.getCache("restaurants").put("r1", "Pizzaria Nova");
+
+            assertEquals("Pizzaria Nova", nodeA.getCache("restaurants").get("r1").get());
+            assertEquals("Pizzaria Nova", nodeB.getCache("restaurants").get("r1").get());
+        }
+
+        @Test
+        @DisplayName("Should store the value only when absent from the remote cache")
+        void should_StoreValue_When_Absent() {
+            Cache cache = nodeA.getCache("restaurants");
+
+            assertNull(cache.putIfAbsent("r1", "Pizzaria"));
+            assertEquals("Pizzaria", cache.putIfAbsent("r1", "Other").get());
+            assertEquals("Pizzaria", cache.get("r1").get());
+            assertEquals(1, published.size());
+        }
+
+        @Test
+        @DisplayName("Should drop every entry on the other node when the cache is cleared")
+        void should_DropEveryEntry_When_Cleared() {
+            remote().put("r1", "Pizzaria");
+            remote().put("r2", "Sushi");
+            nodeB.getCache("restaurants").get("r1");
+            nodeB.getCache("restaurants").get("r2");
+
+            nodeA.getCache("restaurants").clear();
+
+            assertNull(nodeB.getCache("restaurants").get("r1"));
+            assertNull(nodeB.getCache("restaurants").get("r2"));
+            assertNull(published.getFirst().key());
+        }
+
+        @Test
+        @DisplayName("Should report whether the remote entry existed when evicting or invalidating")
+        void should_ReportPresence_When_EvictIfPresentOrInvalidate() {
+            remote().put("r1", "Pizzaria");
+            Cache cache = nodeA.getCache("restaurants");
+
+            assertTrue(cache.evictIfPresent("r1"));
+            assertFalse(cache.evictIfPresent("r1"));
+            remote().put("r2", "Sushi");
+            assertTrue(cache.invalidate());
+            assertNull(cache.get("r2"));
+        }
+
+        @Test
+        @DisplayName("Should not keep a value read before an eviction that happened during the read")
+        void should_SkipStaleValue_When_EvictedDuringRead() {
+            NearCache near = new NearCache(10, TTL, clock);
+
+            long readAt = near.generation();
+            near.evict("r1");
+            near.putIfUnchanged("r1", "stale", readAt);
+
+            assertNull(near.get("r1"));
+        }
+
+        @Test
+        @DisplayName("Should ignore invalidations of caches the node never used")
+        void should_IgnoreInvalidation_When_CacheUnused() {
+            nodeA.onInvalidation(new CacheInvalidation("other", "products", "p1"));
+
+            assertTrue(nodeA.getCacheNames().containsAll(List.of("restaurants", "products")));
+            assertNull(nodeA.getCache("unknown"));
+            assertNotNull(nodeA.getCache("products").getNativeCache());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for the Redis invalidation bus")
+    class RedisBusTests {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Test
+        @DisplayName("Should publish the invalidation as JSON and deliver the ones received")
+        void should_PublishAndDeliver_When_UsingRedis() {
+            StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+            RedisCacheInvalidationBus bus = new RedisCacheInvalidationBus(redisTemplate, objectMapper, "invalidations");
+            CacheInvalidation invalidation = new CacheInvalidation(UUID.randomUUID().toString(), "restaurants", "r1");
+            List<CacheInvalidation> received = new ArrayList<>();
+            MessageListener listener = bus.listener(received::add);
+
+            bus.publish(invalidation);
+            listener.onMessage(new DefaultMessage("invalidations".getBytes(StandardCharsets.UTF_8),
+                    "{\"origin\":\"b\",\"cache\":\"restaurants\",\"key\":null}".getBytes(StandardCharsets.UTF_8)), null);
+            listener.onMessage(new DefaultMessage("invalidations".getBytes(StandardCharsets.UTF_8),
+                    "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+            verify(redisTemplate).convertAndSend(eq("invalidations"), contains("\"key\":\"r1\""));
+            assertEquals(List.of(new CacheInvalidation("b", "restaurants", null)), received);
+        }
+
+        @Test
+        @DisplayName("Should not fail the write when Redis is unavailable")
+        void should_SwallowFailure_When_PublishFails() {
+            StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+            when(redisTemplate.convertAndSend(anyString(), anyString()))
+                    .thenThrow(new RedisConnectionFailureException("down"));
+            RedisCacheInvalidationBus bus = new RedisCacheInvalidationBus(redisTemplate, objectMapper, "invalidations");
+
+            assertDoesNotThrow(() -> bus.publish(new CacheInvalidation("a", "restaurants", "r1")));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-10-10T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.outbox;
+
+import com.deliverytech.delivery_api.BaseIntegrationTest;
+import com.deliverytech.delivery_api.model.OutboxEvent;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import com.deliverytech.delivery_api.repository.OutboxEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayIT extends BaseIntegrationTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxEvent pendingEvent(Instant nextAttemptAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType("com.deliverytech.delivery_api.events.product.ProductCreateEvent");
+        event.setAggregateType("com.deliverytech.delivery_api.model.Product");
+        event.setAggregateId(UUID.randomUUID());
+        event.setPayload("{}");
+        event.setStatus(OutboxStatus.PENDING);
+        event.setCreatedAt(Instant.now());
+        event.setNextAttemptAt(nextAttemptAt);
+        return outboxEventRepository.save(event);
+    }
+
+    private List<Long> claim(int limit) {
+        return outboxEventRepository.claimDue(Instant.now(), limit).stream()
+                .map(OutboxEvent::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should skip the events claimed by another relay and the ones waiting for their backoff")
+    void should_SkipClaimedAndBackedOffEvents_When_Claiming() {
+        Long first = pendingEvent(Instant.now().minusSeconds(1)).getId();
+        pendingEvent(Instant.now().plusSeconds(60));
+        Long second = pendingEvent(Instant.now().minusSeconds(1)).getId();
+
+        List<Long> claimedElsewhere = transactionTemplate.execute(status -> {
+            assertEquals(List.of(first, second), claim(10));
+            return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(other -> claim(10)))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+        });
+
+        assertEquals(List.of(), claimedElsewhere);
+        assertEquals(List.of(first, second), transactionTemplate.execute(status -> claim(10)));
+    }
+}
@@ -0,0 +1,379 @@
+package com.deliverytech.delivery_api.outbox;
+
+import com.deliverytech.delivery_api.events.DomainEvent;
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
+import com.deliverytech.delivery_api.events.order.OrderStatusBatch;
+import com.deliverytech.delivery_api.events.product.ProductCreateEvent;
+import com.deliverytech.delivery_api.events.product.ProductUpdateEvent;
+import com.deliverytech.delivery_api.model.OutboxEvent;
+import com.deliverytech.delivery_api.model.Product;
+import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.OutboxStatus;
+import com.deliverytech.delivery_api.repository.OutboxEventRepository;
+import com.deliverytech.delivery_api.repository.projection.OutboxAggregateHeadProjection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OutboxEventRepository outboxEventRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRecorder recorder;
+    private PlatformTransactionManager transactionManager;
+    private OutboxRelay relay;
+    private List<OutboxEvent> stored;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        stored = new ArrayList<>();
+
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(invocation -> {
+            OutboxEvent event = invocation.getArgument(0);
+            event.setId((long) stored.size() + 1);
+            stored.add(event);
+            return event;
+        });
+        when(outboxEventRepository.claimDue(any(Instant.class), anyInt()))
+                .thenAnswer(invocation -> pending()
+                        .filter(e -> !e.getNextAttemptAt().isAfter(invocation.getArgument(0)))
+                        .toList());
+        when(outboxEventRepository.findAggregateHeads(eq(OutboxStatus.PENDING), anyCollection()))
+                .thenAnswer(invocation -> pending()
+                        .filter(e -> invocation.<Collection<UUID>>getArgument(1).contains(e.getAggregateId()))
+                        .collect(Collectors.toMap(OutboxEvent::getAggregateId, OutboxEvent::getId, Math::min))
+                        .entrySet().stream()
+                        .map(head -> aggregateHead(head.getKey(), head.getValue()))
+                        .toList());
+        when(outboxEventRepository.countByStatus(OutboxStatus.PENDING))
+                .thenAnswer(invocation -> stored.stream().filter(e -> e.getStatus() == OutboxStatus.PENDING).count());
+
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        recorder = new OutboxRecorder(outboxEventRepository, objectMapper);
+        relay = new OutboxRelay(outboxEventRepository, eventPublisher, transactionManager,
+                mock(ObjectProvider.class), objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 200);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "baseBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(relay, "maxBackoff", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(relay, "retention", Duration.ofDays(1));
+    }
+
+    private Stream<OutboxEvent> pending() {
+        return stored.stream().filter(e -> e.getStatus() == OutboxStatus.PENDING);
+    }
+
+    private OutboxAggregateHeadProjection aggregateHead(UUID aggregateId, Long firstId) {
+        OutboxAggregateHeadProjection head = mock(OutboxAggregateHeadProjection.class);
+        when(head.getAggregateId()).thenReturn(aggregateId);
+        when(head.getFirstId()).thenReturn(firstId);
+        return head;
+    }
+
+    private Product product(UUID id, String name) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(UUID.randomUUID());
+        return new Product(id, name, "Descrição", new BigDecimal("10.00"), "Lanches", true, restaurant);
+    }
+
+    private List<DomainEvent> publishedEvents(int times) {
+        ArgumentCaptor<DomainEvent> captor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher, times(times)).publishEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Nested
+    @DisplayName("OutboxRecorder tests")
+    class RecorderTests {
+
+        @Test
+        @DisplayName("Should record a pending event with a snapshot of the simple properties")
+        void should_RecordPendingSnapshot_When_EventPublished() throws Exception {
+            UUID id = UUID.randomUUID();
+
+            recorder.record(new ProductCreateEvent(this, product(id, "X-Burger"), "admin@email.com"));
+
+            assertEquals(1, stored.size());
+            OutboxEvent event = stored.getFirst();
+            assertEquals(OutboxStatus.PENDING, event.getStatus());
+            assertEquals(ProductCreateEvent.class.getName(), event.getEventType());
+            assertEquals(Product.class.getName(), event.getAggregateType());
+            assertEquals(id, event.getAggregateId());
+            assertEquals("admin@email.com", event.getUsername());
+            assertEquals("X-Burger", objectMapper.readTree(event.getPayload()).get("name").asText());
+            assertFalse(objectMapper.readTree(event.getPayload()).has("restaurant"));
+        }
+    }
+
+    @Nested
+    @DisplayName("OutboxRelay tests")
+    class RelayTests {
+
+        @Test
+        @DisplayName("Should publish the relayed copy of pending events in order")
+        void should_PublishRelayedEventsInOrder_When_Pending() {
+            UUID id = UUID.randomUUID();
+            recorder.record(new ProductCreateEvent(this, product(id, "X-Burger"), "admin@email.com"));
+            recorder.record(new ProductUpdateEvent(this, product(id, "X-Salada"), "admin@email.com"));
+
+            assertEquals(2, relay.relay());
+
+            List<DomainEvent> events = publishedEvents(2);
+            assertInstanceOf(ProductCreateEvent.class, events.get(0));
+            assertInstanceOf(ProductUpdateEvent.class, events.get(1));
+            assertTrue(events.get(0).isRelayed());
+            assertTrue(events.get(0).isBroadcast(), "sem o stream, a cópia entregue pelo relay é a única");
+            assertEquals("admin@email.com", events.get(0).getUser());
+            assertEquals(id, events.get(1).getAggregateId());
+            assertEquals("X-Salada", ((ProductUpdateEvent) events.get(1)).getProduct().getName());
+            assertTrue(stored.stream().allMatch(e -> e.getStatus() == OutboxStatus.PUBLISHED && e.getPublishedAt() != null));
+            assertEquals(2.0, meterRegistry.get("delivery_api.outbox.published.total").counters()
+                    .stream().mapToDouble(c -> c.count()).sum());
+            assertEquals(0.0, meterRegistry.get("delivery_api.outbox.pending").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should relay events whose aggregate is a value object")
+        void should_RelayValueAggregate_When_EventIsBulk() {
+            OrderStatusBatch batch = new OrderStatusBatch(UUID.randomUUID(), OrderStatus.OUT_FOR_DELIVERY,
+                    List.of(UUID.randomUUID(), UUID.randomUUID()));
+            recorder.record(new OrderBulkStatusUpdateEvent(this, batch, "restaurant@email.com"));
+
+            assertEquals(1, relay.relay());
+
+            OrderBulkStatusUpdateEvent event = (OrderBulkStatusUpdateEvent) publishedEvents(1).getFirst();
+            assertEquals(batch, event.getBatch());
+            assertTrue(event.isRelayed());
+        }
+
+        @Test
+        @DisplayName("Should hold later events of the aggregate back when a publication fails")
+        void should_BlockAggregate_When_PublicationFails() {
+            UUID failingId = UUID.randomUUID();
+            UUID otherId = UUID.randomUUID();
+            recorder.record(new ProductCreateEvent(this, product(failingId, "X-Burger"), "admin@email.com"));
+            recorder.record(new ProductUpdateEvent(this, product(failingId, "X-Salada"), "admin@email.com"));
+            recorder.record(new ProductCreateEvent(this, product(otherId, "X-Tudo"), "admin@email.com"));
+            doThrow(new IllegalStateException("listener indisponível")).doNothing()
+                    .when(eventPublisher).publishEvent(any(ApplicationEvent.class));
+
+            assertEquals(1, relay.relay());
+
+            OutboxEvent failed = stored.get(0);
+            assertEquals(OutboxStatus.PENDING, failed.getStatus());
+            assertEquals(1, failed.getAttempts());
+            assertEquals("listener indisponível", failed.getLastError());
+            assertTrue(failed.getNextAttemptAt().isAfter(Instant.now()));
+            assertEquals(OutboxStatus.PENDING, stored.get(1).getStatus());
+            assertEquals(OutboxStatus.PUBLISHED, stored.get(2).getStatus());
+            assertEquals(2.0, meterRegistry.get("delivery_api.outbox.pending").gauge().value());
+
+            assertEquals(0, relay.relay(), "o evento ainda está aguardando o backoff");
+        }
+
+        @Test
+        @DisplayName("Should roll back only the delivery of the event whose listener failed")
+        void should_RollbackOnlyFailedDelivery_When_ListenerFails() {
+            recorder.record(new ProductCreateEvent(this, product(UUID.randomUUID(), "X-Burger"), "admin@email.com"));
+            recorder.record(new ProductCreateEvent(this, product(UUID.randomUUID(), "X-Tudo"), "admin@email.com"));
+            doThrow(new IllegalStateException("listener indisponível")).doNothing()
+                    .when(eventPublisher).publishEvent(any(ApplicationEvent.class));
+
+            assertEquals(1, relay.relay());
+
+            verify(transactionManager).getTransaction(argThat(definition ->
+                    definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED));
+            verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                    definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+            verify(transactionManager).rollback(any());
+            verify(transactionManager, times(2)).commit(any());
+        }
+
+        @Test
+        @DisplayName("Should wait for an earlier event of the aggregate claimed by another node")
+        void should_WaitForEarlierEvent_When_ClaimedElsewhere() {
+            UUID id = UUID.randomUUID();
+            recorder.record(new ProductCreateEvent(this, product(id, "X-Burger"), "admin@email.com"));
+            recorder.record(new ProductUpdateEvent(this, product(id, "X-Salada"), "admin@email.com"));
+            when(outboxEventRepository.claimDue(any(Instant.class), anyInt()))
+                    .thenReturn(List.of(stored.get(1)));
+
+            assertEquals(0, relay.relay());
+
+            verifyNoInteractions(eventPublisher);
+            assertEquals(OutboxStatus.PENDING, stored.get(1).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should mark the event as failed after the maximum number of attempts")
+        void should_MarkFailed_When_MaxAttemptsReached() {
+            recorder.record(new ProductCreateEvent(this, product(UUID.randomUUID(), "X-Burger"), "admin@email.com"));
+            doThrow(new IllegalStateException("falha")).when(eventPublisher).publishEvent(any(ApplicationEvent.class));
+            OutboxEvent event = stored.getFirst();
+
+            for (int attempt = 0; attempt < 3; attempt++) {
+                event.setNextAttemptAt(Instant.now().minusSeconds(1));
+                relay.relay();
+            }
+
+            assertEquals(OutboxStatus.FAILED, event.getStatus());
+            assertEquals(3, event.getAttempts());
+            assertEquals(3.0, meterRegistry.get("delivery_api.outbox.failures.total").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should not relay when disabled and purge published events on cleanup")
+        void should_SkipRelayAndPurge_When_Scheduled() {
+            recorder.record(new ProductCreateEvent(this, product(UUID.randomUUID(), "X-Burger"), "admin@email.com"));
+            ReflectionTestUtils.setField(relay, "enabled", false);
+
+            relay.scheduledRelay();
+            relay.scheduledCleanup();
+
+            verifyNoInteractions(eventPublisher);
+            verify(outboxEventRepository, never()).deletePublishedBefore(any());
+
+            ReflectionTestUtils.setField(relay, "enabled", true);
+            relay.scheduledRelay();
+            relay.scheduledCleanup();
+
+            verify(eventPublisher).publishEvent(any(ApplicationEvent.class));
+            verify(outboxEventRepository).deletePublishedBefore(any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should leave the broadcast to the stream followers when the stream is enabled")
+        @SuppressWarnings("unchecked")
+        void should_PublishRelayedOnlyCopy_When_StreamEnabled() {
+            StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+            StreamOperations<String, Object, Object> streams = mock(StreamOperations.class);
+            ObjectProvider<StringRedisTemplate> redisProvider = mock(ObjectProvider.class);
+            when(redisProvider.getObject()).thenReturn(redisTemplate);
+            when(redisTemplate.opsForStream()).thenReturn(streams);
+            relay = new OutboxRelay(outboxEventRepository, eventPublisher, transactionManager,
+                    redisProvider, objectMapper, meterRegistry);
+            ReflectionTestUtils.setField(relay, "batchSize", 200);
+            ReflectionTestUtils.setField(relay, "redisStreamEnabled", true);
+            ReflectionTestUtils.setField(relay, "redisStreamKey", "events");
+            recorder.record(new ProductCreateEvent(this, product(UUID.randomUUID(), "X-Burger"), "admin@email.com"));
+
+            assertEquals(1, relay.relay());
+
+            DomainEvent event = publishedEvents(1).getFirst();
+            assertTrue(event.isRelayed());
+            assertFalse(event.isBroadcast());
+            verify(streams).add(argThat((MapRecord<String, String, String> record) ->
+                    ProductCreateEvent.class.getName().equals(record.getValue().get("eventType"))
+                            && Product.class.getName().equals(record.getValue().get("aggregateType"))));
+        }
+
+        @Test
+        @DisplayName("Should fail to rebuild an event whose type is not a domain event")
+        void should_Throw_When_EventTypeIsInvalid() {
+            OutboxEvent event = new OutboxEvent();
+            event.setEventType(String.class.getName());
+            event.setAggregateType(Product.class.getName());
+            event.setPayload("{}");
+
+            assertThrows(IllegalStateException.class, () -> relay.toDomainEvent(event));
+        }
+    }
+
+    @Nested
+    @DisplayName("OutboxStreamFollower tests")
+    class StreamFollowerTests {
+
+        private OutboxStreamFollower follower;
+
+        @BeforeEach
+        void setUp() {
+            follower = new OutboxStreamFollower(relay, eventPublisher, mock(RedisConnectionFactory.class), "events");
+        }
+
+        private MapRecord<String, String, String> streamRecord(OutboxEvent event) {
+            return StreamRecords.string(Map.of(
+                    "id", String.valueOf(event.getId()),
+                    "type", "ProductCreateEvent",
+                    "eventType", event.getEventType(),
+                    "aggregateType", event.getAggregateType(),
+                    "aggregateId", event.getAggregateId().toString(),
+                    "user", "",
+                    "payload", event.getPayload())).withStreamKey("events");
+        }
+
+        @Test
+        @DisplayName("Should publish the broadcast copy of the events read from the stream")
+        void should_PublishBroadcastCopy_When_RecordIsRead() {
+            UUID id = UUID.randomUUID();
+            recorder.record(new ProductCreateEvent(this, product(id, "X-Burger"), "admin@email.com"));
+
+            follower.onRecord(streamRecord(stored.getFirst()));
+
+            DomainEvent event = publishedEvents(1).getFirst();
+            assertInstanceOf(ProductCreateEvent.class, event);
+            assertTrue(event.isBroadcast());
+            assertFalse(event.isRelayed());
+            assertEquals(id, event.getAggregateId());
+            assertNull(event.getUser());
+        }
+
+        @Test
+        @DisplayName("Should skip records it cannot rebuild without stopping")
+        void should_SkipRecord_When_ItCannotBeRebuilt() {
+            OutboxEvent invalid = new OutboxEvent();
+            invalid.setId(1L);
+            invalid.setEventType(String.class.getName());
+            invalid.setAggregateType(Product.class.getName());
+            invalid.setAggregateId(UUID.randomUUID());
+            invalid.setPayload("{}");
+
+            follower.onRecord(streamRecord(invalid));
+            follower.onRecord(StreamRecords.string(Map.of("id", "2", "type", "ProductCreateEvent")).withStreamKey("events"));
+
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.deliverytech.delivery_api.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstimatedSliceTest {
+
+    @Test
+    @DisplayName("Should report the estimate and the pages it spans")
+    void should_KeepEstimate_When_ItCoversTheSlice() {
+        var slice = EstimatedSlice.of(new SliceImpl<>(List.of(1, 2), PageRequest.of(0, 2), true), 95);
+
+        assertEquals(95, slice.getEstimatedTotal());
+        assertEquals(48, slice.getEstimatedTotalPages());
+        assertEquals(List.of(1, 2), slice.getContent());
+        assertTrue(slice.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should raise a stale estimate to the rows the slice proves to exist")
+    void should_RaiseEstimate_When_BelowKnownRows() {
+        var withNext = EstimatedSlice.of(new SliceImpl<>(List.of(1, 2), PageRequest.of(3, 2), true), 4);
+        var last = EstimatedSlice.of(new SliceImpl<>(List.of(1), PageRequest.of(3, 2), false), 4);
+
+        assertEquals(9, withNext.getEstimatedTotal());
+        assertEquals(5, withNext.getEstimatedTotalPages());
+        assertEquals(7, last.getEstimatedTotal());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should count the content only when the slice is unpaged")
+    void should_UseContentSize_When_Unpaged() {
+        var slice = EstimatedSlice.of(new SliceImpl<>(List.of(1, 2, 3), Pageable.unpaged(), false), 0);
+
+        assertEquals(3, slice.getEstimatedTotal());
+    }
+}
@@ -0,0 +1,135 @@
+package com.deliverytech.delivery_api.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetSortTest {
+
+    private record Row(LocalDateTime orderDate, UUID id) {}
+
+    private static Window<Row> window(List<Row> rows, boolean hasNext) {
+        return Window.from(rows,
+                index -> ScrollPosition.forward(Map.of("orderDate", rows.get(index).orderDate(), "id", rows.get(index).id())),
+                hasNext);
+    }
+
+    private static List<Row> rows(int count) {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 12, 30, 15, 123_000_000);
+        return java.util.stream.IntStream.range(0, count)
+                .mapToObj(i -> new Row(start.minusMinutes(i), UUID.randomUUID()))
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Tests for position method")
+    class PositionTests {
+
+        @Test
+        @DisplayName("Should start from the first row when the cursor is missing or empty")
+        void should_ReturnInitialPosition_When_CursorIsEmpty() {
+            assertTrue(KeysetSort.ORDERS_BY_DATE.position(null).isInitial());
+            assertTrue(KeysetSort.ORDERS_BY_DATE.position("").isInitial());
+        }
+
+        @Test
+        @DisplayName("Should decode the typed keys and direction the cursor was encoded with")
+        void should_DecodeTypedKeys_When_CursorWasIssued() {
+            List<Row> rows = rows(3);
+            KeysetPage<Row> page = KeysetSort.ORDERS_BY_DATE.page(window(rows, true),
+                    ScrollPosition.forward(Map.of("orderDate", LocalDateTime.now(), "id", UUID.randomUUID())), 3, row -> row);
+
+            KeysetScrollPosition next = KeysetSort.ORDERS_BY_DATE.position(page.next());
+            KeysetScrollPosition prev = KeysetSort.ORDERS_BY_DATE.position(page.prev());
+
+            assertTrue(next.scrollsForward());
+            assertEquals(rows.get(2).orderDate(), next.getKeys().get("orderDate"));
+            assertEquals(rows.get(2).id(), next.getKeys().get("id"));
+            assertTrue(prev.scrollsBackward());
+            assertEquals(rows.get(0).id(), prev.getKeys().get("id"));
+        }
+
+        @Test
+        @DisplayName("Should throw IllegalArgumentException when the cursor is malformed or misses a key")
+        void should_ThrowIllegalArgument_When_CursorIsInvalid() {
+            String missingId = Base64.getUrlEncoder().encodeToString(
+                    "{\"$\":\"F\",\"orderDate\":\"2025-01-01T10:00\"}".getBytes(StandardCharsets.UTF_8));
+
+            assertThrows(IllegalArgumentException.class, () -> KeysetSort.ORDERS_BY_DATE.position("%%%"));
+            assertThrows(IllegalArgumentException.class, () -> KeysetSort.ORDERS_BY_DATE.position(missingId));
+            assertThrows(IllegalArgumentException.class, () -> KeysetSort.BY_NAME.position(missingId));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for page method")
+    class PageTests {
+
+        @Test
+        @DisplayName("Should offer only a next cursor on the first page when more rows follow")
+        void should_OfferOnlyNext_When_FirstPageHasMore() {
+            KeysetPage<Row> page = KeysetSort.ORDERS_BY_DATE.page(window(rows(2), true), ScrollPosition.keyset(), 2, row -> row);
+
+            assertNotNull(page.next());
+            assertNull(page.prev());
+            assertEquals(2, page.size());
+        }
+
+        @Test
+        @DisplayName("Should offer only a prev cursor on the last page")
+        void should_OfferOnlyPrev_When_LastPageIsReached() {
+            KeysetPage<Row> page = KeysetSort.ORDERS_BY_DATE.page(window(rows(1), false),
+                    ScrollPosition.forward(Map.of("orderDate", LocalDateTime.now(), "id", UUID.randomUUID())), 2, row -> row);
+
+            assertNull(page.next());
+            assertNotNull(page.prev());
+        }
+
+        @Test
+        @DisplayName("Should offer a prev cursor only while rows precede a backward page")
+        void should_OfferPrevOnlyWhileRowsPrecede_When_ScrollingBackward() {
+            KeysetScrollPosition backward = ScrollPosition.backward(Map.of("orderDate", LocalDateTime.now(), "id", UUID.randomUUID()));
+
+            KeysetPage<Row> middle = KeysetSort.ORDERS_BY_DATE.page(window(rows(2), true), backward, 2, row -> row);
+            KeysetPage<Row> first = KeysetSort.ORDERS_BY_DATE.page(window(rows(2), false), backward, 2, row -> row);
+
+            assertNotNull(middle.next());
+            assertNotNull(middle.prev());
+            assertNotNull(first.next());
+            assertNull(first.prev());
+        }
+
+        @Test
+        @DisplayName("Should offer no cursor when the page is empty")
+        void should_OfferNoCursor_When_PageIsEmpty() {
+            KeysetPage<String> page = KeysetSort.BY_NAME.page(Window.<String>from(List.of(), index -> null), ScrollPosition.keyset(), 5, name -> name);
+
+            assertTrue(page.content().isEmpty());
+            assertNull(page.next());
+            assertNull(page.prev());
+        }
+
+        @Test
+        @DisplayName("Should map the content keeping the cursors")
+        void should_MapContent_Keeping_Cursors() {
+            KeysetPage<Row> page = KeysetSort.ORDERS_BY_DATE.page(window(rows(2), true), ScrollPosition.keyset(), 2, row -> row);
+
+            KeysetPage<UUID> mapped = page.map(Row::id);
+
+            assertEquals(page.content().stream().map(Row::id).toList(), mapped.content());
+            assertEquals(page.next(), mapped.next());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RowCountEstimatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RowCountEstimator estimator() {
+        return new RowCountEstimator(jdbcTemplate, new ObjectMapper());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void databaseIs(String product) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+    }
+
+    @Nested
+    @DisplayName("Tests for estimate method")
+    class EstimateTests {
+
+        @Test
+        @DisplayName("Should read the planner row estimate when the database is PostgreSQL")
+        void should_ReturnPlanRows_When_DatabaseIsPostgres() {
+            UUID restaurantId = UUID.randomUUID();
+            databaseIs("PostgreSQL");
+            when(jdbcTemplate.queryForObject(
+                    eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM tb_orders WHERE restaurant_id = ?"),
+                    eq(String.class), eq(restaurantId)))
+                    .thenReturn("[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Plan Rows\": 4321}}]");
+
+            OptionalLong estimate = estimator().estimate("tb_orders", "restaurant_id = ?", restaurantId);
+
+            assertEquals(OptionalLong.of(4321), estimate);
+        }
+
+        @Test
+        @DisplayName("Should omit the where clause when there are no conditions")
+        void should_EstimateWholeTable_When_WhereIsBlank() {
+            databaseIs("PostgreSQL");
+            when(jdbcTemplate.queryForObject(eq("EXPLAIN (FORMAT JSON) SELECT 1 FROM tb_orders"), eq(String.class), any(Object[].class)))
+                    .thenReturn("[{\"Plan\": {\"Plan Rows\": 10}}]");
+
+            assertEquals(OptionalLong.of(10), estimator().estimate("tb_orders", ""));
+        }
+
+        @Test
+        @DisplayName("Should not query the planner when the database is not PostgreSQL")
+        void should_ReturnEmpty_When_DatabaseIsNotPostgres() {
+            databaseIs("H2");
+            RowCountEstimator estimator = estimator();
+
+            assertTrue(estimator.estimate("tb_orders", "").isEmpty());
+            assertTrue(estimator.estimate("tb_products", "").isEmpty());
+            verify(jdbcTemplate, never()).queryForObject(anyString(), eq(String.class), any(Object[].class));
+            verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+        }
+
+        @Test
+        @DisplayName("Should return no estimate when the explain fails or has no row count")
+        void should_ReturnEmpty_When_ExplainFails() {
+            databaseIs("PostgreSQL");
+            RowCountEstimator estimator = estimator();
+            when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                    .thenThrow(new DataAccessResourceFailureException("down"))
+                    .thenReturn("[{\"Plan\": {}}]")
+                    .thenReturn("not json");
+
+            assertTrue(estimator.estimate("tb_orders", "").isEmpty());
+            assertTrue(estimator.estimate("tb_orders", "").isEmpty());
+            assertTrue(estimator.estimate("tb_orders", "").isEmpty());
+        }
+    }
+}
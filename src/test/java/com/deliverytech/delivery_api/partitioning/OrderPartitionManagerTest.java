@@ -0,0 +1,117 @@
+package com.deliverytech.delivery_api.partitioning;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderPartitionManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        Clock clock = Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneOffset.UTC);
+        manager = new OrderPartitionManager(jdbcTemplate, clock, 2);
+    }
+
+    private void givenPartitioned(String table, boolean partitioned) {
+        when(jdbcTemplate.queryForObject(contains("relkind = 'p'"), eq(Integer.class), eq(table)))
+                .thenReturn(partitioned ? 1 : 0);
+    }
+
+    @Nested
+    @DisplayName("Tests for ensurePartitions method")
+    class EnsurePartitionsTests {
+
+        @Test
+        @DisplayName("Should create monthly partitions from the previous month up to months ahead")
+        void should_CreateMonthlyPartitions_When_TablesArePartitioned() {
+            givenPartitioned("tb_orders", true);
+            givenPartitioned("tb_order_items", true);
+
+            manager.ensurePartitions();
+
+            ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+            verify(jdbcTemplate, times(8)).execute(ddl.capture());
+
+            assertEquals(
+                    "CREATE TABLE IF NOT EXISTS tb_orders_2024_12 PARTITION OF tb_orders " +
+                            "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')",
+                    ddl.getAllValues().getFirst());
+            assertEquals(
+                    "CREATE TABLE IF NOT EXISTS tb_order_items_2025_03 PARTITION OF tb_order_items " +
+                            "FOR VALUES FROM ('2025-03-01') TO ('2025-04-01')",
+                    ddl.getAllValues().getLast());
+        }
+
+        @Test
+        @DisplayName("Should skip tables that are not partitioned")
+        void should_SkipTable_When_TableIsNotPartitioned() {
+            givenPartitioned("tb_orders", false);
+            givenPartitioned("tb_order_items", false);
+
+            manager.ensurePartitions();
+
+            verify(jdbcTemplate, never()).execute(anyString());
+        }
+
+        @Test
+        @DisplayName("Should keep creating the remaining partitions when one of them fails")
+        void should_ContinueWithOtherPartitions_When_CreationFails() {
+            givenPartitioned("tb_orders", true);
+            givenPartitioned("tb_order_items", false);
+            doThrow(new DataIntegrityViolationException("rows in default partition"))
+                    .when(jdbcTemplate).execute(contains("tb_orders_2024_12"));
+
+            assertDoesNotThrow(() -> manager.ensurePartitions());
+
+            verify(jdbcTemplate, times(4)).execute(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for detachPartition method")
+    class DetachPartitionTests {
+
+        @Test
+        @DisplayName("Should detach the month from items before orders")
+        void should_DetachItemsFirst_When_PartitionsExist() {
+            when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("tb_orders")))
+                    .thenReturn(List.of("tb_orders_2024_11", "tb_orders_2024_12"));
+            when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("tb_order_items")))
+                    .thenReturn(List.of("tb_order_items_2024_11"));
+
+            List<String> detached = manager.detachPartition(YearMonth.of(2024, 11));
+
+            assertEquals(List.of("tb_order_items_2024_11", "tb_orders_2024_11"), detached);
+            var inOrder = inOrder(jdbcTemplate);
+            inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_order_items DETACH PARTITION tb_order_items_2024_11");
+            inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_orders DETACH PARTITION tb_orders_2024_11");
+        }
+
+        @Test
+        @DisplayName("Should detach nothing when the month has no partition")
+        void should_DetachNothing_When_PartitionDoesNotExist() {
+            when(jdbcTemplate.queryForList(anyString(), eq(String.class), anyString())).thenReturn(List.of());
+
+            assertTrue(manager.detachPartition(YearMonth.of(2020, 1)).isEmpty());
+            verify(jdbcTemplate, never()).execute(anyString());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.deliverytech.delivery_api.reportcache;
+
+import com.deliverytech.delivery_api.nearcache.CacheInvalidation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportDayCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration CLOSED_DAY_TTL = Duration.ofHours(1);
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 10);
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ReportDayCache cache;
+    private List<String> queries;
+    private List<CacheInvalidation> published;
+
+    record Row(LocalDate day, String value) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        cache = new ReportDayCache(true, TTL, CLOSED_DAY_TTL, 100, clock, published::add, meterRegistry);
+        queries = new ArrayList<>();
+    }
+
+    @Nested
+    @DisplayName("Splitting and merging")
+    class SplitTests {
+
+        @Test
+        @DisplayName("Should load only the days missing from the cache, one query per run of days")
+        void should_QueryMissingRuns_When_RangePartiallyCached() {
+            get(day(1), day(2));
+            get(day(5), day(5));
+            queries.clear();
+
+            List<Row> rows = get(day(1), day(7));
+
+            assertEquals(List.of(day(3) + ".." + day(4), day(6) + ".." + day(7)), queries);
+            assertEquals(List.of(day(1), day(2), day(3), day(4), day(5), day(6), day(7)),
+                    rows.stream().map(Row::day).toList());
+        }
+
+        @Test
+        @DisplayName("Should cache days without rows as empty")
+        void should_CacheEmptyDays_When_LoaderHasNoRows() {
+            cache.get("report", null, day(1), day(3), Row::day, (start, end) -> {
+                queries.add(start + ".." + end);
+                return List.<Row>of();
+            });
+
+            assertEquals(List.of(), get(day(1), day(3)));
+            assertEquals(1, queries.size());
+        }
+
+        @Test
+        @DisplayName("Should keep variants of the same report apart")
+        void should_SeparateVariants_When_FiltersDiffer() {
+            get(day(1), day(1));
+            cache.get("report", "DELIVERED", day(1), day(1), Row::day, (start, end) -> {
+                queries.add("DELIVERED");
+                return List.of(new Row(start, "delivered"));
+            });
+
+            assertEquals(List.of(day(1) + ".." + day(1), "DELIVERED"), queries);
+        }
+
+        @Test
+        @DisplayName("Should not cache ranges longer than the cache or when disabled")
+        void should_BypassCache_When_RangeTooLongOrDisabled() {
+            get(day(1).minusDays(200), day(1));
+            get(day(1).minusDays(200), day(1));
+            assertEquals(2, queries.size());
+
+            cache = new ReportDayCache(false, TTL, CLOSED_DAY_TTL, 100, clock, published::add, meterRegistry);
+            get(day(1), day(1));
+            get(day(1), day(1));
+            assertEquals(4, queries.size());
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiration and invalidation")
+    class ExpirationTests {
+
+        @Test
+        @DisplayName("Should keep closed days and expire the open day after the TTL")
+        void should_ExpireOpenDay_When_TtlElapses() {
+            get(day(8), TODAY);
+            clock.advance(TTL);
+            queries.clear();
+
+            get(day(8), TODAY);
+
+            assertEquals(List.of(TODAY + ".." + TODAY), queries);
+        }
+
+        @Test
+        @DisplayName("Should reload closed days once the closed-day TTL elapses")
+        void should_ExpireClosedDays_When_ClosedDayTtlElapses() {
+            get(day(1), day(3));
+            clock.advance(CLOSED_DAY_TTL.minus(TTL));
+            get(day(1), day(3));
+            assertEquals(1, queries.size());
+
+            clock.advance(TTL);
+            get(day(1), day(3));
+
+            assertEquals(List.of(day(1) + ".." + day(3), day(1) + ".." + day(3)), queries);
+        }
+
+        @Test
+        @DisplayName("Should reload a closed day when one of its orders changes and keep it briefly afterwards")
+        void should_ReloadClosedDay_When_OrderChanges() {
+            get(day(1), day(3));
+            cache.orderChanged(day(2));
+            queries.clear();
+
+            get(day(1), day(3));
+            get(day(1), day(3));
+            assertEquals(List.of(day(2) + ".." + day(2)), queries);
+
+            clock.advance(TTL);
+            get(day(1), day(3));
+            get(day(1), day(3));
+            assertEquals(List.of(day(2) + ".." + day(2), day(2) + ".." + day(2)), queries);
+        }
+
+        @Test
+        @DisplayName("Should not evict the open day on order changes")
+        void should_KeepOpenDay_When_OrderChangesToday() {
+            get(TODAY, TODAY);
+            cache.orderChanged(TODAY);
+
+            get(TODAY, TODAY);
+
+            assertEquals(1, queries.size());
+        }
+
+        @Test
+        @DisplayName("Should not store a load that raced with an invalidation")
+        void should_SkipStore_When_InvalidatedDuringLoad() {
+            cache.get("report", null, day(1), day(1), Row::day, (start, end) -> {
+                cache.invalidate(day(5), day(5));
+                return List.of(new Row(start, "stale"));
+            });
+
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should evict the whole range, or everything when the range is longer than the cache")
+        void should_EvictRange_When_Invalidated() {
+            get(day(1), day(5));
+            cache.invalidate(day(2), day(3));
+            assertEquals(3, cache.size());
+
+            cache.invalidate(day(1).minusDays(500), day(1));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidations across instances")
+    class BroadcastTests {
+
+        @Test
+        @DisplayName("Should broadcast the evictions made on this instance")
+        void should_PublishEvictions_When_DaysChange() {
+            cache.orderChanged(day(2));
+            cache.orderChanged(TODAY);
+            cache.invalidate(day(1), day(3));
+            cache.invalidateAll();
+
+            assertEquals(Arrays.asList(day(2) + "/" + day(2), day(1) + "/" + day(3), null),
+                    published.stream().map(CacheInvalidation::key).toList());
+            assertTrue(published.stream().allMatch(invalidation -> ReportDayCache.CACHE_NAME.equals(invalidation.cache())));
+        }
+
+        @Test
+        @DisplayName("Should evict the days broadcast by other instances and ignore its own")
+        void should_EvictDays_When_InvalidationComesFromAnotherInstance() {
+            get(day(1), day(5));
+            cache.orderChanged(day(1));
+            get(day(1), day(5));
+            assertEquals(5, cache.size());
+
+            cache.onInvalidation(published.getFirst());
+            cache.onInvalidation(new CacheInvalidation("other", "products", null));
+            assertEquals(5, cache.size());
+
+            cache.onInvalidation(new CacheInvalidation("other", ReportDayCache.CACHE_NAME, day(2) + "/" + day(3)));
+            assertEquals(3, cache.size());
+
+            cache.onInvalidation(new CacheInvalidation("other", ReportDayCache.CACHE_NAME, null));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose the hit ratio and the database time saved")
+    void should_ReportMetrics_When_DaysAreServed() {
+        get(day(1), day(2));
+        get(day(1), day(4));
+
+        assertEquals(2.0 / 6, cache.hitRatio(), 1e-9);
+        assertEquals(2.0, meterRegistry.get("delivery_api.reports.cache.days").tag("result", "hit").counter().count());
+        assertEquals(4.0, meterRegistry.get("delivery_api.reports.cache.days").tag("result", "miss").counter().count());
+        assertEquals(2, meterRegistry.get("delivery_api.reports.cache.load").timer().count());
+        assertTrue(meterRegistry.get("delivery_api.reports.cache.saved_db_time").functionCounter().count() >= 0);
+        assertEquals(4.0, meterRegistry.get("delivery_api.reports.cache.size").gauge().value());
+    }
+
+    private List<Row> get(LocalDate startDate, LocalDate endDate) {
+        return cache.get("report", null, startDate, endDate, Row::day, (start, end) -> {
+            queries.add(start + ".." + end);
+            return start.datesUntil(end.plusDays(1)).map(day -> new Row(day, "row")).toList();
+        });
+    }
+
+    private static LocalDate day(int dayOfMonth) {
+        return TODAY.withDayOfMonth(dayOfMonth);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC);
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
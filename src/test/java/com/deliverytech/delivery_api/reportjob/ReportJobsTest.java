@@ -0,0 +1,365 @@
+package com.deliverytech.delivery_api.reportjob;
+
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
+import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import com.deliverytech.delivery_api.service.ReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class ReportJobsTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 10, 1);
+    private static final LocalDate END = LocalDate.of(2025, 10, 31);
+    private static final String CSV = "date,status,totalOrders,totalSales\n2025-10-01,DELIVERED,2,80.00\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<ReportJobs> started = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    private ReportService reportService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        reportService = mock(ReportService.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(ReportJobs::stop);
+    }
+
+    private ReportJobs newJobs(int workers, int queueCapacity, Duration retention) {
+        ReportJobs jobs = new ReportJobs(reportService, transactionManager, objectMapper, meterRegistry,
+                directory.toString(), workers, queueCapacity, Duration.ofSeconds(30), retention);
+        started.add(jobs);
+        return jobs;
+    }
+
+    private ReportJobs newJobs() {
+        return newJobs(2, 10, Duration.ofHours(1));
+    }
+
+    private static ReportJobRequest ordersByPeriod(OrderStatus status) {
+        return new ReportJobRequest(ReportJobType.ORDERS_BY_PERIOD, START, END, status, ExportFormat.CSV);
+    }
+
+    private static Answer<Long> writing(String content) {
+        return invocation -> {
+            ExportSink sink = invocation.getArgument(4);
+            try (OutputStream out = sink.open()) {
+                out.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+            return content.lines().count() - 1;
+        };
+    }
+
+    private static Answer<Long> awaiting(CountDownLatch started, CountDownLatch release) {
+        return invocation -> {
+            started.countDown();
+            release.await();
+            return 0L;
+        };
+    }
+
+    private static ReportJob awaitFinished(ReportJobs jobs, UUID id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ReportJob job = jobs.find(id);
+            if (job.status().isFinished()) return job;
+            Thread.sleep(10);
+        }
+        return fail("Job did not finish: " + jobs.find(id));
+    }
+
+    /* The state file is written just after the job is seen as finished */
+    private Path awaitState(UUID id) throws InterruptedException {
+        Path state = directory.resolve(id + ".json");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(state) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return state;
+    }
+
+    private static String read(ReportJobs.Result result, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (result) {
+            result.writeTo(out, gzip);
+        }
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            bytes = new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Tests for submit method")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Should write the report gzipped and make it downloadable when the export succeeds")
+        void should_WriteGzippedResult_When_ExportSucceeds() throws Exception {
+            when(reportService.exportOrdersByPeriod(eq(START), eq(END), eq(OrderStatus.DELIVERED), eq(ExportFormat.CSV), any()))
+                    .thenAnswer(writing(CSV));
+            ReportJobs jobs = newJobs();
+
+            ReportJob queued = jobs.submit(ordersByPeriod(OrderStatus.DELIVERED));
+            ReportJob finished = awaitFinished(jobs, queued.id());
+
+            assertEquals(ReportJobStatus.SUCCEEDED, finished.status());
+            assertEquals(1L, finished.rows());
+            assertEquals(Files.size(directory.resolve(queued.id() + ".gz")), finished.sizeBytes());
+            assertNotNull(finished.expiresAt());
+            assertEquals(CSV, read(jobs.result(queued.id()), false));
+            assertEquals(CSV, read(jobs.result(queued.id()), true));
+            assertEquals(1.0, meterRegistry.counter("delivery_api.reports.jobs", "result", "succeeded").count());
+        }
+
+        @Test
+        @DisplayName("Should export the daily sales when the job is of that type")
+        void should_ExportDailySales_When_TypeIsDailySales() throws Exception {
+            ReportJobs jobs = newJobs();
+
+            ReportJob job = jobs.submit(new ReportJobRequest(ReportJobType.DAILY_SALES, START, END, null, ExportFormat.NDJSON));
+
+            assertEquals(ReportJobStatus.SUCCEEDED, awaitFinished(jobs, job.id()).status());
+            verify(reportService).exportDailySales(eq(START), eq(END), eq(ExportFormat.NDJSON), any());
+        }
+
+        @Test
+        @DisplayName("Should run a single export when an equal request is still running")
+        void should_ShareJob_When_EqualRequestIsRunning() throws Exception {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any())).thenAnswer(awaiting(running, release));
+            ReportJobs jobs = newJobs();
+
+            ReportJob first = jobs.submit(ordersByPeriod(null));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            ReportJob second = jobs.submit(ordersByPeriod(null));
+            ReportJob other = jobs.submit(ordersByPeriod(OrderStatus.CANCELED));
+            release.countDown();
+
+            assertEquals(first.id(), second.id());
+            assertNotEquals(first.id(), other.id());
+            awaitFinished(jobs, first.id());
+            awaitFinished(jobs, other.id());
+            verify(reportService).exportOrdersByPeriod(any(), any(), isNull(), any(), any());
+            assertEquals(1.0, meterRegistry.counter("delivery_api.reports.jobs", "result", "deduplicated").count());
+
+            ReportJob afterwards = jobs.submit(ordersByPeriod(null));
+            assertNotEquals(first.id(), afterwards.id());
+        }
+
+        @Test
+        @DisplayName("Should reject the request when the queue is full")
+        void should_ThrowBusinessException_When_QueueIsFull() throws Exception {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any())).thenAnswer(awaiting(running, release));
+            ReportJobs jobs = newJobs(1, 1, Duration.ofHours(1));
+
+            jobs.submit(ordersByPeriod(OrderStatus.DELIVERED));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            jobs.submit(ordersByPeriod(OrderStatus.PENDING));
+
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> jobs.submit(ordersByPeriod(OrderStatus.CANCELED)));
+            assertTrue(exception.getMessage().contains("fila de relatórios está cheia"));
+            release.countDown();
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for failed jobs")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should fail with the timeout message when the transaction times out")
+        void should_FailWithTimeoutMessage_When_TransactionTimesOut() throws Exception {
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any()))
+                    .thenThrow(new TransactionTimedOutException("deadline"));
+            ReportJobs jobs = newJobs();
+
+            ReportJob job = awaitFinished(jobs, jobs.submit(ordersByPeriod(null)).id());
+
+            assertEquals(ReportJobStatus.FAILED, job.status());
+            assertEquals("O relatório excedeu o tempo limite de 30 s.", job.error());
+            assertFalse(Files.exists(directory.resolve(job.id() + ".part")));
+            assertThrows(ConflictException.class, () -> jobs.result(job.id()));
+            assertEquals(1.0, meterRegistry.counter("delivery_api.reports.jobs", "result", "failed").count());
+        }
+
+        @Test
+        @DisplayName("Should keep the message of a business exception and hide any other")
+        void should_DescribeFailure_When_ExportThrows() throws Exception {
+            when(reportService.exportOrdersByPeriod(any(), any(), eq(OrderStatus.DELIVERED), any(), any()))
+                    .thenThrow(new BusinessException("Período inválido."));
+            when(reportService.exportOrdersByPeriod(any(), any(), eq(OrderStatus.PENDING), any(), any()))
+                    .thenThrow(new IllegalStateException("connection reset"));
+            ReportJobs jobs = newJobs();
+
+            ReportJob business = awaitFinished(jobs, jobs.submit(ordersByPeriod(OrderStatus.DELIVERED)).id());
+            ReportJob other = awaitFinished(jobs, jobs.submit(ordersByPeriod(OrderStatus.PENDING)).id());
+
+            assertEquals("Período inválido.", business.error());
+            assertEquals("Falha ao gerar o relatório.", other.error());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for cancel method")
+    class CancelTests {
+
+        @Test
+        @DisplayName("Should interrupt the export and keep the job canceled when it is running")
+        void should_InterruptExport_When_JobIsRunning() throws Exception {
+            CountDownLatch running = new CountDownLatch(1);
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any()))
+                    .thenAnswer(awaiting(running, new CountDownLatch(1)));
+            ReportJobs jobs = newJobs();
+            ReportJob job = jobs.submit(ordersByPeriod(null));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            ReportJob canceled = jobs.cancel(job.id());
+
+            assertEquals(ReportJobStatus.CANCELED, canceled.status());
+            assertEquals(ReportJobStatus.CANCELED, awaitFinished(jobs, job.id()).status());
+            assertThrows(ConflictException.class, () -> jobs.cancel(job.id()));
+            assertThrows(ConflictException.class, () -> jobs.result(job.id()));
+            assertNotEquals(job.id(), jobs.submit(ordersByPeriod(null)).id());
+            assertEquals(1.0, meterRegistry.counter("delivery_api.reports.jobs", "result", "canceled").count());
+        }
+
+        @Test
+        @DisplayName("Should never run the job when it is canceled while queued")
+        void should_SkipExport_When_CanceledWhileQueued() throws Exception {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(reportService.exportOrdersByPeriod(any(), any(), eq(OrderStatus.DELIVERED), any(), any()))
+                    .thenAnswer(awaiting(running, release));
+            ReportJobs jobs = newJobs(1, 5, Duration.ofHours(1));
+            ReportJob first = jobs.submit(ordersByPeriod(OrderStatus.DELIVERED));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            ReportJob queued = jobs.submit(ordersByPeriod(OrderStatus.PENDING));
+
+            jobs.cancel(queued.id());
+            release.countDown();
+
+            assertEquals(ReportJobStatus.SUCCEEDED, awaitFinished(jobs, first.id()).status());
+            assertEquals(ReportJobStatus.CANCELED, jobs.find(queued.id()).status());
+            verify(reportService, never()).exportOrdersByPeriod(any(), any(), eq(OrderStatus.PENDING), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when the job does not exist")
+        void should_ThrowResourceNotFoundException_When_JobIsUnknown() {
+            ReportJobs jobs = newJobs();
+
+            assertThrows(ResourceNotFoundException.class, () -> jobs.cancel(UUID.randomUUID()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for expiry and restarts")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should drop the job and its files once it expires")
+        void should_DropJob_When_Expired() throws Exception {
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any())).thenAnswer(writing(CSV));
+            ReportJobs jobs = newJobs(1, 5, Duration.ZERO);
+            UUID id = jobs.submit(ordersByPeriod(null)).id();
+            Path state = awaitState(id);
+
+            assertThrows(ResourceNotFoundException.class, () -> jobs.find(id));
+            jobs.purgeExpired();
+
+            assertFalse(Files.exists(state));
+            assertFalse(Files.exists(directory.resolve(id + ".gz")));
+        }
+
+        @Test
+        @DisplayName("Should keep an expired job while its result is being downloaded")
+        void should_KeepJob_When_ExpiredDuringDownload() throws Exception {
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any())).thenAnswer(writing(CSV));
+            ReportJobs jobs = newJobs(1, 5, Duration.ofSeconds(1));
+            UUID id = awaitFinished(jobs, jobs.submit(ordersByPeriod(null)).id()).id();
+            ReportJobs.Result download = jobs.result(id);
+            Path state = awaitState(id);
+            Thread.sleep(1100);
+
+            jobs.purgeExpired();
+            assertEquals(CSV, read(download, false));
+            assertTrue(Files.exists(state));
+
+            jobs.purgeExpired();
+            assertFalse(Files.exists(state));
+            assertFalse(Files.exists(download.file()));
+        }
+
+        @Test
+        @DisplayName("Should reload finished jobs and drop partial and orphaned files when restarted")
+        void should_ReloadFinishedJobs_When_Restarted() throws Exception {
+            when(reportService.exportOrdersByPeriod(any(), any(), any(), any(), any())).thenAnswer(writing(CSV));
+            ReportJobs jobs = newJobs();
+            ReportJob finished = awaitFinished(jobs, jobs.submit(ordersByPeriod(null)).id());
+            awaitState(finished.id());
+            jobs.stop();
+            Path partial = Files.writeString(directory.resolve(UUID.randomUUID() + ".part"), "half");
+            Path orphan = Files.writeString(directory.resolve(UUID.randomUUID() + ".gz"), "lost");
+            Path unreadable = Files.writeString(directory.resolve(UUID.randomUUID() + ".json"), "{");
+
+            ReportJobs restarted = newJobs();
+
+            assertEquals(finished, restarted.find(finished.id()));
+            assertEquals(CSV, read(restarted.result(finished.id()), false));
+            assertFalse(Files.exists(partial));
+            assertFalse(Files.exists(orphan));
+            assertFalse(Files.exists(unreadable));
+        }
+    }
+}
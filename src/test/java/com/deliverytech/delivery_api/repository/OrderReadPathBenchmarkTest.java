@@ -0,0 +1,143 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.BaseIntegrationTest;
+import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
+import com.deliverytech.delivery_api.mapper.OrderMapper;
+import com.deliverytech.delivery_api.model.Consumer;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    Latency and heap allocation of one order summary page read through managed entities
+    and mapped (the previous path) against the JPQL constructor projection now used by
+    the list endpoints. Opt-in:
+
+        mvn test -Dtest=OrderReadPathBenchmarkTest -Dbenchmark=true [-Dbenchmark.orders=20000 -Dbenchmark.iterations=500]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderReadPathBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderReadPathBenchmarkTest.class);
+    private static final int PAGE_SIZE = 50;
+    private static final int RESTAURANTS = 10;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ConsumerRepository consumerRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should read a summary page with fewer allocations through the projection")
+    void should_CompareEntityAndProjectionReadPaths() {
+        int orders = Integer.getInteger("benchmark.orders", 20_000);
+        int iterations = Integer.getInteger("benchmark.iterations", 500);
+        List<UUID> restaurantIds = seed(orders);
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("orderDate").descending());
+
+        Function<UUID, List<OrderSummaryResponseDto>> entities = restaurantId -> orderRepository
+                .findByRestaurantId(restaurantId, pageable).map(orderMapper::toSummaryDto).getContent();
+        Function<UUID, List<OrderSummaryResponseDto>> projection = restaurantId -> orderRepository
+                .findSummariesByRestaurantId(restaurantId, pageable).getContent();
+
+        assertEquals(entities.apply(restaurantIds.getFirst()), projection.apply(restaurantIds.getFirst()));
+
+        Result entityResult = run(entities, restaurantIds, iterations);
+        Result projectionResult = run(projection, restaurantIds, iterations);
+
+        log.info("read-path-benchmark; orders={}; pageSize={}; iterations={}; entityMicrosPerPage={}; projectionMicrosPerPage={}; entityBytesPerPage={}; projectionBytesPerPage={}",
+                orders, PAGE_SIZE, iterations,
+                entityResult.microsPerPage(), projectionResult.microsPerPage(),
+                entityResult.bytesPerPage(), projectionResult.bytesPerPage());
+
+        assertTrue(projectionResult.bytesPerPage() < entityResult.bytesPerPage());
+    }
+
+    private List<UUID> seed(int orders) {
+        Consumer consumer = new Consumer();
+        consumer.setName("Benchmark");
+        consumer.setEmail("benchmark@email.com");
+        consumer.setAddress("Addr");
+        consumer.setPhoneNumber("11111");
+        consumer.setActive(true);
+        consumer = consumerRepository.save(consumer);
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setName("Restaurant " + i);
+            restaurant.setCategory("BRASILEIRA");
+            restaurant.setAddress("Addr " + i);
+            restaurant.setPhoneNumber("2222" + i);
+            restaurant.setDeliveryTax(BigDecimal.ONE);
+            restaurant.setActive(true);
+            restaurants.add(restaurantRepository.save(restaurant));
+        }
+
+        for (int i = 0; i < orders; i++) {
+            orderRepository.save(new Order(null, null, null, "Addr", BigDecimal.TEN, BigDecimal.ONE,
+                    new BigDecimal("11.00"), OrderStatus.DELIVERED, consumer, restaurants.get(i % RESTAURANTS), null, null, null));
+            if (i % 1_000 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return restaurants.stream().map(Restaurant::getId).toList();
+    }
+
+    private Result run(Function<UUID, List<OrderSummaryResponseDto>> read, List<UUID> restaurantIds, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < iterations / 5; i++) {
+            read.apply(restaurantIds.get(i % restaurantIds.size()));
+            entityManager.clear();
+        }
+
+        long bytes = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            read.apply(restaurantIds.get(i % restaurantIds.size()));
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytes;
+
+        return new Result(elapsed / 1_000 / iterations, allocated / iterations);
+    }
+
+    private record Result(long microsPerPage, long bytesPerPage) {
+    }
+}
@@ -169,6 +169,31 @@ public class ConsumerServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("findConsumerEntitiesByIds() tests")
+    class ConsumerBulkLookupTests {
+
+        @Test
+        @DisplayName("Should not query the database when no ids are given")
+        void should_ReturnEmptyList_When_IdsAreEmpty() {
+            assertTrue(consumerService.findConsumerEntitiesByIds(List.of()).isEmpty());
+
+            verifyNoInteractions(consumerRepository);
+        }
+
+        @Test
+        @DisplayName("Should load every consumer with a single query")
+        void should_LoadAllConsumers_With_SingleQuery() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+            when(consumerRepository.findAllById(ids)).thenReturn(List.of(new Consumer(), new Consumer()));
+
+            List<Consumer> result = consumerService.findConsumerEntitiesByIds(ids);
+
+            assertEquals(2, result.size());
+            verify(consumerRepository).findAllById(ids);
+        }
+    }
+
     @Nested
     @DisplayName("findAllActive() tests")
     class findAllActiveTests {
@@ -0,0 +1,185 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.ActiveConsumerReportDto;
+import com.deliverytech.delivery_api.dto.response.DashboardResponseDto;
+import com.deliverytech.delivery_api.dto.response.DashboardSectionDto;
+import com.deliverytech.delivery_api.dto.response.OrderByPeriodReportDto;
+import com.deliverytech.delivery_api.dto.response.SalesByRestaurantReportDto;
+import com.deliverytech.delivery_api.dto.response.TopSellingProductReportDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.enums.DashboardSectionStatus;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.service.ReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 10, 1);
+    private static final LocalDate END = LocalDate.of(2025, 10, 31);
+
+    private final List<SalesByRestaurantReportDto> sales =
+            List.of(new SalesByRestaurantReportDto("Restaurant", new BigDecimal("100.00")));
+    private final List<TopSellingProductReportDto> topProducts = List.of(new TopSellingProductReportDto(UUID.randomUUID(), "Pizza", 3L));
+    private final List<ActiveConsumerReportDto> activeConsumers =
+            List.of(new ActiveConsumerReportDto("Consumer", "consumer@email.com", 2L));
+    private final List<OrderByPeriodReportDto> ordersByPeriod =
+            List.of(new OrderByPeriodReportDto(START, 2L, new BigDecimal("100.00"), OrderStatus.DELIVERED));
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardServiceImpl(reportService, transactionManager, Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.stop();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("getDashboard() tests")
+    class GetDashboardTests {
+
+        @Test
+        @DisplayName("Should combine every section and time each one")
+        void should_ReturnAllSections_When_EveryQuerySucceeds() {
+            stubAllSections();
+
+            DashboardResponseDto dashboard = dashboardService.getDashboard(START, END, null);
+
+            assertEquals(sales, dashboard.salesByRestaurant());
+            assertEquals(topProducts, dashboard.topSellingProducts());
+            assertEquals(activeConsumers, dashboard.activeConsumers());
+            assertEquals(ordersByPeriod, dashboard.ordersByPeriod());
+            assertTrue(dashboard.metadata().complete());
+            assertEquals(List.of("salesByRestaurant", "topSellingProducts", "activeConsumers", "ordersByPeriod"),
+                    List.copyOf(dashboard.metadata().sections().keySet()));
+            assertTrue(dashboard.metadata().sections().values().stream()
+                    .allMatch(section -> section.status() == DashboardSectionStatus.OK && section.elapsedMillis() >= 0));
+        }
+
+        @Test
+        @DisplayName("Should run the sections concurrently on virtual threads, each in a read-only transaction")
+        void should_RunSectionsConcurrently_When_Loading() {
+            CountDownLatch allStarted = new CountDownLatch(4);
+            List<Boolean> virtual = new java.util.concurrent.CopyOnWriteArrayList<>();
+            when(reportService.getSalesByRestaurant()).thenAnswer(invocation -> rendezvous(allStarted, virtual, sales));
+            when(reportService.getTopSellingProducts()).thenAnswer(invocation -> rendezvous(allStarted, virtual, topProducts));
+            when(reportService.getActiveConsumers()).thenAnswer(invocation -> rendezvous(allStarted, virtual, activeConsumers));
+            when(reportService.getOrdersByPeriodAndStatus(START, END, OrderStatus.DELIVERED))
+                    .thenAnswer(invocation -> rendezvous(allStarted, virtual, ordersByPeriod));
+
+            DashboardResponseDto dashboard = dashboardService.getDashboard(START, END, OrderStatus.DELIVERED);
+
+            assertTrue(dashboard.metadata().complete());
+            assertEquals(List.of(true, true, true, true), virtual);
+            verify(transactionManager, times(4)).getTransaction(argThat(definition ->
+                    definition.isReadOnly() && definition.getTimeout() == 1));
+        }
+
+        @Test
+        @DisplayName("Should run the sections with the caller's security context")
+        void should_PropagateSecurityContext_To_Sections() {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken("admin@email.com", null, List.of()));
+            List<String> principals = new java.util.concurrent.CopyOnWriteArrayList<>();
+            when(reportService.getSalesByRestaurant()).thenAnswer(invocation -> {
+                principals.add(SecurityContextHolder.getContext().getAuthentication().getName());
+                return sales;
+            });
+
+            dashboardService.getDashboard(START, END, null);
+
+            assertEquals(List.of("admin@email.com"), principals);
+        }
+
+        @Test
+        @DisplayName("Should return the other sections when one misses the timeout")
+        void should_ReturnPartialDashboard_When_SectionTimesOut() {
+            stubAllSections();
+            when(reportService.getTopSellingProducts()).thenAnswer(invocation -> {
+                Thread.sleep(5_000);
+                return topProducts;
+            });
+
+            long start = System.nanoTime();
+            DashboardResponseDto dashboard = dashboardService.getDashboard(START, END, null);
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+            assertNull(dashboard.topSellingProducts());
+            assertEquals(sales, dashboard.salesByRestaurant());
+            assertEquals(ordersByPeriod, dashboard.ordersByPeriod());
+            assertFalse(dashboard.metadata().complete());
+            DashboardSectionDto section = dashboard.metadata().sections().get("topSellingProducts");
+            assertEquals(DashboardSectionStatus.TIMEOUT, section.status());
+            assertTrue(section.elapsedMillis() >= 300);
+        }
+
+        @Test
+        @DisplayName("Should report the failure of a section and keep the others")
+        void should_ReturnPartialDashboard_When_SectionFails() {
+            stubAllSections();
+            when(reportService.getOrdersByPeriodAndStatus(START, END, null))
+                    .thenThrow(new BusinessException("Data de início e data de fim são obrigatórias para este relatório."));
+            when(reportService.getActiveConsumers()).thenThrow(new IllegalStateException("connection reset"));
+
+            DashboardResponseDto dashboard = dashboardService.getDashboard(START, END, null);
+
+            assertNull(dashboard.ordersByPeriod());
+            assertNull(dashboard.activeConsumers());
+            assertEquals(sales, dashboard.salesByRestaurant());
+            assertFalse(dashboard.metadata().complete());
+            assertEquals(DashboardSectionDto.failed(dashboard.metadata().sections().get("ordersByPeriod").elapsedMillis(),
+                            "Data de início e data de fim são obrigatórias para este relatório."),
+                    dashboard.metadata().sections().get("ordersByPeriod"));
+            assertEquals("Não foi possível carregar esta seção",
+                    dashboard.metadata().sections().get("activeConsumers").error());
+        }
+    }
+
+    private void stubAllSections() {
+        lenient().when(reportService.getSalesByRestaurant()).thenReturn(sales);
+        lenient().when(reportService.getTopSellingProducts()).thenReturn(topProducts);
+        lenient().when(reportService.getActiveConsumers()).thenReturn(activeConsumers);
+        lenient().when(reportService.getOrdersByPeriodAndStatus(START, END, null)).thenReturn(ordersByPeriod);
+    }
+
+    private static <T> T rendezvous(CountDownLatch allStarted, List<Boolean> virtual, T result) throws InterruptedException {
+        virtual.add(Thread.currentThread().isVirtual());
+        allStarted.countDown();
+        if (!allStarted.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("sections did not run concurrently");
+        }
+        return result;
+    }
+}
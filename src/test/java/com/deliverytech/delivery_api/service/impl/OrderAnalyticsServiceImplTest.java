@@ -0,0 +1,141 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.analytics.AnalyticsQuery;
+import com.deliverytech.delivery_api.analytics.AnalyticsResult;
+import com.deliverytech.delivery_api.analytics.OrderColumnStore;
+import com.deliverytech.delivery_api.dto.response.AnalyticsResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.enums.AnalyticsDimension;
+import com.deliverytech.delivery_api.model.enums.AnalyticsFact;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAnalyticsServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 10, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 10, 8, 0, 0);
+    private static final UUID RESTAURANT_ID = UUID.randomUUID();
+
+    @Mock
+    private OrderColumnStore store;
+
+    @InjectMocks
+    private OrderAnalyticsServiceImpl orderAnalyticsService;
+
+    @Nested
+    @DisplayName("Query tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should map the groups by dimension name and convert cents to amounts")
+        void should_MapGroups_When_QueryRuns() {
+            when(store.query(any())).thenReturn(new AnalyticsResult(List.of(
+                    new AnalyticsResult.Group(List.of(RESTAURANT_ID, OrderStatus.DELIVERED), 3, 12345, 0)), 10, 1));
+
+            AnalyticsResponseDto response = orderAnalyticsService.query(AnalyticsFact.ORDERS, FROM, TO,
+                    List.of(OrderStatus.DELIVERED), RESTAURANT_ID, null, null,
+                    List.of(AnalyticsDimension.RESTAURANT, AnalyticsDimension.STATUS), 10);
+
+            assertEquals(1, response.rows().size());
+            assertEquals(Map.of("restaurant", RESTAURANT_ID, "status", OrderStatus.DELIVERED), response.rows().getFirst().group());
+            assertEquals(3, response.rows().getFirst().count());
+            assertEquals(new BigDecimal("123.45"), response.rows().getFirst().total());
+            assertNull(response.rows().getFirst().quantity());
+            assertFalse(response.truncated());
+            assertEquals(10, response.scannedRows());
+            assertEquals(1, response.scannedSegments());
+
+            ArgumentCaptor<AnalyticsQuery> query = ArgumentCaptor.forClass(AnalyticsQuery.class);
+            verify(store).query(query.capture());
+            assertEquals(new AnalyticsQuery(AnalyticsFact.ORDERS, FROM, TO, EnumSet.of(OrderStatus.DELIVERED),
+                    RESTAURANT_ID, null, null, List.of(AnalyticsDimension.RESTAURANT, AnalyticsDimension.STATUS)),
+                    query.getValue());
+        }
+
+        @Test
+        @DisplayName("Should default to orders over the whole window")
+        void should_UseDefaults_When_OptionalParametersMissing() {
+            when(store.window()).thenReturn(Duration.ofDays(7));
+            when(store.query(any())).thenReturn(new AnalyticsResult(List.of(), 0, 0));
+
+            AnalyticsResponseDto response = orderAnalyticsService.query(null, null, null, null, null, null, null, null, 10);
+
+            assertEquals(Duration.ofDays(7), Duration.between(response.from(), response.to()));
+            ArgumentCaptor<AnalyticsQuery> query = ArgumentCaptor.forClass(AnalyticsQuery.class);
+            verify(store).query(query.capture());
+            assertEquals(AnalyticsFact.ORDERS, query.getValue().fact());
+            assertEquals(Set.of(), query.getValue().statuses());
+            assertEquals(List.of(), query.getValue().groupBy());
+        }
+
+        @Test
+        @DisplayName("Should return quantities for items and flag results cut at the limit")
+        void should_Truncate_When_MoreGroupsThanLimit() {
+            when(store.query(any())).thenReturn(new AnalyticsResult(List.of(
+                    new AnalyticsResult.Group(List.of(UUID.randomUUID()), 1, 100, 2),
+                    new AnalyticsResult.Group(List.of(UUID.randomUUID()), 1, 100, 3)), 2, 1));
+
+            AnalyticsResponseDto response = orderAnalyticsService.query(AnalyticsFact.ITEMS, FROM, TO, List.of(),
+                    null, null, null, List.of(AnalyticsDimension.PRODUCT), 1);
+
+            assertTrue(response.truncated());
+            assertEquals(1, response.rows().size());
+            assertEquals(2L, response.rows().getFirst().quantity());
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject a period whose start is not before its end")
+        void should_Throw_When_PeriodInverted() {
+            assertThrows(BusinessException.class, () -> orderAnalyticsService.query(AnalyticsFact.ORDERS, TO, FROM,
+                    null, null, null, null, null, 10));
+            verify(store, never()).query(any());
+        }
+
+        @Test
+        @DisplayName("Should reject limits outside the allowed range")
+        void should_Throw_When_LimitOutOfRange() {
+            assertThrows(BusinessException.class, () -> orderAnalyticsService.query(AnalyticsFact.ORDERS, FROM, TO,
+                    null, null, null, null, null, 0));
+            assertThrows(BusinessException.class, () -> orderAnalyticsService.query(AnalyticsFact.ORDERS, FROM, TO,
+                    null, null, null, null, null, OrderAnalyticsServiceImpl.MAX_LIMIT + 1));
+        }
+
+        @Test
+        @DisplayName("Should reject repeated dimensions and product filters or groups on orders")
+        void should_Throw_When_DimensionsInvalid() {
+            assertThrows(BusinessException.class, () -> orderAnalyticsService.query(AnalyticsFact.ORDERS, FROM, TO,
+                    null, null, null, null, List.of(AnalyticsDimension.DAY, AnalyticsDimension.DAY), 10));
+            assertThrows(BusinessException.class, () -> orderAnalyticsService.query(AnalyticsFact.ORDERS, FROM, TO,
+                    null, null, null, null, List.of(AnalyticsDimension.PRODUCT), 10));
+            assertThrows(BusinessException.class, () -> orderAnalyticsService.query(AnalyticsFact.ORDERS, FROM, TO,
+                    null, null, null, UUID.randomUUID(), null, 10));
+            verify(store, never()).query(any());
+        }
+    }
+}
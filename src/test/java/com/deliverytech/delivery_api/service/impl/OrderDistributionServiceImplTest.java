@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.OrderDistributionResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.sketch.DailyOrderSketches;
+import com.deliverytech.delivery_api.sketch.OrderSketch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDistributionServiceImplTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 10, 6);
+    private static final UUID RESTAURANT = UUID.randomUUID();
+    private static final UUID ANA = UUID.randomUUID();
+    private static final UUID BIA = UUID.randomUUID();
+
+    @Mock
+    private DailyOrderSketches dailyOrderSketches;
+
+    @InjectMocks
+    private OrderDistributionServiceImpl orderDistributionService;
+
+    @Test
+    @DisplayName("Should merge the days into the period, counting a consumer of several days once")
+    void should_MergeDays_When_RangeSpansSeveralDays() {
+        OrderSketch monday = new OrderSketch();
+        monday.add(ANA, new BigDecimal("10.00"));
+        monday.add(BIA, new BigDecimal("30.00"));
+        OrderSketch tuesday = new OrderSketch();
+        tuesday.add(ANA, new BigDecimal("20.00"));
+        when(dailyOrderSketches.summarize(MONDAY, MONDAY.plusDays(1), Set.of(RESTAURANT))).thenReturn(List.of(
+                new DailyOrderSketches.DailySketch(MONDAY, monday),
+                new DailyOrderSketches.DailySketch(MONDAY.plusDays(1), tuesday)));
+
+        OrderDistributionResponseDto response = orderDistributionService.getOrderDistribution(
+                MONDAY, MONDAY.plusDays(1), List.of(RESTAURANT, RESTAURANT));
+
+        assertEquals(3, response.orders());
+        assertEquals(2, response.distinctConsumers());
+        assertEquals(new BigDecimal("20.00"), response.p50());
+        assertEquals(new BigDecimal("30.00"), response.p99());
+        assertEquals(2, response.days().size());
+        assertEquals(2, response.days().getFirst().distinctConsumers());
+        assertEquals(new BigDecimal("20.00"), response.days().get(1).p90());
+        /* Merging into the period must not change the sketches of the days */
+        assertEquals(2, monday.orders());
+    }
+
+    @Test
+    @DisplayName("Should return no percentiles when nothing was delivered")
+    void should_ReturnEmptyDistribution_When_NoOrders() {
+        when(dailyOrderSketches.summarize(MONDAY, MONDAY, Set.of())).thenReturn(List.of());
+
+        OrderDistributionResponseDto response = orderDistributionService.getOrderDistribution(MONDAY, MONDAY, null);
+
+        assertEquals(0, response.orders());
+        assertEquals(0, response.distinctConsumers());
+        assertNull(response.p50());
+        assertTrue(response.days().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject missing, inverted or too long ranges and too many restaurants")
+    void should_Throw_When_RequestInvalid() {
+        List<UUID> tooMany = IntStream.rangeClosed(0, OrderDistributionServiceImpl.MAX_RESTAURANTS)
+                .mapToObj(i -> UUID.randomUUID()).toList();
+
+        assertThrows(BusinessException.class, () -> orderDistributionService.getOrderDistribution(null, MONDAY, null));
+        assertThrows(BusinessException.class, () -> orderDistributionService.getOrderDistribution(MONDAY, null, null));
+        assertThrows(BusinessException.class,
+                () -> orderDistributionService.getOrderDistribution(MONDAY, MONDAY.minusDays(1), null));
+        assertThrows(BusinessException.class, () -> orderDistributionService.getOrderDistribution(
+                MONDAY, MONDAY.plusDays(OrderDistributionServiceImpl.MAX_DAYS), Collections.emptyList()));
+        assertThrows(BusinessException.class, () -> orderDistributionService.getOrderDistribution(MONDAY, MONDAY, tooMany));
+        verify(dailyOrderSketches, never()).summarize(any(), any(), anyCollection());
+    }
+}
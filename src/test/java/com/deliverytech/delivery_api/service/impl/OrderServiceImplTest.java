@@ -1,20 +1,52 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.archive.ArchivedOrder;
+import com.deliverytech.delivery_api.archive.OrderArchive;
+import com.deliverytech.delivery_api.dto.request.OrderBatchRequestDto;
+import com.deliverytech.delivery_api.dto.request.OrderBulkStatusUpdateRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderItemRequestDto;
 import com.deliverytech.delivery_api.dto.request.OrderRequestDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchItemResultDto;
+import com.deliverytech.delivery_api.dto.response.OrderBatchResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderBulkStatusUpdateResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderExportRowDto;
+import com.deliverytech.delivery_api.dto.response.OrderReceiptResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderResponseDto;
+import com.deliverytech.delivery_api.dto.response.OrderStatusUpdateResultDto;
 import com.deliverytech.delivery_api.dto.response.OrderSummaryResponseDto;
 import com.deliverytech.delivery_api.dto.response.OrderTotalResponseDto;
+import com.deliverytech.delivery_api.events.order.OrderBulkStatusUpdateEvent;
+import com.deliverytech.delivery_api.events.order.OrderCancelEvent;
+import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.exceptions.ConflictException;
 import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.export.RowExporter;
+import com.deliverytech.delivery_api.ingestion.AcceptedOrder;
+import com.deliverytech.delivery_api.ingestion.AsyncOrderQueue;
+import com.deliverytech.delivery_api.ingestion.OrderRejection;
 import com.deliverytech.delivery_api.mapper.OrderMapper;
 import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.model.enums.ErrorCode;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.Role;
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.EstimatedSlice;
+import com.deliverytech.delivery_api.pagination.RowCountEstimator;
 import com.deliverytech.delivery_api.repository.OrderRepository;
+import com.deliverytech.delivery_api.repository.projection.OrderOwnerProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderStatusProjection;
+import com.deliverytech.delivery_api.repository.projection.OrderTransitionProjection;
+import com.deliverytech.delivery_api.repository.specification.OrderSearchFilter;
+import com.deliverytech.delivery_api.rollup.DailySalesRollup;
 import com.deliverytech.delivery_api.security.SecurityService;
 import com.deliverytech.delivery_api.service.ConsumerService;
 import com.deliverytech.delivery_api.service.ProductService;
 import com.deliverytech.delivery_api.service.RestaurantService;
+import com.deliverytech.delivery_api.sketch.DailyOrderSketches;
+import com.deliverytech.delivery_api.validation.OrderSearchValidator;
 import com.deliverytech.delivery_api.validation.OrderValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,18 +58,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -72,6 +117,30 @@ class OrderServiceImplTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AsyncOrderQueue asyncOrderQueue;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private OrderSearchValidator orderSearchValidator;
+
+    @Mock
+    private DailySalesRollup dailySalesRollup;
+
+    @Mock
+    private DailyOrderSketches dailyOrderSketches;
+
+    @Mock
+    private RowExporter rowExporter;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -105,11 +174,12 @@ class OrderServiceImplTest {
             savedOrder.setId(UUID.randomUUID());
 
             OrderResponseDto expectedResponse = new OrderResponseDto(savedOrder.getId(), null, null,
-                    null, null, null, null, null, null, null, null);
+                    null, null, null, null, null, null, null, null, null);
 
             when(consumerService.findById(consumerId)).thenReturn(consumerMock);
             when(restaurantService.findById(restaurantId)).thenReturn(restaurantMock);
-            when(productService.findProductEntityById(productId.toString())).thenReturn(productMock);
+            when(productService.findRestaurantProductEntities(restaurantId, Set.of(productId)))
+                    .thenReturn(List.of(productMock));
             when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
             when(orderMapper.toDto(savedOrder)).thenReturn(expectedResponse);
 
@@ -181,7 +251,7 @@ class OrderServiceImplTest {
             assertEquals("Restaurante não encontrado", exception.getMessage());
 
             verify(consumerService).findById(consumerId);
-            verify(productService, never()).findProductEntityById(anyString());
+            verify(productService, never()).findRestaurantProductEntities(any(UUID.class), anyCollection());
             verify(orderRepository, never()).save(any(Order.class));
         }
 
@@ -203,18 +273,23 @@ class OrderServiceImplTest {
 
             when(consumerService.findById(consumerId)).thenReturn(consumer);
             when(restaurantService.findById(restaurantId)).thenReturn(restaurant);
-            when(productService.findProductEntityById(productId.toString()))
-                    .thenThrow(new ResourceNotFoundException("Produto não encontrado"));
+            when(productService.findRestaurantProductEntities(restaurantId, Set.of(productId))).thenReturn(List.of());
+            when(productService.findProductEntitiesByIds(Set.of(productId))).thenReturn(List.of());
+
+            String expectedMessage = "Produto não encontrado: " + productId;
+            doThrow(new ResourceNotFoundException(expectedMessage))
+                    .when(orderValidator).validateOrderItems(restaurant, orderRequest.getItems(), Map.of());
 
             ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
                 orderService.createOrder(orderRequest);
             });
 
-            assertEquals("Produto não encontrado", exception.getMessage());
+            assertEquals(expectedMessage, exception.getMessage());
 
             verify(consumerService).findById(consumerId);
             verify(restaurantService).findById(restaurantId);
-            verify(productService).findProductEntityById(productId.toString());
+            verify(productService).findRestaurantProductEntities(restaurantId, Set.of(productId));
+            verify(productService).findProductEntitiesByIds(Set.of(productId));
             verify(orderRepository, never()).save(any(Order.class));
         }
 
@@ -246,13 +321,15 @@ class OrderServiceImplTest {
 
             when(consumerService.findById(consumerId)).thenReturn(consumer);
             when(restaurantService.findById(restaurantId)).thenReturn(restaurant1);
-            when(productService.findProductEntityById(productId.toString())).thenReturn(product);
+            when(productService.findRestaurantProductEntities(restaurantId, Set.of(productId))).thenReturn(List.of());
+            when(productService.findProductEntitiesByIds(Set.of(productId))).thenReturn(List.of(product));
 
             String expectedMessage = String.format("O produto '%s' (%s) não pertence ao restaurante informado.",
                     product.getName(), product.getId());
             BusinessException businessException = new BusinessException(expectedMessage);
 
-            doThrow(businessException).when(orderValidator).validateProductBelongsRestaurant(restaurant1, product);
+            doThrow(businessException).when(orderValidator)
+                    .validateOrderItems(restaurant1, orderRequest.getItems(), Map.of(productId, product));
 
             BusinessException exception = assertThrows(BusinessException.class, () -> {
                 orderService.createOrder(orderRequest);
@@ -265,6 +342,443 @@ class OrderServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("createOrdersBatch() tests")
+    class CreateOrdersBatchTests {
+
+        private Consumer consumer;
+        private Restaurant restaurant;
+        private Product product;
+
+        @BeforeEach
+        void setUp() {
+            consumer = new Consumer();
+            consumer.setId(UUID.randomUUID());
+            consumer.setAddress("Rua A, 100");
+
+            restaurant = new Restaurant();
+            restaurant.setId(UUID.randomUUID());
+            restaurant.setName("Restaurant");
+            restaurant.setDeliveryTax(new BigDecimal("5.00"));
+
+            product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setPrice(new BigDecimal("10.00"));
+            product.setRestaurant(restaurant);
+        }
+
+        private OrderRequestDto orderFor(UUID consumerId, UUID restaurantId) {
+            return new OrderRequestDto(consumerId, restaurantId, List.of(new OrderItemRequestDto(product.getId(), 2)));
+        }
+
+        private void mockLookups() {
+            when(consumerService.findConsumerEntitiesByIds(any())).thenReturn(List.of(consumer));
+            when(restaurantService.findRestaurantEntitiesByIds(any())).thenReturn(List.of(restaurant));
+            when(productService.findProductEntitiesByIds(any())).thenReturn(List.of(product));
+        }
+
+        private void mockTransactions() {
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Order> orders = invocation.getArgument(0);
+                orders.forEach(order -> order.setId(UUID.randomUUID()));
+                return orders;
+            });
+        }
+
+        @Test
+        @DisplayName("Should load every consumer, restaurant and product once for the whole batch")
+        void should_LoadReferencesOnce_ForWholeBatch() {
+            mockLookups();
+            mockTransactions();
+
+            OrderBatchResponseDto result = orderService.createOrdersBatch(new OrderBatchRequestDto(List.of(
+                    orderFor(consumer.getId(), restaurant.getId()),
+                    orderFor(consumer.getId(), restaurant.getId()),
+                    orderFor(consumer.getId(), restaurant.getId())
+            )));
+
+            assertEquals(3, result.created());
+            assertEquals(0, result.failed());
+            assertEquals(new BigDecimal("25.00"), result.results().get(0).total());
+
+            verify(consumerService).findConsumerEntitiesByIds(Set.of(consumer.getId()));
+            verify(restaurantService).findRestaurantEntitiesByIds(Set.of(restaurant.getId()));
+            verify(productService).findProductEntitiesByIds(Set.of(product.getId()));
+            verify(orderRepository).saveAll(argThat((List<Order> orders) -> orders.size() == 3));
+            verify(eventPublisher, times(3)).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should report invalid orders individually and persist the valid ones")
+        void should_ReportInvalidOrders_And_PersistValidOnes() {
+            mockLookups();
+            mockTransactions();
+            doThrow(new BusinessException("Produto indisponível"))
+                    .doNothing()
+                    .when(orderValidator).validateOrderItems(any(), any(), any());
+
+            OrderBatchResponseDto result = orderService.createOrdersBatch(new OrderBatchRequestDto(List.of(
+                    orderFor(consumer.getId(), restaurant.getId()),
+                    orderFor(UUID.randomUUID(), restaurant.getId()),
+                    orderFor(consumer.getId(), UUID.randomUUID()),
+                    orderFor(consumer.getId(), restaurant.getId())
+            )));
+
+            assertEquals(4, result.received());
+            assertEquals(1, result.created());
+            assertEquals(3, result.failed());
+            assertEquals(ErrorCode.UNPROCESSABLE_ENTITY.getCode(), result.results().get(0).errorCode());
+            assertEquals("Cliente não encontrado", result.results().get(1).message());
+            assertEquals("Restaurante não encontrado", result.results().get(2).message());
+            assertTrue(result.results().get(3).success());
+            assertEquals(3, result.results().get(3).index());
+        }
+
+        @Test
+        @DisplayName("Should reject orders of other restaurants when the current user is a RESTAURANT")
+        void should_RejectOtherRestaurantOrders_When_UserIsRestaurant() {
+            mockLookups();
+            mockTransactions();
+            User restaurantUser = new User();
+            restaurantUser.setRole(Role.RESTAURANT);
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(restaurantUser));
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurant.getId()));
+
+            OrderBatchResponseDto result = orderService.createOrdersBatch(new OrderBatchRequestDto(List.of(
+                    orderFor(consumer.getId(), restaurant.getId()),
+                    orderFor(consumer.getId(), UUID.randomUUID())
+            )));
+
+            assertTrue(result.results().get(0).success());
+            assertEquals(ErrorCode.FORBIDDEN_ACCESS.getCode(), result.results().get(1).errorCode());
+        }
+
+        @Test
+        @DisplayName("Should mark only the orders of a failed chunk as failed")
+        void should_MarkChunkAsFailed_When_PersistenceFails() {
+            mockLookups();
+            when(transactionTemplate.execute(any()))
+                    .thenThrow(new DataIntegrityViolationException("constraint"));
+
+            OrderBatchResponseDto result = orderService.createOrdersBatch(new OrderBatchRequestDto(List.of(
+                    orderFor(consumer.getId(), restaurant.getId()),
+                    orderFor(consumer.getId(), UUID.randomUUID())
+            )));
+
+            assertEquals(0, result.created());
+            assertEquals(ErrorCode.INTERNAL_SERVER_ERROR.getCode(), result.results().get(0).errorCode());
+            assertEquals(ErrorCode.RESOURCE_NOT_FOUND.getCode(), result.results().get(1).errorCode());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("async acceptance tests")
+    class AsyncAcceptanceTests {
+
+        private AcceptedOrder accepted;
+
+        @BeforeEach
+        void setUp() {
+            OrderRequestDto request = new OrderRequestDto(UUID.randomUUID(), UUID.randomUUID(),
+                    List.of(new OrderItemRequestDto(UUID.randomUUID(), 1)));
+            accepted = new AcceptedOrder(UUID.randomUUID(), request, "customer@email.com", Instant.now());
+        }
+
+        @Test
+        @DisplayName("Should enqueue the order with the current user and return a RECEIVED receipt")
+        void should_EnqueueOrder_And_ReturnReceivedReceipt() {
+            User user = new User();
+            user.setEmail("customer@email.com");
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(user));
+            when(asyncOrderQueue.accept(accepted.request(), "customer@email.com")).thenReturn(accepted);
+
+            OrderReceiptResponseDto receipt = orderService.acceptOrder(accepted.request());
+
+            assertEquals(accepted.reference(), receipt.reference());
+            assertEquals(OrderStatus.RECEIVED, receipt.status());
+            verifyNoInteractions(orderRepository, consumerService, restaurantService, productService);
+        }
+
+        @Test
+        @DisplayName("Should report RECEIVED while the order is pending")
+        void should_ReturnReceivedStatus_When_OrderIsPending() {
+            when(orderRepository.findDetailById(accepted.reference())).thenReturn(Optional.empty());
+            when(orderRepository.findFirstDetailByReferenceOrderByOrderDateAsc(accepted.reference())).thenReturn(Optional.empty());
+            when(asyncOrderQueue.findPending(accepted.reference())).thenReturn(Optional.of(accepted));
+
+            OrderResponseDto result = orderService.getOrderResponseById(accepted.reference().toString());
+
+            assertEquals(accepted.reference(), result.id());
+            assertEquals(OrderStatus.RECEIVED, result.status());
+        }
+
+        @Test
+        @DisplayName("Should return the materialized order when looked up by its reference")
+        void should_ReturnMaterializedOrder_When_LookedUpByReference() {
+            Order order = new Order();
+            OrderResponseDto dto = new OrderResponseDto(UUID.randomUUID(), null, null, null, OrderStatus.PENDING, null, null, List.of(), null, null, null, null);
+            when(orderRepository.findDetailById(accepted.reference())).thenReturn(Optional.empty());
+            when(orderRepository.findFirstDetailByReferenceOrderByOrderDateAsc(accepted.reference())).thenReturn(Optional.of(order));
+            when(orderMapper.toDto(order)).thenReturn(dto);
+
+            assertSame(dto, orderService.getOrderResponseById(accepted.reference().toString()));
+            verifyNoInteractions(asyncOrderQueue);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the order was rejected")
+        void should_ThrowBusinessException_When_OrderWasRejected() {
+            when(asyncOrderQueue.findRejection(accepted.reference())).thenReturn(Optional.of(
+                    new OrderRejection(accepted, ErrorCode.UNPROCESSABLE_ENTITY.getCode(), "Produto indisponível")));
+
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> orderService.getOrderResponseById(accepted.reference().toString()));
+
+            assertEquals("O pedido foi rejeitado: Produto indisponível", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should check ownership of pending orders against the receipt")
+        void should_CheckOwnership_Against_PendingReceipt() {
+            User user = new User();
+            user.setEmail("customer@email.com");
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(user));
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(UUID.randomUUID()));
+            when(asyncOrderQueue.findPending(accepted.reference())).thenReturn(Optional.of(accepted));
+
+            assertTrue(orderService.isOwnerConsumer(accepted.reference().toString()));
+            assertFalse(orderService.isOwnerRestaurant(accepted.reference().toString()));
+        }
+
+        @Test
+        @DisplayName("Should check ownership of materialized orders without loading the consumer")
+        void should_CheckOwnership_Against_OwnerProjection() {
+            User user = new User();
+            user.setEmail("CUSTOMER@email.com");
+            UUID restaurantId = UUID.randomUUID();
+            OrderOwnerProjection owner = mock(OrderOwnerProjection.class);
+            when(owner.getConsumerEmail()).thenReturn("customer@email.com");
+            when(owner.getRestaurantId()).thenReturn(restaurantId);
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(user));
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantId));
+            when(orderRepository.findOwnerByReference(accepted.reference())).thenReturn(Optional.of(owner));
+
+            assertTrue(orderService.isOwnerConsumer(accepted.reference().toString()));
+            assertTrue(orderService.isOwnerRestaurant(accepted.reference().toString()));
+            verify(asyncOrderQueue, never()).findPending(any());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when the reference is unknown")
+        void should_ThrowResourceNotFound_When_ReferenceIsUnknown() {
+            User user = new User();
+            user.setEmail("customer@email.com");
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(user));
+
+            assertThrows(ResourceNotFoundException.class, () -> orderService.isOwnerConsumer(accepted.reference().toString()));
+        }
+
+        @Test
+        @DisplayName("Should materialize accepted orders keeping their reference")
+        void should_MaterializeAcceptedOrders_KeepingReference() {
+            Consumer consumer = new Consumer();
+            consumer.setId(accepted.request().getConsumerId());
+            consumer.setAddress("Rua A");
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(accepted.request().getRestaurantId());
+            restaurant.setDeliveryTax(BigDecimal.ONE);
+            Product product = new Product();
+            product.setId(accepted.request().getItems().get(0).getProductId());
+            product.setPrice(BigDecimal.TEN);
+            product.setRestaurant(restaurant);
+
+            when(consumerService.findConsumerEntitiesByIds(any())).thenReturn(List.of(consumer));
+            when(restaurantService.findRestaurantEntitiesByIds(any())).thenReturn(List.of(restaurant));
+            when(productService.findProductEntitiesByIds(any())).thenReturn(List.of(product));
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            List<OrderBatchItemResultDto> results = orderService.materializeAcceptedOrders(List.of(accepted));
+
+            assertTrue(results.get(0).success());
+            verify(orderRepository).saveAll(argThat((List<Order> orders) -> accepted.reference().equals(orders.get(0).getReference())));
+        }
+
+        @Test
+        @DisplayName("Should report an already stored reference as created without inserting it again")
+        void should_SkipInsert_When_ReferenceIsAlreadyMaterialized() {
+            Order stored = new Order();
+            stored.setId(UUID.randomUUID());
+            stored.setReference(accepted.reference());
+            stored.setStatus(OrderStatus.PENDING);
+            stored.setTotal(BigDecimal.TEN);
+            when(orderRepository.findByReferenceIn(Set.of(accepted.reference()))).thenReturn(List.of(stored));
+
+            List<OrderBatchItemResultDto> results = orderService.materializeAcceptedOrders(List.of(accepted));
+
+            assertTrue(results.get(0).success());
+            assertEquals(stored.getId(), results.get(0).orderId());
+            verify(orderRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should report the earliest order when a reference was stored twice")
+        void should_ReportEarliestOrder_When_ReferenceIsDuplicated() {
+            Order later = storedOrder(LocalDateTime.of(2024, 1, 11, 0, 5));
+            Order earliest = storedOrder(LocalDateTime.of(2024, 1, 10, 23, 55));
+            when(orderRepository.findByReferenceIn(Set.of(accepted.reference()))).thenReturn(List.of(later, earliest));
+
+            List<OrderBatchItemResultDto> results = orderService.materializeAcceptedOrders(List.of(accepted));
+
+            assertEquals(earliest.getId(), results.get(0).orderId());
+            verify(orderRepository, never()).saveAll(anyList());
+        }
+
+        private Order storedOrder(LocalDateTime orderDate) {
+            Order stored = new Order();
+            stored.setId(UUID.randomUUID());
+            stored.setReference(accepted.reference());
+            stored.setOrderDate(orderDate);
+            stored.setStatus(OrderStatus.PENDING);
+            stored.setTotal(BigDecimal.TEN);
+            return stored;
+        }
+    }
+
+    @Nested
+    @DisplayName("archived orders tests")
+    class ArchivedOrderTests {
+
+        private UUID consumerId;
+        private ArchivedOrder archived;
+
+        @BeforeEach
+        void setUp() {
+            consumerId = UUID.randomUUID();
+            archived = archivedOrder(consumerId, LocalDateTime.of(2024, 1, 10, 12, 0));
+        }
+
+        @Test
+        @DisplayName("Should return the archived order when it is no longer in the live tables")
+        void should_ReturnArchivedOrder_When_OrderWasArchived() {
+            when(orderArchive.findById(archived.id())).thenReturn(Optional.of(archived));
+
+            assertSame(archived.order(), orderService.getOrderResponseById(archived.id().toString()));
+        }
+
+        @Test
+        @DisplayName("Should check ownership of archived orders against the archived copy")
+        void should_CheckOwnership_Against_ArchivedCopy() {
+            User user = new User();
+            user.setEmail("CUSTOMER@email.com");
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(user));
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(archived.restaurantId()));
+            when(orderArchive.findById(archived.id())).thenReturn(Optional.of(archived));
+
+            assertTrue(orderService.isOwnerConsumer(archived.id().toString()));
+            assertTrue(orderService.isOwnerRestaurant(archived.id().toString()));
+        }
+
+        @Test
+        @DisplayName("Should list archived orders after the live ones in the consumer history")
+        void should_AppendArchivedOrders_After_LiveOrders() {
+            Consumer consumer = new Consumer();
+            consumer.setId(consumerId);
+            OrderSummaryResponseDto liveDto = new OrderSummaryResponseDto(UUID.randomUUID(), "Restaurante", OrderStatus.PENDING, BigDecimal.TEN);
+            Pageable pageable = PageRequest.of(0, 3);
+
+            when(consumerService.findById(consumerId)).thenReturn(consumer);
+            when(orderRepository.findSummariesByConsumerId(consumerId, pageable)).thenReturn(new PageImpl<>(List.of(liveDto), pageable, 1));
+            when(orderArchive.countByConsumer(consumerId)).thenReturn(4L);
+            when(orderArchive.findByConsumer(consumerId, 0, 2)).thenReturn(List.of(archived, archived));
+
+            Page<OrderSummaryResponseDto> page = orderService.findByConsumerId(consumerId.toString(), pageable);
+
+            assertEquals(5, page.getTotalElements());
+            assertEquals(List.of(liveDto, archived.toSummaryDto(), archived.toSummaryDto()), page.getContent());
+        }
+
+        @Test
+        @DisplayName("Should skip the live orders already listed when paging into the archive")
+        void should_OffsetArchive_By_LiveTotal() {
+            Consumer consumer = new Consumer();
+            consumer.setId(consumerId);
+            Pageable pageable = PageRequest.of(2, 2);
+
+            when(consumerService.findById(consumerId)).thenReturn(consumer);
+            when(orderRepository.findSummariesByConsumerId(consumerId, pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 3));
+            when(orderArchive.countByConsumer(consumerId)).thenReturn(5L);
+            when(orderArchive.findByConsumer(consumerId, 1, 2)).thenReturn(List.of(archived));
+
+            Page<OrderSummaryResponseDto> page = orderService.findByConsumerId(consumerId.toString(), pageable);
+
+            assertEquals(8, page.getTotalElements());
+            assertEquals(List.of(archived.toSummaryDto()), page.getContent());
+        }
+
+        @Test
+        @DisplayName("Should count exactly when the consumer has archived orders whatever the count mode")
+        void should_CountExactly_When_ConsumerHasArchivedOrders() {
+            Consumer consumer = new Consumer();
+            consumer.setId(consumerId);
+            Pageable pageable = PageRequest.of(0, 2);
+
+            when(consumerService.findById(consumerId)).thenReturn(consumer);
+            when(orderRepository.findSummariesByConsumerId(consumerId, pageable)).thenReturn(Page.empty(pageable));
+            when(orderArchive.countByConsumer(consumerId)).thenReturn(1L);
+            when(orderArchive.findByConsumer(consumerId, 0, 2)).thenReturn(List.of(archived));
+
+            Slice<OrderSummaryResponseDto> slice = orderService.findByConsumerId(consumerId.toString(), pageable, CountMode.NONE);
+
+            assertEquals(1, assertInstanceOf(Page.class, slice).getTotalElements());
+            verify(orderRepository, never()).readSummariesByConsumerId(any(UUID.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should read a slice of live orders without counting when there is no archive")
+        void should_ReturnSlice_When_ConsumerHasNoArchivedOrders() {
+            Consumer consumer = new Consumer();
+            consumer.setId(consumerId);
+            Pageable pageable = PageRequest.of(0, 2);
+
+            when(consumerService.findById(consumerId)).thenReturn(consumer);
+            when(orderArchive.countByConsumer(consumerId)).thenReturn(0L);
+            when(orderRepository.readSummariesByConsumerId(consumerId, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+            Slice<OrderSummaryResponseDto> slice = orderService.findByConsumerId(consumerId.toString(), pageable, CountMode.NONE);
+
+            assertFalse(slice instanceof Page);
+            verify(orderRepository, never()).countByConsumerId(any(UUID.class));
+            verifyNoInteractions(rowCountEstimator);
+        }
+    }
+
+    private ArchivedOrder archivedOrder(UUID consumerId, LocalDateTime orderDate) {
+        UUID id = UUID.randomUUID();
+        OrderResponseDto dto = new OrderResponseDto(id, "Consumidor", "Restaurante", "Rua A", OrderStatus.DELIVERED,
+                orderDate, orderDate, List.of(), BigDecimal.TEN, BigDecimal.ONE, new BigDecimal("11"), 3L);
+        return new ArchivedOrder(id, null, consumerId, "customer@email.com", UUID.randomUUID(), dto);
+    }
+
+    private OrderStatusProjection statusProjection(OrderStatus status, long version) {
+        return new OrderStatusProjection() {
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
     @Nested
     @DisplayName("updateOrderStatus() tests")
     class UpdateOrderStatusTests {
@@ -276,27 +790,29 @@ class OrderServiceImplTest {
 
             Order order = new Order();
             order.setId(orderId);
-            order.setStatus(OrderStatus.PENDING);
+            order.setStatus(newOrderStatus);
 
             OrderResponseDto expectedResponse = new OrderResponseDto(orderId, null, null, null,
-                    newOrderStatus, null, null, null, null, null, null);
+                    newOrderStatus, null, null, null, null, null, null, 1L);
 
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
-            when(orderMapper.toDto(any(Order.class))).thenReturn(expectedResponse);
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(newOrderStatus), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            when(orderRepository.findDetailById(orderId)).thenReturn(Optional.of(order));
+            when(orderMapper.toDto(order)).thenReturn(expectedResponse);
 
             OrderResponseDto result = orderService.updateOrderStatus(orderId.toString(), newOrderStatus);
 
             assertNotNull(result);
             assertEquals(expectedResponse.status(), result.status());
 
-            ArgumentCaptor<Order> orderArgumentCaptor = ArgumentCaptor.forClass(Order.class);
-            verify(orderRepository).save(orderArgumentCaptor.capture());
-
-            Order capturedOrder = orderArgumentCaptor.getValue();
-            assertEquals(newOrderStatus, capturedOrder.getStatus());
-
-            verify(orderMapper).toDto(capturedOrder);
+            verify(orderRepository).transitionStatus(eq(orderId),
+                    eq(Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED)), eq(newOrderStatus), isNull(), any(LocalDateTime.class));
+            verify(orderRepository, never()).save(any(Order.class));
+            verify(orderRepository, never()).findStatusById(any());
+            verify(eventPublisher).publishEvent(any(OrderStatusUpdateEvent.class));
+            verify(dailySalesRollup).record(newOrderStatus, List.of(orderId));
+            verify(dailyOrderSketches).record(newOrderStatus, List.of(orderId));
+            verify(orderMapper).toDto(order);
         }
 
         @Test
@@ -306,11 +822,9 @@ class OrderServiceImplTest {
             OrderStatus currentStatus = OrderStatus.DELIVERED;
             OrderStatus newStatus = OrderStatus.CANCELED;
 
-            Order order = new Order();
-            order.setId(orderId);
-            order.setStatus(currentStatus);
-
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(newStatus), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(statusProjection(currentStatus, 4)));
 
             BusinessException exception = assertThrows(BusinessException.class, () -> {
                 orderService.updateOrderStatus(orderId.toString(), newStatus);
@@ -322,6 +836,175 @@ class OrderServiceImplTest {
             verify(orderRepository, never()).save(any(Order.class));
             verify(orderMapper, never()).toDto(any(Order.class));
         }
+
+        @Test
+        @DisplayName("Should throw ConflictException when the order changed concurrently")
+        void should_ThrowConflictException_When_VersionDoesNotMatch() {
+            var orderId = UUID.randomUUID();
+
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.CONFIRMED), eq(2L), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(statusProjection(OrderStatus.PENDING, 3)));
+
+            ConflictException exception = assertThrows(ConflictException.class, () ->
+                    orderService.updateOrderStatus(orderId.toString(), OrderStatus.CONFIRMED, 2L));
+
+            assertTrue(exception.getMessage().contains("versão atual 3"));
+            verify(eventPublisher, never()).publishEvent(any(OrderStatusUpdateEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when order does not exist")
+        void should_ThrowResourceNotFound_When_OrderDoesNotExist() {
+            var orderId = UUID.randomUUID();
+
+            when(orderRepository.findStatusById(orderId)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () ->
+                    orderService.updateOrderStatus(orderId.toString(), OrderStatus.CONFIRMED));
+        }
+
+        @Test
+        @DisplayName("Should not run the update when the target status has no predecessors")
+        void should_SkipUpdate_When_TargetHasNoPredecessors() {
+            var orderId = UUID.randomUUID();
+
+            when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(statusProjection(OrderStatus.CONFIRMED, 1)));
+
+            assertThrows(BusinessException.class, () ->
+                    orderService.updateOrderStatus(orderId.toString(), OrderStatus.PENDING));
+
+            verify(orderRepository, never()).transitionStatus(any(), anyCollection(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("updateOrdersStatus() tests")
+    class UpdateOrdersStatusTests {
+
+        private UUID restaurantId;
+
+        @BeforeEach
+        void setUp() {
+            restaurantId = UUID.randomUUID();
+        }
+
+        private OrderTransitionProjection orderState(UUID id, UUID ownerId, OrderStatus status, long version) {
+            return new OrderTransitionProjection() {
+                @Override
+                public UUID getId() {
+                    return id;
+                }
+
+                @Override
+                public UUID getRestaurantId() {
+                    return ownerId;
+                }
+
+                @Override
+                public String getRestaurantName() {
+                    return "Restaurant " + ownerId;
+                }
+
+                @Override
+                public OrderStatus getStatus() {
+                    return status;
+                }
+
+                @Override
+                public Long getVersion() {
+                    return version;
+                }
+            };
+        }
+
+        private void authenticateAsRestaurant() {
+            User restaurantUser = new User();
+            restaurantUser.setEmail("restaurant@email.com");
+            restaurantUser.setRole(Role.RESTAURANT);
+            when(securityService.getCurrentUser()).thenReturn(Optional.of(restaurantUser));
+            when(securityService.getCurrentUserRestaurantId()).thenReturn(Optional.of(restaurantId));
+        }
+
+        @Test
+        @DisplayName("Should update valid orders with one statement and report every other outcome")
+        void should_UpdateValidOrders_And_ReportFailures() {
+            authenticateAsRestaurant();
+            UUID valid = UUID.randomUUID();
+            UUID unknown = UUID.randomUUID();
+            UUID otherRestaurant = UUID.randomUUID();
+            UUID invalidTransition = UUID.randomUUID();
+            when(orderRepository.findTransitionStateByIdIn(anyCollection())).thenReturn(List.of(
+                    orderState(valid, restaurantId, OrderStatus.PREPARING, 2),
+                    orderState(otherRestaurant, UUID.randomUUID(), OrderStatus.PREPARING, 2),
+                    orderState(invalidTransition, restaurantId, OrderStatus.PENDING, 0)));
+            when(orderRepository.transitionStatuses(eq(List.of(valid)), eq(Set.of(OrderStatus.PREPARING)),
+                    eq(OrderStatus.OUT_FOR_DELIVERY), any(LocalDateTime.class))).thenReturn(1);
+
+            OrderBulkStatusUpdateResponseDto response = orderService.updateOrdersStatus(new OrderBulkStatusUpdateRequestDto(
+                    OrderStatus.OUT_FOR_DELIVERY, List.of(valid, unknown, otherRestaurant, invalidTransition, valid)));
+
+            assertEquals(4, response.received());
+            assertEquals(1, response.updated());
+            assertEquals(3, response.failed());
+
+            List<OrderStatusUpdateResultDto> results = response.results();
+            assertEquals(OrderStatusUpdateResultDto.updated(valid, OrderStatus.OUT_FOR_DELIVERY, 3L), results.get(0));
+            assertEquals(ErrorCode.RESOURCE_NOT_FOUND.getCode(), results.get(1).errorCode());
+            assertEquals(ErrorCode.FORBIDDEN_ACCESS.getCode(), results.get(2).errorCode());
+            assertEquals(ErrorCode.UNPROCESSABLE_ENTITY.getCode(), results.get(3).errorCode());
+            assertEquals("Não é possível mudar de PENDING para OUT_FOR_DELIVERY", results.get(3).message());
+
+            ArgumentCaptor<OrderBulkStatusUpdateEvent> eventCaptor = ArgumentCaptor.forClass(OrderBulkStatusUpdateEvent.class);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertEquals(List.of(valid), eventCaptor.getValue().getBatch().orderIds());
+            assertEquals("restaurant@email.com", eventCaptor.getValue().getUser());
+            verify(orderRepository, times(1)).findTransitionStateByIdIn(anyCollection());
+            verify(metricsService).incrementOrdersTransitioned(OrderStatus.OUT_FOR_DELIVERY, "Restaurant " + restaurantId, 1);
+            verify(dailySalesRollup).record(OrderStatus.OUT_FOR_DELIVERY, List.of(valid));
+            verify(dailyOrderSketches).record(OrderStatus.OUT_FOR_DELIVERY, List.of(valid));
+        }
+
+        @Test
+        @DisplayName("Should report a conflict for orders changed between the read and the update")
+        void should_ReportConflict_When_OrderChangedConcurrently() {
+            UUID updated = UUID.randomUUID();
+            UUID raced = UUID.randomUUID();
+            when(orderRepository.findTransitionStateByIdIn(anyCollection()))
+                    .thenReturn(List.of(
+                            orderState(updated, restaurantId, OrderStatus.PENDING, 0),
+                            orderState(raced, restaurantId, OrderStatus.PENDING, 0)))
+                    .thenReturn(List.of(
+                            orderState(updated, restaurantId, OrderStatus.CONFIRMED, 1),
+                            orderState(raced, restaurantId, OrderStatus.CANCELED, 1)));
+            when(orderRepository.transitionStatuses(anyCollection(), anyCollection(), eq(OrderStatus.CONFIRMED), any(LocalDateTime.class)))
+                    .thenReturn(1);
+
+            OrderBulkStatusUpdateResponseDto response = orderService.updateOrdersStatus(
+                    new OrderBulkStatusUpdateRequestDto(OrderStatus.CONFIRMED, List.of(updated, raced)));
+
+            assertEquals(1, response.updated());
+            assertTrue(response.results().get(0).success());
+            assertEquals(1L, response.results().get(0).version());
+            assertEquals(ErrorCode.CONFLICT_ERROR.getCode(), response.results().get(1).errorCode());
+            verify(orderRepository, times(2)).findTransitionStateByIdIn(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should neither update nor publish when no order can transition")
+        void should_SkipUpdate_When_NoOrderIsValid() {
+            UUID delivered = UUID.randomUUID();
+            when(orderRepository.findTransitionStateByIdIn(anyCollection()))
+                    .thenReturn(List.of(orderState(delivered, restaurantId, OrderStatus.DELIVERED, 4)));
+
+            OrderBulkStatusUpdateResponseDto response = orderService.updateOrdersStatus(
+                    new OrderBulkStatusUpdateRequestDto(OrderStatus.CANCELED, List.of(delivered)));
+
+            assertEquals(0, response.updated());
+            assertEquals(1, response.failed());
+            verify(orderRepository, never()).transitionStatuses(anyCollection(), anyCollection(), any(), any());
+            verify(eventPublisher, never()).publishEvent(any(OrderBulkStatusUpdateEvent.class));
+        }
     }
 
     @Nested
@@ -343,6 +1026,22 @@ class OrderServiceImplTest {
             mockRestaurant.setId(restaurantId);
         }
 
+        @Test
+        @DisplayName("Should report the planner estimate for the restaurant orders when the count mode is estimated")
+        void should_ReturnEstimate_When_CountModeIsEstimated() {
+            when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
+            when(orderRepository.readSummariesByRestaurantId(restaurantId, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_orders", "restaurant_id = ?", restaurantId))
+                    .thenReturn(OptionalLong.of(40));
+
+            Slice<OrderSummaryResponseDto> slice = orderService
+                    .findByRestaurantId(restaurantIdString, pageable, CountMode.ESTIMATED);
+
+            assertEquals(40, ((EstimatedSlice<OrderSummaryResponseDto>) slice).getEstimatedTotal());
+            verify(orderRepository, never()).countByRestaurantId(any(UUID.class));
+        }
+
         @Test
         @DisplayName("Should throw IllegalArgumentException when restaurantId is not a valid UUID")
         void should_ThrowIllegalArgumentException_When_IdIsInvalidUUID() {
@@ -353,7 +1052,7 @@ class OrderServiceImplTest {
             });
 
             verify(restaurantService, never()).findById(any(UUID.class));
-            verify(orderRepository, never()).findByRestaurantId(any(UUID.class), any(Pageable.class));
+            verify(orderRepository, never()).findSummariesByRestaurantId(any(UUID.class), any(Pageable.class));
         }
 
         @Test
@@ -368,7 +1067,7 @@ class OrderServiceImplTest {
             assertEquals("Restaurante não encontrado", exception.getMessage());
 
             verify(restaurantService).findById(restaurantId);
-            verify(orderRepository, never()).findByRestaurantId(any(UUID.class), any(Pageable.class));
+            verify(orderRepository, never()).findSummariesByRestaurantId(any(UUID.class), any(Pageable.class));
         }
 
         @Test
@@ -376,8 +1075,8 @@ class OrderServiceImplTest {
         void should_ReturnEmptyPage_When_RestaurantHasNoOrders() {
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
 
-            Page<Order> emptyPage = Page.empty(pageable);
-            when(orderRepository.findByRestaurantId(restaurantId, pageable)).thenReturn(emptyPage);
+            Page<OrderSummaryResponseDto> emptyPage = Page.empty(pageable);
+            when(orderRepository.findSummariesByRestaurantId(restaurantId, pageable)).thenReturn(emptyPage);
 
             Page<OrderSummaryResponseDto> resultPage = orderService.findByRestaurantId(restaurantIdString, pageable);
 
@@ -386,27 +1085,19 @@ class OrderServiceImplTest {
             assertEquals(0, resultPage.getTotalElements());
 
             verify(restaurantService).findById(restaurantId);
-            verify(orderRepository).findByRestaurantId(restaurantId, pageable);
-            verify(orderMapper, never()).toSummaryDto(any(Order.class));
+            verify(orderRepository).findSummariesByRestaurantId(restaurantId, pageable);
         }
 
         @Test
-        @DisplayName("Should return paged DTOs when restaurant has orders")
+        @DisplayName("Should return the projected summaries without loading order entities")
         void should_ReturnDtoPage_When_RestaurantHasOrders() {
-            Order mockOrder = new Order();
-            mockOrder.setId(UUID.randomUUID());
-            mockOrder.setRestaurant(mockRestaurant);
-
-            List<Order> orderList = List.of(mockOrder);
-            Page<Order> mockRepoPage = new PageImpl<>(orderList, pageable, 1);
-
             OrderSummaryResponseDto expectedDto = new OrderSummaryResponseDto(
-                    mockOrder.getId(), "Test Restaurant", OrderStatus.PENDING, BigDecimal.TEN
+                    UUID.randomUUID(), "Test Restaurant", OrderStatus.PENDING, BigDecimal.TEN
             );
 
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
-            when(orderRepository.findByRestaurantId(restaurantId, pageable)).thenReturn(mockRepoPage);
-            when(orderMapper.toSummaryDto(mockOrder)).thenReturn(expectedDto);
+            when(orderRepository.findSummariesByRestaurantId(restaurantId, pageable))
+                    .thenReturn(new PageImpl<>(List.of(expectedDto), pageable, 1));
 
             Page<OrderSummaryResponseDto> resultPage = orderService.findByRestaurantId(restaurantIdString, pageable);
 
@@ -416,8 +1107,55 @@ class OrderServiceImplTest {
             assertEquals(expectedDto, resultPage.getContent().getFirst());
 
             verify(restaurantService).findById(restaurantId);
-            verify(orderRepository).findByRestaurantId(restaurantId, pageable);
-            verify(orderMapper).toSummaryDto(mockOrder);
+            verify(orderRepository).findSummariesByRestaurantId(restaurantId, pageable);
+            verify(orderRepository, never()).findByRestaurantId(any(UUID.class), any(Pageable.class));
+            verifyNoInteractions(orderMapper);
+        }
+    }
+
+    @Nested
+    @DisplayName("exportOrders() tests")
+    class ExportOrdersTests {
+
+        private final ExportSink sink = () -> {
+            throw new AssertionError("sink opened");
+        };
+
+        @Test
+        @DisplayName("Should stream the matching orders to the exporter and close the cursor")
+        void should_StreamOrders_When_RangeIsValid() {
+            var filter = new OrderSearchFilter(OrderStatus.DELIVERED, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30),
+                    UUID.randomUUID(), null, null, null, null);
+            AtomicBoolean closed = new AtomicBoolean();
+            Stream<OrderExportRowDto> rows = Stream.<OrderExportRowDto>empty().onClose(() -> closed.set(true));
+            when(orderRepository.streamExportRows(any())).thenReturn(rows);
+            when(rowExporter.export(rows, OrderExportRowDto.class, ExportFormat.CSV, sink)).thenReturn(0L);
+
+            long exported = orderService.exportOrders(filter, ExportFormat.CSV, sink);
+
+            assertEquals(0L, exported);
+            assertTrue(closed.get());
+            verifyNoInteractions(orderSearchValidator);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when a date is missing")
+        void should_ThrowBusinessException_When_DateIsNull() {
+            var filter = OrderSearchFilter.of(null, LocalDate.now(), null);
+
+            assertThrows(BusinessException.class, () -> orderService.exportOrders(filter, ExportFormat.CSV, sink));
+
+            verifyNoInteractions(orderRepository, rowExporter);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the start date is after the end date")
+        void should_ThrowBusinessException_When_RangeIsInverted() {
+            var filter = OrderSearchFilter.of(null, LocalDate.now(), LocalDate.now().minusDays(1));
+
+            assertThrows(BusinessException.class, () -> orderService.exportOrders(filter, ExportFormat.NDJSON, sink));
+
+            verifyNoInteractions(orderRepository, rowExporter);
         }
     }
 
@@ -434,66 +1172,122 @@ class OrderServiceImplTest {
             pageable = PageRequest.of(0, 5);
             startDate = LocalDate.of(2025, 1, 1);
             endDate = LocalDate.of(2025, 1, 31);
+            lenient().when(orderSearchValidator.validate(any(OrderSearchFilter.class))).thenAnswer(inv -> inv.getArgument(0));
         }
 
         @Test
-        @DisplayName("Should call findAll with Specification and map results when all filters are provided")
-        void should_CallFindAllAndMap_When_AllFiltersProvided() {
-            Order mockOrder = new Order();
-            mockOrder.setId(UUID.randomUUID());
-            List<Order> orderList = List.of(mockOrder);
-            Page<Order> mockRepoPage = new PageImpl<>(orderList, pageable, 1);
-
+        @DisplayName("Should query the summaries through the search specification when filters are provided")
+        void should_QuerySummaries_When_AllFiltersProvided() {
             OrderSummaryResponseDto expectedDto = new OrderSummaryResponseDto(
-                    mockOrder.getId(), "Test Restaurant", OrderStatus.DELIVERED, BigDecimal.TEN
+                    UUID.randomUUID(), "Test Restaurant", OrderStatus.DELIVERED, BigDecimal.TEN
             );
+            OrderSearchFilter filter = OrderSearchFilter.of(OrderStatus.DELIVERED, startDate, endDate);
 
-            when(orderRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(mockRepoPage);
-            when(orderMapper.toSummaryDto(mockOrder)).thenReturn(expectedDto);
+            when(orderRepository.findSummaries(any(Specification.class), eq(pageable)))
+                    .thenReturn(new PageImpl<>(List.of(expectedDto), pageable, 1));
 
-            Page<OrderSummaryResponseDto> resultPage = orderService
-                    .searchOrders(OrderStatus.DELIVERED, startDate, endDate, pageable);
+            Page<OrderSummaryResponseDto> resultPage = orderService.searchOrders(filter, pageable);
 
             assertNotNull(resultPage);
             assertEquals(1, resultPage.getTotalElements());
             assertEquals(expectedDto, resultPage.getContent().getFirst());
-
-            verify(orderRepository).findAll(any(Specification.class), eq(pageable));
-            verify(orderMapper).toSummaryDto(mockOrder);
+            verify(orderSearchValidator).validate(filter);
+            verifyNoInteractions(orderMapper);
         }
 
         @Test
-        @DisplayName("Should call findAll with Specification when filters are null")
-        void should_CallFindAll_When_FiltersAreNull() {
-            Page<Order> emptyPage = Page.empty(pageable);
+        @DisplayName("Should not query when the filter combination is rejected")
+        void should_NotQuery_When_FilterIsRejected() {
+            OrderSearchFilter filter = OrderSearchFilter.of(null, startDate, endDate.plusYears(1));
+            when(orderSearchValidator.validate(filter)).thenThrow(new IllegalArgumentException("período"));
 
-            when(orderRepository.findAll(any(Specification.class), eq(pageable)))
-                    .thenReturn(emptyPage);
+            assertThrows(IllegalArgumentException.class, () -> orderService.searchOrders(filter, pageable));
+            assertThrows(IllegalArgumentException.class, () -> orderService.searchOrders(filter, pageable, CountMode.NONE));
+            assertThrows(IllegalArgumentException.class, () -> orderService.searchOrders(filter, null, 5));
 
-            Page<OrderSummaryResponseDto> resultPage = orderService.searchOrders(null, null, null, pageable);
+            verifyNoInteractions(orderRepository);
+        }
 
-            assertNotNull(resultPage);
-            assertTrue(resultPage.isEmpty());
+        @Test
+        @DisplayName("Should search the range returned by the validator instead of the requested one")
+        void should_SearchValidatedRange_When_ValidatorRewritesFilter() {
+            OrderSearchFilter filter = OrderSearchFilter.of(null, null, null);
+            when(orderSearchValidator.validate(filter)).thenReturn(filter.withDates(startDate, endDate));
+            when(orderRepository.readSummaries(any(Specification.class), eq(pageable)))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_orders", "order_date >= ? AND order_date <= ?",
+                    startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX)))
+                    .thenReturn(OptionalLong.of(40));
+
+            Slice<OrderSummaryResponseDto> slice = orderService.searchOrders(filter, pageable, CountMode.ESTIMATED);
+
+            assertEquals(40, ((EstimatedSlice<OrderSummaryResponseDto>) slice).getEstimatedTotal());
+        }
 
-            verify(orderRepository).findAll(any(Specification.class), eq(pageable));
-            verify(orderMapper, never()).toSummaryDto(any(Order.class));
+        @Test
+        @DisplayName("Should search the start day only when only startDate is provided")
+        void should_SearchStartDay_When_OnlyStartDateIsProvided() {
+            when(orderRepository.readSummaries(any(Specification.class), eq(pageable)))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_orders", "status = ? AND order_date >= ? AND order_date <= ?",
+                    "PENDING", startDate.atStartOfDay(), startDate.atTime(LocalTime.MAX)))
+                    .thenReturn(OptionalLong.of(2));
+
+            Slice<OrderSummaryResponseDto> slice = orderService
+                    .searchOrders(OrderSearchFilter.of(OrderStatus.PENDING, startDate, null), pageable, CountMode.ESTIMATED);
+
+            assertEquals(2, ((EstimatedSlice<OrderSummaryResponseDto>) slice).getEstimatedTotal());
         }
 
         @Test
-        @DisplayName("Should correctly handle logic when only startDate is provided")
-        void should_HandleLogic_When_OnlyStartDateIsProvided() {
-            Page<Order> emptyPage = Page.empty(pageable);
+        @DisplayName("Should estimate the total from the same filters when the count mode is estimated")
+        void should_EstimateWithFilters_When_CountModeIsEstimated() {
+            UUID restaurantId = UUID.randomUUID();
+            UUID consumerId = UUID.randomUUID();
+            OrderSearchFilter filter = new OrderSearchFilter(OrderStatus.DELIVERED, startDate, endDate, restaurantId,
+                    consumerId, BigDecimal.ONE, BigDecimal.TEN, "Rua 10_%");
+            when(orderRepository.readSummaries(any(Specification.class), eq(pageable)))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_orders", "status = ? AND order_date >= ? AND order_date <= ?"
+                            + " AND restaurant_id = ? AND consumer_id = ? AND total >= ? AND total <= ?"
+                            + " AND lower(delivery_address) LIKE ?",
+                    "DELIVERED", startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX), restaurantId, consumerId,
+                    BigDecimal.ONE, BigDecimal.TEN, "rua 10\\_\\%%"))
+                    .thenReturn(OptionalLong.of(250));
+
+            Slice<OrderSummaryResponseDto> slice = orderService.searchOrders(filter, pageable, CountMode.ESTIMATED);
+
+            assertEquals(250, ((EstimatedSlice<OrderSummaryResponseDto>) slice).getEstimatedTotal());
+            verify(orderRepository, never()).count(any(Specification.class));
+        }
 
-            when(orderRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
+        @Test
+        @DisplayName("Should count the filtered orders exactly when the database gives no estimate")
+        void should_FallBackToCount_When_NoEstimate() {
+            when(orderRepository.readSummaries(any(Specification.class), eq(pageable)))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_orders", "order_date <= ?", endDate.atTime(LocalTime.MAX)))
+                    .thenReturn(OptionalLong.empty());
+            when(orderRepository.count(any(Specification.class))).thenReturn(3L);
+
+            Slice<OrderSummaryResponseDto> slice = orderService
+                    .searchOrders(OrderSearchFilter.of(null, null, endDate), pageable, CountMode.ESTIMATED);
+
+            assertEquals(3, ((EstimatedSlice<OrderSummaryResponseDto>) slice).getEstimatedTotal());
+        }
 
-            Page<OrderSummaryResponseDto> resultPage = orderService
-                    .searchOrders(OrderStatus.PENDING, startDate, null, pageable);
+        @Test
+        @DisplayName("Should skip counting when the count mode is none")
+        void should_SkipCount_When_CountModeIsNone() {
+            when(orderRepository.readSummaries(any(Specification.class), eq(pageable)))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, true));
 
-            assertNotNull(resultPage);
-            assertTrue(resultPage.isEmpty());
+            Slice<OrderSummaryResponseDto> slice = orderService
+                    .searchOrders(OrderSearchFilter.of(null, null, null), pageable, CountMode.NONE);
 
-            verify(orderRepository).findAll(any(Specification.class), eq(pageable));
-            verify(orderMapper, never()).toSummaryDto(any(Order.class));
+            assertTrue(slice.hasNext());
+            verify(orderRepository, never()).count(any(Specification.class));
+            verifyNoInteractions(rowCountEstimator);
         }
     }
 
@@ -539,24 +1333,26 @@ class OrderServiceImplTest {
             assertEquals("Restaurante não encontrado", exception.getMessage());
 
             verify(restaurantService).findById(restaurantId);
-            verify(productService, never()).findProductEntityById(anyString());
+            verify(productService, never()).findRestaurantProductEntities(any(UUID.class), anyCollection());
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when product does not exist")
         void should_ThrowResourceNotFound_When_ProductNotFound() {
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
-            when(productService.findProductEntityById(productId.toString()))
-                    .thenThrow(new ResourceNotFoundException("Produto não encontrado"));
+            when(productService.findRestaurantProductEntities(restaurantId, Set.of(productId))).thenReturn(List.of());
+            when(productService.findProductEntitiesByIds(Set.of(productId))).thenReturn(List.of());
+            doThrow(new ResourceNotFoundException("Produto não encontrado: " + productId))
+                    .when(orderValidator).validateOrderItems(mockRestaurant, requestDto.getItems(), Map.of());
 
             ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
                 orderService.calculateOrderTotal(requestDto);
             });
 
-            assertEquals("Produto não encontrado", exception.getMessage());
+            assertEquals("Produto não encontrado: " + productId, exception.getMessage());
 
             verify(restaurantService).findById(restaurantId);
-            verify(productService).findProductEntityById(productId.toString());
+            verify(productService).findRestaurantProductEntities(restaurantId, Set.of(productId));
         }
 
         @Test
@@ -567,7 +1363,11 @@ class OrderServiceImplTest {
             mockProduct.setRestaurant(otherRestaurant);
 
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
-            when(productService.findProductEntityById(productId.toString())).thenReturn(mockProduct);
+            when(productService.findRestaurantProductEntities(restaurantId, Set.of(productId))).thenReturn(List.of());
+            when(productService.findProductEntitiesByIds(Set.of(productId))).thenReturn(List.of(mockProduct));
+            doThrow(new BusinessException("O produto não pertence ao restaurante informado."))
+                    .when(orderValidator)
+                    .validateOrderItems(mockRestaurant, requestDto.getItems(), Map.of(productId, mockProduct));
 
             BusinessException exception = assertThrows(BusinessException.class, () -> {
                 orderService.calculateOrderTotal(requestDto);
@@ -576,7 +1376,7 @@ class OrderServiceImplTest {
             assertTrue(exception.getMessage().contains("não pertence ao restaurante informado"));
 
             verify(restaurantService).findById(restaurantId);
-            verify(productService).findProductEntityById(productId.toString());
+            verify(productService).findProductEntitiesByIds(Set.of(productId));
         }
 
         @Test
@@ -591,8 +1391,8 @@ class OrderServiceImplTest {
             requestDto.getItems().add(new OrderItemRequestDto(productId2, 1));
 
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
-            when(productService.findProductEntityById(productId.toString())).thenReturn(mockProduct);
-            when(productService.findProductEntityById(productId2.toString())).thenReturn(mockProduct2);
+            when(productService.findRestaurantProductEntities(restaurantId, Set.of(productId, productId2)))
+                    .thenReturn(List.of(mockProduct, mockProduct2));
 
             OrderTotalResponseDto response = orderService.calculateOrderTotal(requestDto);
 
@@ -603,8 +1403,8 @@ class OrderServiceImplTest {
             assertEquals(0, response.total().compareTo(new BigDecimal("33.00")));
 
             verify(restaurantService).findById(restaurantId);
-            verify(productService).findProductEntityById(productId.toString());
-            verify(productService).findProductEntityById(productId2.toString());
+            verify(productService).findRestaurantProductEntities(restaurantId, Set.of(productId, productId2));
+            verify(productService, never()).findProductEntitiesByIds(anyCollection());
         }
     }
 
@@ -636,29 +1436,31 @@ class OrderServiceImplTest {
                 orderService.cancelOrder(invalidUuidString);
             });
 
-            verify(orderRepository, never()).findById(any(UUID.class));
+            verify(orderRepository, never()).transitionStatus(any(), anyCollection(), any(), any(), any());
             verify(orderRepository, never()).save(any(Order.class));
         }
 
         @Test
         @DisplayName("Should throw ResourceNotFoundException when orderId does not exist")
         void should_ThrowResourceNotFound_When_OrderNotFound() {
-            when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.CANCELED), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            when(orderRepository.findStatusById(orderId)).thenReturn(Optional.empty());
 
             assertThrows(ResourceNotFoundException.class, () -> {
                 orderService.cancelOrder(orderIdString);
             });
 
-            verify(orderRepository).findById(orderId);
+            verify(orderRepository).findStatusById(orderId);
             verify(orderRepository, never()).save(any(Order.class));
         }
 
         @Test
         @DisplayName("Should throw BusinessException when order status cannot transition to CANCELED")
         void should_ThrowBusinessException_When_TransitionIsInvalid() {
-            mockOrder.setStatus(OrderStatus.DELIVERED);
-
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrder));
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.CANCELED), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(statusProjection(OrderStatus.DELIVERED, 5)));
 
             BusinessException exception = assertThrows(BusinessException.class, () -> {
                 orderService.cancelOrder(orderIdString);
@@ -667,29 +1469,31 @@ class OrderServiceImplTest {
             String expectedMessage = String.format("Não é possível cancelar o pedido com status '%s'.", OrderStatus.DELIVERED);
             assertEquals(expectedMessage, exception.getMessage());
 
-            verify(orderRepository).findById(orderId);
+            verify(orderRepository).findStatusById(orderId);
             verify(orderRepository, never()).save(any(Order.class));
         }
 
         @Test
         @DisplayName("Should update status to CANCELED when transition is valid")
         void should_UpdateStatusToCanceled_When_TransitionIsValid() {
-            mockOrder.setStatus(OrderStatus.PENDING);
-
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrder));
-            when(orderRepository.save(any(Order.class))).thenReturn(null);
+            mockOrder.setStatus(OrderStatus.CANCELED);
 
-            ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.CANCELED), isNull(), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            when(orderRepository.findDetailById(orderId)).thenReturn(Optional.of(mockOrder));
 
             assertDoesNotThrow(() -> {
                 orderService.cancelOrder(orderIdString);
             });
 
-            verify(orderRepository).findById(orderId);
-            verify(orderRepository).save(orderCaptor.capture());
+            verify(orderRepository).transitionStatus(eq(orderId),
+                    eq(Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING)),
+                    eq(OrderStatus.CANCELED), isNull(), any(LocalDateTime.class));
+            verify(orderRepository, never()).save(any(Order.class));
 
-            Order savedOrder = orderCaptor.getValue();
-            assertEquals(OrderStatus.CANCELED, savedOrder.getStatus());
+            ArgumentCaptor<OrderCancelEvent> eventCaptor = ArgumentCaptor.forClass(OrderCancelEvent.class);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            assertEquals(OrderStatus.CANCELED, eventCaptor.getValue().getOrder().getStatus());
         }
     }
 }
@@ -7,6 +7,11 @@ import com.deliverytech.delivery_api.exceptions.ResourceNotFoundException;
 import com.deliverytech.delivery_api.mapper.ProductMapper;
 import com.deliverytech.delivery_api.model.Product;
 import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.pagination.CountMode;
+import com.deliverytech.delivery_api.pagination.EstimatedSlice;
+import com.deliverytech.delivery_api.pagination.KeysetPage;
+import com.deliverytech.delivery_api.pagination.KeysetSort;
+import com.deliverytech.delivery_api.pagination.RowCountEstimator;
 import com.deliverytech.delivery_api.repository.ProductRepository;
 import com.deliverytech.delivery_api.security.SecurityService;
 import com.deliverytech.delivery_api.service.RestaurantService;
@@ -24,7 +29,10 @@ import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,6 +56,9 @@ class ProductServiceImplTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
     @InjectMocks
     private ProductServiceImpl productServiceImpl;
 
@@ -425,6 +436,48 @@ class ProductServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("findRestaurantProductEntities() / findProductEntitiesByIds() tests")
+    class BulkProductLookupTests {
+
+        @Test
+        @DisplayName("Should load all products of a restaurant with a single query")
+        void should_LoadRestaurantProducts_With_SingleQuery() {
+            UUID restaurantId = UUID.randomUUID();
+            Set<UUID> ids = Set.of(UUID.randomUUID(), UUID.randomUUID());
+            List<Product> products = List.of(new Product(), new Product());
+
+            when(productRepository.findByRestaurantIdAndIdIn(restaurantId, ids)).thenReturn(products);
+
+            List<Product> result = productServiceImpl.findRestaurantProductEntities(restaurantId, ids);
+
+            assertEquals(products, result);
+            verify(productRepository, times(1)).findByRestaurantIdAndIdIn(restaurantId, ids);
+            verify(productRepository, never()).findById(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should not query the database when no ids are given")
+        void should_NotQuery_When_IdsAreEmpty() {
+            assertTrue(productServiceImpl.findRestaurantProductEntities(UUID.randomUUID(), Set.of()).isEmpty());
+            assertTrue(productServiceImpl.findProductEntitiesByIds(Set.of()).isEmpty());
+
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Should load products by ids regardless of restaurant")
+        void should_LoadProductsByIds() {
+            Set<UUID> ids = Set.of(UUID.randomUUID());
+            List<Product> products = List.of(new Product());
+
+            when(productRepository.findByIdIn(ids)).thenReturn(products);
+
+            assertEquals(products, productServiceImpl.findProductEntitiesByIds(ids));
+            verify(productRepository).findByIdIn(ids);
+        }
+    }
+
     @Nested
     @DisplayName("findProductsByRestaurantId() tests")
     class FindProductsByRestaurantIdTests {
@@ -455,7 +508,7 @@ class ProductServiceImplTest {
             });
 
             verify(restaurantService, never()).findById(any(UUID.class));
-            verify(productRepository, never()).findByRestaurantId(any(UUID.class), any(Pageable.class));
+            verify(productRepository, never()).findResponsesByRestaurantId(any(UUID.class), any(Pageable.class));
         }
 
         @Test
@@ -471,7 +524,7 @@ class ProductServiceImplTest {
             assertEquals("Restaurante não encontrado", exception.getMessage());
 
             verify(restaurantService).findById(restaurantId);
-            verify(productRepository, never()).findByRestaurantId(any(UUID.class), any(Pageable.class));
+            verify(productRepository, never()).findResponsesByRestaurantId(any(UUID.class), any(Pageable.class));
         }
 
         @Test
@@ -479,8 +532,8 @@ class ProductServiceImplTest {
         void should_ReturnEmptyPage_When_RestaurantHasNoProducts() {
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
 
-            Page<Product> emptyPage = Page.empty(pageable);
-            when(productRepository.findByRestaurantId(restaurantId, pageable)).thenReturn(emptyPage);
+            Page<ProductResponseDto> emptyPage = Page.empty(pageable);
+            when(productRepository.findResponsesByRestaurantId(restaurantId, pageable)).thenReturn(emptyPage);
 
             Page<ProductResponseDto> resultPage = productServiceImpl
                     .findProductsByRestaurantId(restaurantIdString, pageable);
@@ -490,27 +543,19 @@ class ProductServiceImplTest {
             assertEquals(0, resultPage.getTotalElements());
 
             verify(restaurantService).findById(restaurantId);
-            verify(productRepository).findByRestaurantId(restaurantId, pageable);
-            verify(productMapper, never()).toResponseDto(any(Product.class));
+            verify(productRepository).findResponsesByRestaurantId(restaurantId, pageable);
         }
 
         @Test
-        @DisplayName("Should return paged DTOs when restaurant has products")
+        @DisplayName("Should return the projected products without loading product entities")
         void should_ReturnDtoPage_When_RestaurantHasProducts() {
-            Product product = new Product();
-            product.setId(UUID.randomUUID());
-            product.setName("Test Product");
-
-            List<Product> productList = List.of(product);
-            Page<Product> mockRepoPage = new PageImpl<>(productList, pageable, 1);
-
             ProductResponseDto expectedDto = new ProductResponseDto(
-                    product.getId(), "Test Product", null, null, null, null, null, null
+                    UUID.randomUUID(), "Test Product", null, null, null, null, null, null
             );
 
-            when(productRepository.findByRestaurantId(restaurantId, pageable)).thenReturn(mockRepoPage);
+            when(productRepository.findResponsesByRestaurantId(restaurantId, pageable))
+                    .thenReturn(new PageImpl<>(List.of(expectedDto), pageable, 1));
             when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
-            when(productMapper.toResponseDto(product)).thenReturn(expectedDto);
 
             Page<ProductResponseDto> resultPage = productServiceImpl
                     .findProductsByRestaurantId(restaurantIdString, pageable);
@@ -521,8 +566,95 @@ class ProductServiceImplTest {
             assertEquals("Test Product", resultPage.getContent().get(0).name());
 
             verify(restaurantService).findById(restaurantId);
-            verify(productRepository).findByRestaurantId(restaurantId, pageable);
-            verify(productMapper).toResponseDto(product);
+            verify(productRepository).findResponsesByRestaurantId(restaurantId, pageable);
+            verify(productRepository, never()).findByRestaurantId(any(UUID.class), any(Pageable.class));
+            verifyNoInteractions(productMapper);
+        }
+
+        @Test
+        @DisplayName("Should return a cursor page sorted by name when a cursor is given")
+        void should_ReturnKeysetPage_When_CursorIsGiven() {
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Test Product");
+            ProductResponseDto expectedDto = new ProductResponseDto(
+                    product.getId(), "Test Product", null, null, null, null, null, null
+            );
+            Window<Product> window = Window.from(List.of(product),
+                    index -> ScrollPosition.forward(Map.of("name", product.getName(), "id", product.getId())), true);
+
+            when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
+            when(productRepository.findByRestaurantId(restaurantId, ScrollPosition.keyset(), KeysetSort.BY_NAME.sort(), Limit.of(1)))
+                    .thenReturn(window);
+            when(productMapper.toResponseDto(product)).thenReturn(expectedDto);
+
+            KeysetPage<ProductResponseDto> result = productServiceImpl.findProductsByRestaurantId(restaurantIdString, "", 1);
+
+            assertEquals(List.of(expectedDto), result.content());
+            assertNotNull(result.next());
+            assertNull(result.prev());
+        }
+
+        @Test
+        @DisplayName("Should read a slice without counting when the count mode is none")
+        void should_ReturnSliceWithoutCount_When_CountModeIsNone() {
+            when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
+            when(productRepository.readResponsesByRestaurantId(restaurantId, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(mock(ProductResponseDto.class)), pageable, true));
+
+            Slice<ProductResponseDto> result = productServiceImpl
+                    .findProductsByRestaurantId(restaurantIdString, pageable, CountMode.NONE);
+
+            assertFalse(result instanceof Page);
+            assertTrue(result.hasNext());
+            assertEquals(1, result.getNumberOfElements());
+            verify(productRepository, never()).countByRestaurantId(any(UUID.class));
+            verifyNoInteractions(rowCountEstimator);
+        }
+
+        @Test
+        @DisplayName("Should report the planner estimate when the count mode is estimated")
+        void should_ReturnEstimate_When_CountModeIsEstimated() {
+            when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
+            when(productRepository.readResponsesByRestaurantId(restaurantId, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_products", "restaurant_id = ?", restaurantId))
+                    .thenReturn(OptionalLong.of(120));
+
+            Slice<ProductResponseDto> result = productServiceImpl
+                    .findProductsByRestaurantId(restaurantIdString, pageable, CountMode.ESTIMATED);
+
+            assertEquals(120, ((EstimatedSlice<ProductResponseDto>) result).getEstimatedTotal());
+            verify(productRepository, never()).countByRestaurantId(any(UUID.class));
+        }
+
+        @Test
+        @DisplayName("Should count exactly when the database gives no estimate")
+        void should_FallBackToExactCount_When_NoEstimate() {
+            when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
+            when(productRepository.readResponsesByRestaurantId(restaurantId, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+            when(rowCountEstimator.estimate("tb_products", "restaurant_id = ?", restaurantId))
+                    .thenReturn(OptionalLong.empty());
+            when(productRepository.countByRestaurantId(restaurantId)).thenReturn(7L);
+
+            Slice<ProductResponseDto> result = productServiceImpl
+                    .findProductsByRestaurantId(restaurantIdString, pageable, CountMode.ESTIMATED);
+
+            assertEquals(7, ((EstimatedSlice<ProductResponseDto>) result).getEstimatedTotal());
+        }
+
+        @Test
+        @DisplayName("Should return the counted page when the count mode is exact")
+        void should_ReturnPage_When_CountModeIsExact() {
+            when(restaurantService.findById(restaurantId)).thenReturn(mockRestaurant);
+            when(productRepository.findResponsesByRestaurantId(restaurantId, pageable)).thenReturn(Page.empty(pageable));
+
+            Slice<ProductResponseDto> result = productServiceImpl
+                    .findProductsByRestaurantId(restaurantIdString, pageable, CountMode.EXACT);
+
+            assertInstanceOf(Page.class, result);
+            verify(productRepository, never()).readResponsesByRestaurantId(any(UUID.class), any(Pageable.class));
         }
     }
 
@@ -0,0 +1,123 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.ReportJobResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobStatus;
+import com.deliverytech.delivery_api.model.enums.ReportJobType;
+import com.deliverytech.delivery_api.reportjob.ReportJob;
+import com.deliverytech.delivery_api.reportjob.ReportJobRequest;
+import com.deliverytech.delivery_api.reportjob.ReportJobs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 10, 1);
+    private static final LocalDate END = LocalDate.of(2025, 10, 31);
+
+    @Mock
+    private ReportJobs reportJobs;
+
+    @InjectMocks
+    private ReportJobServiceImpl reportJobService;
+
+    private static ReportJob job(ReportJobRequest request, ReportJobStatus status) {
+        Instant now = Instant.now();
+        return new ReportJob(UUID.randomUUID(), request, status, now, now, now, now.plusSeconds(3600),
+                12L, 512L, null);
+    }
+
+    @Nested
+    @DisplayName("Tests for submit method")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("Should submit the request with CSV when no format is given")
+        void should_SubmitWithCsv_When_FormatIsMissing() {
+            ReportJobRequest request = new ReportJobRequest(ReportJobType.ORDERS_BY_PERIOD, START, END,
+                    OrderStatus.DELIVERED, ExportFormat.CSV);
+            ReportJob job = job(request, ReportJobStatus.QUEUED);
+            when(reportJobs.submit(request)).thenReturn(job);
+
+            ReportJobResponseDto response = reportJobService.submit(ReportJobType.ORDERS_BY_PERIOD, START, END,
+                    OrderStatus.DELIVERED, null);
+
+            assertEquals(job.id(), response.id());
+            assertEquals(ReportJobType.ORDERS_BY_PERIOD, response.type());
+            assertEquals(OrderStatus.DELIVERED, response.orderStatus());
+            assertEquals(ExportFormat.CSV, response.format());
+            assertEquals(12L, response.rows());
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the type is missing")
+        void should_ThrowBusinessException_When_TypeIsMissing() {
+            assertThrows(BusinessException.class, () -> reportJobService.submit(null, START, END, null, ExportFormat.CSV));
+            verify(reportJobs, never()).submit(any());
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when a date is missing")
+        void should_ThrowBusinessException_When_DateIsMissing() {
+            assertThrows(BusinessException.class,
+                    () -> reportJobService.submit(ReportJobType.DAILY_SALES, null, END, null, ExportFormat.CSV));
+            verify(reportJobs, never()).submit(any());
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the start date is after the end date")
+        void should_ThrowBusinessException_When_RangeIsInverted() {
+            assertThrows(BusinessException.class,
+                    () -> reportJobService.submit(ReportJobType.DAILY_SALES, END, START, null, ExportFormat.CSV));
+            verify(reportJobs, never()).submit(any());
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the daily sales get a status filter")
+        void should_ThrowBusinessException_When_DailySalesHasStatus() {
+            assertThrows(BusinessException.class, () -> reportJobService.submit(ReportJobType.DAILY_SALES, START, END,
+                    OrderStatus.DELIVERED, ExportFormat.CSV));
+            verify(reportJobs, never()).submit(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should map the job when it is found or canceled")
+    void should_MapJob_When_FoundOrCanceled() {
+        ReportJobRequest request = new ReportJobRequest(ReportJobType.DAILY_SALES, START, END, null, ExportFormat.NDJSON);
+        ReportJob running = job(request, ReportJobStatus.RUNNING);
+        ReportJob canceled = job(request, ReportJobStatus.CANCELED);
+        when(reportJobs.find(running.id())).thenReturn(running);
+        when(reportJobs.cancel(running.id())).thenReturn(canceled);
+
+        assertEquals(ReportJobStatus.RUNNING, reportJobService.getJob(running.id()).status());
+        assertEquals(ReportJobStatus.CANCELED, reportJobService.cancel(running.id()).status());
+        assertEquals(ExportFormat.NDJSON, reportJobService.getJob(running.id()).format());
+    }
+
+    @Test
+    @DisplayName("Should return the result of the job")
+    void should_ReturnResult_When_JobSucceeded() {
+        UUID id = UUID.randomUUID();
+        ReportJobs.Result result = new ReportJobs.Result(null, null, () -> { });
+        when(reportJobs.result(id)).thenReturn(result);
+
+        assertSame(result, reportJobService.getResult(id));
+    }
+}
@@ -1,18 +1,29 @@
 package com.deliverytech.delivery_api.service.impl;
 
 import com.deliverytech.delivery_api.dto.response.ActiveConsumerReportDto;
+import com.deliverytech.delivery_api.dto.response.DailySalesExportRowDto;
 import com.deliverytech.delivery_api.dto.response.OrderByPeriodReportDto;
+import com.deliverytech.delivery_api.dto.response.RollupRebuildResponseDto;
 import com.deliverytech.delivery_api.dto.response.SalesByRestaurantReportDto;
 import com.deliverytech.delivery_api.dto.response.TopSellingProductReportDto;
 import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.export.ExportFormat;
+import com.deliverytech.delivery_api.export.ExportSink;
+import com.deliverytech.delivery_api.export.RowExporter;
 import com.deliverytech.delivery_api.mapper.ReportMapper;
 import com.deliverytech.delivery_api.model.enums.OrderStatus;
-import com.deliverytech.delivery_api.repository.OrderItemRepository;
+import com.deliverytech.delivery_api.repository.DailyConsumerOrdersRepository;
+import com.deliverytech.delivery_api.repository.DailyProductSalesRepository;
+import com.deliverytech.delivery_api.repository.DailyRestaurantSalesRepository;
 import com.deliverytech.delivery_api.repository.OrderRepository;
 import com.deliverytech.delivery_api.repository.projection.ActiveConsumerProjection;
 import com.deliverytech.delivery_api.repository.projection.OrderByPeriodProjection;
 import com.deliverytech.delivery_api.repository.projection.SalesByRestaurantProjection;
 import com.deliverytech.delivery_api.repository.projection.TopSellingProductProjection;
+import com.deliverytech.delivery_api.reportcache.ReportDayCache;
+import com.deliverytech.delivery_api.rollup.DailySalesRollup;
+import com.deliverytech.delivery_api.sketch.DailyOrderSketches;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,14 +33,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,11 +62,31 @@ class ReportServiceImplTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private OrderItemRepository orderItemRepository;
+    private DailyRestaurantSalesRepository dailyRestaurantSalesRepository;
+
+    @Mock
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Mock
+    private DailyConsumerOrdersRepository dailyConsumerOrdersRepository;
+
+    @Mock
+    private DailySalesRollup dailySalesRollup;
+
+    @Mock
+    private DailyOrderSketches dailyOrderSketches;
 
     @Mock
     private ReportMapper reportMapper;
 
+    @Mock
+    private RowExporter rowExporter;
+
+    @Spy
+    private ReportDayCache reportDayCache =
+            new ReportDayCache(true, Duration.ofSeconds(30), Duration.ofHours(1), 5000, Clock.systemDefaultZone(),
+                    invalidation -> { }, new SimpleMeterRegistry());
+
     @InjectMocks
     private ReportServiceImpl reportServiceImpl;
 
@@ -80,7 +120,7 @@ class ReportServiceImplTest {
 
             assertEquals("Data de início e data de fim são obrigatórias para este relatório.", exception.getMessage());
 
-            verify(orderRepository, never()).getOrdersByPeriod(any(), any(), any());
+            verifyNoInteractions(orderRepository, dailyRestaurantSalesRepository);
             verify(reportMapper, never()).toOrderByPeriodAndStatusDtoList(any());
         }
 
@@ -95,41 +135,213 @@ class ReportServiceImplTest {
 
             assertEquals("Data de início e data de fim são obrigatórias para este relatório.", exception.getMessage());
 
-            verify(orderRepository, never()).getOrdersByPeriod(any(), any(), any());
+            verifyNoInteractions(orderRepository, dailyRestaurantSalesRepository);
             verify(reportMapper, never()).toOrderByPeriodAndStatusDtoList(any());
         }
 
         @Test
-        @DisplayName("Should return report DTO list and call repository with correct LocalTime")
-        void should_ReturnDtoList_When_DatesAreValid() {
-            LocalDateTime expectedStartDateTime = startDate.atStartOfDay();
-            LocalDateTime expectedEndDateTime = endDate.atTime(LocalTime.MAX);
-
+        @DisplayName("Should read delivered orders from the rollups only")
+        void should_ReadRollups_When_StatusIsFinal() {
             List<OrderByPeriodProjection> mockProjections = Collections.emptyList();
             List<OrderByPeriodReportDto> expectedDtos = Collections.emptyList();
 
-            when(orderRepository.getOrdersByPeriod(
-                    any(LocalDateTime.class),
-                    any(LocalDateTime.class),
-                    any(OrderStatus.class)
-            )).thenReturn(mockProjections);
+            when(dailyRestaurantSalesRepository.getOrdersByPeriod(startDate, endDate, EnumSet.of(OrderStatus.DELIVERED)))
+                    .thenReturn(mockProjections);
             when(reportMapper.toOrderByPeriodAndStatusDtoList(mockProjections)).thenReturn(expectedDtos);
 
             List<OrderByPeriodReportDto> actualDtos = reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, OrderStatus.DELIVERED);
 
             assertNotNull(actualDtos);
             assertEquals(expectedDtos, actualDtos);
+            verifyNoInteractions(orderRepository);
+            verify(reportMapper).toOrderByPeriodAndStatusDtoList(mockProjections);
+        }
 
-            verify(orderRepository).getOrdersByPeriod(
-                    startDateTimeCaptor.capture(),
-                    endDateTimeCaptor.capture(),
-                    eq(OrderStatus.DELIVERED)
-            );
+        @Test
+        @DisplayName("Should read orders still in flight from the orders over the whole days of the range")
+        void should_ReadOrders_When_StatusIsInFlight() {
+            List<OrderByPeriodProjection> mockProjections = Collections.emptyList();
 
-            assertEquals(expectedStartDateTime, startDateTimeCaptor.getValue());
-            assertEquals(expectedEndDateTime, endDateTimeCaptor.getValue());
+            when(orderRepository.getOrdersByPeriodAndStatuses(
+                    startDateTimeCaptor.capture(), endDateTimeCaptor.capture(), eq(EnumSet.of(OrderStatus.PENDING))))
+                    .thenReturn(mockProjections);
+            when(reportMapper.toOrderByPeriodAndStatusDtoList(mockProjections)).thenReturn(Collections.emptyList());
 
-            verify(reportMapper).toOrderByPeriodAndStatusDtoList(mockProjections);
+            reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, OrderStatus.PENDING);
+
+            assertEquals(startDate.atStartOfDay(), startDateTimeCaptor.getValue());
+            assertEquals(endDate.atTime(LocalTime.MAX), endDateTimeCaptor.getValue());
+            verifyNoInteractions(dailyRestaurantSalesRepository);
+        }
+
+        @Test
+        @DisplayName("Should merge rollups and in-flight orders sorted by date and status when no status is given")
+        void should_MergeSortedRows_When_StatusIsNull() {
+            OrderByPeriodProjection deliveredLater = projection(endDate, OrderStatus.DELIVERED);
+            OrderByPeriodProjection canceledFirst = projection(startDate, OrderStatus.CANCELED);
+            OrderByPeriodProjection pendingLater = projection(endDate, OrderStatus.PENDING);
+            OrderByPeriodProjection pendingFirst = projection(startDate, OrderStatus.PENDING);
+
+            Set<OrderStatus> inFlight = EnumSet.complementOf(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELED));
+            when(dailyRestaurantSalesRepository.getOrdersByPeriod(startDate, endDate,
+                    EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELED)))
+                    .thenReturn(List.of(canceledFirst, deliveredLater));
+            when(orderRepository.getOrdersByPeriodAndStatuses(any(LocalDateTime.class), any(LocalDateTime.class), eq(inFlight)))
+                    .thenReturn(List.of(pendingFirst, pendingLater));
+
+            reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, null);
+
+            verify(reportMapper).toOrderByPeriodAndStatusDtoList(
+                    List.of(pendingFirst, canceledFirst, pendingLater, deliveredLater));
+        }
+
+        @Test
+        @DisplayName("Should serve closed days from the cache on the next request")
+        void should_ServeFromCache_When_DaysAreClosed() {
+            List<OrderByPeriodReportDto> rows = List.of(
+                    new OrderByPeriodReportDto(startDate, 2L, new BigDecimal("40.00"), OrderStatus.DELIVERED),
+                    new OrderByPeriodReportDto(endDate, 1L, new BigDecimal("15.00"), OrderStatus.DELIVERED));
+            when(reportMapper.toOrderByPeriodAndStatusDtoList(any())).thenReturn(rows);
+
+            assertEquals(rows, reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, OrderStatus.DELIVERED));
+            assertEquals(rows, reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, OrderStatus.DELIVERED));
+            assertEquals(List.of(rows.get(1)),
+                    reportServiceImpl.getOrdersByPeriodAndStatus(endDate, endDate, OrderStatus.DELIVERED));
+
+            verify(dailyRestaurantSalesRepository, times(1)).getOrdersByPeriod(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should query the days again after their rollups are rebuilt")
+        void should_QueryAgain_When_RollupsRebuilt() {
+            reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, OrderStatus.DELIVERED);
+            reportServiceImpl.rebuildRollups(endDate, endDate);
+            reportServiceImpl.getOrdersByPeriodAndStatus(startDate, endDate, OrderStatus.DELIVERED);
+
+            verify(dailyRestaurantSalesRepository).getOrdersByPeriod(startDate, endDate, EnumSet.of(OrderStatus.DELIVERED));
+            verify(dailyRestaurantSalesRepository).getOrdersByPeriod(endDate, endDate, EnumSet.of(OrderStatus.DELIVERED));
+        }
+
+        private OrderByPeriodProjection projection(LocalDate date, OrderStatus status) {
+            OrderByPeriodProjection projection = mock(OrderByPeriodProjection.class);
+            lenient().when(projection.getDate()).thenReturn(date);
+            lenient().when(projection.getStatus()).thenReturn(status);
+            return projection;
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuildRollups() tests")
+    class RebuildRollupsTests {
+
+        @Test
+        @DisplayName("Should rebuild the rollups of the range and report the orders counted")
+        void should_RebuildRange_When_DatesAreValid() {
+            LocalDate startDate = LocalDate.of(2025, 10, 1);
+            LocalDate endDate = LocalDate.of(2025, 10, 31);
+            when(dailySalesRollup.rebuild(startDate, endDate)).thenReturn(42L);
+
+            RollupRebuildResponseDto response = reportServiceImpl.rebuildRollups(startDate, endDate);
+
+            assertEquals(new RollupRebuildResponseDto(startDate, endDate, 42L), response);
+            verify(dailyOrderSketches).rebuild(startDate, endDate);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when a date is missing")
+        void should_ThrowBusinessException_When_DateIsNull() {
+            assertThrows(BusinessException.class, () -> reportServiceImpl.rebuildRollups(null, LocalDate.now()));
+            assertThrows(BusinessException.class, () -> reportServiceImpl.rebuildRollups(LocalDate.now(), null));
+
+            verifyNoInteractions(dailySalesRollup, dailyOrderSketches);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the range reaches days that may hold archived orders")
+        void should_ThrowBusinessException_When_RangeReachesArchivedDays() {
+            ReflectionTestUtils.setField(reportServiceImpl, "archiveEnabled", true);
+            ReflectionTestUtils.setField(reportServiceImpl, "archiveMinAge", Duration.ofDays(180));
+            LocalDate today = LocalDate.now();
+
+            assertThrows(BusinessException.class, () -> reportServiceImpl.rebuildRollups(today.minusDays(180), today));
+            verifyNoInteractions(dailySalesRollup, dailyOrderSketches);
+
+            reportServiceImpl.rebuildRollups(today.minusDays(178), today);
+            verify(dailySalesRollup).rebuild(today.minusDays(178), today);
+            verify(dailyOrderSketches).rebuild(today.minusDays(178), today);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the start date is after the end date")
+        void should_ThrowBusinessException_When_RangeIsInverted() {
+            LocalDate today = LocalDate.now();
+
+            assertThrows(BusinessException.class, () -> reportServiceImpl.rebuildRollups(today, today.minusDays(1)));
+
+            verifyNoInteractions(dailySalesRollup, dailyOrderSketches);
+        }
+    }
+
+    @Nested
+    @DisplayName("exportDailySales() tests")
+    class ExportDailySalesTests {
+
+        private final ExportSink sink = () -> {
+            throw new AssertionError("sink opened");
+        };
+
+        @Test
+        @DisplayName("Should stream the rollup rows of the range and close the cursor")
+        void should_StreamRollupRows_When_RangeIsValid() {
+            LocalDate startDate = LocalDate.of(2025, 7, 1);
+            LocalDate endDate = LocalDate.of(2025, 9, 30);
+            AtomicBoolean closed = new AtomicBoolean();
+            Stream<DailySalesExportRowDto> rows = Stream.of(new DailySalesExportRowDto(startDate, UUID.randomUUID(),
+                    "Restaurant", OrderStatus.DELIVERED, 2L, new BigDecimal("30.00"))).onClose(() -> closed.set(true));
+            when(dailyRestaurantSalesRepository.streamExportRows(startDate, endDate)).thenReturn(rows);
+            when(rowExporter.export(rows, DailySalesExportRowDto.class, ExportFormat.NDJSON, sink)).thenReturn(1L);
+
+            long exported = reportServiceImpl.exportDailySales(startDate, endDate, ExportFormat.NDJSON, sink);
+
+            assertEquals(1L, exported);
+            assertTrue(closed.get());
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when a date is missing")
+        void should_ThrowBusinessException_When_DateIsNull() {
+            assertThrows(BusinessException.class,
+                    () -> reportServiceImpl.exportDailySales(null, LocalDate.now(), ExportFormat.CSV, sink));
+            assertThrows(BusinessException.class,
+                    () -> reportServiceImpl.exportDailySales(LocalDate.now(), null, ExportFormat.CSV, sink));
+
+            verifyNoInteractions(dailyRestaurantSalesRepository, rowExporter);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the range reaches days that may hold archived orders")
+        void should_ThrowBusinessException_When_RangeReachesArchivedDays() {
+            ReflectionTestUtils.setField(reportServiceImpl, "archiveEnabled", true);
+            ReflectionTestUtils.setField(reportServiceImpl, "archiveMinAge", Duration.ofDays(180));
+            LocalDate today = LocalDate.now();
+
+            assertThrows(BusinessException.class, () -> reportServiceImpl.rebuildRollups(today.minusDays(180), today));
+            verifyNoInteractions(dailySalesRollup, dailyOrderSketches);
+
+            reportServiceImpl.rebuildRollups(today.minusDays(178), today);
+            verify(dailySalesRollup).rebuild(today.minusDays(178), today);
+            verify(dailyOrderSketches).rebuild(today.minusDays(178), today);
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessException when the start date is after the end date")
+        void should_ThrowBusinessException_When_RangeIsInverted() {
+            LocalDate today = LocalDate.now();
+
+            assertThrows(BusinessException.class,
+                    () -> reportServiceImpl.exportDailySales(today, today.minusDays(1), ExportFormat.CSV, sink));
+
+            verifyNoInteractions(dailyRestaurantSalesRepository, rowExporter);
         }
     }
 
@@ -146,7 +358,7 @@ class ReportServiceImplTest {
             SalesByRestaurantReportDto responseDto = new SalesByRestaurantReportDto("Test Restaurant", new BigDecimal("1000.00"));
             List<SalesByRestaurantReportDto> expectedDtoList = List.of(responseDto);
 
-            when(orderRepository.getSalesByRestaurantReport()).thenReturn(mockProjectionsList);
+            when(dailyRestaurantSalesRepository.getSalesByRestaurant()).thenReturn(mockProjectionsList);
             when(reportMapper.toDtoList(mockProjectionsList)).thenReturn(expectedDtoList);
 
             List<SalesByRestaurantReportDto> actualDtoList = reportServiceImpl.getSalesByRestaurant();
@@ -156,7 +368,7 @@ class ReportServiceImplTest {
             assertEquals(expectedDtoList, actualDtoList);
             assertEquals("Test Restaurant", actualDtoList.getFirst().restaurantName());
 
-            verify(orderRepository).getSalesByRestaurantReport();
+            verify(dailyRestaurantSalesRepository).getSalesByRestaurant();
             verify(reportMapper).toDtoList(mockProjectionsList);
         }
 
@@ -166,7 +378,7 @@ class ReportServiceImplTest {
             List<SalesByRestaurantProjection> mockProjectionsList = Collections.emptyList();
             List<SalesByRestaurantReportDto> expectedDtoList = Collections.emptyList();
 
-            when(orderRepository.getSalesByRestaurantReport()).thenReturn(mockProjectionsList);
+            when(dailyRestaurantSalesRepository.getSalesByRestaurant()).thenReturn(mockProjectionsList);
             when(reportMapper.toDtoList(mockProjectionsList)).thenReturn(expectedDtoList);
 
             List<SalesByRestaurantReportDto> actualDtoList = reportServiceImpl.getSalesByRestaurant();
@@ -174,7 +386,7 @@ class ReportServiceImplTest {
             assertNotNull(actualDtoList);
             assertTrue(actualDtoList.isEmpty());
 
-            verify(orderRepository).getSalesByRestaurantReport();
+            verify(dailyRestaurantSalesRepository).getSalesByRestaurant();
             verify(reportMapper).toDtoList(mockProjectionsList);
         }
     }
@@ -189,10 +401,10 @@ class ReportServiceImplTest {
             TopSellingProductProjection mockProjection = mock(TopSellingProductProjection.class);
             List<TopSellingProductProjection> mockProjectionsList = List.of(mockProjection);
 
-            TopSellingProductReportDto responseDto = new TopSellingProductReportDto("Pizza", 50L);
+            TopSellingProductReportDto responseDto = new TopSellingProductReportDto(UUID.randomUUID(), "Pizza", 50L);
             List<TopSellingProductReportDto> expectedDtoList = List.of(responseDto);
 
-            when(orderItemRepository.getTopSellingProductsReport()).thenReturn(mockProjectionsList);
+            when(dailyProductSalesRepository.getTopSellingProducts()).thenReturn(mockProjectionsList);
             when(reportMapper.toTopSellingDtoList(mockProjectionsList)).thenReturn(expectedDtoList);
 
             List<TopSellingProductReportDto> actualDtoList = reportServiceImpl.getTopSellingProducts();
@@ -202,7 +414,7 @@ class ReportServiceImplTest {
             assertEquals(expectedDtoList, actualDtoList);
             assertEquals(50L, actualDtoList.getFirst().totalSold());
 
-            verify(orderItemRepository).getTopSellingProductsReport();
+            verify(dailyProductSalesRepository).getTopSellingProducts();
             verify(reportMapper).toTopSellingDtoList(mockProjectionsList);
         }
 
@@ -212,7 +424,7 @@ class ReportServiceImplTest {
             List<TopSellingProductProjection> mockProjectionsList = Collections.emptyList();
             List<TopSellingProductReportDto> expectedDtoList = Collections.emptyList();
 
-            when(orderItemRepository.getTopSellingProductsReport()).thenReturn(mockProjectionsList);
+            when(dailyProductSalesRepository.getTopSellingProducts()).thenReturn(mockProjectionsList);
             when(reportMapper.toTopSellingDtoList(mockProjectionsList)).thenReturn(expectedDtoList);
 
             List<TopSellingProductReportDto> actualDtoList = reportServiceImpl.getTopSellingProducts();
@@ -220,7 +432,7 @@ class ReportServiceImplTest {
             assertNotNull(actualDtoList);
             assertTrue(actualDtoList.isEmpty());
 
-            verify(orderItemRepository).getTopSellingProductsReport();
+            verify(dailyProductSalesRepository).getTopSellingProducts();
             verify(reportMapper).toTopSellingDtoList(mockProjectionsList);
         }
     }
@@ -240,7 +452,7 @@ class ReportServiceImplTest {
             );
             List<ActiveConsumerReportDto> expectedDtoList = List.of(responseDto);
 
-            when(orderRepository.getActiveConsumers()).thenReturn(mockProjectionsList);
+            when(dailyConsumerOrdersRepository.getActiveConsumers()).thenReturn(mockProjectionsList);
             when(reportMapper.toActiveConsumerDtoList(mockProjectionsList)).thenReturn(expectedDtoList);
 
             List<ActiveConsumerReportDto> actualDtoList = reportServiceImpl.getActiveConsumers();
@@ -250,7 +462,7 @@ class ReportServiceImplTest {
             assertEquals(expectedDtoList, actualDtoList);
             assertEquals(20L, actualDtoList.getFirst().totalOrders());
 
-            verify(orderRepository).getActiveConsumers();
+            verify(dailyConsumerOrdersRepository).getActiveConsumers();
             verify(reportMapper).toActiveConsumerDtoList(mockProjectionsList);
         }
 
@@ -260,7 +472,7 @@ class ReportServiceImplTest {
             List<ActiveConsumerProjection> mockProjectionsList = Collections.emptyList();
             List<ActiveConsumerReportDto> expectedDtoList = Collections.emptyList();
 
-            when(orderRepository.getActiveConsumers()).thenReturn(mockProjectionsList);
+            when(dailyConsumerOrdersRepository.getActiveConsumers()).thenReturn(mockProjectionsList);
             when(reportMapper.toActiveConsumerDtoList(mockProjectionsList)).thenReturn(expectedDtoList);
 
             List<ActiveConsumerReportDto> actualDtoList = reportServiceImpl.getActiveConsumers();
@@ -269,7 +481,7 @@ class ReportServiceImplTest {
             assertNotNull(actualDtoList);
             assertTrue(actualDtoList.isEmpty());
 
-            verify(orderRepository).getActiveConsumers();
+            verify(dailyConsumerOrdersRepository).getActiveConsumers();
             verify(reportMapper).toActiveConsumerDtoList(mockProjectionsList);
         }
     }
@@ -134,6 +134,31 @@ class RestaurantServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("findRestaurantEntitiesByIds() tests")
+    class RestaurantBulkLookupTests {
+
+        @Test
+        @DisplayName("Should not query the database when no ids are given")
+        void should_ReturnEmptyList_When_IdsAreEmpty() {
+            assertTrue(restaurantService.findRestaurantEntitiesByIds(List.of()).isEmpty());
+
+            verifyNoInteractions(restaurantRepository);
+        }
+
+        @Test
+        @DisplayName("Should load every restaurant with a single query")
+        void should_LoadAllRestaurants_With_SingleQuery() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+            when(restaurantRepository.findAllById(ids)).thenReturn(List.of(new Restaurant(), new Restaurant()));
+
+            List<Restaurant> result = restaurantService.findRestaurantEntitiesByIds(ids);
+
+            assertEquals(2, result.size());
+            verify(restaurantRepository).findAllById(ids);
+        }
+    }
+
     @Nested
     @DisplayName("updateRestaurant() tests")
     class UpdateRestaurantTests {
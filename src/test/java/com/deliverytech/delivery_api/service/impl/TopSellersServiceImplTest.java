@@ -0,0 +1,76 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.TopSellerEntryDto;
+import com.deliverytech.delivery_api.dto.response.TopSellersResponseDto;
+import com.deliverytech.delivery_api.exceptions.BusinessException;
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import com.deliverytech.delivery_api.topk.TopSellers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopSellersServiceImplTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    @Mock
+    private TopSellers topSellers;
+
+    @InjectMocks
+    private TopSellersServiceImpl topSellersService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(topSellers.capacity()).thenReturn(100);
+    }
+
+    @Test
+    @DisplayName("Should return product quantities as whole numbers over everything when no window is given")
+    void should_MapProducts_When_WindowMissing() {
+        when(topSellers.topProducts(TopSellerWindow.ALL, null, 5)).thenReturn(new TopSellers.Ranking(
+                List.of(new TopSellers.Entry(ID, "Pizza", 12, 1, true))));
+
+        TopSellersResponseDto response = topSellersService.getTopProducts(null, null, 5);
+
+        assertEquals(TopSellerWindow.ALL, response.window());
+        assertNull(response.category());
+        assertEquals(List.of(new TopSellerEntryDto(ID, "Pizza", BigDecimal.valueOf(12), BigDecimal.ONE, true)),
+                response.entries());
+    }
+
+    @Test
+    @DisplayName("Should return restaurant sales in currency within the category")
+    void should_MapRestaurants_When_CategoryGiven() {
+        when(topSellers.topRestaurants(TopSellerWindow.DAY, " Italiana ", 5)).thenReturn(new TopSellers.Ranking(
+                List.of(new TopSellers.Entry(ID, "Pizzeria", 12345, 0, false))));
+
+        TopSellersResponseDto response = topSellersService.getTopRestaurants(TopSellerWindow.DAY, " Italiana ", 5);
+
+        assertEquals("Italiana", response.category());
+        assertEquals(new BigDecimal("123.45"), response.entries().getFirst().value());
+        assertEquals(new BigDecimal("0.00"), response.entries().getFirst().error());
+        assertFalse(response.entries().getFirst().guaranteed());
+    }
+
+    @Test
+    @DisplayName("Should reject limits outside 1 and the ranking capacity")
+    void should_Throw_When_LimitOutOfRange() {
+        assertThrows(BusinessException.class, () -> topSellersService.getTopProducts(TopSellerWindow.ALL, null, 0));
+        assertThrows(BusinessException.class, () -> topSellersService.getTopRestaurants(TopSellerWindow.ALL, null, 101));
+        verify(topSellers, never()).topProducts(any(), any(), anyInt());
+        verify(topSellers, never()).topRestaurants(any(), any(), anyInt());
+    }
+}
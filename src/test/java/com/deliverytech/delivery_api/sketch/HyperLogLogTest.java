@@ -0,0 +1,110 @@
+package com.deliverytech.delivery_api.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private final SplittableRandom random = new SplittableRandom(11);
+
+    @Test
+    @DisplayName("Should count small sets within one, whatever the repetitions")
+    void should_CountAlmostExactly_When_FewDistinctValues() {
+        HyperLogLog sketch = new HyperLogLog();
+        UUID[] consumers = randomIds(50);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(consumers[i % consumers.length]);
+        }
+
+        assertTrue(Math.abs(sketch.estimate() - 50) <= 1);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    @DisplayName("Should stay within three standard errors of the exact count on large sets")
+    void should_EstimateWithinError_When_ManyDistinctValues() {
+        for (int distinct : new int[]{1_000, 20_000, 200_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (UUID consumer : randomIds(distinct)) {
+                sketch.add(consumer);
+                sketch.add(consumer);
+            }
+
+            double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error <= 3 * sketch.relativeError(), distinct + " distintos, erro " + error);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count UUIDv7 ids, which share their leading bits, as well as random ones")
+    void should_EstimateWithinError_When_IdsAreTimeOrdered() {
+        HyperLogLog sketch = new HyperLogLog();
+        long millis = 1_760_000_000_000L;
+        for (int i = 0; i < 50_000; i++) {
+            sketch.add(new UUID(((millis + i / 10) << 16) | 0x7000 | (i & 0xFFF), 0x8000000000000000L | i));
+        }
+
+        assertTrue(Math.abs(sketch.estimate() - 50_000) <= 3 * sketch.relativeError() * 50_000);
+    }
+
+    @Test
+    @DisplayName("Should merge into the sketch of the union, counting shared values once")
+    void should_EstimateUnion_When_Merged() {
+        UUID[] consumers = randomIds(30_000);
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < consumers.length; i++) {
+            if (i < 20_000) monday.add(consumers[i]);
+            if (i >= 10_000) tuesday.add(consumers[i]);
+            union.add(consumers[i]);
+        }
+
+        monday.merge(tuesday);
+
+        assertEquals(union.estimate(), monday.estimate());
+        assertArrayEquals(union.toBytes(), monday.toBytes());
+        assertThrows(IllegalArgumentException.class, () -> monday.merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    @DisplayName("Should serialize sparse while few registers are set and dense afterwards")
+    void should_RoundTrip_When_Serialized() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (UUID consumer : randomIds(40)) {
+            sketch.add(consumer);
+        }
+        byte[] sparse = sketch.toBytes();
+        assertTrue(sparse.length <= 5 + 40 * 3);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(sparse).estimate());
+        assertArrayEquals(sparse, HyperLogLog.fromBytes(sparse).toBytes());
+
+        for (UUID consumer : randomIds(10_000)) {
+            sketch.add(consumer);
+        }
+        byte[] dense = sketch.toBytes();
+        assertEquals(3 + 4096, dense.length);
+        HyperLogLog restored = HyperLogLog.fromBytes(dense);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertEquals(HyperLogLog.DEFAULT_PRECISION, restored.precision());
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{9, 12, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+
+    private UUID[] randomIds(int count) {
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,131 @@
+package com.deliverytech.delivery_api.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TDigestTest {
+
+    private static final double[] QUANTILES = {0.01, 0.1, 0.5, 0.9, 0.99, 0.999};
+
+    private final SplittableRandom random = new SplittableRandom(5);
+
+    @Test
+    @DisplayName("Should return the exact values while every value has its own centroid")
+    void should_ReturnExactValues_When_FewValues() {
+        TDigest digest = new TDigest();
+        for (int value = 1; value <= 9; value++) {
+            digest.add(value * 10.0);
+        }
+
+        assertEquals(10.0, digest.quantile(0));
+        assertEquals(50.0, digest.quantile(0.5));
+        assertEquals(90.0, digest.quantile(1));
+        assertEquals(9, digest.count());
+        assertTrue(Double.isNaN(new TDigest().quantile(0.5)));
+
+        TDigest single = new TDigest();
+        single.add(42.5);
+        assertEquals(42.5, single.quantile(0.99));
+    }
+
+    @Test
+    @DisplayName("Should stay within 1% in rank of the exact quantiles of skewed order totals")
+    void should_EstimateWithinRankError_When_ManyValues() {
+        TDigest digest = new TDigest();
+        double[] totals = orderTotals(100_000);
+        for (double total : totals) {
+            digest.add(total);
+        }
+
+        assertRankError(totals, digest, 0.01);
+        assertTrue(digest.centroids() <= 2 * TDigest.DEFAULT_COMPRESSION);
+    }
+
+    @Test
+    @DisplayName("Should keep the accuracy when digests of many days are merged")
+    void should_EstimateWithinRankError_When_Merged() {
+        double[] totals = orderTotals(60_000);
+        TDigest merged = new TDigest();
+        for (int day = 0; day < 30; day++) {
+            TDigest daily = new TDigest();
+            for (int i = day * 2_000; i < (day + 1) * 2_000; i++) {
+                daily.add(totals[i]);
+            }
+            merged.merge(TDigest.fromBytes(daily.toBytes()));
+        }
+
+        assertEquals(60_000, merged.count());
+        assertRankError(totals, merged, 0.01);
+    }
+
+    @Test
+    @DisplayName("Should restore the same quantiles from its bytes")
+    void should_RoundTrip_When_Serialized() {
+        TDigest digest = new TDigest();
+        for (double total : orderTotals(5_000)) {
+            digest.add(total);
+        }
+
+        TDigest restored = TDigest.fromBytes(digest.toBytes());
+
+        assertEquals(digest.count(), restored.count());
+        for (double q : QUANTILES) {
+            assertEquals(digest.quantile(q), restored.quantile(q));
+        }
+        assertTrue(digest.toBytes().length < 33 + digest.centroids() * 11);
+        assertThrows(IllegalArgumentException.class, () -> TDigest.fromBytes(new byte[]{9}));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid arguments")
+    void should_Throw_When_ArgumentsInvalid() {
+        TDigest digest = new TDigest();
+
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(5));
+        assertThrows(IllegalArgumentException.class, () -> digest.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> digest.quantile(1.5));
+    }
+
+    /* Log-normal around 40.00, rounded to cents like the order totals */
+    private double[] orderTotals(int count) {
+        double[] totals = new double[count];
+        for (int i = 0; i < count; i++) {
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+            totals[i] = Math.round(Math.exp(Math.log(40) + 0.6 * gaussian) * 100) / 100.0;
+        }
+        return totals;
+    }
+
+    private static void assertRankError(double[] values, TDigest digest, double tolerance) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double estimate = digest.quantile(q);
+            /* Rounded totals repeat, so any rank the estimate spans counts */
+            int below = lowerBound(sorted, estimate);
+            int upTo = lowerBound(sorted, Math.nextUp(estimate));
+            double low = (double) below / sorted.length;
+            double high = (double) upTo / sorted.length;
+            double error = q < low ? low - q : q > high ? q - high : 0;
+            assertTrue(error <= tolerance, "q=" + q + " estimativa " + estimate + " erro de posição " + error);
+        }
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.topk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+    private static final UUID A = new UUID(0, 1);
+    private static final UUID B = new UUID(0, 2);
+    private static final UUID C = new UUID(0, 3);
+
+    @Test
+    @DisplayName("Should count exactly while there is a counter for every key")
+    void should_CountExactly_When_UnderCapacity() {
+        SpaceSaving summary = new SpaceSaving(3);
+        summary.add(A, 5);
+        summary.add(B, 2);
+        summary.add(A, 1);
+
+        assertEquals(List.of(new SpaceSaving.Estimate(A, 6, 0), new SpaceSaving.Estimate(B, 2, 0)),
+                SpaceSaving.merge(List.of(summary)).estimates());
+        assertEquals(0, summary.floor());
+    }
+
+    @Test
+    @DisplayName("Should hand the smallest counter to a new key, with its count as the error")
+    void should_ReplaceMinimum_When_Full() {
+        SpaceSaving summary = new SpaceSaving(2);
+        summary.add(A, 5);
+        summary.add(B, 2);
+        summary.add(C, 1);
+
+        assertEquals(List.of(new SpaceSaving.Estimate(A, 5, 0), new SpaceSaving.Estimate(C, 3, 2)),
+                SpaceSaving.merge(List.of(summary)).estimates());
+        assertEquals(3, summary.floor());
+        assertEquals(2, summary.size());
+    }
+
+    @Test
+    @DisplayName("Should seed exact counts only while there is room")
+    void should_SeedExactCounts_When_Room() {
+        SpaceSaving summary = new SpaceSaving(2);
+
+        assertTrue(summary.seed(A, 10));
+        assertFalse(summary.seed(A, 10));
+        assertTrue(summary.seed(B, 4));
+        assertFalse(summary.seed(C, 3));
+
+        assertEquals(4, summary.floor());
+    }
+
+    @Test
+    @DisplayName("Should bound every true count, tracked or not, on a skewed stream and on merged summaries")
+    void should_BoundTrueCounts_When_StreamExceedsCapacity() {
+        SplittableRandom random = new SplittableRandom(7);
+        UUID[] keys = new UUID[2_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new UUID(1, i);
+        }
+
+        List<SpaceSaving> summaries = List.of(new SpaceSaving(64), new SpaceSaving(64), new SpaceSaving(64));
+        Map<UUID, Long> exact = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            /* Zipf-like: low indexes are far more frequent */
+            UUID key = keys[(int) Math.floor(Math.pow(random.nextDouble(), 3) * keys.length)];
+            long weight = random.nextInt(1, 4);
+            summaries.get(i % summaries.size()).add(key, weight);
+            exact.merge(key, weight, Long::sum);
+        }
+
+        SpaceSaving.Merged merged = SpaceSaving.merge(summaries);
+        Map<UUID, SpaceSaving.Estimate> estimates = new HashMap<>();
+        merged.estimates().forEach(estimate -> estimates.put(estimate.key(), estimate));
+        exact.forEach((key, count) -> {
+            SpaceSaving.Estimate estimate = estimates.get(key);
+            if (estimate == null) {
+                assertTrue(count <= merged.floor());
+            } else {
+                assertTrue(count <= estimate.count());
+                assertTrue(count >= estimate.count() - estimate.error());
+            }
+        });
+        assertEquals(keys[0], merged.estimates().getFirst().key());
+    }
+}
@@ -0,0 +1,108 @@
+package com.deliverytech.delivery_api.topk;
+
+import com.deliverytech.delivery_api.events.order.OrderStatusUpdateEvent;
+import com.deliverytech.delivery_api.model.Order;
+import com.deliverytech.delivery_api.model.OrderItem;
+import com.deliverytech.delivery_api.model.Product;
+import com.deliverytech.delivery_api.model.Restaurant;
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import com.deliverytech.delivery_api.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TopSellersFeederTest {
+
+    private DataSource dataSource;
+    private OrderRepository orderRepository;
+    private TopSellers topSellers;
+    private TopSellersFeeder feeder;
+    private Product pizza;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        orderRepository = mock(OrderRepository.class);
+        topSellers = new TopSellers(10, Clock.systemUTC(), new SimpleMeterRegistry());
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        feeder = new TopSellersFeeder(topSellers, orderRepository, jdbcTemplate);
+
+        Restaurant pizzeria = new Restaurant(UUID.randomUUID(), "Pizzeria", "Italiana", "Addr", "111",
+                BigDecimal.ZERO, true, null, null, null);
+        pizza = new Product(UUID.randomUUID(), "Pizza", "Desc", BigDecimal.TEN, "PIZZA", true, pizzeria);
+    }
+
+    @Test
+    @DisplayName("Should hold deliveries until the seed finishes")
+    void should_HoldDeliveries_Until_SeedFinishes() {
+        Order order = delivered(LocalDateTime.now().plusMinutes(1), 3);
+        when(orderRepository.findDetailByIdIn(any())).thenReturn(List.of(order));
+
+        feeder.onOrderStatusUpdate(new OrderStatusUpdateEvent(this, order, "system"));
+        verify(orderRepository, never()).findDetailByIdIn(any());
+        assertTrue(topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries().isEmpty());
+
+        feeder.load();
+
+        assertEquals(3, topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries().getFirst().value());
+    }
+
+    @Test
+    @DisplayName("Should not count again the deliveries changed before the seed started")
+    void should_SkipDelivery_When_ChangedBeforeSeed() {
+        Order seeded = delivered(LocalDateTime.now().minusHours(1), 3);
+        Order recent = delivered(LocalDateTime.now().plusMinutes(1), 2);
+        when(orderRepository.findDetailByIdIn(any())).thenReturn(List.of(seeded), List.of(recent));
+
+        feeder.onOrderStatusUpdate(new OrderStatusUpdateEvent(this, seeded, "system"));
+        feeder.load();
+        feeder.onOrderStatusUpdate(new OrderStatusUpdateEvent(this, recent, "system"));
+
+        assertEquals(2, topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries().getFirst().value());
+    }
+
+    @Test
+    @DisplayName("Should count every delivery when the seed fails")
+    void should_CountEveryDelivery_When_SeedFails() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("indisponível"));
+        Order order = delivered(LocalDateTime.now().minusHours(1), 4);
+        when(orderRepository.findDetailByIdIn(any())).thenReturn(List.of(order));
+
+        feeder.load();
+        feeder.onOrderStatusUpdate(new OrderStatusUpdateEvent(this, order, "system"));
+
+        assertEquals(4, topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries().getFirst().value());
+    }
+
+    private Order delivered(LocalDateTime lastModified, int quantity) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setStatus(OrderStatus.DELIVERED);
+        order.setRestaurant(pizza.getRestaurant());
+        order.setTotal(BigDecimal.TEN.multiply(BigDecimal.valueOf(quantity)));
+        order.setLastModifiedDate(lastModified);
+        order.setItems(List.of(new OrderItem(null, quantity, pizza.getPrice(), order.getTotal(), order, pizza, null)));
+        return order;
+    }
+}
@@ -0,0 +1,189 @@
+package com.deliverytech.delivery_api.topk;
+
+import com.deliverytech.delivery_api.model.enums.TopSellerWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopSellersTest {
+
+    private static final UUID PIZZERIA = new UUID(0, 1);
+    private static final UUID BAR = new UUID(0, 2);
+    private static final UUID PIZZA = new UUID(0, 11);
+    private static final UUID CALZONE = new UUID(0, 12);
+    private static final UUID SODA = new UUID(0, 13);
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private TopSellers topSellers;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        topSellers = new TopSellers(2, clock, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("Rankings")
+    class RankingTests {
+
+        @BeforeEach
+        void setUp() {
+            deliver(PIZZERIA, "Pizzeria", "Italiana", "30.00", item(PIZZA, "Pizza", "PIZZA", 3));
+            deliver(PIZZERIA, "Pizzeria", "Italiana", "25.00", item(CALZONE, "Calzone", "PIZZA", 2), item(SODA, "Soda", "BEBIDAS", 1));
+            deliver(BAR, "Bar", "Bebidas", "12.00", item(SODA, "Soda", "BEBIDAS", 6));
+        }
+
+        @Test
+        @DisplayName("Should rank restaurants by sales and products by quantity, with error bounds")
+        void should_RankByValue_When_OrdersDelivered() {
+            assertEquals(List.of(
+                    new TopSellers.Entry(PIZZERIA, "Pizzeria", 5500, 0, true),
+                    new TopSellers.Entry(BAR, "Bar", 1200, 0, true)
+            ), topSellers.topRestaurants(TopSellerWindow.ALL, null, 10).entries());
+
+            /* Capacity 2: calzone lost its counter to the soda, which carries its count as error */
+            assertEquals(List.of(
+                    new TopSellers.Entry(SODA, "Soda", 9, 2, true),
+                    new TopSellers.Entry(PIZZA, "Pizza", 3, 0, true)
+            ), topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries());
+
+            List<TopSellers.Entry> top = topSellers.topProducts(TopSellerWindow.ALL, null, 1).entries();
+            assertEquals(1, top.size());
+            assertTrue(top.getFirst().guaranteed());
+        }
+
+        @Test
+        @DisplayName("Should keep a ranking per category, whatever its case")
+        void should_RankWithinCategory_When_CategoryGiven() {
+            assertEquals(List.of(
+                    new TopSellers.Entry(PIZZA, "Pizza", 3, 0, true),
+                    new TopSellers.Entry(CALZONE, "Calzone", 2, 0, true)
+            ), topSellers.topProducts(TopSellerWindow.DAY, " pizza ", 10).entries());
+            assertEquals(List.of(PIZZERIA), topSellers.topRestaurants(TopSellerWindow.HOUR, "ITALIANA", 10)
+                    .entries().stream().map(TopSellers.Entry::id).toList());
+            assertTrue(topSellers.topProducts(TopSellerWindow.ALL, "SOBREMESAS", 10).entries().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should not guarantee entries whose lower bound does not beat the next one")
+        void should_NotGuarantee_When_ErrorOverlapsNextEntry() {
+            deliver(BAR, "Bar", "Bebidas", "1.00", item(CALZONE, "Calzone", "PIZZA", 1));
+
+            List<TopSellers.Entry> top = topSellers.topProducts(TopSellerWindow.ALL, null, 1).entries();
+
+            assertEquals(SODA, top.getFirst().id());
+            assertTrue(top.getFirst().guaranteed());
+            assertFalse(topSellers.topProducts(TopSellerWindow.ALL, null, 2).entries().get(1).guaranteed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should slide the hour and day rankings and keep the overall one")
+    void should_ExpireWindows_When_TimePasses() {
+        deliver(PIZZERIA, "Pizzeria", "Italiana", "10.00", item(PIZZA, "Pizza", "PIZZA", 1));
+
+        clock.advance(Duration.ofMinutes(61));
+        assertTrue(topSellers.topProducts(TopSellerWindow.HOUR, null, 10).entries().isEmpty());
+        assertEquals(1, topSellers.topProducts(TopSellerWindow.DAY, null, 10).entries().size());
+
+        deliver(BAR, "Bar", "Bebidas", "5.00", item(SODA, "Soda", "BEBIDAS", 1));
+        clock.advance(Duration.ofHours(24));
+        assertTrue(topSellers.topProducts(TopSellerWindow.DAY, null, 10).entries().isEmpty());
+        assertEquals(2, topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries().size());
+    }
+
+    @Test
+    @DisplayName("Should merge the steps of a window into one ranking")
+    void should_MergeSteps_When_WindowSpansSeveralSteps() {
+        deliver(PIZZERIA, "Pizzeria", "Italiana", "10.00", item(PIZZA, "Pizza", "PIZZA", 2));
+        clock.advance(Duration.ofMinutes(20));
+        deliver(PIZZERIA, "Pizzeria", "Italiana", "10.00", item(PIZZA, "Pizza", "PIZZA", 3));
+
+        assertEquals(List.of(new TopSellers.Entry(PIZZA, "Pizza", 5, 0, true)),
+                topSellers.topProducts(TopSellerWindow.HOUR, null, 10).entries());
+    }
+
+    @Test
+    @DisplayName("Should count an order once, even when its delivery is seen again")
+    void should_SkipOrder_When_AlreadyCounted() {
+        TopSellers.Delivery delivery = new TopSellers.Delivery(UUID.randomUUID(), PIZZERIA, "Pizzeria", "Italiana",
+                new BigDecimal("10.00"), List.of(item(PIZZA, "Pizza", "PIZZA", 1)));
+
+        assertTrue(topSellers.record(delivery));
+        assertFalse(topSellers.record(delivery));
+
+        assertEquals(1000, topSellers.topRestaurants(TopSellerWindow.ALL, null, 10).entries().getFirst().value());
+        assertEquals(1.0, meterRegistry.get("delivery_api.reports.top.deliveries").tag("result", "duplicate").counter().count());
+        assertEquals(1.0, meterRegistry.get("delivery_api.reports.top.deliveries").tag("result", "counted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should seed the overall rankings with exact totals up to the capacity")
+    void should_SeedOverallRanking_When_Loaded() {
+        topSellers.seedProduct(PIZZA, "Pizza", "PIZZA", 40);
+        topSellers.seedProduct(SODA, "Soda", "BEBIDAS", 30);
+        topSellers.seedProduct(CALZONE, "Calzone", "PIZZA", 20);
+        topSellers.seedRestaurant(PIZZERIA, "Pizzeria", "Italiana", new BigDecimal("300.00"));
+
+        assertEquals(List.of(PIZZA, SODA), topSellers.topProducts(TopSellerWindow.ALL, null, 10)
+                .entries().stream().map(TopSellers.Entry::id).toList());
+        assertEquals(List.of(PIZZA, CALZONE), topSellers.topProducts(TopSellerWindow.ALL, "PIZZA", 10)
+                .entries().stream().map(TopSellers.Entry::id).toList());
+        assertTrue(topSellers.topProducts(TopSellerWindow.HOUR, null, 10).entries().isEmpty());
+        assertEquals(30000, topSellers.topRestaurants(TopSellerWindow.ALL, null, 10).entries().getFirst().value());
+
+        topSellers.clear();
+        assertTrue(topSellers.topProducts(TopSellerWindow.ALL, null, 10).entries().isEmpty());
+        assertEquals(2, topSellers.capacity());
+    }
+
+    private void deliver(UUID restaurantId, String name, String category, String total, TopSellers.DeliveredItem... items) {
+        topSellers.record(new TopSellers.Delivery(UUID.randomUUID(), restaurantId, name, category, new BigDecimal(total),
+                List.of(items)));
+    }
+
+    private static TopSellers.DeliveredItem item(UUID productId, String name, String category, int quantity) {
+        return new TopSellers.DeliveredItem(productId, name, category, quantity);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-10-10T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
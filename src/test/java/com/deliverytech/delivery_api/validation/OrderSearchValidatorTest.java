@@ -0,0 +1,156 @@
+package com.deliverytech.delivery_api.validation;
+
+import com.deliverytech.delivery_api.model.enums.OrderStatus;
+import com.deliverytech.delivery_api.repository.specification.OrderSearchFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderSearchValidatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 15);
+
+    private final OrderSearchValidator validator = new OrderSearchValidator(Duration.ofDays(30), Duration.ofDays(92),
+            Clock.fixed(Instant.parse("2025-10-15T12:00:00Z"), ZoneOffset.UTC));
+
+    @Nested
+    @DisplayName("Unanchored searches")
+    class UnanchoredTests {
+
+        @Test
+        @DisplayName("Should search the most recent days when no range is given")
+        void should_DefaultToRecentWindow_When_NoDates() {
+            OrderSearchFilter checked = validator.validate(OrderSearchFilter.of(OrderStatus.PENDING, null, null));
+
+            assertEquals(TODAY.minusDays(30), checked.startDate());
+            assertEquals(TODAY, checked.endDate());
+            assertEquals(OrderStatus.PENDING, checked.status());
+        }
+
+        @Test
+        @DisplayName("Should end the default window at the given end date")
+        void should_DefaultWindowBeforeEndDate_When_OnlyEndDate() {
+            LocalDate endDate = LocalDate.of(2025, 3, 31);
+
+            OrderSearchFilter checked = validator.validate(OrderSearchFilter.of(null, null, endDate));
+
+            assertEquals(endDate.minusDays(30), checked.startDate());
+            assertEquals(endDate, checked.endDate());
+        }
+
+        @Test
+        @DisplayName("Should keep a range within the maximum span")
+        void should_KeepRange_When_WithinMaximum() {
+            OrderSearchFilter filter = OrderSearchFilter.of(null, TODAY.minusDays(92), TODAY);
+
+            assertEquals(filter, validator.validate(filter));
+        }
+
+        @Test
+        @DisplayName("Should keep a single day search")
+        void should_KeepStartDay_When_OnlyStartDate() {
+            OrderSearchFilter filter = OrderSearchFilter.of(null, TODAY, null);
+
+            assertEquals(filter, validator.validate(filter));
+        }
+
+        @Test
+        @DisplayName("Should reject a range wider than the maximum span")
+        void should_Reject_When_RangeTooWide() {
+            OrderSearchFilter filter = OrderSearchFilter.of(null, TODAY.minusDays(93), TODAY);
+
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> validator.validate(filter));
+            assertEquals("Sem filtro por restaurante, cliente ou endereço, o período de busca deve ser de no máximo 92 dias",
+                    ex.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Anchored searches")
+    class AnchoredTests {
+
+        @Test
+        @DisplayName("Should accept any range when the restaurant is given")
+        void should_AcceptWideRange_When_RestaurantGiven() {
+            OrderSearchFilter filter = new OrderSearchFilter(null, TODAY.minusYears(3), TODAY, UUID.randomUUID(),
+                    null, null, null, null);
+
+            assertSame(filter.restaurantId(), validator.validate(filter).restaurantId());
+            assertEquals(filter, validator.validate(filter));
+        }
+
+        @Test
+        @DisplayName("Should leave the dates open when the consumer is given")
+        void should_LeaveDatesOpen_When_ConsumerGiven() {
+            OrderSearchFilter checked = validator.validate(
+                    new OrderSearchFilter(null, null, null, null, UUID.randomUUID(), null, null, null));
+
+            assertNull(checked.startDate());
+            assertNull(checked.endDate());
+        }
+
+        @Test
+        @DisplayName("Should strip the address prefix and treat it as an anchor")
+        void should_StripPrefix_When_AddressGiven() {
+            OrderSearchFilter checked = validator.validate(
+                    new OrderSearchFilter(null, null, null, null, null, null, null, "  Rua das Flores "));
+
+            assertEquals("Rua das Flores", checked.deliveryAddressPrefix());
+            assertNull(checked.startDate());
+        }
+
+        @Test
+        @DisplayName("Should ignore a blank address prefix")
+        void should_IgnorePrefix_When_Blank() {
+            OrderSearchFilter checked = validator.validate(
+                    new OrderSearchFilter(null, null, null, null, null, null, null, "   "));
+
+            assertNull(checked.deliveryAddressPrefix());
+            assertEquals(TODAY.minusDays(30), checked.startDate());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid filters")
+    class InvalidFilterTests {
+
+        @Test
+        @DisplayName("Should reject an address prefix shorter than three characters")
+        void should_Reject_When_PrefixTooShort() {
+            OrderSearchFilter filter = new OrderSearchFilter(null, null, null, null, null, null, null, " Ru ");
+
+            assertThrows(IllegalArgumentException.class, () -> validator.validate(filter));
+        }
+
+        @Test
+        @DisplayName("Should reject a minimum total above the maximum")
+        void should_Reject_When_TotalRangeInverted() {
+            OrderSearchFilter filter = new OrderSearchFilter(null, null, null, UUID.randomUUID(), null,
+                    BigDecimal.TEN, BigDecimal.ONE, null);
+
+            assertThrows(IllegalArgumentException.class, () -> validator.validate(filter));
+        }
+
+        @Test
+        @DisplayName("Should reject a start date after the end date")
+        void should_Reject_When_DatesInverted() {
+            OrderSearchFilter filter = new OrderSearchFilter(null, TODAY, TODAY.minusDays(1), UUID.randomUUID(),
+                    null, null, null, null);
+
+            assertThrows(IllegalArgumentException.class, () -> validator.validate(filter));
+        }
+    }
+}